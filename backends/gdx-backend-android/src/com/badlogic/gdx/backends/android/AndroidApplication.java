@@ -47,6 +47,7 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxNativesLoader;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.RunnableQueue;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -69,8 +70,7 @@ public class AndroidApplication extends Activity implements AndroidApplicationBa
 	protected ApplicationListener listener;
 	public Handler handler;
 	protected boolean firstResume = true;
-	protected final Array<Runnable> runnables = new Array<Runnable>();
-	protected final Array<Runnable> executedRunnables = new Array<Runnable>();
+	protected final RunnableQueue runnables = new RunnableQueue();
 	protected final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	private final Array<AndroidEventListener> androidEventListeners = new Array<AndroidEventListener>();
 	protected int logLevel = LOG_INFO;
@@ -134,6 +134,7 @@ public class AndroidApplication extends Activity implements AndroidApplicationBa
 			: config.resolutionStrategy);
 		input = AndroidInputFactory.newAndroidInput(this, this, graphics.view, config);
 		audio = new AndroidAudio(this, config);
+		runnables.setTimeLimit(config.runnablesTimeLimit);
 		this.getFilesDir(); // workaround for Android bug #10515463
 		files = new AndroidFiles(this.getAssets(), this.getFilesDir().getAbsolutePath());
 		net = new AndroidNet(this);
@@ -381,10 +382,8 @@ public class AndroidApplication extends Activity implements AndroidApplicationBa
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-			Gdx.graphics.requestRendering();
-		}
+		runnables.post(runnable);
+		Gdx.graphics.requestRendering();
 	}
 
 	@Override
@@ -495,15 +494,10 @@ public class AndroidApplication extends Activity implements AndroidApplicationBa
 	}
 
 	@Override
-	public Array<Runnable> getRunnables () {
+	public RunnableQueue getRunnables () {
 		return runnables;
 	}
 
-	@Override
-	public Array<Runnable> getExecutedRunnables () {
-		return executedRunnables;
-	}
-
 	@Override
 	public Array<LifecycleListener> getLifecycleListeners () {
 		return lifecycleListeners;
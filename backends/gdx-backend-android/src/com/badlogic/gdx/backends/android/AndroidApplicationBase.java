@@ -29,6 +29,7 @@ import com.badlogic.gdx.Audio;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.LifecycleListener;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.RunnableQueue;
 
 /** Interface that abstracts the Android application class usages, so that libGDX can be used with a fragment (or with any other
  * client code)
@@ -44,15 +45,10 @@ public interface AndroidApplicationBase extends Application {
 	 * @return the {@link Context} */
 	Context getContext ();
 
-	/** A set of usable runnables
+	/** The runnables posted with {@link #postRunnable(Runnable)}, run by the rendering thread each frame
 	 * 
-	 * @return the {@link Runnable} array */
-	Array<Runnable> getRunnables ();
-
-	/** The currently executed runnables
-	 * 
-	 * @return the {@link Runnable} array */
-	Array<Runnable> getExecutedRunnables ();
+	 * @return the {@link RunnableQueue} */
+	RunnableQueue getRunnables ();
 
 	/** Method signifies an intent of the caller to execute some action on the UI Thread.
 	 * 
@@ -73,4 +73,8 @@ public class AndroidApplicationConfiguration {
 	 * In case this is true {@link com.badlogic.gdx.backends.android.surfaceview.GLSurfaceView20API18} will be used.
 	 * This implementation properly supports attach to and detach from window. default: false */
 	public boolean useGLSurfaceView20API18 = false;
+
+	/** maximum time in seconds spent running the runnables posted with {@link com.badlogic.gdx.Application#postRunnable(Runnable)}
+	 * each frame, the others run the next frame. default: 0 (no limit) **/
+	public float runnablesTimeLimit = 0;
 }
\ No newline at end of file
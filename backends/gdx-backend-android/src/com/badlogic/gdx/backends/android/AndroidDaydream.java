@@ -51,6 +51,7 @@ import com.badlogic.gdx.backends.android.surfaceview.FillResolutionStrategy;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.badlogic.gdx.utils.RunnableQueue;
 
 /** An implementation of the {@link Application} interface for Android. Create an {@link Activity} that derives from this class. In
  * the Activity#onCreate(Bundle) method call the {@link #initialize(ApplicationListener)} method specifying the configuration for
@@ -70,8 +71,7 @@ public class AndroidDaydream extends DreamService implements AndroidApplicationB
 	protected ApplicationListener listener;
 	protected Handler handler;
 	protected boolean firstResume = true;
-	protected final Array<Runnable> runnables = new Array<Runnable>();
-	protected final Array<Runnable> executedRunnables = new Array<Runnable>();
+	protected final RunnableQueue runnables = new RunnableQueue();
 	protected final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	protected int logLevel = LOG_INFO;
 
@@ -123,6 +123,7 @@ public class AndroidDaydream extends DreamService implements AndroidApplicationB
 			: config.resolutionStrategy);
 		input = AndroidInputFactory.newAndroidInput(this, this, graphics.view, config);
 		audio = new AndroidAudio(this, config);
+		runnables.setTimeLimit(config.runnablesTimeLimit);
 		this.getFilesDir(); // workaround for Android bug #10515463
 		files = new AndroidFiles(this.getAssets(), this.getFilesDir().getAbsolutePath());
 		net = new AndroidNet(this);
@@ -309,10 +310,8 @@ public class AndroidDaydream extends DreamService implements AndroidApplicationB
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-			Gdx.graphics.requestRendering();
-		}
+		runnables.post(runnable);
+		Gdx.graphics.requestRendering();
 	}
 
 	@Override
@@ -397,15 +396,10 @@ public class AndroidDaydream extends DreamService implements AndroidApplicationB
 	}
 
 	@Override
-	public Array<Runnable> getRunnables () {
+	public RunnableQueue getRunnables () {
 		return runnables;
 	}
 
-	@Override
-	public Array<Runnable> getExecutedRunnables () {
-		return executedRunnables;
-	}
-
 	@Override
 	public Array<LifecycleListener> getLifecycleListeners () {
 		return lifecycleListeners;
@@ -31,6 +31,7 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxNativesLoader;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.RunnableQueue;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -60,8 +61,7 @@ public class AndroidFragmentApplication extends Fragment implements AndroidAppli
 	protected ApplicationListener listener;
 	public Handler handler;
 	protected boolean firstResume = true;
-	protected final Array<Runnable> runnables = new Array<Runnable>();
-	protected final Array<Runnable> executedRunnables = new Array<Runnable>();
+	protected final RunnableQueue runnables = new RunnableQueue();
 	protected final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	private final Array<AndroidEventListener> androidEventListeners = new Array<AndroidEventListener>();
 	protected int logLevel = LOG_INFO;
@@ -154,6 +154,7 @@ public class AndroidFragmentApplication extends Fragment implements AndroidAppli
 			: config.resolutionStrategy);
 		input = AndroidInputFactory.newAndroidInput(this, getActivity(), graphics.view, config);
 		audio = new AndroidAudio(getActivity(), config);
+		runnables.setTimeLimit(config.runnablesTimeLimit);
 		files = new AndroidFiles(getResources().getAssets(), getActivity().getFilesDir().getAbsolutePath());
 		net = new AndroidNet(this);
 		this.listener = listener;
@@ -317,10 +318,8 @@ public class AndroidFragmentApplication extends Fragment implements AndroidAppli
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-			Gdx.graphics.requestRendering();
-		}
+		runnables.post(runnable);
+		Gdx.graphics.requestRendering();
 	}
 
 	@Override
@@ -405,15 +404,10 @@ public class AndroidFragmentApplication extends Fragment implements AndroidAppli
 	}
 
 	@Override
-	public Array<Runnable> getRunnables () {
+	public RunnableQueue getRunnables () {
 		return runnables;
 	}
 
-	@Override
-	public Array<Runnable> getExecutedRunnables () {
-		return executedRunnables;
-	}
-
 	@Override
 	public void runOnUiThread (Runnable runnable) {
 		getActivity().runOnUiThread(runnable);
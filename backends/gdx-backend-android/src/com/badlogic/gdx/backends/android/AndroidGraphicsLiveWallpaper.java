@@ -198,19 +198,13 @@ public final class AndroidGraphicsLiveWallpaper extends AndroidGraphics {
 		if (lrunning) {
 
 			// jw: changed
-			synchronized (app.getRunnables()) {
-				app.getExecutedRunnables().clear();
-				app.getExecutedRunnables().addAll(app.getRunnables());
-				app.getRunnables().clear();
-
-				for (int i = 0; i < app.getExecutedRunnables().size; i++) {
-					try {
-						app.getExecutedRunnables().get(i).run();
-					} catch (Throwable t) {
-						t.printStackTrace();
-					}
-				}
+			try {
+				app.getRunnables().run();
+			} catch (Throwable t) {
+				t.printStackTrace();
 			}
+			// runnables left by the time limit or after a failing one are run by the next frame
+			if (!app.getRunnables().isEmpty()) requestRendering();
 			/*
 			 * synchronized (app.runnables) { for (int i = 0; i < app.runnables.size; i++) { app.runnables.get(i).run(); }
 			 * app.runnables.clear(); }
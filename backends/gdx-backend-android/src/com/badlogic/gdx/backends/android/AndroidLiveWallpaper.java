@@ -44,6 +44,7 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxNativesLoader;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.RunnableQueue;
 
 /** An implementation of the {@link Application} interface to be used with an AndroidLiveWallpaperService. Not directly
  * constructable, instead the {@link AndroidLiveWallpaperService} will create this class internally.
@@ -63,8 +64,7 @@ public class AndroidLiveWallpaper implements AndroidApplicationBase {
 	protected AndroidNet net;
 	protected ApplicationListener listener;
 	protected boolean firstResume = true;
-	protected final Array<Runnable> runnables = new Array<Runnable>();
-	protected final Array<Runnable> executedRunnables = new Array<Runnable>();
+	protected final RunnableQueue runnables = new RunnableQueue();
 	protected final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	protected int logLevel = LOG_INFO;
 
@@ -85,6 +85,7 @@ public class AndroidLiveWallpaper implements AndroidApplicationBase {
 		// input = new AndroidInput(this, this.getService(), null, config);
 
 		audio = new AndroidAudio(this.getService(), config);
+		runnables.setTimeLimit(config.runnablesTimeLimit);
 
 		// added initialization of android local storage: /data/data/<app package>/files/
 		this.getService().getFilesDir(); // workaround for Android bug #10515463
@@ -195,9 +196,7 @@ public class AndroidLiveWallpaper implements AndroidApplicationBase {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-		}
+		runnables.post(runnable);
 	}
 
 	@Override
@@ -329,15 +328,10 @@ public class AndroidLiveWallpaper implements AndroidApplicationBase {
 	}
 
 	@Override
-	public Array<Runnable> getRunnables () {
+	public RunnableQueue getRunnables () {
 		return runnables;
 	}
 
-	@Override
-	public Array<Runnable> getExecutedRunnables () {
-		return executedRunnables;
-	}
-
 	@Override
 	public Array<LifecycleListener> getLifecycleListeners () {
 		return lifecycleListeners;
@@ -33,6 +33,7 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.RunnableQueue;
 import com.badlogic.gdx.utils.TimeUtils;
 
 /** a headless implementation of a GDX Application primarily intended to be used in servers
@@ -46,17 +47,24 @@ public class HeadlessApplication implements Application {
 	protected final MockInput input;
 	protected final MockGraphics graphics;
 	protected boolean running = true;
-	protected final Array<Runnable> runnables = new Array<Runnable>();
-	protected final Array<Runnable> executedRunnables = new Array<Runnable>();
+	protected final RunnableQueue runnables = new RunnableQueue();
 	protected final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	protected int logLevel = LOG_INFO;
-	private final long renderInterval;
+	final long renderInterval;
+	private final boolean fixedTimestep;
+	final int maxCatchUpTicks;
+	private final long spinTime;
 
 	public HeadlessApplication(ApplicationListener listener) {
 		this(listener, null);
 	}
 	
 	public HeadlessApplication(ApplicationListener listener, HeadlessApplicationConfiguration config) {
+		this(listener, config, false);
+	}
+
+	/** @param hosted whether the application is run by a {@link HeadlessApplicationHost} rather than its own thread */
+	HeadlessApplication(ApplicationListener listener, HeadlessApplicationConfiguration config, boolean hosted) {
 		if (config == null)
 			config = new HeadlessApplicationConfiguration();
 		
@@ -69,6 +77,14 @@ public class HeadlessApplication implements Application {
 		this.graphics = new MockGraphics();
 		this.audio = new MockAudio();
 		this.input = new MockInput();
+		runnables.setTimeLimit(config.runnablesTimeLimit);
+
+		renderInterval = config.renderInterval > 0 ? (long)(config.renderInterval * 1000000000f) : (config.renderInterval < 0 ? -1 : 0);
+		fixedTimestep = config.fixedTimestep && renderInterval > 0;
+		maxCatchUpTicks = Math.max(1, config.maxCatchUpTicks);
+		spinTime = Math.max(0, (long)(config.spinTime * 1000000000f));
+		if (fixedTimestep || hosted) graphics.setTickStatsWindow(config.tickStatsWindow);
+		if (hosted) return;
 
 		Gdx.app = this;
 		Gdx.files = files;
@@ -77,8 +93,6 @@ public class HeadlessApplication implements Application {
 		Gdx.graphics = graphics;
 		Gdx.input = input;
 		
-		renderInterval = config.renderInterval > 0 ? (long)(config.renderInterval * 1000000000f) : (config.renderInterval < 0 ? -1 : 0);
-		
 		initialize();
 	}
 
@@ -109,7 +123,9 @@ public class HeadlessApplication implements Application {
 		// unlike LwjglApplication, a headless application will eat up CPU in this while loop
 		// it is up to the implementation to call Thread.sleep as necessary
 		long t = TimeUtils.nanoTime() + renderInterval;
-		if (renderInterval >= 0f) {
+		if (fixedTimestep)
+			fixedTimestepLoop();
+		else if (renderInterval >= 0f) {
 			while (running) {
 				final long n = TimeUtils.nanoTime();
 				if (t > n) {
@@ -130,6 +146,11 @@ public class HeadlessApplication implements Application {
 			}
 		}
 
+		pauseAndDispose();
+	}
+
+	/** Pauses and disposes the lifecycle listeners and the application listener, once the application stopped running. */
+	void pauseAndDispose () {
 		synchronized (lifecycleListeners) {
 			for (LifecycleListener listener : lifecycleListeners) {
 				listener.pause();
@@ -140,16 +161,54 @@ public class HeadlessApplication implements Application {
 		listener.dispose();
 	}
 
-	public boolean executeRunnables () {
-		synchronized (runnables) {
-			for (int i = runnables.size - 1; i >= 0; i--)
-				executedRunnables.addAll(runnables.get(i));
-			runnables.clear();
+	/** Calls render once every render interval. Each tick is due one interval after the previous one was due, whatever the time
+	 * the previous one actually started or took, so ticks keep the configured rate on average. */
+	private void fixedTimestepLoop () {
+		final long interval = renderInterval;
+		final float delta = interval / 1000000000f;
+		long due = TimeUtils.nanoTime();
+		while (running) {
+			long start = TimeUtils.nanoTime();
+			if (start < due) start = waitUntil(due);
+
+			// drop the ticks missed beyond the catch-up limit
+			int dropped = 0;
+			long late = (start - due) / interval;
+			if (late > maxCatchUpTicks) {
+				dropped = (int)Math.min(Integer.MAX_VALUE, late - maxCatchUpTicks);
+				due += dropped * interval;
+			}
+
+			executeRunnables();
+			graphics.incrementFrameId();
+			listener.render();
+			graphics.updateTime(delta);
+
+			graphics.recordTick(TimeUtils.nanoTime() - start, start - due, interval, dropped);
+			due += interval;
+		}
+	}
+
+	/** Sleeps until shortly before the given time, then yields until it is reached.
+	 * @return the current time */
+	private long waitUntil (long time) {
+		long spinTime = this.spinTime;
+		while (true) {
+			long now = TimeUtils.nanoTime();
+			long remaining = time - now;
+			if (remaining <= 0) return now;
+			if (remaining > spinTime + 1000000) {
+				try {
+					Thread.sleep((remaining - spinTime) / 1000000);
+				} catch (InterruptedException e) {
+				}
+			} else
+				Thread.yield();
 		}
-		if (executedRunnables.size == 0) return false;
-		for (int i = executedRunnables.size - 1; i >= 0; i--)
-			executedRunnables.removeIndex(i).run();
-		return true;
+	}
+
+	public boolean executeRunnables () {
+		return runnables.run();
 	}
 
 	@Override
@@ -223,9 +282,7 @@ public class HeadlessApplication implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-		}
+		runnables.post(runnable);
 	}
 
 	@Override
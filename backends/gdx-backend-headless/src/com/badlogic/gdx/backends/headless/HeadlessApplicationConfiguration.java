@@ -19,4 +19,21 @@ package com.badlogic.gdx.backends.headless;
 public class HeadlessApplicationConfiguration {
 	/** The minimum time (in seconds) between each call to the render method or negative to not call the render method at all. */
 	public float renderInterval = 1f / 60f;
+	/** Whether to call the render method at a fixed rate of one call every {@link #renderInterval}, for servers running a
+	 * simulation at a fixed tick rate. Ticks are scheduled from the start of the loop rather than from the end of the previous tick,
+	 * so timing errors don't accumulate, and {@link com.badlogic.gdx.Graphics#getDeltaTime()} always returns the render interval.
+	 * A late tick is followed by ticks run back to back until the loop has caught up. Timing statistics are available from
+	 * {@link com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics}. */
+	public boolean fixedTimestep = false;
+	/** The maximum number of ticks run back to back when the fixed timestep loop is late, further missed ticks are dropped. */
+	public int maxCatchUpTicks = 5;
+	/** The time (in seconds) before a tick at which the fixed timestep loop stops sleeping and spins, yielding the CPU, until the
+	 * tick is due. Thread.sleep may oversleep by a millisecond or more depending on the OS. */
+	public float spinTime = 0.002f;
+	/** The number of most recent ticks the timing statistics of the fixed timestep loop are computed from. */
+	public int tickStatsWindow = 600;
+	/** The maximum time (in seconds) spent running the runnables posted with
+	 * {@link com.badlogic.gdx.Application#postRunnable(Runnable)} before each call to the render method, the others are run
+	 * before the next call. Zero for no limit. */
+	public float runnablesTimeLimit = 0;
 }
@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.headless;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Audio;
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.LifecycleListener;
+import com.badlogic.gdx.Net;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.backends.headless.mock.audio.MockAudio;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Clipboard;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Runs many headless applications, for example one per match of a game server, on a small pool of threads instead of a thread
+ * per application. Each application is ticked at a fixed rate of one render call every
+ * {@link HeadlessApplicationConfiguration#renderInterval}, like with {@link HeadlessApplicationConfiguration#fixedTimestep}, but
+ * waits for its next tick without holding a thread.
+ * <p>
+ * The {@link Gdx} fields are shared by all the applications of the JVM. The host points {@link Gdx#app} and {@link Gdx#graphics}
+ * to objects forwarding to the application being ticked on the calling thread, so listeners can keep using them from their
+ * callbacks. From other threads, for example to post a runnable from a network thread, use the {@link HeadlessApplication}
+ * returned by {@link #add(ApplicationListener, HeadlessApplicationConfiguration)} or by {@link #getCurrent()}. Listeners must not
+ * share mutable static state, since several of them run at the same time.
+ * <p>
+ * The tick statistics and the CPU time of each application are available from its {@link MockGraphics}. */
+public class HeadlessApplicationHost implements Disposable {
+	static final ThreadLocal<HeadlessApplication> current = new ThreadLocal<HeadlessApplication>();
+
+	private final ScheduledThreadPoolExecutor executor;
+	private final ThreadMXBean threadBean;
+	private final Array<HeadlessApplication> applications = new Array<HeadlessApplication>();
+	private boolean disposed;
+
+	/** @param threads the number of threads ticking the applications, usually the number of available processors */
+	public HeadlessApplicationHost (int threads) {
+		if (threads < 1) throw new IllegalArgumentException("threads must be > 0: " + threads);
+		HeadlessNativesLoader.load();
+
+		executor = new ScheduledThreadPoolExecutor(threads, new ThreadFactory() {
+			int count;
+
+			@Override
+			public Thread newThread (Runnable runnable) {
+				return new Thread(runnable, "HeadlessApplicationHost-" + count++);
+			}
+		});
+		executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		this.threadBean = threadBean.isCurrentThreadCpuTimeSupported() ? threadBean : null;
+
+		Gdx.app = new CurrentApplication();
+		Gdx.graphics = new CurrentGraphics();
+		Gdx.files = new HeadlessFiles();
+		Gdx.net = new HeadlessNet();
+		Gdx.audio = new MockAudio();
+		Gdx.input = new MockInput();
+	}
+
+	/** Creates an application and starts ticking it. Its listener is created on one of the threads of the host. An application
+	 * whose listener throws an exception is logged and removed without being disposed, like a {@link HeadlessApplication} whose
+	 * thread dies.
+	 * @param config the configuration, the render interval must be positive
+	 * @return the application, which can be used from any thread to post runnables or to exit it */
+	public HeadlessApplication add (ApplicationListener listener, HeadlessApplicationConfiguration config) {
+		if (config == null) config = new HeadlessApplicationConfiguration();
+		if (config.renderInterval <= 0)
+			throw new IllegalArgumentException("renderInterval must be > 0: " + config.renderInterval);
+		HeadlessApplication application = new HeadlessApplication(listener, config, true);
+		synchronized (applications) {
+			if (disposed) throw new GdxRuntimeException("HeadlessApplicationHost is disposed");
+			applications.add(application);
+		}
+		executor.execute(new HostedApplication(application));
+		return application;
+	}
+
+	/** @return the number of applications being run */
+	public int getApplicationCount () {
+		synchronized (applications) {
+			return applications.size;
+		}
+	}
+
+	/** @param applications filled with the applications being run
+	 * @return the passed array */
+	public Array<HeadlessApplication> getApplications (Array<HeadlessApplication> applications) {
+		synchronized (this.applications) {
+			applications.addAll(this.applications);
+		}
+		return applications;
+	}
+
+	/** @return the application being ticked on the calling thread, or null if the thread isn't ticking an application */
+	public static HeadlessApplication getCurrent () {
+		return current.get();
+	}
+
+	/** Exits all the applications. The threads of the host stop once their listeners are disposed. */
+	@Override
+	public void dispose () {
+		synchronized (applications) {
+			disposed = true;
+			if (applications.size == 0) executor.shutdown();
+			for (HeadlessApplication application : applications)
+				application.exit();
+		}
+	}
+
+	private void remove (HeadlessApplication application) {
+		synchronized (applications) {
+			applications.removeValue(application, true);
+			if (disposed && applications.size == 0) executor.shutdown();
+		}
+	}
+
+	private long cpuTime () {
+		return threadBean != null ? threadBean.getCurrentThreadCpuTime() : 0;
+	}
+
+	/** Ticks an application and schedules its next tick, when it is due. */
+	private class HostedApplication implements Runnable {
+		final HeadlessApplication application;
+		final float deltaTime;
+		boolean created;
+		long due;
+
+		HostedApplication (HeadlessApplication application) {
+			this.application = application;
+			this.deltaTime = application.renderInterval / 1000000000f;
+		}
+
+		@Override
+		public void run () {
+			HeadlessApplication application = this.application;
+			current.set(application);
+			try {
+				if (tick()) return;
+				application.pauseAndDispose();
+			} catch (Throwable t) {
+				application.error("HeadlessApplicationHost", "Removing the application after an error", t);
+			} finally {
+				current.remove();
+			}
+			remove(application);
+		}
+
+		/** @return whether the application is still running */
+		private boolean tick () {
+			HeadlessApplication application = this.application;
+			MockGraphics graphics = application.graphics;
+			long interval = application.renderInterval;
+			long cpuStart = cpuTime();
+			if (!created) {
+				created = true;
+				application.listener.create();
+				due = TimeUtils.nanoTime();
+			}
+			long start = TimeUtils.nanoTime();
+
+			// drop the ticks missed beyond the catch-up limit
+			int dropped = 0;
+			long late = (start - due) / interval;
+			if (late > application.maxCatchUpTicks) {
+				dropped = (int)Math.min(Integer.MAX_VALUE, late - application.maxCatchUpTicks);
+				due += dropped * interval;
+			}
+
+			application.executeRunnables();
+			graphics.incrementFrameId();
+			application.listener.render();
+			graphics.updateTime(deltaTime);
+
+			long end = TimeUtils.nanoTime();
+			graphics.recordTick(end - start, start - due, interval, dropped);
+			graphics.addCpuTime(cpuTime() - cpuStart);
+			due += interval;
+			if (!application.running) return false;
+			try {
+				executor.schedule(this, due - end, TimeUnit.NANOSECONDS);
+			} catch (RejectedExecutionException ex) {
+				return false;
+			}
+			return true;
+		}
+	}
+
+	/** Forwards to the application being ticked on the calling thread. */
+	static class CurrentApplication implements Application {
+		private HeadlessApplication application () {
+			HeadlessApplication application = current.get();
+			if (application == null)
+				throw new GdxRuntimeException("No application is ticked on this thread, use the HeadlessApplication instead.");
+			return application;
+		}
+
+		@Override
+		public ApplicationListener getApplicationListener () {
+			return application().getApplicationListener();
+		}
+
+		@Override
+		public Graphics getGraphics () {
+			return application().getGraphics();
+		}
+
+		@Override
+		public Audio getAudio () {
+			return application().getAudio();
+		}
+
+		@Override
+		public Input getInput () {
+			return application().getInput();
+		}
+
+		@Override
+		public Files getFiles () {
+			return application().getFiles();
+		}
+
+		@Override
+		public Net getNet () {
+			return application().getNet();
+		}
+
+		@Override
+		public void log (String tag, String message) {
+			HeadlessApplication application = current.get();
+			if (application != null)
+				application.log(tag, message);
+			else
+				System.out.println(tag + ": " + message);
+		}
+
+		@Override
+		public void log (String tag, String message, Throwable exception) {
+			HeadlessApplication application = current.get();
+			if (application != null)
+				application.log(tag, message, exception);
+			else {
+				System.out.println(tag + ": " + message);
+				exception.printStackTrace(System.out);
+			}
+		}
+
+		@Override
+		public void error (String tag, String message) {
+			HeadlessApplication application = current.get();
+			if (application != null)
+				application.error(tag, message);
+			else
+				System.err.println(tag + ": " + message);
+		}
+
+		@Override
+		public void error (String tag, String message, Throwable exception) {
+			HeadlessApplication application = current.get();
+			if (application != null)
+				application.error(tag, message, exception);
+			else {
+				System.err.println(tag + ": " + message);
+				exception.printStackTrace(System.err);
+			}
+		}
+
+		@Override
+		public void debug (String tag, String message) {
+			HeadlessApplication application = current.get();
+			if (application != null) application.debug(tag, message);
+		}
+
+		@Override
+		public void debug (String tag, String message, Throwable exception) {
+			HeadlessApplication application = current.get();
+			if (application != null) application.debug(tag, message, exception);
+		}
+
+		@Override
+		public void setLogLevel (int logLevel) {
+			application().setLogLevel(logLevel);
+		}
+
+		@Override
+		public int getLogLevel () {
+			return application().getLogLevel();
+		}
+
+		@Override
+		public ApplicationType getType () {
+			return ApplicationType.HeadlessDesktop;
+		}
+
+		@Override
+		public int getVersion () {
+			return 0;
+		}
+
+		@Override
+		public long getJavaHeap () {
+			return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+		}
+
+		@Override
+		public long getNativeHeap () {
+			return getJavaHeap();
+		}
+
+		@Override
+		public Preferences getPreferences (String name) {
+			return application().getPreferences(name);
+		}
+
+		@Override
+		public Clipboard getClipboard () {
+			return null;
+		}
+
+		@Override
+		public void postRunnable (Runnable runnable) {
+			application().postRunnable(runnable);
+		}
+
+		@Override
+		public void exit () {
+			application().exit();
+		}
+
+		@Override
+		public void addLifecycleListener (LifecycleListener listener) {
+			application().addLifecycleListener(listener);
+		}
+
+		@Override
+		public void removeLifecycleListener (LifecycleListener listener) {
+			application().removeLifecycleListener(listener);
+		}
+	}
+
+	/** Forwards the timing methods to the graphics of the application being ticked on the calling thread. */
+	static class CurrentGraphics extends MockGraphics {
+		private MockGraphics graphics () {
+			HeadlessApplication application = current.get();
+			return application != null ? application.graphics : null;
+		}
+
+		@Override
+		public long getFrameId () {
+			MockGraphics graphics = graphics();
+			return graphics != null ? graphics.getFrameId() : super.getFrameId();
+		}
+
+		@Override
+		public float getDeltaTime () {
+			MockGraphics graphics = graphics();
+			return graphics != null ? graphics.getDeltaTime() : super.getDeltaTime();
+		}
+
+		@Override
+		public float getRawDeltaTime () {
+			MockGraphics graphics = graphics();
+			return graphics != null ? graphics.getRawDeltaTime() : super.getRawDeltaTime();
+		}
+
+		@Override
+		public int getFramesPerSecond () {
+			MockGraphics graphics = graphics();
+			return graphics != null ? graphics.getFramesPerSecond() : super.getFramesPerSecond();
+		}
+	}
+}
@@ -16,6 +16,8 @@
 
 package com.badlogic.gdx.backends.headless.mock.graphics;
 
+import java.util.Arrays;
+
 import com.badlogic.gdx.Graphics;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.GL30;
@@ -31,6 +33,13 @@ public class MockGraphics implements Graphics {
 	int fps;
 	long lastTime = System.nanoTime();
 
+	// timing statistics of the fixed timestep loop, in nanoseconds
+	long[] tickDurations = new long[0], tickDelays = new long[0], sortedTicks = new long[0];
+	int tickCount;
+	long latestTickDuration, latestTickDelay;
+	int overrunCount, droppedTickCount;
+	long cpuTime;
+
 	@Override
 	public boolean isGL30Available() {
 		return false;
@@ -184,8 +193,106 @@ public class MockGraphics implements Graphics {
 		frames++;
 	}
 
+	/** Sets the delta time to a fixed value, used by the fixed timestep loop instead of {@link #updateTime()}. */
+	public void updateTime (float fixedDeltaTime) {
+		updateTime();
+		deltaTime = fixedDeltaTime;
+	}
+
 	public void incrementFrameId () {
 		frameId++;
 	}
 
+	/** Sets the number of most recent ticks the timing statistics are computed from and resets them. */
+	public synchronized void setTickStatsWindow (int window) {
+		if (window < 1) throw new IllegalArgumentException("window must be > 0: " + window);
+		tickDurations = new long[window];
+		tickDelays = new long[window];
+		sortedTicks = new long[window];
+		resetTickStats();
+	}
+
+	/** Records the timing of a tick of the fixed timestep loop.
+	 * @param duration the time the tick took, in nanoseconds
+	 * @param delay the time the tick started after it was due, in nanoseconds
+	 * @param interval the time between two ticks, in nanoseconds
+	 * @param dropped the number of ticks dropped before this one to catch up */
+	public synchronized void recordTick (long duration, long delay, long interval, int dropped) {
+		int window = tickDurations.length;
+		if (window > 0) {
+			int index = tickCount % window;
+			tickDurations[index] = duration;
+			tickDelays[index] = delay;
+		}
+		tickCount++;
+		latestTickDuration = duration;
+		latestTickDelay = delay;
+		if (duration > interval) overrunCount++;
+		droppedTickCount += dropped;
+	}
+
+	/** Adds CPU time spent by the thread running the application, as measured by a
+	 * {@link com.badlogic.gdx.backends.headless.HeadlessApplicationHost}.
+	 * @param time the CPU time, in nanoseconds */
+	public synchronized void addCpuTime (long time) {
+		cpuTime += time;
+	}
+
+	/** Clears the timing statistics of the fixed timestep loop. */
+	public synchronized void resetTickStats () {
+		tickCount = 0;
+		latestTickDuration = latestTickDelay = cpuTime = 0;
+		overrunCount = droppedTickCount = 0;
+	}
+
+	/** @return the time in seconds the latest tick of the fixed timestep loop took */
+	public synchronized float getTickDuration () {
+		return latestTickDuration / 1000000000f;
+	}
+
+	/** @param percentile between 0 and 1, for example 0.99 for the 99th percentile
+	 * @return the tick duration in seconds below which the given fraction of the recent ticks of the fixed timestep loop fall */
+	public synchronized float getTickDuration (float percentile) {
+		return percentile(tickDurations, percentile) / 1000000000f;
+	}
+
+	/** @return the time in seconds the latest tick of the fixed timestep loop started after it was due */
+	public synchronized float getTickDelay () {
+		return latestTickDelay / 1000000000f;
+	}
+
+	/** @param percentile between 0 and 1, for example 0.99 for the 99th percentile
+	 * @return the delay in seconds below which the given fraction of the recent ticks of the fixed timestep loop started after
+	 *         they were due, a measure of the jitter of the loop */
+	public synchronized float getTickDelay (float percentile) {
+		return percentile(tickDelays, percentile) / 1000000000f;
+	}
+
+	/** @return the number of ticks of the fixed timestep loop which took longer than the render interval */
+	public synchronized int getOverrunCount () {
+		return overrunCount;
+	}
+
+	/** @return the number of ticks the fixed timestep loop dropped because it was late by more than its catch-up limit */
+	public synchronized int getDroppedTickCount () {
+		return droppedTickCount;
+	}
+
+	/** @return the CPU time in seconds spent ticking the application since the statistics were reset, only measured when the
+	 *         application is run by a {@link com.badlogic.gdx.backends.headless.HeadlessApplicationHost} on a JVM supporting
+	 *         thread CPU time */
+	public synchronized float getCpuTime () {
+		return cpuTime / 1000000000f;
+	}
+
+	private long percentile (long[] values, float percentile) {
+		int count = Math.min(tickCount, values.length);
+		if (count == 0) return 0;
+		long[] sorted = sortedTicks;
+		System.arraycopy(values, 0, sorted, 0, count);
+		Arrays.sort(sorted, 0, count);
+		int index = (int)Math.ceil(percentile * count) - 1;
+		return sorted[Math.max(0, Math.min(index, count - 1))];
+	}
+
 }
@@ -29,6 +29,7 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxNativesLoader;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.RunnableQueue;
 import com.badlogic.jglfw.GlfwCallbackAdapter;
 import com.badlogic.jglfw.GlfwCallbacks;
 
@@ -45,8 +46,7 @@ public class JglfwApplication implements Application {
 	JglfwInput input;
 	JglfwNet net;
 	final ApplicationListener listener;
-	private final Array<Runnable> runnables = new Array();
-	private final Array<Runnable> executedRunnables = new Array();
+	private final RunnableQueue runnables = new RunnableQueue();
 	private final Array<LifecycleListener> lifecycleListeners = new Array();
 	private final Map<String, Preferences> preferences = new HashMap();
 	private final JglfwClipboard clipboard = new JglfwClipboard();
@@ -110,6 +110,7 @@ public class JglfwApplication implements Application {
 		backgroundFPS = config.backgroundFPS;
 		hiddenFPS = config.hiddenFPS;
 		preferencesdir = config.preferencesLocation;
+		runnables.setTimeLimit(config.runnablesTimeLimit);
 
 		final Thread glThread = Thread.currentThread();
 
@@ -237,15 +238,10 @@ public class JglfwApplication implements Application {
 	}
 
 	public boolean executeRunnables () {
-		synchronized (runnables) {
-			for (int i = runnables.size - 1; i >= 0; i--)
-				executedRunnables.addAll(runnables.get(i));
-			runnables.clear();
-		}
-		if (executedRunnables.size == 0) return false;
-		for (int i = executedRunnables.size - 1; i >= 0; i--)
-			executedRunnables.removeIndex(i).run();
-		return true;
+		boolean ran = runnables.run();
+		// runnables left by the time limit are run by the next frame
+		if (!runnables.isEmpty()) graphics.requestRendering();
+		return ran;
 	}
 
 	void sleep (int millis) {
@@ -330,10 +326,8 @@ public class JglfwApplication implements Application {
 	}
 
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-			graphics.requestRendering();
-		}
+		runnables.post(runnable);
+		graphics.requestRendering();
 	}
 
 	public boolean isPaused () {
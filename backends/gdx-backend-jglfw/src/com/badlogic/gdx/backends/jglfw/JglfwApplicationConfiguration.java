@@ -71,6 +71,9 @@ public class JglfwApplicationConfiguration {
 	public int hiddenFPS = -1;
 	/** Prefrences location on desktop. Default: current directory + ".prefs" */
 	public String preferencesLocation = ".prefs/";
+	/** Maximum time in seconds spent running the runnables posted with {@link com.badlogic.gdx.Application#postRunnable(Runnable)}
+	 * each frame, the others run the next frame. Use 0 for no limit. **/
+	public float runnablesTimeLimit;
 
 	static public DisplayMode[] getDisplayModes () {
 		GraphicsDevice device = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
@@ -20,9 +20,7 @@ import java.awt.Canvas;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.GraphicsEnvironment;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.lwjgl.LWJGLException;
@@ -43,6 +41,7 @@ import com.badlogic.gdx.backends.lwjgl.audio.OpenALAudio;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.RunnableQueue;
 
 /** An OpenGL surface on an AWT Canvas, allowing OpenGL to be embedded in a Swing application. All OpenGL calls are done on the
  * EDT. This is slightly less efficient then a dedicated thread, but greatly simplifies synchronization. Note that you may need to
@@ -56,8 +55,7 @@ public class LwjglAWTCanvas implements Application {
 	final LwjglNet net;
 	final ApplicationListener listener;
 	final AWTGLCanvas canvas;
-	final List<Runnable> runnables = new ArrayList();
-	final List<Runnable> executedRunnables = new ArrayList();
+	final RunnableQueue runnables = new RunnableQueue();
 	final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	boolean running = true;
 	int lastWidth;
@@ -240,19 +238,13 @@ public class LwjglAWTCanvas implements Application {
 			listener.resize(width, height);
 		}
 
-		synchronized (runnables) {
-			executedRunnables.clear();
-			executedRunnables.addAll(runnables);
-			runnables.clear();
-
-			for (int i = 0; i < executedRunnables.size(); i++) {
-				try {
-					executedRunnables.get(i).run();
-				} catch (Throwable t) {
-					t.printStackTrace();
-				}
-			}
+		try {
+			runnables.run();
+		} catch (Throwable t) {
+			t.printStackTrace();
 		}
+		// runnables left by the time limit or after a failing one are run by the next frame
+		if (!runnables.isEmpty()) graphics.requestRendering();
 
 		input.processEvents();
 		if (running) {
@@ -344,9 +336,7 @@ public class LwjglAWTCanvas implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-		}
+		runnables.post(runnable);
 	}
 
 	@Override
@@ -35,6 +35,7 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.RunnableQueue;
 
 /** An OpenGL surface fullscreen or in a lightweight window. */
 public class LwjglApplication implements Application {
@@ -46,8 +47,7 @@ public class LwjglApplication implements Application {
 	protected final ApplicationListener listener;
 	protected Thread mainLoopThread;
 	protected boolean running = true;
-	protected final Array<Runnable> runnables = new Array<Runnable>();
-	protected final Array<Runnable> executedRunnables = new Array<Runnable>();
+	protected final RunnableQueue runnables = new RunnableQueue();
 	protected final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	protected int logLevel = LOG_INFO;
 	protected String preferencesdir;
@@ -92,6 +92,7 @@ public class LwjglApplication implements Application {
 		net = new LwjglNet();
 		this.listener = listener;
 		this.preferencesdir = config.preferencesDirectory;
+		runnables.setTimeLimit(config.runnablesTimeLimit);
 
 		Gdx.app = this;
 		Gdx.graphics = graphics;
@@ -236,15 +237,10 @@ public class LwjglApplication implements Application {
 	}
 
 	public boolean executeRunnables () {
-		synchronized (runnables) {
-			for (int i = runnables.size - 1; i >= 0; i--)
-				executedRunnables.addAll(runnables.get(i));
-			runnables.clear();
-		}
-		if (executedRunnables.size == 0) return false;
-		for (int i = executedRunnables.size - 1; i >= 0; i--)
-			executedRunnables.removeIndex(i).run();
-		return true;
+		boolean ran = runnables.run();
+		// runnables left by the time limit are run by the next frame
+		if (!runnables.isEmpty()) graphics.requestRendering();
+		return ran;
 	}
 
 	@Override
@@ -325,10 +321,8 @@ public class LwjglApplication implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-			Gdx.graphics.requestRendering();
-		}
+		runnables.post(runnable);
+		Gdx.graphics.requestRendering();
 	}
 
 	@Override
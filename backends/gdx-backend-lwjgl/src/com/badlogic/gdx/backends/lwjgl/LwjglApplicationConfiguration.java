@@ -77,6 +77,9 @@ public class LwjglApplicationConfiguration {
 	public LwjglGraphics.SetDisplayModeCallback setDisplayModeCallback;
 	/** enable HDPI mode on Mac OS X **/
 	public boolean useHDPI = false;
+	/** Maximum time in seconds spent running the runnables posted with {@link com.badlogic.gdx.Application#postRunnable(Runnable)}
+	 * each frame, the others run the next frame. Default is 0 (no limit). **/
+	public float runnablesTimeLimit = 0;
 
 	Array<String> iconPaths = new Array();
 	Array<FileType> iconFileTypes = new Array();	
@@ -38,6 +38,7 @@ import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.backends.lwjgl.audio.OpenALAudio;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
+import com.badlogic.gdx.utils.RunnableQueue;
 import com.badlogic.gdx.utils.SharedLibraryLoader;
 
 /** An OpenGL surface on an AWT Canvas, allowing OpenGL to be embedded in a Swing application. All OpenGL calls are done on the
@@ -52,8 +53,7 @@ public class LwjglCanvas implements Application {
 	LwjglNet net;
 	ApplicationListener listener;
 	Canvas canvas;
-	final Array<Runnable> runnables = new Array();
-	final Array<Runnable> executedRunnables = new Array();
+	final RunnableQueue runnables = new RunnableQueue();
 	final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	boolean running = true;
 	int logLevel = LOG_INFO;
@@ -70,6 +70,7 @@ public class LwjglCanvas implements Application {
 
 	private void initialize (ApplicationListener listener, LwjglApplicationConfiguration config) {
 		LwjglNativesLoader.load();
+		runnables.setTimeLimit(config.runnablesTimeLimit);
 
 		canvas = new Canvas() {
 			private final Dimension minSize = new Dimension(1, 1);
@@ -250,15 +251,10 @@ public class LwjglCanvas implements Application {
 	}
 
 	public boolean executeRunnables () {
-		synchronized (runnables) {
-			for (int i = runnables.size - 1; i >= 0; i--)
-				executedRunnables.addAll(runnables.get(i));
-			runnables.clear();
-		}
-		if (executedRunnables.size == 0) return false;
-		for (int i = executedRunnables.size - 1; i >= 0; i--)
-			executedRunnables.removeIndex(i).run();
-		return true;
+		boolean ran = runnables.run();
+		// runnables left by the time limit are run by the next frame
+		if (!runnables.isEmpty()) graphics.requestRendering();
+		return ran;
 	}
 
 	protected int getFrameRate () {
@@ -339,10 +335,8 @@ public class LwjglCanvas implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-			Gdx.graphics.requestRendering();
-		}
+		runnables.post(runnable);
+		Gdx.graphics.requestRendering();
 	}
 
 	@Override
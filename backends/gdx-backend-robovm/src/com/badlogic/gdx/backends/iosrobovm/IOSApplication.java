@@ -50,6 +50,7 @@ import com.badlogic.gdx.backends.iosrobovm.objectal.OALSimpleAudio;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
+import com.badlogic.gdx.utils.RunnableQueue;
 
 public class IOSApplication implements Application {
 
@@ -101,13 +102,13 @@ public class IOSApplication implements Application {
 	/** The display scale factor (1.0f for normal; 2.0f to use retina coordinates/dimensions). */
 	float displayScaleFactor;
 
-	Array<Runnable> runnables = new Array<Runnable>();
-	Array<Runnable> executedRunnables = new Array<Runnable>();
+	final RunnableQueue runnables = new RunnableQueue();
 	Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 
 	public IOSApplication (ApplicationListener listener, IOSApplicationConfiguration config) {
 		this.listener = listener;
 		this.config = config;
+		runnables.setTimeLimit(config.runnablesTimeLimit);
 	}
 
 	final boolean didFinishLaunching (UIApplication uiApp, UIApplicationLaunchOptions options) {
@@ -404,25 +405,18 @@ public class IOSApplication implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-			Gdx.graphics.requestRendering();
-		}
+		runnables.post(runnable);
+		Gdx.graphics.requestRendering();
 	}
 
 	public void processRunnables () {
-		synchronized (runnables) {
-			executedRunnables.clear();
-			executedRunnables.addAll(runnables);
-			runnables.clear();
-		}
-		for (int i = 0; i < executedRunnables.size; i++) {
-			try {
-				executedRunnables.get(i).run();
-			} catch (Throwable t) {
-				t.printStackTrace();
-			}
+		try {
+			runnables.run();
+		} catch (Throwable t) {
+			t.printStackTrace();
 		}
+		// runnables left by the time limit or after a failing one are run by the next frame
+		if (!runnables.isEmpty()) graphics.requestRendering();
 	}
 
 	@Override
@@ -92,4 +92,8 @@ public class IOSApplicationConfiguration {
 	
 	/** whether or not the onScreenKeyboard should be closed on return key **/
 	public boolean keyboardCloseOnReturn = true;
+
+	/** maximum time in seconds spent running the runnables posted with {@link com.badlogic.gdx.Application#postRunnable(Runnable)}
+	 * each frame, the others run the next frame, default 0 (no limit) **/
+	public float runnablesTimeLimit = 0;
 }
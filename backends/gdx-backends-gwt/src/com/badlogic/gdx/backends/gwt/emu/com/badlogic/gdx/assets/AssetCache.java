@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.assets;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** The GWT backend has no writable file system, nothing is ever cached. */
+public class AssetCache {
+	private final FileHandle directory;
+
+	public AssetCache (FileHandle directory) {
+		if (directory == null) throw new IllegalArgumentException("directory cannot be null.");
+		this.directory = directory;
+	}
+
+	public FileHandle getDirectory () {
+		return directory;
+	}
+
+	public ByteBuffer get (String kind, int version, FileHandle source, int variant) {
+		return null;
+	}
+
+	public void put (String kind, int version, FileHandle source, int variant, ByteBuffer... data) {
+	}
+
+	public void clear () {
+	}
+
+	static public void writeString (DataOutputStream output, String value) throws IOException {
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes("UTF-8");
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	static public String readString (ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length == -1) return null;
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		try {
+			return new String(bytes, "UTF-8");
+		} catch (UnsupportedEncodingException ex) {
+			throw new GdxRuntimeException(ex);
+		}
+	}
+}
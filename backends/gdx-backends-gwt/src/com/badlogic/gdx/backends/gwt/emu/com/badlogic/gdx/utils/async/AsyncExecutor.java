@@ -16,34 +16,87 @@
 
 package com.badlogic.gdx.utils.async;
 
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
 /** GWT emulation of AsynchExecutor, will call tasks immediately :D
  * @author badlogic */
 public class AsyncExecutor implements Disposable {
+	private final Array<AsyncResult> completed = new Array();
 
 	/** Creates a new AsynchExecutor that allows maxConcurrent {@link Runnable} instances to run in parallel.
 	 * @param maxConcurrent */
 	public AsyncExecutor (int maxConcurrent) {
 	}
 
+	/** Creates a new AsynchExecutor that allows maxConcurrent {@link Runnable} instances to run in parallel.
+	 * @param maxConcurrent
+	 * @param workStealing ignored */
+	public AsyncExecutor (int maxConcurrent, boolean workStealing) {
+	}
+
 	/** Submits a {@link Runnable} to be executed asynchronously. If maxConcurrent runnables are already running, the runnable will
 	 * be queued.
 	 * @param task the task to execute asynchronously */
 	public <T> AsyncResult<T> submit (final AsyncTask<T> task) {
-		T result = null;
+		return submit(task, 0, null);
+	}
+
+	public <T> AsyncResult<T> submit (AsyncTask<T> task, int priority) {
+		return submit(task, priority, null);
+	}
+
+	public <T> AsyncResult<T> submit (AsyncTask<T> task, int priority, AsyncTaskListener<T> listener) {
+		if (listener == null) {
+			T result = null;
+			try {
+				result = task.call();
+			} catch (Throwable t) {
+				throw new GdxRuntimeException("Could not submit AsyncTask: " + t.getMessage(), t);
+			}
+			return new AsyncResult(result, null, priority, null);
+		}
+		AsyncResult<T> result;
 		try {
-			result = task.call();
+			result = new AsyncResult(task.call(), null, priority, listener);
 		} catch (Throwable t) {
-			throw new GdxRuntimeException("Could not submit AsyncTask: " + t.getMessage(), t);
+			result = new AsyncResult(null, t, priority, listener);
 		}
-		return new AsyncResult(result);
+		completed.add(result);
+		return result;
+	}
+
+	public <T> Array<AsyncResult<T>> submitAll (Array<? extends AsyncTask<T>> tasks, int priority, AsyncTaskListener<T> listener,
+		Array<AsyncResult<T>> results) {
+		if (results == null) results = new Array(tasks.size);
+		for (int i = 0; i < tasks.size; i++)
+			results.add(submit(tasks.get(i), priority, listener));
+		return results;
+	}
+
+	/** Notifies the listeners of the tasks submitted since the last call. If a listener throws an exception, the other listeners
+	 * are still notified and the first exception is rethrown afterwards. */
+	public void update () {
+		RuntimeException error = null;
+		for (int i = 0; i < completed.size; i++) {
+			try {
+				completed.get(i).dispatch();
+			} catch (RuntimeException ex) {
+				if (error == null) error = ex;
+			}
+		}
+		completed.clear();
+		if (error != null) throw error;
+	}
+
+	public void free (AsyncResult result) {
 	}
 
-	/** Waits for running {@link AsyncTask} instances to finish, then destroys any resources like threads. Can not be used after
-	 * this method is called. */
+	/** Notifies the listeners of the tasks that were not reported yet, as by {@link #update()}. Can not be used after this method
+	 * is called. */
 	@Override
 	public void dispose () {
+		update();
 	}
 }
@@ -16,11 +16,7 @@
 
 package com.badlogic.gdx.utils.async;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-
-import com.badlogic.gdx.utils.async.AsyncExecutor;
-import com.badlogic.gdx.utils.async.AsyncTask;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 
 /**
  * Returned by {@link AsyncExecutor#submit(AsyncTask)}, allows to poll
@@ -30,9 +26,15 @@ import com.badlogic.gdx.utils.async.AsyncTask;
  */
 public class AsyncResult<T> {
 	private final T result;
-	
-	AsyncResult(T result) {
+	private final Throwable error;
+	private final int priority;
+	private final AsyncTaskListener<T> listener;
+
+	AsyncResult(T result, Throwable error, int priority, AsyncTaskListener<T> listener) {
 		this.result = result;
+		this.error = error;
+		this.priority = priority;
+		this.listener = listener;
 	}
 	
 	/**
@@ -41,11 +43,38 @@ public class AsyncResult<T> {
 	public boolean isDone() {
 		return true;
 	}
+
+	/**
+	 * @return always false, tasks run immediately
+	 */
+	public boolean isCancelled() {
+		return false;
+	}
+
+	public int getPriority() {
+		return priority;
+	}
+
+	/**
+	 * @return always false, tasks run immediately
+	 */
+	public boolean cancel() {
+		return false;
+	}
 	
 	/**
-	 * @return the result, or null if there was an error, no result, or the task is still running
+	 * @return the result, tasks run immediately
+	 * @throws GdxRuntimeException if there was an error
 	 */
 	public T get() {
+		if (error != null) throw new GdxRuntimeException(error);
 		return result;
 	}
+
+	void dispatch() {
+		if (error != null)
+			listener.failed(error);
+		else
+			listener.completed(result);
+	}
 }
\ No newline at end of file
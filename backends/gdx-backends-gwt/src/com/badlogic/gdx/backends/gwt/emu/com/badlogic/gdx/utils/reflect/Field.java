@@ -159,4 +159,54 @@ public final class Field {
 			throw new ReflectionException("Illegal access to field " + getName() + ": " + e.getMessage(), e);
 		}
 	}
+
+	/** Returns the value of a {@code boolean} field on the supplied object. */
+	public boolean getBoolean (Object obj) throws ReflectionException {
+		return (Boolean)get(obj);
+	}
+
+	/** Sets the value of a {@code boolean} field on the supplied object. */
+	public void setBoolean (Object obj, boolean value) throws ReflectionException {
+		set(obj, value);
+	}
+
+	/** Returns the value of an {@code int} field on the supplied object. */
+	public int getInt (Object obj) throws ReflectionException {
+		return (Integer)get(obj);
+	}
+
+	/** Sets the value of an {@code int} field on the supplied object. */
+	public void setInt (Object obj, int value) throws ReflectionException {
+		set(obj, value);
+	}
+
+	/** Returns the value of a {@code long} field on the supplied object. */
+	public long getLong (Object obj) throws ReflectionException {
+		return (Long)get(obj);
+	}
+
+	/** Sets the value of a {@code long} field on the supplied object. */
+	public void setLong (Object obj, long value) throws ReflectionException {
+		set(obj, value);
+	}
+
+	/** Returns the value of a {@code float} field on the supplied object. */
+	public float getFloat (Object obj) throws ReflectionException {
+		return (Float)get(obj);
+	}
+
+	/** Sets the value of a {@code float} field on the supplied object. */
+	public void setFloat (Object obj, float value) throws ReflectionException {
+		set(obj, value);
+	}
+
+	/** Returns the value of a {@code double} field on the supplied object. */
+	public double getDouble (Object obj) throws ReflectionException {
+		return (Double)get(obj);
+	}
+
+	/** Sets the value of a {@code double} field on the supplied object. */
+	public void setDouble (Object obj, double value) throws ReflectionException {
+		set(obj, value);
+	}
 }
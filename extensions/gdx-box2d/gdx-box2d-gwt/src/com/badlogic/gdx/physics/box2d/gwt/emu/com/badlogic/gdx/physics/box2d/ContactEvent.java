@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.physics.box2d;
+
+import com.badlogic.gdx.math.Vector2;
+
+/** A contact begin or end event recorded during {@link World#step(float, int, int)} when contact events are buffered, see
+ * {@link World#setBufferContactEvents(boolean)}. Instances are reused, the values are only valid until the world is stepped
+ * again. */
+public class ContactEvent {
+	boolean begin;
+	Fixture fixtureA, fixtureB;
+	org.jbox2d.dynamics.contacts.Contact contact;
+	final Vector2 normal = new Vector2();
+	float normalImpulse;
+
+	ContactEvent () {
+	}
+
+	/** @return true if the two fixtures began to touch, false if they ceased to touch. */
+	public boolean isBegin () {
+		return begin;
+	}
+
+	public Fixture getFixtureA () {
+		return fixtureA;
+	}
+
+	public Fixture getFixtureB () {
+		return fixtureB;
+	}
+
+	/** Returns the world normal of the contact, pointing from fixture A to fixture B, when it began. Zero for end events. */
+	public Vector2 getNormal () {
+		return normal;
+	}
+
+	/** Returns the sum of the normal impulses applied at the contact points in the step the contact began. Zero for end events and
+	 * for sensors. */
+	public float getNormalImpulse () {
+		return normalImpulse;
+	}
+}
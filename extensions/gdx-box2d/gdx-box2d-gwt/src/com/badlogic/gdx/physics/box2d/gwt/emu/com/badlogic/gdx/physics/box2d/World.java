@@ -16,9 +16,12 @@
 
 package com.badlogic.gdx.physics.box2d;
 
+import java.nio.FloatBuffer;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.jbox2d.collision.AABB;
+import org.jbox2d.collision.WorldManifold;
 import org.jbox2d.common.Settings;
 import org.jbox2d.common.Vec2;
 import org.jbox2d.dynamics.joints.JointEdge;
@@ -86,9 +89,11 @@ public final class World implements Disposable {
 	Manifold tmpManifold = new Manifold();
 	ContactImpulse tmpImpulse = new ContactImpulse();
 
+	org.jbox2d.callbacks.ContactListener contactListener;
+
 	public void setContactListener (final ContactListener listener) {
 		if (listener != null) {
-			world.setContactListener(new org.jbox2d.callbacks.ContactListener() {
+			world.setContactListener(contactListener = new org.jbox2d.callbacks.ContactListener() {
 				@Override
 				public void beginContact (org.jbox2d.dynamics.contacts.Contact contact) {
 					tmpContact.contact = contact;
@@ -116,8 +121,114 @@ public final class World implements Disposable {
 				}
 			});
 		} else {
-			world.setContactListener(null);
+			world.setContactListener(contactListener = null);
+		}
+	}
+
+	boolean bufferContactEvents;
+	final Array<ContactEvent> contactEvents = new Array<ContactEvent>();
+	int contactEventCount;
+	final WorldManifold tmpWorldManifold = new WorldManifold();
+	final org.jbox2d.callbacks.ContactListener contactEventRecorder = new org.jbox2d.callbacks.ContactListener() {
+		@Override
+		public void beginContact (org.jbox2d.dynamics.contacts.Contact contact) {
+			ContactEvent event = addContactEvent(contact, true);
+			if (contact.getManifold().pointCount > 0) {
+				contact.getWorldManifold(tmpWorldManifold);
+				event.normal.set(tmpWorldManifold.normal.x, tmpWorldManifold.normal.y);
+			}
+		}
+
+		@Override
+		public void endContact (org.jbox2d.dynamics.contacts.Contact contact) {
+			addContactEvent(contact, false);
 		}
+
+		@Override
+		public void preSolve (org.jbox2d.dynamics.contacts.Contact contact, org.jbox2d.collision.Manifold oldManifold) {
+		}
+
+		@Override
+		public void postSolve (org.jbox2d.dynamics.contacts.Contact contact, org.jbox2d.callbacks.ContactImpulse impulse) {
+		}
+	};
+
+	ContactEvent addContactEvent (org.jbox2d.dynamics.contacts.Contact contact, boolean begin) {
+		if (contactEventCount == contactEvents.size) contactEvents.add(new ContactEvent());
+		ContactEvent event = contactEvents.get(contactEventCount++);
+		event.begin = begin;
+		event.fixtureA = fixtures.get(contact.getFixtureA());
+		event.fixtureB = fixtures.get(contact.getFixtureB());
+		event.contact = contact;
+		event.normal.set(0, 0);
+		event.normalImpulse = 0;
+		return event;
+	}
+
+	/** Sets whether {@link #step(float, int, int)} records contact begin and end events instead of calling the
+	 * {@link ContactListener} for each of them. The events can be read after the step with {@link #getContactEvents()}. While
+	 * buffering, preSolve and postSolve are not reported. */
+	public void setBufferContactEvents (boolean buffer) {
+		bufferContactEvents = buffer;
+		contactEventCount = 0;
+	}
+
+	public boolean getBufferContactEvents () {
+		return bufferContactEvents;
+	}
+
+	/** @return the number of contact events recorded during the last step, see {@link #setBufferContactEvents(boolean)}. */
+	public int getContactEventCount () {
+		return contactEventCount;
+	}
+
+	/** Returns a contact event recorded during the last step, see {@link #setBufferContactEvents(boolean)}. */
+	public ContactEvent getContactEvent (int index) {
+		if (index >= contactEventCount) throw new IndexOutOfBoundsException("index can't be >= " + contactEventCount + ": " + index);
+		return contactEvents.get(index);
+	}
+
+	/** Returns the contact events recorded during the last step in the order they occurred, see
+	 * {@link #setBufferContactEvents(boolean)}. The same iterator is returned each time this method is called, so the events can't
+	 * be iterated in nested loops. */
+	public Iterable<ContactEvent> getContactEvents () {
+		contactEventIterator.index = 0;
+		return contactEventIterator;
+	}
+
+	final ContactEventIterator contactEventIterator = new ContactEventIterator();
+
+	class ContactEventIterator implements Iterable<ContactEvent>, Iterator<ContactEvent> {
+		int index;
+
+		public Iterator<ContactEvent> iterator () {
+			return this;
+		}
+
+		public boolean hasNext () {
+			return index < contactEventCount;
+		}
+
+		public ContactEvent next () {
+			if (index >= contactEventCount) throw new NoSuchElementException();
+			return contactEvents.get(index++);
+		}
+
+		public void remove () {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	int solverThreads = 1;
+
+	/** Islands are always solved on the calling thread, the number of threads is ignored. */
+	public void setSolverThreads (int threads) {
+		if (threads < 1) throw new IllegalArgumentException("threads must be > 0: " + threads);
+		solverThreads = threads;
+	}
+
+	public int getSolverThreads () {
+		return solverThreads;
 	}
 
 	/** Create a rigid body given a definition. No reference to the definition is retained.
@@ -200,7 +311,23 @@ public final class World implements Disposable {
 	 * @param velocityIterations for the velocity constraint solver.
 	 * @param positionIterations for the position constraint solver. */
 	public void step (float timeStep, int velocityIterations, int positionIterations) {
+		if (!bufferContactEvents) {
+			world.step(timeStep, velocityIterations, positionIterations);
+			return;
+		}
+		contactEventCount = 0;
+		world.setContactListener(contactEventRecorder);
 		world.step(timeStep, velocityIterations, positionIterations);
+		world.setContactListener(contactListener);
+		for (int i = 0; i < contactEventCount; i++) {
+			ContactEvent event = contactEvents.get(i);
+			if (event.begin) {
+				org.jbox2d.collision.Manifold manifold = event.contact.getManifold();
+				for (int j = 0; j < manifold.pointCount; j++)
+					event.normalImpulse += manifold.points[j].normalImpulse;
+			}
+			event.contact = null;
+		}
 	}
 
 	/** Manually clear the force buffer on all bodies. By default, forces are cleared automatically after each call to Step. The
@@ -324,6 +451,60 @@ public final class World implements Disposable {
 		}
 	}
 
+	/** The number of floats per body used by {@link #getBodyStates(Array, FloatBuffer)}, {@link #setBodyVelocities(Array, FloatBuffer)}
+	 * and {@link #applyForcesToCenter(Array, FloatBuffer, boolean)}. Each body's state is stored as position x, position y, angle,
+	 * linear velocity x, linear velocity y and angular velocity, in that order. */
+	static public final int BODY_STATE_SIZE = 6;
+
+	/** Copies the position, angle, linear velocity and angular velocity of the given bodies into the buffer. The state of the body
+	 * at index i in the array is written at {@code position + i * BODY_STATE_SIZE}. The buffer's position and limit are not
+	 * changed. */
+	public void getBodyStates (Array<Body> bodies, FloatBuffer states) {
+		checkBodyStates(bodies, states);
+		for (int i = 0, n = bodies.size, offset = states.position(); i < n; i++, offset += BODY_STATE_SIZE) {
+			org.jbox2d.dynamics.Body body = bodies.get(i).body;
+			Vec2 p = body.getPosition();
+			Vec2 v = body.getLinearVelocity();
+			states.put(offset, p.x);
+			states.put(offset + 1, p.y);
+			states.put(offset + 2, body.getAngle());
+			states.put(offset + 3, v.x);
+			states.put(offset + 4, v.y);
+			states.put(offset + 5, body.getAngularVelocity());
+		}
+	}
+
+	/** Sets the linear and angular velocity of the given bodies from the buffer, which has the same layout as
+	 * {@link #getBodyStates(Array, FloatBuffer)}. Only the velocities are read. */
+	public void setBodyVelocities (Array<Body> bodies, FloatBuffer states) {
+		checkBodyStates(bodies, states);
+		for (int i = 0, n = bodies.size, offset = states.position(); i < n; i++, offset += BODY_STATE_SIZE) {
+			org.jbox2d.dynamics.Body body = bodies.get(i).body;
+			tmp.set(states.get(offset + 3), states.get(offset + 4));
+			body.setLinearVelocity(tmp);
+			body.setAngularVelocity(states.get(offset + 5));
+		}
+	}
+
+	/** Applies a force to the center of mass and a torque to each of the given bodies. The buffer has the same layout as
+	 * {@link #getBodyStates(Array, FloatBuffer)}, with the force stored in place of the linear velocity and the torque in place
+	 * of the angular velocity. */
+	public void applyForcesToCenter (Array<Body> bodies, FloatBuffer forces, boolean wake) {
+		checkBodyStates(bodies, forces);
+		for (int i = 0, n = bodies.size, offset = forces.position(); i < n; i++, offset += BODY_STATE_SIZE) {
+			org.jbox2d.dynamics.Body body = bodies.get(i).body;
+			tmp.set(forces.get(offset + 3), forces.get(offset + 4));
+			body.applyForceToCenter(tmp);
+			body.applyTorque(forces.get(offset + 5));
+		}
+	}
+
+	private void checkBodyStates (Array<Body> bodies, FloatBuffer buffer) {
+		if (buffer.remaining() < bodies.size * BODY_STATE_SIZE)
+			throw new IllegalArgumentException("buffer has " + buffer.remaining() + " floats remaining, " + bodies.size
+				* BODY_STATE_SIZE + " are needed.");
+	}
+
 	public void dispose () {
 	}
 
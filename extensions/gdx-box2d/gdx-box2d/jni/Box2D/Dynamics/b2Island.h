@@ -27,6 +27,7 @@ class b2Contact;
 class b2Joint;
 class b2StackAllocator;
 class b2ContactListener;
+struct b2ContactImpulse;
 struct b2ContactVelocityConstraint;
 struct b2Profile;
 
@@ -88,6 +89,13 @@ public:
 	int32 m_bodyCapacity;
 	int32 m_contactCapacity;
 	int32 m_jointCapacity;
+
+	/// Set when islands are solved concurrently by b2World::SolveIslands. Static bodies may then be shared with
+	/// other islands, so they are indexed by their world wide m_islandIndex and never written.
+	bool m_concurrent;
+
+	/// If set, Report records the impulse of each contact here instead of calling the listener.
+	b2ContactImpulse* m_impulses;
 };
 
 #endif
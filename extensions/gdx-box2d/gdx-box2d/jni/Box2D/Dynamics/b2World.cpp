@@ -61,6 +61,14 @@ b2World::b2World(const b2Vec2& gravity)
 	m_contactManager.m_allocator = &m_blockAllocator;
 
 	memset(&m_profile, 0, sizeof(b2Profile));
+
+	m_solvingIslands = false;
+	m_islands = NULL;
+	m_islandBodies = NULL;
+	m_islandContacts = NULL;
+	m_islandJoints = NULL;
+	m_islandImpulses = NULL;
+	m_islandCount = 0;
 }
 
 b2World::~b2World()
@@ -82,6 +90,13 @@ b2World::~b2World()
 
 		b = bNext;
 	}
+
+	// Islands of a step that was never finished.
+	b2Free(m_islandImpulses);
+	b2Free(m_islandJoints);
+	b2Free(m_islandContacts);
+	b2Free(m_islandBodies);
+	b2Free(m_islands);
 }
 
 void b2World::SetDestructionListener(b2DestructionListener* listener)
@@ -547,6 +562,12 @@ void b2World::Solve(const b2TimeStep& step)
 
 	m_stackAllocator.Free(stack);
 
+	SynchronizeFixtures();
+}
+
+// Update the broad-phase of the bodies that were solved and look for new contacts.
+void b2World::SynchronizeFixtures()
+{
 	{
 		b2Timer timer;
 		// Synchronize fixtures, check for out of range bodies.
@@ -894,9 +915,9 @@ void b2World::SolveTOI(const b2TimeStep& step)
 	}
 }
 
-void b2World::Step(float32 dt, int32 velocityIterations, int32 positionIterations)
+void b2World::PrepareStep(float32 dt, int32 velocityIterations, int32 positionIterations)
 {
-	b2Timer stepTimer;
+	m_stepTimer.Reset();
 
 	// If new fixtures were added, we need to find the new contacts.
 	if (m_flags & e_newFixture)
@@ -907,7 +928,7 @@ void b2World::Step(float32 dt, int32 velocityIterations, int32 positionIteration
 
 	m_flags |= e_locked;
 
-	b2TimeStep step;
+	b2TimeStep& step = m_step;
 	step.dt = dt;
 	step.velocityIterations	= velocityIterations;
 	step.positionIterations = positionIterations;
@@ -930,14 +951,11 @@ void b2World::Step(float32 dt, int32 velocityIterations, int32 positionIteration
 		m_contactManager.Collide();
 		m_profile.collide = timer.GetMilliseconds();
 	}
+}
 
-	// Integrate velocities, solve velocity constraints, and integrate positions.
-	if (m_stepComplete && step.dt > 0.0f)
-	{
-		b2Timer timer;
-		Solve(step);
-		m_profile.solve = timer.GetMilliseconds();
-	}
+void b2World::CompleteStep()
+{
+	const b2TimeStep& step = m_step;
 
 	// Handle TOI events.
 	if (m_continuousPhysics && step.dt > 0.0f)
@@ -959,7 +977,343 @@ void b2World::Step(float32 dt, int32 velocityIterations, int32 positionIteration
 
 	m_flags &= ~e_locked;
 
-	m_profile.step = stepTimer.GetMilliseconds();
+	m_profile.step = m_stepTimer.GetMilliseconds();
+}
+
+void b2World::Step(float32 dt, int32 velocityIterations, int32 positionIterations)
+{
+	PrepareStep(dt, velocityIterations, positionIterations);
+
+	// Integrate velocities, solve velocity constraints, and integrate positions.
+	if (m_stepComplete && m_step.dt > 0.0f)
+	{
+		b2Timer timer;
+		Solve(m_step);
+		m_profile.solve = timer.GetMilliseconds();
+	}
+
+	CompleteStep();
+}
+
+int32 b2World::StepBegin(float32 dt, int32 velocityIterations, int32 positionIterations)
+{
+	b2Assert(m_solvingIslands == false);
+
+	PrepareStep(dt, velocityIterations, positionIterations);
+
+	m_islandCount = 0;
+	if (m_stepComplete && m_step.dt > 0.0f)
+	{
+		m_solveTimer.Reset();
+		BuildIslands();
+		m_solvingIslands = true;
+	}
+
+	return m_islandCount;
+}
+
+void b2World::SolveIslands(int32 first, int32 last)
+{
+	b2Assert(m_solvingIslands);
+	b2Assert(0 <= first && first <= last && last <= m_islandCount);
+	if (first == last)
+	{
+		return;
+	}
+
+	// The world's stack allocator is not thread safe, each call brings its own.
+	void* mem = b2Alloc(sizeof(b2StackAllocator));
+	b2StackAllocator* allocator = new (mem) b2StackAllocator();
+	{
+		// Static bodies keep their world wide index, so the island has room for all of them.
+		b2Island island(m_islandStaticCount + m_islandMaxBodies,
+						m_islandMaxContacts,
+						m_islandMaxJoints,
+						allocator,
+						NULL);
+		island.m_concurrent = true;
+
+		for (int32 i = first; i < last; ++i)
+		{
+			const b2IslandRange& range = m_islands[i];
+			memcpy(island.m_bodies, m_islandBodies + range.bodyStart, range.bodyCount * sizeof(b2Body*));
+			memcpy(island.m_contacts, m_islandContacts + range.contactStart, range.contactCount * sizeof(b2Contact*));
+			memcpy(island.m_joints, m_islandJoints + range.jointStart, range.jointCount * sizeof(b2Joint*));
+			island.m_bodyCount = range.bodyCount;
+			island.m_contactCount = range.contactCount;
+			island.m_jointCount = range.jointCount;
+			if (m_islandImpulses)
+			{
+				island.m_impulses = m_islandImpulses + range.contactStart;
+			}
+
+			b2Profile profile;
+			island.Solve(&profile, m_step, m_gravity, m_allowSleep);
+		}
+	}
+	allocator->~b2StackAllocator();
+	b2Free(mem);
+}
+
+void b2World::StepEnd()
+{
+	if (m_solvingIslands)
+	{
+		FinishIslands();
+		SynchronizeFixtures();
+		m_profile.solve = m_solveTimer.GetMilliseconds();
+		m_solvingIslands = false;
+	}
+
+	CompleteStep();
+}
+
+// Gather the awake islands like Solve does, without solving them.
+void b2World::BuildIslands()
+{
+	m_profile.solveInit = 0.0f;
+	m_profile.solveVelocity = 0.0f;
+	m_profile.solvePosition = 0.0f;
+
+	// Clear all the island flags.
+	for (b2Body* b = m_bodyList; b; b = b->m_next)
+	{
+		b->m_flags &= ~b2Body::e_islandFlag;
+		if (b->GetType() == b2_staticBody)
+		{
+			b->m_islandIndex = -1;
+		}
+	}
+	for (b2Contact* c = m_contactManager.m_contactList; c; c = c->m_next)
+	{
+		c->m_flags &= ~b2Contact::e_islandFlag;
+	}
+	for (b2Joint* j = m_jointList; j; j = j->m_next)
+	{
+		j->m_islandFlag = false;
+	}
+
+	// Static bodies can be part of several islands, each time through a contact or a joint.
+	int32 contactCount = m_contactManager.m_contactCount;
+	m_islands = (b2IslandRange*)b2Alloc(m_bodyCount * sizeof(b2IslandRange));
+	m_islandBodies = (b2Body**)b2Alloc((m_bodyCount + contactCount + m_jointCount) * sizeof(b2Body*));
+	m_islandContacts = (b2Contact**)b2Alloc(contactCount * sizeof(b2Contact*));
+	m_islandJoints = (b2Joint**)b2Alloc(m_jointCount * sizeof(b2Joint*));
+	m_islandImpulses = NULL;
+	if (m_contactManager.m_contactListener)
+	{
+		// Zeroed for the islands left unsolved if the step fails.
+		m_islandImpulses = (b2ContactImpulse*)b2Alloc(contactCount * sizeof(b2ContactImpulse));
+		memset(m_islandImpulses, 0, contactCount * sizeof(b2ContactImpulse));
+	}
+	m_islandCount = 0;
+	m_islandStaticCount = 0;
+	m_islandMaxBodies = 0;
+	m_islandMaxContacts = 0;
+	m_islandMaxJoints = 0;
+
+	int32 bodyCount = 0;
+	contactCount = 0;
+	int32 jointCount = 0;
+
+	int32 stackSize = m_bodyCount;
+	b2Body** stack = (b2Body**)m_stackAllocator.Allocate(stackSize * sizeof(b2Body*));
+	for (b2Body* seed = m_bodyList; seed; seed = seed->m_next)
+	{
+		if (seed->m_flags & b2Body::e_islandFlag)
+		{
+			continue;
+		}
+
+		if (seed->IsAwake() == false || seed->IsActive() == false)
+		{
+			continue;
+		}
+
+		// The seed can be dynamic or kinematic.
+		if (seed->GetType() == b2_staticBody)
+		{
+			continue;
+		}
+
+		b2IslandRange* island = m_islands + m_islandCount++;
+		island->bodyStart = bodyCount;
+		island->contactStart = contactCount;
+		island->jointStart = jointCount;
+		int32 movingCount = 0;
+
+		int32 stackCount = 0;
+		stack[stackCount++] = seed;
+		seed->m_flags |= b2Body::e_islandFlag;
+
+		// Perform a depth first search (DFS) on the constraint graph.
+		while (stackCount > 0)
+		{
+			// Grab the next body off the stack and add it to the island.
+			b2Body* b = stack[--stackCount];
+			b2Assert(b->IsActive() == true);
+			m_islandBodies[bodyCount++] = b;
+
+			// Make sure the body is awake.
+			b->SetAwake(true);
+
+			// To keep islands as small as possible, we don't
+			// propagate islands across static bodies.
+			if (b->GetType() == b2_staticBody)
+			{
+				if (b->m_islandIndex < 0)
+				{
+					b->m_islandIndex = m_islandStaticCount++;
+				}
+				continue;
+			}
+
+			b->m_islandIndex = movingCount++;
+
+			// Search all contacts connected to this body.
+			for (b2ContactEdge* ce = b->m_contactList; ce; ce = ce->next)
+			{
+				b2Contact* contact = ce->contact;
+
+				// Has this contact already been added to an island?
+				if (contact->m_flags & b2Contact::e_islandFlag)
+				{
+					continue;
+				}
+
+				// Is this contact solid and touching?
+				if (contact->IsEnabled() == false ||
+					contact->IsTouching() == false)
+				{
+					continue;
+				}
+
+				// Skip sensors.
+				bool sensorA = contact->m_fixtureA->m_isSensor;
+				bool sensorB = contact->m_fixtureB->m_isSensor;
+				if (sensorA || sensorB)
+				{
+					continue;
+				}
+
+				m_islandContacts[contactCount++] = contact;
+				contact->m_flags |= b2Contact::e_islandFlag;
+
+				b2Body* other = ce->other;
+
+				// Was the other body already added to this island?
+				if (other->m_flags & b2Body::e_islandFlag)
+				{
+					continue;
+				}
+
+				b2Assert(stackCount < stackSize);
+				stack[stackCount++] = other;
+				other->m_flags |= b2Body::e_islandFlag;
+			}
+
+			// Search all joints connect to this body.
+			for (b2JointEdge* je = b->m_jointList; je; je = je->next)
+			{
+				if (je->joint->m_islandFlag == true)
+				{
+					continue;
+				}
+
+				b2Body* other = je->other;
+
+				// Don't simulate joints connected to inactive bodies.
+				if (other->IsActive() == false)
+				{
+					continue;
+				}
+
+				m_islandJoints[jointCount++] = je->joint;
+				je->joint->m_islandFlag = true;
+
+				if (other->m_flags & b2Body::e_islandFlag)
+				{
+					continue;
+				}
+
+				b2Assert(stackCount < stackSize);
+				stack[stackCount++] = other;
+				other->m_flags |= b2Body::e_islandFlag;
+			}
+		}
+
+		island->bodyCount = bodyCount - island->bodyStart;
+		island->contactCount = contactCount - island->contactStart;
+		island->jointCount = jointCount - island->jointStart;
+		m_islandMaxBodies = b2Max(m_islandMaxBodies, movingCount);
+		m_islandMaxContacts = b2Max(m_islandMaxContacts, island->contactCount);
+		m_islandMaxJoints = b2Max(m_islandMaxJoints, island->jointCount);
+
+		// Allow static bodies to participate in other islands.
+		for (int32 i = island->bodyStart; i < bodyCount; ++i)
+		{
+			b2Body* b = m_islandBodies[i];
+			if (b->GetType() == b2_staticBody)
+			{
+				b->m_flags &= ~b2Body::e_islandFlag;
+			}
+		}
+	}
+
+	m_stackAllocator.Free(stack);
+
+	// Move the other bodies past the static bodies.
+	for (int32 i = 0; i < bodyCount; ++i)
+	{
+		b2Body* b = m_islandBodies[i];
+		if (b->GetType() != b2_staticBody)
+		{
+			b->m_islandIndex += m_islandStaticCount;
+		}
+	}
+}
+
+// Report post-solve and update the shared static bodies in island order, as Solve would have.
+void b2World::FinishIslands()
+{
+	b2ContactListener* listener = m_contactManager.m_contactListener;
+	for (int32 i = 0; i < m_islandCount; ++i)
+	{
+		const b2IslandRange& island = m_islands[i];
+
+		// The seed is asleep if the whole island went to sleep.
+		bool awake = m_islandBodies[island.bodyStart]->IsAwake();
+		for (int32 j = 0; j < island.bodyCount; ++j)
+		{
+			b2Body* b = m_islandBodies[island.bodyStart + j];
+			if (b->GetType() == b2_staticBody)
+			{
+				b->SetAwake(awake);
+			}
+		}
+
+		if (listener == NULL || m_islandImpulses == NULL)
+		{
+			continue;
+		}
+
+		// The impulses of the solver's velocity constraints, recorded by b2Island::Report.
+		for (int32 j = island.contactStart; j < island.contactStart + island.contactCount; ++j)
+		{
+			listener->PostSolve(m_islandContacts[j], m_islandImpulses + j);
+		}
+	}
+
+	b2Free(m_islandImpulses);
+	b2Free(m_islandJoints);
+	b2Free(m_islandContacts);
+	b2Free(m_islandBodies);
+	b2Free(m_islands);
+	m_islands = NULL;
+	m_islandImpulses = NULL;
+	m_islandBodies = NULL;
+	m_islandContacts = NULL;
+	m_islandJoints = NULL;
 }
 
 void b2World::ClearForces()
@@ -25,6 +25,7 @@
 #include <Box2D/Dynamics/b2ContactManager.h>
 #include <Box2D/Dynamics/b2WorldCallbacks.h>
 #include <Box2D/Dynamics/b2TimeStep.h>
+#include <Box2D/Common/b2Timer.h>
 
 struct b2AABB;
 struct b2BodyDef;
@@ -95,6 +96,22 @@ public:
 				int32 velocityIterations,
 				int32 positionIterations);
 
+	/// Take a time step whose islands are solved by the caller, possibly on several threads.
+	/// This performs collision detection and builds the islands, which must then be solved
+	/// by SolveIslands before finishing the step with StepEnd. The result is the same as Step.
+	/// @return the number of islands to solve.
+	int32 StepBegin(float32 timeStep,
+					int32 velocityIterations,
+					int32 positionIterations);
+
+	/// Integrate and solve the islands [first, last) of a step started with StepBegin.
+	/// Calls for disjoint ranges may run concurrently on different threads.
+	void SolveIslands(int32 first, int32 last);
+
+	/// Finish a step started with StepBegin once all of its islands are solved. Post-solve
+	/// is reported here for all islands, then continuous collision is handled.
+	void StepEnd();
+
 	/// Manually clear the force buffer on all bodies. By default, forces are cleared automatically
 	/// after each call to Step. The default behavior is modified by calling SetAutoClearForces.
 	/// The purpose of this function is to support sub-stepping. Sub-stepping is often used to maintain
@@ -224,8 +241,23 @@ private:
 	friend class b2ContactManager;
 	friend class b2Controller;
 
+	// A range of the gathered island arrays, see BuildIslands.
+	struct b2IslandRange
+	{
+		int32 bodyStart, bodyCount;
+		int32 contactStart, contactCount;
+		int32 jointStart, jointCount;
+	};
+
+	void PrepareStep(float32 dt, int32 velocityIterations, int32 positionIterations);
+	void CompleteStep();
+
 	void Solve(const b2TimeStep& step);
 	void SolveTOI(const b2TimeStep& step);
+	void SynchronizeFixtures();
+
+	void BuildIslands();
+	void FinishIslands();
 
 	void DrawJoint(b2Joint* joint);
 	void DrawShape(b2Fixture* shape, const b2Transform& xf, const b2Color& color);
@@ -261,6 +293,26 @@ private:
 	bool m_stepComplete;
 
 	b2Profile m_profile;
+
+	// State of a step split by StepBegin and StepEnd.
+	b2TimeStep m_step;
+	b2Timer m_stepTimer;
+	b2Timer m_solveTimer;
+	bool m_solvingIslands;
+
+	// Islands gathered by BuildIslands. Static bodies get a world wide m_islandIndex
+	// below m_islandStaticCount, the other bodies an index local to their island above it.
+	b2IslandRange* m_islands;
+	b2Body** m_islandBodies;
+	b2Contact** m_islandContacts;
+	b2Joint** m_islandJoints;
+	// The post-solve impulses recorded by SolveIslands, by island contact. Null without a contact listener.
+	b2ContactImpulse* m_islandImpulses;
+	int32 m_islandCount;
+	int32 m_islandStaticCount;
+	int32 m_islandMaxBodies;
+	int32 m_islandMaxContacts;
+	int32 m_islandMaxJoints;
 };
 
 inline b2Body* b2World::GetBodyList()
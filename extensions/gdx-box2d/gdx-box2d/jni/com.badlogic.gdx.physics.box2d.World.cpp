@@ -12,6 +12,7 @@ static jmethodID preSolveID = 0;
 static jmethodID postSolveID = 0;
 static jmethodID reportFixtureID = 0;
 static jmethodID reportRayFixtureID = 0;
+static jmethodID growContactEventsID = 0;
 
 class CustomRayCastCallback: public b2RayCastCallback
 {
@@ -97,6 +98,94 @@ public:
 		}
 };
 
+// Must match the layout read by ContactEvent, ContactEvent.SIZE bytes.
+struct ContactEvent
+{
+	jlong fixtureA;
+	jlong fixtureB;
+	jlong contact;
+	jint type;
+	jfloat normalX;
+	jfloat normalY;
+	jfloat normalImpulse;
+};
+
+class BufferedContactListener: public b2ContactListener
+{
+private:
+	JNIEnv* env;
+	jobject obj;
+	ContactEvent* events;
+	int capacity;
+	int count;
+
+	void add(b2Contact* contact, int type)
+	{
+		if( count == capacity )
+		{
+			jobject buffer = env->CallObjectMethod(obj, growContactEventsID, (jint)count);
+			events = (ContactEvent*)env->GetDirectBufferAddress(buffer);
+			capacity = (int)(env->GetDirectBufferCapacity(buffer) / sizeof(ContactEvent));
+			env->DeleteLocalRef(buffer);
+		}
+		ContactEvent& event = events[count++];
+		event.fixtureA = (jlong)contact->GetFixtureA();
+		event.fixtureB = (jlong)contact->GetFixtureB();
+		event.contact = (jlong)contact;
+		event.type = type;
+		event.normalX = 0;
+		event.normalY = 0;
+		event.normalImpulse = 0;
+		if( type == 0 && contact->GetManifold()->pointCount > 0 )
+		{
+			b2WorldManifold worldManifold;
+			contact->GetWorldManifold(&worldManifold);
+			event.normalX = worldManifold.normal.x;
+			event.normalY = worldManifold.normal.y;
+		}
+	}
+
+public:
+	BufferedContactListener( JNIEnv* env, jobject obj, ContactEvent* events, int capacity, int count )
+	{
+		this->env = env;
+		this->obj = obj;
+		this->events = events;
+		this->capacity = capacity;
+		this->count = count;
+	}
+
+	virtual void BeginContact(b2Contact* contact)
+	{
+		add(contact, 0);
+	}
+
+	virtual void EndContact(b2Contact* contact)
+	{
+		add(contact, 1);
+	}
+
+	/// Adds up the impulses the solver applied to the contacts that began during the step and returns the number of events.
+	/// Contacts are only destroyed at the start of a step, so those that began are still alive.
+	int finish()
+	{
+		for( int i = 0; i < count; i++ )
+		{
+			ContactEvent& event = events[i];
+			if( event.type != 0 ) continue;
+			b2Manifold* manifold = ((b2Contact*)event.contact)->GetManifold();
+			for( int j = 0; j < manifold->pointCount; j++ )
+				event.normalImpulse += manifold->points[j].normalImpulse;
+		}
+		return count;
+	}
+
+	int getCount()
+	{
+		return count;
+	}
+};
+
 class CustomQueryCallback: public b2QueryCallback
 {
 private:
@@ -144,6 +233,7 @@ b2ContactFilter defaultFilter;
 			reportFixtureID = env->GetMethodID(worldClass, "reportFixture", "(J)Z" );
 			reportRayFixtureID = env->GetMethodID(worldClass, "reportRayFixture", "(JFFFFF)F" );
 			shouldCollideID = env->GetMethodID( worldClass, "contactFilter", "(JJ)Z");
+			growContactEventsID = env->GetMethodID( worldClass, "growContactEvents", "(I)Ljava/nio/ByteBuffer;");
 		}
 	
 		b2World* world = new b2World( b2Vec2( gravityX, gravityY ));
@@ -513,6 +603,130 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStep(JNIEnv*
 
 }
 
+static inline jint wrapped_Java_com_badlogic_gdx_physics_box2d_World_jniStepBuffered
+(JNIEnv* env, jobject object, jlong addr, jfloat timeStep, jint velocityIterations, jint positionIterations, jobject obj_events, jint capacity, char* events) {
+
+//@line:849
+
+		b2World* world = (b2World*)addr;
+		CustomContactFilter contactFilter(env, object);
+		BufferedContactListener contactListener(env, object, (ContactEvent*)events, capacity, 0);
+		world->SetContactFilter(&contactFilter);
+		world->SetContactListener(&contactListener);
+		world->Step( timeStep, velocityIterations, positionIterations );
+		world->SetContactFilter(&defaultFilter);
+		world->SetContactListener(0);
+		return contactListener.finish();
+	
+}
+
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStepBuffered(JNIEnv* env, jobject object, jlong addr, jfloat timeStep, jint velocityIterations, jint positionIterations, jobject obj_events, jint capacity) {
+	char* events = (char*)(obj_events?env->GetDirectBufferAddress(obj_events):0);
+
+	jint JNI_returnValue = wrapped_Java_com_badlogic_gdx_physics_box2d_World_jniStepBuffered(env, object, addr, timeStep, velocityIterations, positionIterations, obj_events, capacity, events);
+
+
+	return JNI_returnValue;
+}
+
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStepBegin(JNIEnv* env, jobject object, jlong addr, jfloat timeStep, jint velocityIterations, jint positionIterations) {
+
+
+//@line:960
+
+		b2World* world = (b2World*)addr;
+		CustomContactFilter contactFilter(env, object);
+		CustomContactListener contactListener(env,object);
+		world->SetContactFilter(&contactFilter);
+		world->SetContactListener(&contactListener);
+		int islands = world->StepBegin( timeStep, velocityIterations, positionIterations );
+		world->SetContactFilter(&defaultFilter);
+		world->SetContactListener(0);
+		return islands;
+	
+
+}
+
+static inline jlong wrapped_Java_com_badlogic_gdx_physics_box2d_World_jniStepBeginBuffered
+(JNIEnv* env, jobject object, jlong addr, jfloat timeStep, jint velocityIterations, jint positionIterations, jobject obj_events, jint capacity, char* events) {
+
+//@line:974
+
+		b2World* world = (b2World*)addr;
+		CustomContactFilter contactFilter(env, object);
+		BufferedContactListener contactListener(env, object, (ContactEvent*)events, capacity, 0);
+		world->SetContactFilter(&contactFilter);
+		world->SetContactListener(&contactListener);
+		int islands = world->StepBegin( timeStep, velocityIterations, positionIterations );
+		world->SetContactFilter(&defaultFilter);
+		world->SetContactListener(0);
+		return ((jlong)islands << 32) | (jlong)contactListener.getCount();
+	
+}
+
+JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStepBeginBuffered(JNIEnv* env, jobject object, jlong addr, jfloat timeStep, jint velocityIterations, jint positionIterations, jobject obj_events, jint capacity) {
+	char* events = (char*)(obj_events?env->GetDirectBufferAddress(obj_events):0);
+
+	jlong JNI_returnValue = wrapped_Java_com_badlogic_gdx_physics_box2d_World_jniStepBeginBuffered(env, object, addr, timeStep, velocityIterations, positionIterations, obj_events, capacity, events);
+
+
+	return JNI_returnValue;
+}
+
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSolveIslands(JNIEnv* env, jclass clazz, jlong addr, jint first, jint last) {
+
+
+//@line:986
+
+		b2World* world = (b2World*)addr;
+		world->SolveIslands( first, last );
+	
+
+}
+
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStepEnd(JNIEnv* env, jobject object, jlong addr) {
+
+
+//@line:991
+
+		b2World* world = (b2World*)addr;
+		CustomContactFilter contactFilter(env, object);
+		CustomContactListener contactListener(env,object);
+		world->SetContactFilter(&contactFilter);
+		world->SetContactListener(&contactListener);
+		world->StepEnd();
+		world->SetContactFilter(&defaultFilter);
+		world->SetContactListener(0);
+	
+
+}
+
+static inline jint wrapped_Java_com_badlogic_gdx_physics_box2d_World_jniStepEndBuffered
+(JNIEnv* env, jobject object, jlong addr, jobject obj_events, jint capacity, jint count, char* events) {
+
+//@line:1002
+
+		b2World* world = (b2World*)addr;
+		CustomContactFilter contactFilter(env, object);
+		BufferedContactListener contactListener(env, object, (ContactEvent*)events, capacity, count);
+		world->SetContactFilter(&contactFilter);
+		world->SetContactListener(&contactListener);
+		world->StepEnd();
+		world->SetContactFilter(&defaultFilter);
+		world->SetContactListener(0);
+		return contactListener.finish();
+	
+}
+
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStepEndBuffered(JNIEnv* env, jobject object, jlong addr, jobject obj_events, jint capacity, jint count) {
+	char* events = (char*)(obj_events?env->GetDirectBufferAddress(obj_events):0);
+
+	jint JNI_returnValue = wrapped_Java_com_badlogic_gdx_physics_box2d_World_jniStepEndBuffered(env, object, addr, obj_events, capacity, count, events);
+
+
+	return JNI_returnValue;
+}
+
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniClearForces(JNIEnv* env, jobject object, jlong addr) {
 
 
@@ -665,6 +879,66 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniQueryAABB(JN
 
 }
 
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetBodyStates(JNIEnv* env, jobject object, jlongArray obj_bodies, jint count, jobject obj_states, jint offset) {
+	float* states = (float*)(obj_states?env->GetDirectBufferAddress(obj_states):0);
+	long long* bodies = (long long*)env->GetPrimitiveArrayCritical(obj_bodies, 0);
+
+
+//@line:954
+
+		float* state = states + offset;
+		for (int i = 0; i < count; i++, state += 6) {
+			b2Body* body = (b2Body*)bodies[i];
+			const b2Vec2& p = body->GetPosition();
+			const b2Vec2& v = body->GetLinearVelocity();
+			state[0] = p.x;
+			state[1] = p.y;
+			state[2] = body->GetAngle();
+			state[3] = v.x;
+			state[4] = v.y;
+			state[5] = body->GetAngularVelocity();
+		}
+	
+	env->ReleasePrimitiveArrayCritical(obj_bodies, bodies, 0);
+
+}
+
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetBodyVelocities(JNIEnv* env, jobject object, jlongArray obj_bodies, jint count, jobject obj_states, jint offset) {
+	float* states = (float*)(obj_states?env->GetDirectBufferAddress(obj_states):0);
+	long long* bodies = (long long*)env->GetPrimitiveArrayCritical(obj_bodies, 0);
+
+
+//@line:977
+
+		float* state = states + offset;
+		for (int i = 0; i < count; i++, state += 6) {
+			b2Body* body = (b2Body*)bodies[i];
+			body->SetLinearVelocity(b2Vec2(state[3], state[4]));
+			body->SetAngularVelocity(state[5]);
+		}
+	
+	env->ReleasePrimitiveArrayCritical(obj_bodies, bodies, 0);
+
+}
+
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniApplyForcesToCenter(JNIEnv* env, jobject object, jlongArray obj_bodies, jint count, jobject obj_forces, jint offset, jboolean wake) {
+	float* forces = (float*)(obj_forces?env->GetDirectBufferAddress(obj_forces):0);
+	long long* bodies = (long long*)env->GetPrimitiveArrayCritical(obj_bodies, 0);
+
+
+//@line:995
+
+		float* force = forces + offset;
+		for (int i = 0; i < count; i++, force += 6) {
+			b2Body* body = (b2Body*)bodies[i];
+			body->ApplyForceToCenter(b2Vec2(force[3], force[4]), wake);
+			body->ApplyTorque(force[5], wake);
+		}
+	
+	env->ReleasePrimitiveArrayCritical(obj_bodies, bodies, 0);
+
+}
+
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetContactList(JNIEnv* env, jobject object, jlong addr, jlongArray obj_contacts) {
 	long long* contacts = (long long*)env->GetPrimitiveArrayCritical(obj_contacts, 0);
 
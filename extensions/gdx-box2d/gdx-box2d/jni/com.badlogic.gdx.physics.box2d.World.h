@@ -159,6 +159,54 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyJoint
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStep
   (JNIEnv *, jobject, jlong, jfloat, jint, jint);
 
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniStepBuffered
+ * Signature: (JFIILjava/nio/ByteBuffer;I)I
+ */
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStepBuffered
+  (JNIEnv *, jobject, jlong, jfloat, jint, jint, jobject, jint);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniStepBegin
+ * Signature: (JFII)I
+ */
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStepBegin
+  (JNIEnv *, jobject, jlong, jfloat, jint, jint);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniStepBeginBuffered
+ * Signature: (JFIILjava/nio/ByteBuffer;I)J
+ */
+JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStepBeginBuffered
+  (JNIEnv *, jobject, jlong, jfloat, jint, jint, jobject, jint);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniSolveIslands
+ * Signature: (JII)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSolveIslands
+  (JNIEnv *, jclass, jlong, jint, jint);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniStepEnd
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStepEnd
+  (JNIEnv *, jobject, jlong);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniStepEndBuffered
+ * Signature: (JLjava/nio/ByteBuffer;II)I
+ */
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStepEndBuffered
+  (JNIEnv *, jobject, jlong, jobject, jint, jint);
+
 /*
  * Class:     com_badlogic_gdx_physics_box2d_World
  * Method:    jniClearForces
@@ -263,6 +311,30 @@ JNIEXPORT jboolean JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetAutoC
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniQueryAABB
   (JNIEnv *, jobject, jlong, jfloat, jfloat, jfloat, jfloat);
 
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniGetBodyStates
+ * Signature: ([JILjava/nio/FloatBuffer;I)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetBodyStates
+  (JNIEnv *, jobject, jlongArray, jint, jobject, jint);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniSetBodyVelocities
+ * Signature: ([JILjava/nio/FloatBuffer;I)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetBodyVelocities
+  (JNIEnv *, jobject, jlongArray, jint, jobject, jint);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniApplyForcesToCenter
+ * Signature: ([JILjava/nio/FloatBuffer;IZ)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniApplyForcesToCenter
+  (JNIEnv *, jobject, jlongArray, jint, jobject, jint, jboolean);
+
 /*
  * Class:     com_badlogic_gdx_physics_box2d_World
  * Method:    jniGetContactList
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.physics.box2d;
+
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.math.Vector2;
+
+/** A contact begin or end event recorded during {@link World#step(float, int, int)} when contact events are buffered, see
+ * {@link World#setBufferContactEvents(boolean)}. Instances are reused, the values are only valid until the next event is
+ * fetched or the world is stepped again. */
+public class ContactEvent {
+	/** The size in bytes of a recorded event, matching the native ContactEvent struct: fixture A, fixture B and contact addresses,
+	 * the type, the world normal and the normal impulse. */
+	static final int SIZE = 40;
+
+	final World world;
+	ByteBuffer buffer;
+	int offset;
+	private final Vector2 normal = new Vector2();
+
+	protected ContactEvent (World world) {
+		this.world = world;
+	}
+
+	/** @return true if the two fixtures began to touch, false if they ceased to touch. */
+	public boolean isBegin () {
+		return buffer.getInt(offset + 24) == 0;
+	}
+
+	public Fixture getFixtureA () {
+		return world.fixtures.get(buffer.getLong(offset));
+	}
+
+	public Fixture getFixtureB () {
+		return world.fixtures.get(buffer.getLong(offset + 8));
+	}
+
+	/** Returns the world normal of the contact, pointing from fixture A to fixture B, when it began. Zero for end events. Note
+	 * that the same Vector2 instance is returned each time this method is called. */
+	public Vector2 getNormal () {
+		return normal.set(buffer.getFloat(offset + 28), buffer.getFloat(offset + 32));
+	}
+
+	/** Returns the sum of the normal impulses applied at the contact points in the step the contact began. Zero for end events and
+	 * for sensors. */
+	public float getNormalImpulse () {
+		return buffer.getFloat(offset + 36);
+	}
+}
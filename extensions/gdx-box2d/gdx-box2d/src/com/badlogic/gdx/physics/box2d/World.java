@@ -16,7 +16,12 @@
 
 package com.badlogic.gdx.physics.box2d;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.JointDef.JointType;
@@ -43,10 +48,15 @@ import com.badlogic.gdx.physics.box2d.joints.WeldJointDef;
 import com.badlogic.gdx.physics.box2d.joints.WheelJoint;
 import com.badlogic.gdx.physics.box2d.joints.WheelJointDef;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.LongMap;
 import com.badlogic.gdx.utils.Pool;
 import com.badlogic.gdx.utils.SharedLibraryLoader;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /** The world class manages all physics entities, dynamic simulation, and asynchronous queries. The world also contains efficient
  * memory management facilities.
@@ -64,6 +74,7 @@ static jmethodID preSolveID = 0;
 static jmethodID postSolveID = 0;
 static jmethodID reportFixtureID = 0;
 static jmethodID reportRayFixtureID = 0;
+static jmethodID growContactEventsID = 0;
 
 class CustomRayCastCallback: public b2RayCastCallback
 {
@@ -149,6 +160,94 @@ public:
 		}
 };
 
+// Must match the layout read by ContactEvent, ContactEvent.SIZE bytes.
+struct ContactEvent
+{
+	jlong fixtureA;
+	jlong fixtureB;
+	jlong contact;
+	jint type;
+	jfloat normalX;
+	jfloat normalY;
+	jfloat normalImpulse;
+};
+
+class BufferedContactListener: public b2ContactListener
+{
+private:
+	JNIEnv* env;
+	jobject obj;
+	ContactEvent* events;
+	int capacity;
+	int count;
+
+	void add(b2Contact* contact, int type)
+	{
+		if( count == capacity )
+		{
+			jobject buffer = env->CallObjectMethod(obj, growContactEventsID, (jint)count);
+			events = (ContactEvent*)env->GetDirectBufferAddress(buffer);
+			capacity = (int)(env->GetDirectBufferCapacity(buffer) / sizeof(ContactEvent));
+			env->DeleteLocalRef(buffer);
+		}
+		ContactEvent& event = events[count++];
+		event.fixtureA = (jlong)contact->GetFixtureA();
+		event.fixtureB = (jlong)contact->GetFixtureB();
+		event.contact = (jlong)contact;
+		event.type = type;
+		event.normalX = 0;
+		event.normalY = 0;
+		event.normalImpulse = 0;
+		if( type == 0 && contact->GetManifold()->pointCount > 0 )
+		{
+			b2WorldManifold worldManifold;
+			contact->GetWorldManifold(&worldManifold);
+			event.normalX = worldManifold.normal.x;
+			event.normalY = worldManifold.normal.y;
+		}
+	}
+
+public:
+	BufferedContactListener( JNIEnv* env, jobject obj, ContactEvent* events, int capacity, int count )
+	{
+		this->env = env;
+		this->obj = obj;
+		this->events = events;
+		this->capacity = capacity;
+		this->count = count;
+	}
+
+	virtual void BeginContact(b2Contact* contact)
+	{
+		add(contact, 0);
+	}
+
+	virtual void EndContact(b2Contact* contact)
+	{
+		add(contact, 1);
+	}
+
+	/// Adds up the impulses the solver applied to the contacts that began during the step and returns the number of events.
+	/// Contacts are only destroyed at the start of a step, so those that began are still alive.
+	int finish()
+	{
+		for( int i = 0; i < count; i++ )
+		{
+			ContactEvent& event = events[i];
+			if( event.type != 0 ) continue;
+			b2Manifold* manifold = ((b2Contact*)event.contact)->GetManifold();
+			for( int j = 0; j < manifold->pointCount; j++ )
+				event.normalImpulse += manifold->points[j].normalImpulse;
+		}
+		return count;
+	}
+
+	int getCount()
+	{
+		return count;
+	}
+};
+
 class CustomQueryCallback: public b2QueryCallback
 {
 private:
@@ -221,6 +320,25 @@ b2ContactFilter defaultFilter;
 	/** Contact listener **/
 	protected ContactListener contactListener = null;
 
+	/** Contact events recorded during the last step, null if they are not buffered **/
+	private ByteBuffer contactEventBuffer;
+	private int contactEventCount;
+	private final ContactEvent contactEvent = new ContactEvent(this);
+	private final ContactEvents contactEvents = new ContactEvents();
+
+	/** Threads solving the islands of a step, the calling thread included **/
+	private int solverThreads = 1;
+	private AsyncExecutor solverExecutor;
+	private final Array<AsyncResult<Void>> solverResults = new Array<AsyncResult<Void>>();
+	private final AtomicInteger nextIsland = new AtomicInteger();
+	private int islandCount, islandChunk;
+	private final AsyncTask<Void> solveIslandsTask = new AsyncTask<Void>() {
+		public Void call () {
+			solveIslandChunks();
+			return null;
+		}
+	};
+
 	/** Construct a world object.
 	 * @param gravity the world gravity vector.
 	 * @param doSleep improve performance by not simulating inactive bodies. */
@@ -245,6 +363,7 @@ b2ContactFilter defaultFilter;
 			reportFixtureID = env->GetMethodID(worldClass, "reportFixture", "(J)Z" );
 			reportRayFixtureID = env->GetMethodID(worldClass, "reportRayFixture", "(JFFFFF)F" );
 			shouldCollideID = env->GetMethodID( worldClass, "contactFilter", "(JJ)Z");
+			growContactEventsID = env->GetMethodID( worldClass, "growContactEvents", "(I)Ljava/nio/ByteBuffer;");
 		}
 	
 		b2World* world = new b2World( b2Vec2( gravityX, gravityY ));
@@ -274,6 +393,76 @@ b2ContactFilter defaultFilter;
 		this.contactListener = listener;
 	}
 
+	/** Sets whether {@link #step(float, int, int)} records contact begin and end events in a native buffer instead of calling the
+	 * {@link ContactListener} for each of them, which is costly when many fixtures are touching. The events can be read after the
+	 * step with {@link #getContactEvents()}. While buffering, preSolve and postSolve are not reported. Contacts ending because a
+	 * body or fixture is destroyed or deactivated are still reported to the ContactListener. */
+	public void setBufferContactEvents (boolean buffer) {
+		if (!buffer)
+			contactEventBuffer = null;
+		else if (contactEventBuffer == null) //
+			contactEventBuffer = BufferUtils.newByteBuffer(256 * ContactEvent.SIZE);
+		contactEventCount = 0;
+	}
+
+	public boolean getBufferContactEvents () {
+		return contactEventBuffer != null;
+	}
+
+	/** @return the number of contact events recorded during the last step, see {@link #setBufferContactEvents(boolean)}. */
+	public int getContactEventCount () {
+		return contactEventCount;
+	}
+
+	/** Returns a contact event recorded during the last step, see {@link #setBufferContactEvents(boolean)}. Note that the same
+	 * ContactEvent instance is returned each time this method is called. */
+	public ContactEvent getContactEvent (int index) {
+		if (index < 0) throw new IndexOutOfBoundsException("index can't be < 0: " + index);
+		if (index >= contactEventCount) throw new IndexOutOfBoundsException("index can't be >= " + contactEventCount + ": " + index);
+		contactEvent.buffer = contactEventBuffer;
+		contactEvent.offset = index * ContactEvent.SIZE;
+		return contactEvent;
+	}
+
+	/** Returns the contact events recorded during the last step in the order they occurred, see
+	 * {@link #setBufferContactEvents(boolean)}. The same iterator and ContactEvent instance are returned each time this method is
+	 * called, so the events can't be iterated in nested loops. */
+	public Iterable<ContactEvent> getContactEvents () {
+		contactEvents.index = 0;
+		return contactEvents;
+	}
+
+	/** Called from native code when the contact event buffer is full during a step. **/
+	private ByteBuffer growContactEvents (int count) {
+		ByteBuffer buffer = BufferUtils.newByteBuffer(contactEventBuffer.capacity() * 2);
+		contactEventBuffer.position(0);
+		contactEventBuffer.limit(count * ContactEvent.SIZE);
+		buffer.put(contactEventBuffer);
+		buffer.clear();
+		contactEventBuffer = buffer;
+		return buffer;
+	}
+
+	/** Sets the number of threads {@link #step(float, int, int)} uses to solve the islands of the world, groups of bodies touching
+	 * or jointed to each other. Threads other than the one calling step are started lazily and stopped by {@link #dispose()}.
+	 * Collision detection, continuous collision and the contact callbacks still run on the calling thread, and the results don't
+	 * depend on the number of threads. With more than one thread, postSolve is reported once all islands are solved rather than
+	 * after each island. Only worlds with many independent islands, such as piles of debris spread over a level, benefit.
+	 * @param threads the number of threads, 1 by default to solve on the calling thread only */
+	public void setSolverThreads (int threads) {
+		if (threads < 1) throw new IllegalArgumentException("threads must be > 0: " + threads);
+		if (threads == solverThreads) return;
+		if (solverExecutor != null) {
+			solverExecutor.dispose();
+			solverExecutor = null;
+		}
+		solverThreads = threads;
+	}
+
+	public int getSolverThreads () {
+		return solverThreads;
+	}
+
 	/** Create a rigid body given a definition. No reference to the definition is retained.
 	 * Bodies created by this method are pooled internally by the World object.
 	 * They will be freed upon calling {@link World#destroyBody(Body)}
@@ -683,7 +872,13 @@ b2ContactFilter defaultFilter;
 	 * @param velocityIterations for the velocity constraint solver.
 	 * @param positionIterations for the position constraint solver. */
 	public void step (float timeStep, int velocityIterations, int positionIterations) {
-		jniStep(addr, timeStep, velocityIterations, positionIterations);
+		if (solverThreads > 1)
+			stepIslands(timeStep, velocityIterations, positionIterations);
+		else if (contactEventBuffer != null)
+			contactEventCount = jniStepBuffered(addr, timeStep, velocityIterations, positionIterations, contactEventBuffer,
+				contactEventBuffer.capacity() / ContactEvent.SIZE);
+		else
+			jniStep(addr, timeStep, velocityIterations, positionIterations);
 	}
 
 	private native void jniStep (long addr, float timeStep, int velocityIterations, int positionIterations); /*
@@ -697,6 +892,140 @@ b2ContactFilter defaultFilter;
 		world->SetContactListener(0);
 	*/
 
+	private native int jniStepBuffered (long addr, float timeStep, int velocityIterations, int positionIterations,
+		ByteBuffer events, int capacity); /*
+		b2World* world = (b2World*)addr;
+		CustomContactFilter contactFilter(env, object);
+		BufferedContactListener contactListener(env, object, (ContactEvent*)events, capacity, 0);
+		world->SetContactFilter(&contactFilter);
+		world->SetContactListener(&contactListener);
+		world->Step( timeStep, velocityIterations, positionIterations );
+		world->SetContactFilter(&defaultFilter);
+		world->SetContactListener(0);
+		return contactListener.finish();
+	*/
+
+	private void stepIslands (float timeStep, int velocityIterations, int positionIterations) {
+		contactEventCount = 0;
+		try {
+			int islands;
+			if (contactEventBuffer != null) {
+				long counts = jniStepBeginBuffered(addr, timeStep, velocityIterations, positionIterations, contactEventBuffer,
+					contactEventBuffer.capacity() / ContactEvent.SIZE);
+				islands = (int)(counts >>> 32);
+				contactEventCount = (int)counts;
+			} else
+				islands = jniStepBegin(addr, timeStep, velocityIterations, positionIterations);
+
+			solveIslands(islands);
+		} finally {
+			// Even if a listener or a solver thread failed, the step must end to unlock the world.
+			if (contactEventBuffer != null)
+				contactEventCount = jniStepEndBuffered(addr, contactEventBuffer, contactEventBuffer.capacity() / ContactEvent.SIZE,
+					contactEventCount);
+			else
+				jniStepEnd(addr);
+		}
+	}
+
+	/** Solves the islands of the current step on the calling thread and the solver threads, see
+	 * {@link #setSolverThreads(int)}. Each thread takes chunks of islands until none are left, so large islands don't hold up the
+	 * others. */
+	private void solveIslands (int islands) {
+		if (islands == 0) return;
+		islandCount = islands;
+		islandChunk = Math.max(1, islands / (solverThreads * 4));
+		nextIsland.set(0);
+
+		int helpers = Math.min(solverThreads - 1, (islands - 1) / islandChunk);
+		if (helpers > 0 && solverExecutor == null) solverExecutor = new AsyncExecutor(solverThreads - 1);
+		Array<AsyncResult<Void>> results = solverResults;
+		for (int i = 0; i < helpers; i++)
+			results.add(solverExecutor.submit(solveIslandsTask));
+		boolean solved = false;
+		try {
+			solveIslandChunks();
+			solved = true;
+		} finally {
+			// The step can only end once no thread is solving islands anymore, so all the helpers are waited for.
+			GdxRuntimeException error = null;
+			for (int i = 0; i < results.size; i++) {
+				AsyncResult<Void> result = results.get(i);
+				try {
+					result.get();
+				} catch (GdxRuntimeException ex) {
+					if (error == null) error = ex;
+				}
+				solverExecutor.free(result);
+			}
+			results.clear();
+			if (solved && error != null) throw error;
+		}
+	}
+
+	private void solveIslandChunks () {
+		int islands = islandCount, chunk = islandChunk;
+		while (true) {
+			int first = nextIsland.getAndAdd(chunk);
+			if (first >= islands) return;
+			jniSolveIslands(addr, first, Math.min(first + chunk, islands));
+		}
+	}
+
+	private native int jniStepBegin (long addr, float timeStep, int velocityIterations, int positionIterations); /*
+		b2World* world = (b2World*)addr;
+		CustomContactFilter contactFilter(env, object);
+		CustomContactListener contactListener(env,object);
+		world->SetContactFilter(&contactFilter);
+		world->SetContactListener(&contactListener);
+		int islands = world->StepBegin( timeStep, velocityIterations, positionIterations );
+		world->SetContactFilter(&defaultFilter);
+		world->SetContactListener(0);
+		return islands;
+	*/
+
+	/** @return the island count in the high and the contact event count in the low 32 bits */
+	private native long jniStepBeginBuffered (long addr, float timeStep, int velocityIterations, int positionIterations,
+		ByteBuffer events, int capacity); /*
+		b2World* world = (b2World*)addr;
+		CustomContactFilter contactFilter(env, object);
+		BufferedContactListener contactListener(env, object, (ContactEvent*)events, capacity, 0);
+		world->SetContactFilter(&contactFilter);
+		world->SetContactListener(&contactListener);
+		int islands = world->StepBegin( timeStep, velocityIterations, positionIterations );
+		world->SetContactFilter(&defaultFilter);
+		world->SetContactListener(0);
+		return ((jlong)islands << 32) | (jlong)contactListener.getCount();
+	*/
+
+	private static native void jniSolveIslands (long addr, int first, int last); /*
+		b2World* world = (b2World*)addr;
+		world->SolveIslands( first, last );
+	*/
+
+	private native void jniStepEnd (long addr); /*
+		b2World* world = (b2World*)addr;
+		CustomContactFilter contactFilter(env, object);
+		CustomContactListener contactListener(env,object);
+		world->SetContactFilter(&contactFilter);
+		world->SetContactListener(&contactListener);
+		world->StepEnd();
+		world->SetContactFilter(&defaultFilter);
+		world->SetContactListener(0);
+	*/
+
+	private native int jniStepEndBuffered (long addr, ByteBuffer events, int capacity, int count); /*
+		b2World* world = (b2World*)addr;
+		CustomContactFilter contactFilter(env, object);
+		BufferedContactListener contactListener(env, object, (ContactEvent*)events, capacity, count);
+		world->SetContactFilter(&contactFilter);
+		world->SetContactListener(&contactListener);
+		world->StepEnd();
+		world->SetContactFilter(&defaultFilter);
+		world->SetContactListener(0);
+		return contactListener.finish();
+	*/
+
 	/** Manually clear the force buffer on all bodies. By default, forces are cleared automatically after each call to Step. The
 	 * default behavior is modified by calling SetAutoClearForces. The purpose of this function is to support sub-stepping.
 	 * Sub-stepping is often used to maintain a fixed sized time step under a variable frame-rate. When you perform sub-stepping
@@ -932,6 +1261,88 @@ b2ContactFilter defaultFilter;
 		}
 	}
 
+	/** The number of floats per body used by {@link #getBodyStates(Array, FloatBuffer)}, {@link #setBodyVelocities(Array, FloatBuffer)}
+	 * and {@link #applyForcesToCenter(Array, FloatBuffer, boolean)}. Each body's state is stored as position x, position y, angle,
+	 * linear velocity x, linear velocity y and angular velocity, in that order. */
+	static public final int BODY_STATE_SIZE = 6;
+
+	private long[] bodyAddrs = new long[200];
+
+	/** Copies the position, angle, linear velocity and angular velocity of the given bodies into the buffer with a single native
+	 * call, which is much cheaper than calling the getters of each {@link Body}. The state of the body at index i in the array is
+	 * written at {@code position + i * BODY_STATE_SIZE}, see {@link #BODY_STATE_SIZE} for the layout. The buffer's position and
+	 * limit are not changed.
+	 * @param states a direct buffer in native byte order, such as one created with
+	 *           {@link com.badlogic.gdx.utils.BufferUtils#newFloatBuffer(int)}, with at least bodies.size * BODY_STATE_SIZE
+	 *           floats remaining. */
+	public void getBodyStates (Array<Body> bodies, FloatBuffer states) {
+		jniGetBodyStates(toBodyAddrs(bodies, states), bodies.size, states, states.position());
+	}
+
+	private native void jniGetBodyStates (long[] bodies, int count, FloatBuffer states, int offset); /*
+		float* state = states + offset;
+		for (int i = 0; i < count; i++, state += 6) {
+			b2Body* body = (b2Body*)bodies[i];
+			const b2Vec2& p = body->GetPosition();
+			const b2Vec2& v = body->GetLinearVelocity();
+			state[0] = p.x;
+			state[1] = p.y;
+			state[2] = body->GetAngle();
+			state[3] = v.x;
+			state[4] = v.y;
+			state[5] = body->GetAngularVelocity();
+		}
+	*/
+
+	/** Sets the linear and angular velocity of the given bodies from the buffer with a single native call. The buffer has the same
+	 * layout as {@link #getBodyStates(Array, FloatBuffer)}, only the velocities are read so a buffer filled by that method can be
+	 * modified and written back.
+	 * @param states a direct buffer in native byte order with at least bodies.size * BODY_STATE_SIZE floats remaining. */
+	public void setBodyVelocities (Array<Body> bodies, FloatBuffer states) {
+		jniSetBodyVelocities(toBodyAddrs(bodies, states), bodies.size, states, states.position());
+	}
+
+	private native void jniSetBodyVelocities (long[] bodies, int count, FloatBuffer states, int offset); /*
+		float* state = states + offset;
+		for (int i = 0; i < count; i++, state += 6) {
+			b2Body* body = (b2Body*)bodies[i];
+			body->SetLinearVelocity(b2Vec2(state[3], state[4]));
+			body->SetAngularVelocity(state[5]);
+		}
+	*/
+
+	/** Applies a force to the center of mass and a torque to each of the given bodies with a single native call. The buffer has
+	 * the same layout as {@link #getBodyStates(Array, FloatBuffer)}, with the force stored in place of the linear velocity and
+	 * the torque in place of the angular velocity. The position and angle are ignored.
+	 * @param forces a direct buffer in native byte order with at least bodies.size * BODY_STATE_SIZE floats remaining.
+	 * @param wake whether to wake up the bodies */
+	public void applyForcesToCenter (Array<Body> bodies, FloatBuffer forces, boolean wake) {
+		jniApplyForcesToCenter(toBodyAddrs(bodies, forces), bodies.size, forces, forces.position(), wake);
+	}
+
+	private native void jniApplyForcesToCenter (long[] bodies, int count, FloatBuffer forces, int offset, boolean wake); /*
+		float* force = forces + offset;
+		for (int i = 0; i < count; i++, force += 6) {
+			b2Body* body = (b2Body*)bodies[i];
+			body->ApplyForceToCenter(b2Vec2(force[3], force[4]), wake);
+			body->ApplyTorque(force[5], wake);
+		}
+	*/
+
+	private long[] toBodyAddrs (Array<Body> bodies, FloatBuffer buffer) {
+		int count = bodies.size;
+		if (!buffer.isDirect()) throw new IllegalArgumentException("buffer must be direct.");
+		if (buffer.order() != ByteOrder.nativeOrder()) throw new IllegalArgumentException("buffer must be in native byte order.");
+		if (buffer.remaining() < count * BODY_STATE_SIZE)
+			throw new IllegalArgumentException("buffer has " + buffer.remaining() + " floats remaining, " + count * BODY_STATE_SIZE
+				+ " are needed.");
+		long[] bodyAddrs = this.bodyAddrs;
+		if (count > bodyAddrs.length) this.bodyAddrs = bodyAddrs = new long[Math.max(count, bodyAddrs.length * 2)];
+		for (int i = 0; i < count; i++)
+			bodyAddrs[i] = bodies.get(i).addr;
+		return bodyAddrs;
+	}
+
 	private native void jniGetContactList (long addr, long[] contacts); /*
 		b2World* world = (b2World*)addr;
 	
@@ -945,6 +1356,10 @@ b2ContactFilter defaultFilter;
 	*/
 
 	public void dispose () {
+		if (solverExecutor != null) {
+			solverExecutor.dispose();
+			solverExecutor = null;
+		}
 		jniDispose(addr);
 	}
 
@@ -999,6 +1414,27 @@ b2ContactFilter defaultFilter;
 		if (contactListener != null) contactListener.postSolve(contact, impulse);
 	}
 
+	private class ContactEvents implements Iterable<ContactEvent>, Iterator<ContactEvent> {
+		int index;
+
+		public Iterator<ContactEvent> iterator () {
+			return this;
+		}
+
+		public boolean hasNext () {
+			return index < contactEventCount;
+		}
+
+		public ContactEvent next () {
+			if (index >= contactEventCount) throw new NoSuchElementException();
+			return getContactEvent(index++);
+		}
+
+		public void remove () {
+			throw new UnsupportedOperationException();
+		}
+	}
+
 	private boolean reportFixture (long addr) {
 		if (queryCallback != null)
 			return queryCallback.reportFixture(fixtures.get(addr));
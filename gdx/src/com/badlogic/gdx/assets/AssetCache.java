@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.assets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import com.badlogic.gdx.assets.loaders.AssetLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/** Stores the decoded form of assets in a directory so that later launches can skip decoding the source files. Set on an
+ * {@link AssetManager} via {@link AssetManager#setCache(AssetCache)}, {@link AssetLoader} implementations supporting it then
+ * look up their source files here before decoding them.
+ * <p>
+ * Each entry is a versioned binary file keyed by the kind of data, the path of the source file and a loader specific variant,
+ * e.g. derived from the loader parameters. An entry is only used if the modification time and length of the source file still
+ * match. Files without a modification time, such as internal files on Android, are only checked by length, use a directory per
+ * application version or {@link #clear()} the cache on updates. Entries are memory mapped when read.
+ * <p>
+ * Failing to write an entry never fails loading, the asset is simply decoded again on the next launch. The methods of this class
+ * may be called from multiple threads. */
+public class AssetCache {
+	static private final int MAGIC = 0x67647863; // "gdxc"
+	static private final String EXTENSION = ".bin";
+
+	private final FileHandle directory;
+
+	/** @param directory a writable directory, usually {@link com.badlogic.gdx.Files#local(String) local} or
+	 *           {@link com.badlogic.gdx.Files#external(String) external}. Created if it does not exist. */
+	public AssetCache (FileHandle directory) {
+		if (directory == null) throw new IllegalArgumentException("directory cannot be null.");
+		this.directory = directory;
+	}
+
+	public FileHandle getDirectory () {
+		return directory;
+	}
+
+	/** @param kind the kind of data, e.g. "texture", used as part of the entry's file name
+	 * @param version the version of the data format, entries written with another version are ignored
+	 * @param source the file the data was decoded from
+	 * @param variant distinguishes entries decoded from the same source with different parameters
+	 * @return a read-only buffer positioned at the start of the data and limited to its length, or null if there is no valid entry */
+	public ByteBuffer get (String kind, int version, FileHandle source, int variant) {
+		File file = entry(kind, source, variant).file();
+		if (!file.exists()) return null;
+		RandomAccessFile input = null;
+		try {
+			input = new RandomAccessFile(file, "r");
+			FileChannel channel = input.getChannel();
+			ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC || buffer.getInt() != version) return null;
+			if (!readString(buffer).equals(source.path())) return null;
+			if (buffer.getLong() != source.lastModified() || buffer.getLong() != source.length()) return null;
+			if (buffer.getInt() != variant) return null;
+			int length = buffer.getInt();
+			if (length != buffer.remaining()) return null;
+			return buffer.slice();
+		} catch (Exception ex) {
+			// Treat unreadable or truncated entries as missing.
+			return null;
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+	}
+
+	/** Stores data for the given source file, replacing any existing entry. The data of each buffer from its position to its limit
+	 * is written, the positions are left unchanged.
+	 * @see #get(String, int, FileHandle, int) */
+	public void put (String kind, int version, FileHandle source, int variant, ByteBuffer... data) {
+		FileHandle entry = entry(kind, source, variant);
+		File file = entry.file();
+		File temp = new File(file.getPath() + "." + Thread.currentThread().getId() + ".tmp");
+		RandomAccessFile output = null;
+		try {
+			entry.parent().mkdirs();
+			int length = 0;
+			for (int i = 0; i < data.length; i++)
+				length += data[i].remaining();
+
+			ByteArrayOutputStream headerBytes = new ByteArrayOutputStream(128);
+			DataOutputStream header = new DataOutputStream(headerBytes);
+			header.writeInt(MAGIC);
+			header.writeInt(version);
+			writeString(header, source.path());
+			header.writeLong(source.lastModified());
+			header.writeLong(source.length());
+			header.writeInt(variant);
+			header.writeInt(length);
+
+			ByteBuffer[] buffers = new ByteBuffer[data.length + 1];
+			buffers[0] = ByteBuffer.wrap(headerBytes.toByteArray());
+			for (int i = 0; i < data.length; i++)
+				buffers[i + 1] = data[i].duplicate();
+
+			output = new RandomAccessFile(temp, "rw");
+			output.setLength(0);
+			FileChannel channel = output.getChannel();
+			while (buffers[buffers.length - 1].hasRemaining())
+				channel.write(buffers);
+			output.close();
+			output = null;
+			// Replace the entry atomically where the platform allows it.
+			if (!temp.renameTo(file)) {
+				file.delete();
+				if (!temp.renameTo(file)) temp.delete();
+			}
+		} catch (IOException ignored) {
+			temp.delete();
+		} finally {
+			StreamUtils.closeQuietly(output);
+		}
+	}
+
+	/** Deletes all entries. */
+	public void clear () {
+		if (!directory.exists()) return;
+		for (FileHandle file : directory.list(EXTENSION))
+			file.delete();
+	}
+
+	private FileHandle entry (String kind, FileHandle source, int variant) {
+		String path = source.type() + ":" + source.path();
+		return directory.child(kind + "-" + Integer.toHexString(path.hashCode()) + "-" + Integer.toHexString(variant) + EXTENSION);
+	}
+
+	/** Writes a string in the format read by {@link #readString(ByteBuffer)}. */
+	static public void writeString (DataOutputStream output, String value) throws IOException {
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes("UTF-8");
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/** Reads a string written by {@link #writeString(DataOutputStream, String)}. */
+	static public String readString (ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length == -1) return null;
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		try {
+			return new String(bytes, "UTF-8");
+		} catch (UnsupportedEncodingException ex) {
+			throw new GdxRuntimeException(ex);
+		}
+	}
+}
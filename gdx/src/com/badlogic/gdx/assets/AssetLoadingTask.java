@@ -47,6 +47,9 @@ class AssetLoadingTask implements AsyncTask<Void> {
 
 	int ticks = 0;
 	volatile boolean cancel = false;
+	/** Whether the asynchronous part was started ahead of time, before the task reached the top of the task stack. Dependencies
+	 * found while prefetching are injected once the task is updated. */
+	boolean prefetched = false;
 
 	public AssetLoadingTask (AssetManager manager, AssetDescriptor assetDesc, AssetLoader loader, AsyncExecutor threadPool) {
 		this.manager = manager;
@@ -63,7 +66,7 @@ class AssetLoadingTask implements AsyncTask<Void> {
 		if (dependenciesLoaded == false) {
 			dependencies = asyncLoader.getDependencies(assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
 			if (dependencies != null) {
-				manager.injectDependencies(assetDesc.fileName, dependencies);
+				if (!prefetched) manager.injectDependencies(assetDesc.fileName, dependencies);
 			} else {
 				// if we have no dependencies, we load the async part of the task immediately.
 				asyncLoader.loadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
@@ -75,6 +78,20 @@ class AssetLoadingTask implements AsyncTask<Void> {
 		return null;
 	}
 
+	/** Starts the asynchronous part of the task on the executor before the task is updated for the first time. Only valid for
+	 * {@link AsynchronousAssetLoader} instances that {@link AsynchronousAssetLoader#supportsConcurrentLoading() support concurrent
+	 * loading}. */
+	void prefetch () {
+		prefetched = true;
+		depsFuture = executor.submit(this, AssetManager.PREFETCH_PRIORITY);
+	}
+
+	/** @return whether asynchronous work of this task has been submitted and is not finished yet */
+	boolean isRunningAsync () {
+		AsyncResult<Void> future = loadFuture != null ? loadFuture : depsFuture;
+		return future != null && !future.isDone();
+	}
+
 	/** Updates the loading of the asset. In case the asset is loaded with an {@link AsynchronousAssetLoader}, the loaders
 	 * {@link AsynchronousAssetLoader#loadAsync(AssetManager, String, FileHandle, AssetLoaderParameters)} method is first called on
 	 * a worker thread. Once this method returns, the rest of the asset is loaded on the rendering thread via
@@ -109,8 +126,10 @@ class AssetLoadingTask implements AsyncTask<Void> {
 	private void handleAsyncLoader () {
 		AsynchronousAssetLoader asyncLoader = (AsynchronousAssetLoader)loader;
 		if (!dependenciesLoaded) {
+			// a prefetched task is now being waited on, move it ahead of other prefetched tasks if it has not started yet
+			if (prefetched && ticks == 1 && depsFuture.cancel()) depsFuture = executor.submit(this, AssetManager.LOAD_PRIORITY);
 			if (depsFuture == null) {
-				depsFuture = executor.submit(this);
+				depsFuture = executor.submit(this, AssetManager.LOAD_PRIORITY);
 			} else {
 				if (depsFuture.isDone()) {
 					try {
@@ -119,6 +138,7 @@ class AssetLoadingTask implements AsyncTask<Void> {
 						throw new GdxRuntimeException("Couldn't load dependencies of asset: " + assetDesc.fileName, e);
 					}
 					dependenciesLoaded = true;
+					if (prefetched && dependencies != null) manager.injectDependencies(assetDesc.fileName, dependencies);
 					if (asyncDone) {
 						asset = asyncLoader.loadSync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
 					}
@@ -126,7 +146,7 @@ class AssetLoadingTask implements AsyncTask<Void> {
 			}
 		} else {
 			if (loadFuture == null && !asyncDone) {
-				loadFuture = executor.submit(this);
+				loadFuture = executor.submit(this, AssetManager.LOAD_PRIORITY);
 			} else {
 				if (asyncDone) {
 					asset = asyncLoader.loadSync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
@@ -142,6 +162,13 @@ class AssetLoadingTask implements AsyncTask<Void> {
 		}
 	}
 
+	/** Releases the result of a prefetched task that is no longer needed, without creating the asset. Must be called once the
+	 * asynchronous part is done. */
+	void discard () {
+		if (!asyncDone) return;
+		((AsynchronousAssetLoader)loader).unloadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+	}
+
 	private FileHandle resolve (AssetLoader loader, AssetDescriptor assetDesc) {
 		if (assetDesc.file == null) assetDesc.file = loader.resolve(assetDesc.fileName);
 		return assetDesc.file;
@@ -20,6 +20,7 @@ import java.util.Stack;
 
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.assets.loaders.AssetLoader;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
 import com.badlogic.gdx.assets.loaders.BitmapFontLoader;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.I18NBundleLoader;
@@ -60,8 +61,17 @@ import com.badlogic.gdx.utils.async.ThreadUtils;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 
 /** Loads and stores assets like textures, bitmapfonts, tile maps, sounds, music and so on.
+ * <p>
+ * When created with more than one loader thread, queued assets whose {@link AsynchronousAssetLoader} supports concurrent loading
+ * have their asynchronous part started ahead of time on the loader threads, so that decoding several assets happens in parallel
+ * while the rendering thread only performs the synchronous part via {@link #update()}.
  * @author mzechner */
 public class AssetManager implements Disposable {
+	/** Executor priority of asynchronous work the manager is waiting on. */
+	static final int LOAD_PRIORITY = 1;
+	/** Executor priority of asynchronous work started ahead of time. */
+	static final int PREFETCH_PRIORITY = 0;
+
 	final ObjectMap<Class, ObjectMap<String, RefCountedContainer>> assets = new ObjectMap();
 	final ObjectMap<String, Class> assetTypes = new ObjectMap();
 	final ObjectMap<String, Array<String>> assetDependencies = new ObjectMap();
@@ -72,9 +82,19 @@ public class AssetManager implements Disposable {
 	final AsyncExecutor executor;
 
 	final Stack<AssetLoadingTask> tasks = new Stack();
+	/** Tasks of queued assets whose asynchronous part was started ahead of time, by file name. */
+	final ObjectMap<String, AssetLoadingTask> prefetched = new ObjectMap();
+	/** Prefetched tasks that are no longer needed, their result is disposed once the asynchronous part is done. */
+	final Array<AssetLoadingTask> discarded = new Array();
+	final int maxPrefetched;
 	AssetErrorListener listener = null;
-	int loaded = 0;
-	int toLoad = 0;
+	volatile int loaded = 0;
+	volatile int toLoad = 0;
+
+	/** The loaded assets by file name, read by lookups without synchronizing on the manager. Updated along with {@link #assets} and
+	 * {@link #assetTypes}. */
+	final LoadedAssets loadedAssets = new LoadedAssets();
+	AssetCache cache;
 
 	Logger log = new Logger("AssetManager", Application.LOG_NONE);
 
@@ -85,6 +105,16 @@ public class AssetManager implements Disposable {
 
 	/** Creates a new AssetManager with all default loaders. */
 	public AssetManager (FileHandleResolver resolver) {
+		this(resolver, 1);
+	}
+
+	/** Creates a new AssetManager with all default loaders.
+	 * @param loaderThreads the number of threads executing the asynchronous part of loaders. If greater than one, up to twice as
+	 *           many queued assets are loaded ahead of time by loaders that {@link AsynchronousAssetLoader#supportsConcurrentLoading()
+	 *           support concurrent loading}. The synchronous part is still performed on the thread calling {@link #update()}, use
+	 *           {@link #update(int)} to limit the time spent per frame. */
+	public AssetManager (FileHandleResolver resolver, int loaderThreads) {
+		if (loaderThreads < 1) throw new IllegalArgumentException("loaderThreads must be > 0: " + loaderThreads);
 		setLoader(BitmapFont.class, new BitmapFontLoader(resolver));
 		setLoader(Music.class, new MusicLoader(resolver));
 		setLoader(Pixmap.class, new PixmapLoader(resolver));
@@ -100,34 +130,27 @@ public class AssetManager implements Disposable {
 		setLoader(Model.class, ".g3dj", new G3dModelLoader(new JsonReader(), resolver));
 		setLoader(Model.class, ".g3db", new G3dModelLoader(new UBJsonReader(), resolver));
 		setLoader(Model.class, ".obj", new ObjLoader(resolver));
-		executor = new AsyncExecutor(1);
+		executor = new AsyncExecutor(loaderThreads);
+		maxPrefetched = loaderThreads > 1 ? loaderThreads * 2 : 0;
 	}
 
-	/** @param fileName the asset file name
+	/** Can be called from any thread without blocking.
+	 * @param fileName the asset file name
 	 * @return the asset */
-	public synchronized <T> T get (String fileName) {
-		Class<T> type = assetTypes.get(fileName);
+	public <T> T get (String fileName) {
+		Class<T> type = getAssetType(fileName);
 		if (type == null) throw new GdxRuntimeException("Asset not loaded: " + fileName);
-		ObjectMap<String, RefCountedContainer> assetsByType = assets.get(type);
-		if (assetsByType == null) throw new GdxRuntimeException("Asset not loaded: " + fileName);
-		RefCountedContainer assetContainer = assetsByType.get(fileName);
-		if (assetContainer == null) throw new GdxRuntimeException("Asset not loaded: " + fileName);
-		T asset = assetContainer.getObject(type);
-		if (asset == null) throw new GdxRuntimeException("Asset not loaded: " + fileName);
-		return asset;
+		return get(fileName, type);
 	}
 
-	/** @param fileName the asset file name
+	/** Can be called from any thread without blocking.
+	 * @param fileName the asset file name
 	 * @param type the asset type
 	 * @return the asset */
-	public synchronized <T> T get (String fileName, Class<T> type) {
-		ObjectMap<String, RefCountedContainer> assetsByType = assets.get(type);
-		if (assetsByType == null) throw new GdxRuntimeException("Asset not loaded: " + fileName);
-		RefCountedContainer assetContainer = assetsByType.get(fileName);
-		if (assetContainer == null) throw new GdxRuntimeException("Asset not loaded: " + fileName);
-		T asset = assetContainer.getObject(type);
-		if (asset == null) throw new GdxRuntimeException("Asset not loaded: " + fileName);
-		return asset;
+	public <T> T get (String fileName, Class<T> type) {
+		LoadedAsset loadedAsset = loadedAssets.get(fileName);
+		if (loadedAsset == null || loadedAsset.type != type) throw new GdxRuntimeException("Asset not loaded: " + fileName);
+		return (T)loadedAsset.asset;
 	}
 
 	/** @param type the asset type
@@ -142,9 +165,10 @@ public class AssetManager implements Disposable {
 		return out;
 	}
 
-	/** @param assetDescriptor the asset descriptor
+	/** Can be called from any thread without blocking.
+	 * @param assetDescriptor the asset descriptor
 	 * @return the asset */
-	public synchronized <T> T get (AssetDescriptor<T> assetDescriptor) {
+	public <T> T get (AssetDescriptor<T> assetDescriptor) {
 		return get(assetDescriptor.fileName, assetDescriptor.type);
 	}
 
@@ -161,7 +185,12 @@ public class AssetManager implements Disposable {
 		}
 		if (foundIndex != -1) {
 			toLoad--;
-			loadQueue.removeIndex(foundIndex);
+			AssetDescriptor desc = loadQueue.removeIndex(foundIndex);
+			AssetLoadingTask task = prefetched.get(fileName);
+			if (task != null && task.assetDesc == desc) {
+				prefetched.remove(fileName);
+				discard(task);
+			}
 			log.debug("Unload (from queue): " + fileName);
 			return;
 		}
@@ -194,6 +223,7 @@ public class AssetManager implements Disposable {
 			// remove the asset from the manager.
 			assetTypes.remove(fileName);
 			assets.get(type).remove(fileName);
+			loadedAssets.remove(fileName);
 		} else {
 			log.debug("Unload (decrement): " + fileName);
 		}
@@ -202,7 +232,7 @@ public class AssetManager implements Disposable {
 		Array<String> dependencies = assetDependencies.get(fileName);
 		if (dependencies != null) {
 			for (String dependency : dependencies) {
-				if (isLoaded(dependency)) unload(dependency);
+				if (assetTypes.containsKey(dependency)) unload(dependency);
 			}
 		}
 		// remove dependencies if ref count < 0
@@ -211,14 +241,18 @@ public class AssetManager implements Disposable {
 		}
 	}
 
-	/** @param asset the asset
+	/** Can be called from any thread without blocking.
+	 * @param asset the asset
 	 * @return whether the asset is contained in this manager */
-	public synchronized <T> boolean containsAsset (T asset) {
-		ObjectMap<String, RefCountedContainer> typedAssets = assets.get(asset.getClass());
-		if (typedAssets == null) return false;
-		for (String fileName : typedAssets.keys()) {
-			T otherAsset = (T)typedAssets.get(fileName).getObject(Object.class);
-			if (otherAsset == asset || asset.equals(otherAsset)) return true;
+	public <T> boolean containsAsset (T asset) {
+		Class type = asset.getClass();
+		LoadedAsset[] table = loadedAssets.table();
+		for (LoadedAsset loadedAsset : table) {
+			for (; loadedAsset != null; loadedAsset = loadedAsset.next) {
+				if (loadedAsset.type != type) continue;
+				Object otherAsset = loadedAsset.asset;
+				if (otherAsset == asset || asset.equals(otherAsset)) return true;
+			}
 		}
 		return false;
 	}
@@ -236,21 +270,20 @@ public class AssetManager implements Disposable {
 		return null;
 	}
 
-	/** @param fileName the file name of the asset
+	/** Can be called from any thread without blocking.
+	 * @param fileName the file name of the asset
 	 * @return whether the asset is loaded */
-	public synchronized boolean isLoaded (String fileName) {
+	public boolean isLoaded (String fileName) {
 		if (fileName == null) return false;
-		return assetTypes.containsKey(fileName);
+		return getAssetType(fileName) != null;
 	}
 
-	/** @param fileName the file name of the asset
+	/** Can be called from any thread without blocking.
+	 * @param fileName the file name of the asset
 	 * @return whether the asset is loaded */
-	public synchronized boolean isLoaded (String fileName, Class type) {
-		ObjectMap<String, RefCountedContainer> assetsByType = assets.get(type);
-		if (assetsByType == null) return false;
-		RefCountedContainer assetContainer = assetsByType.get(fileName);
-		if (assetContainer == null) return false;
-		return assetContainer.getObject(type) != null;
+	public boolean isLoaded (String fileName, Class type) {
+		LoadedAsset loadedAsset = loadedAssets.get(fileName);
+		return loadedAsset != null && loadedAsset.type == type;
 	}
 
 	/** Returns the default loader for the given type
@@ -343,6 +376,8 @@ public class AssetManager implements Disposable {
 	 * @return true if all loading is finished. */
 	public synchronized boolean update () {
 		try {
+			if (discarded.size > 0) updateDiscarded();
+			if (maxPrefetched > 0) prefetch();
 			if (tasks.size() == 0) {
 				// loop until we have a new task ready to be processed
 				while (loadQueue.size != 0 && tasks.size() == 0) {
@@ -410,7 +445,7 @@ public class AssetManager implements Disposable {
 		dependencies.add(dependendAssetDesc.fileName);
 
 		// if the asset is already loaded, increase its reference count.
-		if (isLoaded(dependendAssetDesc.fileName)) {
+		if (assetTypes.containsKey(dependendAssetDesc.fileName)) {
 			log.debug("Dependency already loaded: " + dependendAssetDesc);
 			Class type = assetTypes.get(dependendAssetDesc.fileName);
 			RefCountedContainer assetRef = assets.get(type).get(dependendAssetDesc.fileName);
@@ -428,9 +463,19 @@ public class AssetManager implements Disposable {
 	 * a dependency of a previously loaded asset) its reference count will be increased. */
 	private void nextTask () {
 		AssetDescriptor assetDesc = loadQueue.removeIndex(0);
+		AssetLoadingTask prefetchedTask = prefetched.get(assetDesc.fileName);
+		if (prefetchedTask != null && prefetchedTask.assetDesc == assetDesc) {
+			prefetched.remove(assetDesc.fileName);
+			if (!assetTypes.containsKey(assetDesc.fileName)) {
+				log.info("Loading (prefetched): " + assetDesc);
+				tasks.push(prefetchedTask);
+				return;
+			}
+			discard(prefetchedTask);
+		}
 
 		// if the asset not meant to be reloaded and is already loaded, increase its reference count
-		if (isLoaded(assetDesc.fileName)) {
+		if (assetTypes.containsKey(assetDesc.fileName)) {
 			log.debug("Already loaded: " + assetDesc);
 			Class type = assetTypes.get(assetDesc.fileName);
 			RefCountedContainer assetRef = assets.get(type).get(assetDesc.fileName);
@@ -455,6 +500,66 @@ public class AssetManager implements Disposable {
 		tasks.push(new AssetLoadingTask(this, assetDesc, loader, executor));
 	}
 
+	/** Starts the asynchronous part of queued assets ahead of time, as long as less than {@link #maxPrefetched} prefetched assets
+	 * are waiting to be processed. */
+	private void prefetch () {
+		for (int i = 0, n = loadQueue.size; i < n && prefetched.size < maxPrefetched; i++) {
+			AssetDescriptor assetDesc = loadQueue.get(i);
+			String fileName = assetDesc.fileName;
+			if (prefetched.containsKey(fileName) || assetTypes.containsKey(fileName) || isInProgress(fileName)) continue;
+			AssetLoader loader = getLoader(assetDesc.type, fileName);
+			if (!(loader instanceof AsynchronousAssetLoader) || !((AsynchronousAssetLoader)loader).supportsConcurrentLoading())
+				continue;
+			AssetLoadingTask task = new AssetLoadingTask(this, assetDesc, loader, executor);
+			task.prefetch();
+			prefetched.put(fileName, task);
+			log.debug("Prefetching: " + assetDesc);
+		}
+	}
+
+	/** @return whether a task on the task stack or a discarded task is loading the given file */
+	private boolean isInProgress (String fileName) {
+		for (int i = 0, n = tasks.size(); i < n; i++)
+			if (tasks.get(i).assetDesc.fileName.equals(fileName)) return true;
+		for (int i = 0, n = discarded.size; i < n; i++)
+			if (discarded.get(i).assetDesc.fileName.equals(fileName)) return true;
+		return false;
+	}
+
+	/** Checks if the given task, which has not been updated yet, must wait for the asynchronous part of a prefetched task for the
+	 * same file to finish. The prefetched task is discarded, as its asset is going to be loaded by the given task. */
+	private boolean waitForPrefetched (AssetLoadingTask task) {
+		String fileName = task.assetDesc.fileName;
+		AssetLoadingTask other = prefetched.get(fileName);
+		if (other != null && other != task) {
+			prefetched.remove(fileName);
+			discard(other);
+			updateDiscarded();
+		}
+		for (int i = 0, n = discarded.size; i < n; i++)
+			if (discarded.get(i).assetDesc.fileName.equals(fileName)) return true;
+		return false;
+	}
+
+	private void discard (AssetLoadingTask task) {
+		log.debug("Discarding prefetched: " + task.assetDesc);
+		discarded.add(task);
+	}
+
+	/** Releases the results of discarded tasks whose asynchronous part is done. */
+	private void updateDiscarded () {
+		for (int i = discarded.size - 1; i >= 0; i--) {
+			AssetLoadingTask task = discarded.get(i);
+			if (task.isRunningAsync()) continue;
+			discarded.removeIndex(i);
+			try {
+				task.discard();
+			} catch (Throwable t) {
+				log.error("Error discarding prefetched asset: " + task.assetDesc, t);
+			}
+		}
+	}
+
 	/** Adds an asset to this AssetManager */
 	protected <T> void addAsset (final String fileName, Class<T> type, T asset) {
 		// add the asset to the filename lookup
@@ -467,12 +572,15 @@ public class AssetManager implements Disposable {
 			assets.put(type, typeToAssets);
 		}
 		typeToAssets.put(fileName, new RefCountedContainer(asset));
+		loadedAssets.put(fileName, type, asset);
 	}
 
 	/** Updates the current task on the top of the task stack.
 	 * @return true if the asset is loaded. */
 	private boolean updateTask () {
 		AssetLoadingTask task = tasks.peek();
+		// wait until a prefetched task for the same file has been discarded
+		if (task.ticks == 0 && (prefetched.size > 0 || discarded.size > 0) && waitForPrefetched(task)) return false;
 		// if the task has finished loading
 		if (task.update()) {
 			addAsset(task.assetDesc.fileName, task.assetDesc.type, task.getAsset());
@@ -560,11 +668,12 @@ public class AssetManager implements Disposable {
 		ObjectMap<String, AssetLoader> loaders = this.loaders.get(type);
 		if (loaders == null) this.loaders.put(type, loaders = new ObjectMap<String, AssetLoader>());
 		loaders.put(suffix == null ? "" : suffix, loader);
+		if (cache != null) loader.setCache(cache);
 	}
 
 	/** @return the number of loaded assets */
-	public synchronized int getLoadedAssets () {
-		return assetTypes.size;
+	public int getLoadedAssets () {
+		return loadedAssets.size;
 	}
 
 	/** @return the number of currently queued assets */
@@ -572,8 +681,10 @@ public class AssetManager implements Disposable {
 		return loadQueue.size + (tasks.size());
 	}
 
-	/** @return the progress in percent of completion. */
-	public synchronized float getProgress () {
+	/** Can be called from any thread without blocking.
+	 * @return the progress in percent of completion. */
+	public float getProgress () {
+		int toLoad = this.toLoad;
 		if (toLoad == 0) return 1;
 		return Math.min(1, loaded / (float)toLoad);
 	}
@@ -594,9 +705,22 @@ public class AssetManager implements Disposable {
 
 	/** Clears and disposes all assets and the preloading queue. */
 	public synchronized void clear () {
+		// everything is about to be unloaded, hide it from lookups right away
+		loadedAssets.clear();
+		clearAssets();
+	}
+
+	private void clearAssets () {
 		loadQueue.clear();
+		for (AssetLoadingTask task : prefetched.values())
+			discard(task);
+		prefetched.clear();
 		while (!update())
 			;
+		while (discarded.size > 0) {
+			updateDiscarded();
+			ThreadUtils.yield();
+		}
 
 		ObjectIntMap<String> dependencyCount = new ObjectIntMap<String>();
 		while (assetTypes.size > 0) {
@@ -643,6 +767,21 @@ public class AssetManager implements Disposable {
 		log = logger;
 	}
 
+	/** @return the {@link AssetCache} set on the loaders, or null */
+	public synchronized AssetCache getCache () {
+		return cache;
+	}
+
+	/** Sets the {@link AssetCache} on all current and future loaders. Loaders supporting it store decoded assets in the cache and
+	 * load them from it on later launches, this only affects assets loaded afterwards.
+	 * @param cache the cache or null to disable caching */
+	public synchronized void setCache (AssetCache cache) {
+		this.cache = cache;
+		for (ObjectMap<String, AssetLoader> loaders : this.loaders.values())
+			for (AssetLoader loader : loaders.values())
+				loader.setCache(cache);
+	}
+
 	/** Returns the reference count of an asset.
 	 * @param fileName */
 	public synchronized int getReferenceCount (String fileName) {
@@ -699,8 +838,95 @@ public class AssetManager implements Disposable {
 	}
 
 	/** @return the type of a loaded asset. */
-	public synchronized Class getAssetType (String fileName) {
-		return assetTypes.get(fileName);
+	public Class getAssetType (String fileName) {
+		LoadedAsset loadedAsset = loadedAssets.get(fileName);
+		return loadedAsset == null ? null : loadedAsset.type;
+	}
+
+	/** A loaded asset, immutable so that readers can't see it partially initialized. */
+	static class LoadedAsset {
+		final String fileName;
+		final Class type;
+		final Object asset;
+		final LoadedAsset next;
+
+		LoadedAsset (String fileName, Class type, Object asset, LoadedAsset next) {
+			this.fileName = fileName;
+			this.type = type;
+			this.asset = asset;
+			this.next = next;
+		}
+	}
+
+	/** Hash table of the loaded assets by file name that can be read by any thread while the thread holding the manager's lock
+	 * changes it. Buckets are chains of immutable entries, a change replaces the chain of a single bucket and growing replaces the
+	 * whole table, so a reader always walks a consistent chain. Changes are made visible by the volatile write of {@link #size}. */
+	static class LoadedAssets {
+		private volatile LoadedAsset[] table = new LoadedAsset[32];
+		volatile int size;
+
+		LoadedAsset get (String fileName) {
+			if (size == 0) return null; // reads the volatile size first to see the latest changes
+			LoadedAsset[] table = this.table;
+			for (LoadedAsset entry = table[index(fileName, table.length)]; entry != null; entry = entry.next)
+				if (entry.fileName.equals(fileName)) return entry;
+			return null;
+		}
+
+		LoadedAsset[] table () {
+			if (size == 0) return new LoadedAsset[0];
+			return table;
+		}
+
+		/** Adds or replaces the asset with the given file name. */
+		void put (String fileName, Class type, Object asset) {
+			if (size >= table.length * 3 / 4) resize(table.length << 1);
+			LoadedAsset[] table = this.table;
+			int index = index(fileName, table.length);
+			LoadedAsset chain = table[index], rest = without(chain, fileName);
+			table[index] = new LoadedAsset(fileName, type, asset, rest);
+			size = rest == chain ? size + 1 : size;
+		}
+
+		void remove (String fileName) {
+			LoadedAsset[] table = this.table;
+			int index = index(fileName, table.length);
+			LoadedAsset chain = table[index], rest = without(chain, fileName);
+			if (rest == chain) return;
+			table[index] = rest;
+			size = size - 1;
+		}
+
+		void clear () {
+			table = new LoadedAsset[32];
+			size = 0;
+		}
+
+		private void resize (int newSize) {
+			LoadedAsset[] newTable = new LoadedAsset[newSize];
+			for (LoadedAsset entry : table) {
+				for (; entry != null; entry = entry.next) {
+					int index = index(entry.fileName, newSize);
+					newTable[index] = new LoadedAsset(entry.fileName, entry.type, entry.asset, newTable[index]);
+				}
+			}
+			table = newTable;
+		}
+
+		/** @return the chain without the entry for the given file name, the same chain if it has none. The entries before it are
+		 *         copied, as entries can't be changed. */
+		static private LoadedAsset without (LoadedAsset chain, String fileName) {
+			if (chain == null) return null;
+			if (chain.fileName.equals(fileName)) return chain.next;
+			LoadedAsset rest = without(chain.next, fileName);
+			if (rest == chain.next) return chain;
+			return new LoadedAsset(chain.fileName, chain.type, chain.asset, rest);
+		}
+
+		static private int index (String fileName, int length) {
+			int hash = fileName.hashCode();
+			return (hash ^ hash >>> 16) & length - 1;
+		}
 	}
 
 }
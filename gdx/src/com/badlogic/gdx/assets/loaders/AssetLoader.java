@@ -16,8 +16,10 @@
 
 package com.badlogic.gdx.assets.loaders;
 
+import com.badlogic.gdx.assets.AssetCache;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
 
@@ -29,6 +31,8 @@ import com.badlogic.gdx.utils.Array;
 public abstract class AssetLoader<T, P extends AssetLoaderParameters<T>> {
 	/** {@link FileHandleResolver} used to map from plain asset names to {@link FileHandle} instances **/
 	private FileHandleResolver resolver;
+	/** {@link AssetCache} to store decoded assets in, may be null **/
+	private volatile AssetCache cache;
 
 	/** Constructor, sets the {@link FileHandleResolver} to use to resolve the file associated with the asset name.
 	 * @param resolver */
@@ -42,6 +46,17 @@ public abstract class AssetLoader<T, P extends AssetLoaderParameters<T>> {
 		return resolver.resolve(fileName);
 	}
 
+	/** @return the {@link AssetCache} loaders supporting it store decoded assets in and load them from, or null */
+	public AssetCache getCache () {
+		return cache;
+	}
+
+	/** @param cache the cache or null to disable caching
+	 * @see AssetManager#setCache(AssetCache) */
+	public void setCache (AssetCache cache) {
+		this.cache = cache;
+	}
+
 	/** Returns the assets this asset requires to be loaded first. This method may be called on a thread other than the GL thread.
 	 * @param fileName name of the asset to load
 	 * @param file the resolved file to load
@@ -45,4 +45,24 @@ public abstract class AsynchronousAssetLoader<T, P extends AssetLoaderParameters
 	 * @param file the resolved file to load
 	 * @param parameter */
 	public abstract T loadSync (AssetManager manager, String fileName, FileHandle file, P parameter);
+
+	/** Releases what {@link #loadAsync(AssetManager, String, FileHandle, AssetLoaderParameters)} loaded for an asset that is no
+	 * longer needed, instead of calling {@link #loadSync(AssetManager, String, FileHandle, AssetLoaderParameters)}. Only called for
+	 * loaders that {@link #supportsConcurrentLoading() support concurrent loading}, the default implementation does nothing.
+	 * @param manager
+	 * @param fileName
+	 * @param file the resolved file that was loaded
+	 * @param parameter */
+	public void unloadAsync (AssetManager manager, String fileName, FileHandle file, P parameter) {
+	}
+
+	/** Returns whether this loader can load several assets at the same time. If true, {@link #getDependencies(String, FileHandle, AssetLoaderParameters)}
+	 * and {@link #loadAsync(AssetManager, String, FileHandle, AssetLoaderParameters)} may be called concurrently from multiple
+	 * threads for different files, and the calls to {@link #loadSync(AssetManager, String, FileHandle, AssetLoaderParameters)} may
+	 * be interleaved with those of other assets. Loaders that keep the state of the asset being loaded in fields must return false,
+	 * which is the default.
+	 * @see AssetManager#AssetManager(FileHandleResolver, int) */
+	public boolean supportsConcurrentLoading () {
+		return false;
+	}
 }
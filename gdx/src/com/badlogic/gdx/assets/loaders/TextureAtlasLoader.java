@@ -16,26 +16,40 @@
 
 package com.badlogic.gdx.assets.loaders;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.assets.AssetCache;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.assets.loaders.TextureLoader.TextureParameter;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap.Format;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.Texture.TextureWrap;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 
 /** {@link AssetLoader} to load {@link TextureAtlas} instances. Passing a {@link TextureAtlasParameter} to
  * {@link AssetManager#load(String, Class, AssetLoaderParameters)} allows to specify whether the atlas regions should be flipped
- * on the y-axis or not.
+ * on the y-axis or not. If an {@link AssetCache} is set, the parsed pack file is stored in and loaded from it.
  * @author mzechner */
 public class TextureAtlasLoader extends SynchronousAssetLoader<TextureAtlas, TextureAtlasLoader.TextureAtlasParameter> {
 	public TextureAtlasLoader (FileHandleResolver resolver) {
 		super(resolver);
 	}
 
+	static final String CACHE_KIND = "atlas";
+	static final int CACHE_VERSION = 1;
+
 	TextureAtlasData data;
 
 	@Override
@@ -52,11 +66,12 @@ public class TextureAtlasLoader extends SynchronousAssetLoader<TextureAtlas, Tex
 	public Array<AssetDescriptor> getDependencies (String fileName, FileHandle atlasFile, TextureAtlasParameter parameter) {
 		FileHandle imgDir = atlasFile.parent();
 
-		if (parameter != null)
-			data = new TextureAtlasData(atlasFile, imgDir, parameter.flip);
-		else {
-			data = new TextureAtlasData(atlasFile, imgDir, false);
-		}
+		boolean flip = parameter != null && parameter.flip;
+		AssetCache cache = getCache();
+		if (cache != null)
+			data = loadData(cache, atlasFile, imgDir, flip);
+		else
+			data = new TextureAtlasData(atlasFile, imgDir, flip);
 
 		Array<AssetDescriptor> dependencies = new Array();
 		for (Page page : data.getPages()) {
@@ -70,6 +85,129 @@ public class TextureAtlasLoader extends SynchronousAssetLoader<TextureAtlas, Tex
 		return dependencies;
 	}
 
+	/** Returns the parsed pack file from the cache, parsing and storing it on a miss. */
+	static private TextureAtlasData loadData (AssetCache cache, FileHandle atlasFile, FileHandle imgDir, boolean flip) {
+		int variant = flip ? 1 : 0;
+		ByteBuffer buffer = cache.get(CACHE_KIND, CACHE_VERSION, atlasFile, variant);
+		if (buffer != null) {
+			try {
+				return readData(buffer, imgDir);
+			} catch (RuntimeException ex) {
+				// Fall through and parse the pack file again.
+			}
+		}
+		TextureAtlasData data = new TextureAtlasData(atlasFile, imgDir, flip);
+		try {
+			cache.put(CACHE_KIND, CACHE_VERSION, atlasFile, variant, writeData(data, imgDir));
+		} catch (Exception ignored) {
+			// Caching is best effort, e.g. pages outside of the image directory are not supported.
+		}
+		return data;
+	}
+
+	static private ByteBuffer writeData (TextureAtlasData data, FileHandle imgDir) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+		DataOutputStream output = new DataOutputStream(bytes);
+		String dir = imgDir.path();
+		Array<Page> pages = data.getPages();
+		output.writeInt(pages.size);
+		for (Page page : pages) {
+			// Store the path relative to the image directory, like in the pack file.
+			String path = page.textureFile.path();
+			if (dir.length() > 0) {
+				if (!path.startsWith(dir + "/")) throw new GdxRuntimeException("Page is outside of the image directory: " + path);
+				path = path.substring(dir.length() + 1);
+			}
+			AssetCache.writeString(output, path);
+			output.writeFloat(page.width);
+			output.writeFloat(page.height);
+			output.writeBoolean(page.useMipMaps);
+			output.writeByte(page.format.ordinal());
+			output.writeByte(page.minFilter.ordinal());
+			output.writeByte(page.magFilter.ordinal());
+			output.writeByte(page.uWrap.ordinal());
+			output.writeByte(page.vWrap.ordinal());
+		}
+		Array<Region> regions = data.getRegions();
+		output.writeInt(regions.size);
+		for (Region region : regions) {
+			output.writeInt(pages.indexOf(region.page, true));
+			output.writeInt(region.index);
+			AssetCache.writeString(output, region.name);
+			output.writeFloat(region.offsetX);
+			output.writeFloat(region.offsetY);
+			output.writeInt(region.originalWidth);
+			output.writeInt(region.originalHeight);
+			output.writeBoolean(region.rotate);
+			output.writeInt(region.left);
+			output.writeInt(region.top);
+			output.writeInt(region.width);
+			output.writeInt(region.height);
+			output.writeBoolean(region.flip);
+			writeInts(output, region.splits);
+			writeInts(output, region.pads);
+		}
+		output.close();
+		return ByteBuffer.wrap(bytes.toByteArray());
+	}
+
+	static private TextureAtlasData readData (ByteBuffer input, FileHandle imgDir) {
+		Format[] formats = Format.values();
+		TextureFilter[] filters = TextureFilter.values();
+		TextureWrap[] wraps = TextureWrap.values();
+		TextureAtlasData data = new TextureAtlasData();
+		Array<Page> pages = data.getPages();
+		for (int i = 0, n = input.getInt(); i < n; i++) {
+			FileHandle file = imgDir.child(AssetCache.readString(input));
+			float width = input.getFloat(), height = input.getFloat();
+			boolean useMipMaps = input.get() != 0;
+			Format format = formats[input.get()];
+			TextureFilter minFilter = filters[input.get()], magFilter = filters[input.get()];
+			TextureWrap uWrap = wraps[input.get()], vWrap = wraps[input.get()];
+			pages.add(new Page(file, width, height, useMipMaps, format, minFilter, magFilter, uWrap, vWrap));
+		}
+		Array<Region> regions = data.getRegions();
+		for (int i = 0, n = input.getInt(); i < n; i++) {
+			Region region = new Region();
+			region.page = pages.get(input.getInt());
+			region.index = input.getInt();
+			region.name = AssetCache.readString(input);
+			region.offsetX = input.getFloat();
+			region.offsetY = input.getFloat();
+			region.originalWidth = input.getInt();
+			region.originalHeight = input.getInt();
+			region.rotate = input.get() != 0;
+			region.left = input.getInt();
+			region.top = input.getInt();
+			region.width = input.getInt();
+			region.height = input.getInt();
+			region.flip = input.get() != 0;
+			region.splits = readInts(input);
+			region.pads = readInts(input);
+			regions.add(region);
+		}
+		return data;
+	}
+
+	static private void writeInts (DataOutputStream output, int[] values) throws IOException {
+		if (values == null) {
+			output.writeInt(-1);
+			return;
+		}
+		output.writeInt(values.length);
+		for (int i = 0; i < values.length; i++)
+			output.writeInt(values[i]);
+	}
+
+	static private int[] readInts (ByteBuffer input) {
+		int length = input.getInt();
+		if (length == -1) return null;
+		int[] values = new int[length];
+		for (int i = 0; i < length; i++)
+			values[i] = input.getInt();
+		return values;
+	}
+
 	static public class TextureAtlasParameter extends AssetLoaderParameters<TextureAtlas> {
 		/** whether to flip the texture atlas vertically **/
 		public boolean flip = false;
@@ -16,6 +16,9 @@
 
 package com.badlogic.gdx.assets.loaders;
 
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.assets.AssetCache;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
@@ -28,15 +31,18 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.Texture.TextureWrap;
 import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.TextureData.TextureDataType;
 import com.badlogic.gdx.graphics.glutils.ETC1TextureData;
 import com.badlogic.gdx.graphics.glutils.FileTextureData;
 import com.badlogic.gdx.graphics.glutils.KTXTextureData;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
 
 /** {@link AssetLoader} for {@link Texture} instances. The pixel data is loaded asynchronously. The texture is then created on the
  * rendering thread, synchronously. Passing a {@link TextureParameter} to
  * {@link AssetManager#load(String, Class, AssetLoaderParameters)} allows one to specify parameters as can be passed to the
- * various Texture constructors, e.g. filtering, whether to generate mipmaps and so on.
+ * various Texture constructors, e.g. filtering, whether to generate mipmaps and so on. If an {@link AssetCache} is set, the
+ * decoded pixels of image files are stored in and loaded from it.
  * @author mzechner */
 public class TextureLoader extends AsynchronousAssetLoader<Texture, TextureLoader.TextureParameter> {
 	static public class TextureLoaderInfo {
@@ -45,7 +51,10 @@ public class TextureLoader extends AsynchronousAssetLoader<Texture, TextureLoade
 		Texture texture;
 	};
 
-	TextureLoaderInfo info = new TextureLoaderInfo();
+	static final String CACHE_KIND = "pixmap";
+	static final int CACHE_VERSION = 1;
+
+	final ObjectMap<String, TextureLoaderInfo> infos = new ObjectMap();
 
 	public TextureLoader (FileHandleResolver resolver) {
 		super(resolver);
@@ -53,9 +62,9 @@ public class TextureLoader extends AsynchronousAssetLoader<Texture, TextureLoade
 
 	@Override
 	public void loadAsync (AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+		TextureLoaderInfo info = new TextureLoaderInfo();
 		info.filename = fileName;
 		if (parameter == null || parameter.textureData == null) {
-			Pixmap pixmap = null;
 			Format format = null;
 			boolean genMipMaps = false;
 			info.texture = null;
@@ -66,16 +75,55 @@ public class TextureLoader extends AsynchronousAssetLoader<Texture, TextureLoade
 				info.texture = parameter.texture;
 			}
 
-			info.data = TextureData.Factory.loadFromFile(file, format, genMipMaps);
+			AssetCache cache = getCache();
+			if (cache != null && isCacheable(file))
+				info.data = new FileTextureData(file, loadPixmap(cache, file), format, genMipMaps);
+			else
+				info.data = TextureData.Factory.loadFromFile(file, format, genMipMaps);
 		} else {
 			info.data = parameter.textureData;
 			info.texture = parameter.texture;
 		}
 		if (!info.data.isPrepared()) info.data.prepare();
+		synchronized (infos) {
+			infos.put(fileName, info);
+		}
+	}
+
+	static private boolean isCacheable (FileHandle file) {
+		String name = file.name();
+		return !name.endsWith(".cim") && !name.endsWith(".etc1") && !name.endsWith(".ktx") && !name.endsWith(".zktx");
+	}
+
+	/** Returns the decoded pixels of the file from the cache, decoding and storing them on a miss. */
+	static Pixmap loadPixmap (AssetCache cache, FileHandle file) {
+		ByteBuffer data = cache.get(CACHE_KIND, CACHE_VERSION, file, 0);
+		if (data != null) {
+			int width = data.getInt(), height = data.getInt();
+			Format format = Format.fromGdx2DPixmapFormat(data.getInt());
+			Pixmap pixmap = new Pixmap(width, height, format);
+			ByteBuffer pixels = pixmap.getPixels();
+			pixels.position(0);
+			pixels.put(data);
+			pixels.position(0);
+			return pixmap;
+		}
+		Pixmap pixmap = new Pixmap(file);
+		ByteBuffer header = ByteBuffer.allocate(12);
+		header.putInt(pixmap.getWidth()).putInt(pixmap.getHeight()).putInt(Format.toGdx2DPixmapFormat(pixmap.getFormat()));
+		header.flip();
+		ByteBuffer pixels = pixmap.getPixels().duplicate();
+		pixels.clear();
+		cache.put(CACHE_KIND, CACHE_VERSION, file, 0, header, pixels);
+		return pixmap;
 	}
 
 	@Override
 	public Texture loadSync (AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+		TextureLoaderInfo info;
+		synchronized (infos) {
+			info = infos.remove(fileName);
+		}
 		if (info == null) return null;
 		Texture texture = info.texture;
 		if (texture != null) {
@@ -90,6 +138,23 @@ public class TextureLoader extends AsynchronousAssetLoader<Texture, TextureLoade
 		return texture;
 	}
 
+	@Override
+	public void unloadAsync (AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+		TextureLoaderInfo info;
+		synchronized (infos) {
+			info = infos.remove(fileName);
+		}
+		if (info == null) return;
+		// texture data passed in the parameter belongs to the caller
+		if (parameter != null && parameter.textureData == info.data) return;
+		if (info.data.getType() == TextureDataType.Pixmap && info.data.disposePixmap()) info.data.consumePixmap().dispose();
+	}
+
+	@Override
+	public boolean supportsConcurrentLoading () {
+		return true;
+	}
+
 	@Override
 	public Array<AssetDescriptor> getDependencies (String fileName, FileHandle file, TextureParameter parameter) {
 		return null;
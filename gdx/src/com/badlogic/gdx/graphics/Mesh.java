@@ -575,6 +575,30 @@ public class Mesh implements Disposable {
 		if (autoBind) unbind(shader);
 	}
 
+	/** Renders the mesh instanceCount times in a single draw call using OpenGL ES 3.0 instanced rendering. The per instance
+	 * attributes have to be bound separately, with a divisor set via {@link GL30#glVertexAttribDivisor(int, int)}. Requires
+	 * {@link Gdx#gl30} and a mesh backed by vertex buffer objects.
+	 * 
+	 * @param shader the shader to be used
+	 * @param primitiveType the primitive type
+	 * @param offset the offset into the vertex or index buffer
+	 * @param count number of vertices or indices to use
+	 * @param instanceCount the number of instances to render
+	 * @param autoBind overrides the autoBind member of this Mesh */
+	public void render (ShaderProgram shader, int primitiveType, int offset, int count, int instanceCount, boolean autoBind) {
+		if (count == 0 || instanceCount == 0) return;
+		if (isVertexArray) throw new GdxRuntimeException("Instanced rendering requires vertex buffer objects");
+
+		if (autoBind) bind(shader);
+
+		if (indices.getNumIndices() > 0)
+			Gdx.gl30.glDrawElementsInstanced(primitiveType, count, GL20.GL_UNSIGNED_SHORT, offset * 2, instanceCount);
+		else
+			Gdx.gl30.glDrawArraysInstanced(primitiveType, offset, count, instanceCount);
+
+		if (autoBind) unbind(shader);
+	}
+
 	/** Frees all resources associated with this Mesh */
 	public void dispose () {
 		if (meshes.get(Gdx.app) != null) meshes.get(Gdx.app).removeValue(this, true);
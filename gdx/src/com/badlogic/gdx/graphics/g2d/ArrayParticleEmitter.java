@@ -0,0 +1,485 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/** A {@link ParticleEmitter} which stores the state of its particles in parallel primitive arrays instead of a {@link Sprite} per
+ * particle. The live particles are kept packed at the start of the arrays, so updating and drawing never visit dead particles, and
+ * the vertices are written in chunks and submitted to the batch with a single call per chunk. This is much faster for emitters
+ * with thousands of particles.
+ * <p>
+ * The emitter behaves like a ParticleEmitter with the same settings, except that the order particles are drawn in changes as
+ * they die and {@link #newParticle(Sprite)} is not used. Override {@link ParticleEffect#newEmitter(BufferedReader)} and
+ * {@link ParticleEffect#newEmitter(ParticleEmitter)} to load effects with this emitter. */
+public class ArrayParticleEmitter extends ParticleEmitter {
+	static private final int CHUNK_SIZE = 1000;
+
+	// Per particle state, the live particles are at [0, activeCount).
+	private int[] particleLife, currentLife;
+	private float[] scale, scaleDiff;
+	private float[] rotation, rotationDiff;
+	private float[] velocity, velocityDiff;
+	private float[] angle, angleDiff;
+	private float[] angleCos, angleSin;
+	private float[] transparency, transparencyDiff;
+	private float[] wind, windDiff;
+	private float[] gravity, gravityDiff;
+	private float[] tint;
+	// Bottom left corner, current scale, rotation and packed color, as a Sprite would store them.
+	private float[] positionX, positionY;
+	private float[] currentScale, currentRotation, color;
+
+	private float[] vertices;
+
+	public ArrayParticleEmitter () {
+	}
+
+	public ArrayParticleEmitter (BufferedReader reader) throws IOException {
+		super(reader);
+	}
+
+	public ArrayParticleEmitter (ParticleEmitter emitter) {
+		super(emitter);
+	}
+
+	/** Called by the ParticleEmitter constructors, so fields can't have initializers. */
+	public void setMaxParticleCount (int maxParticleCount) {
+		this.maxParticleCount = maxParticleCount;
+		activeCount = 0;
+		particleLife = new int[maxParticleCount];
+		currentLife = new int[maxParticleCount];
+		scale = new float[maxParticleCount];
+		scaleDiff = new float[maxParticleCount];
+		rotation = new float[maxParticleCount];
+		rotationDiff = new float[maxParticleCount];
+		velocity = new float[maxParticleCount];
+		velocityDiff = new float[maxParticleCount];
+		angle = new float[maxParticleCount];
+		angleDiff = new float[maxParticleCount];
+		angleCos = new float[maxParticleCount];
+		angleSin = new float[maxParticleCount];
+		transparency = new float[maxParticleCount];
+		transparencyDiff = new float[maxParticleCount];
+		wind = new float[maxParticleCount];
+		windDiff = new float[maxParticleCount];
+		gravity = new float[maxParticleCount];
+		gravityDiff = new float[maxParticleCount];
+		tint = new float[maxParticleCount * 3];
+		positionX = new float[maxParticleCount];
+		positionY = new float[maxParticleCount];
+		currentScale = new float[maxParticleCount];
+		currentRotation = new float[maxParticleCount];
+		color = new float[maxParticleCount];
+	}
+
+	public void addParticle () {
+		if (activeCount == maxParticleCount) return;
+		activateParticle(activeCount++);
+	}
+
+	public void addParticles (int count) {
+		count = Math.min(count, maxParticleCount - activeCount);
+		for (int i = 0; i < count; i++)
+			activateParticle(activeCount++);
+	}
+
+	public void update (float delta) {
+		accumulator += delta * 1000;
+		if (accumulator < 1) return;
+		int deltaMillis = (int)accumulator;
+		accumulator -= deltaMillis;
+
+		updateEmission(deltaMillis);
+		updateParticles(delta, deltaMillis);
+	}
+
+	public void draw (Batch batch) {
+		if (activeCount == 0) return;
+		if (premultipliedAlpha) {
+			batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		} else {
+			if (additive) {
+				batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+			}
+		}
+
+		if (vertices == null) vertices = new float[Sprite.SPRITE_SIZE * CHUNK_SIZE];
+		float[] vertices = this.vertices;
+		Texture texture = sprite.getTexture();
+		for (int start = 0, activeCount = this.activeCount; start < activeCount; start += CHUNK_SIZE) {
+			int count = Math.min(CHUNK_SIZE, activeCount - start);
+			computeVertices(start, count);
+			batch.draw(texture, vertices, 0, count * Sprite.SPRITE_SIZE);
+		}
+
+		if (additive || premultipliedAlpha) batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+	}
+
+	/** Updates and draws the particles. Unlike a ParticleEmitter, the particles are updated in one pass and drawn in another, which
+	 * is faster than interleaving the two. */
+	public void draw (Batch batch, float delta) {
+		accumulator += delta * 1000;
+		if (accumulator < 1) {
+			draw(batch);
+			return;
+		}
+		int deltaMillis = (int)accumulator;
+		accumulator -= deltaMillis;
+
+		updateParticles(delta, deltaMillis);
+		draw(batch);
+		updateEmission(deltaMillis);
+	}
+
+	public void reset () {
+		emissionDelta = 0;
+		durationTimer = duration;
+		activeCount = 0;
+		start();
+	}
+
+	public void setPosition (float x, float y) {
+		if (attached) {
+			float xAmount = x - this.x;
+			float yAmount = y - this.y;
+			float[] positionX = this.positionX, positionY = this.positionY;
+			for (int i = 0, n = activeCount; i < n; i++) {
+				positionX[i] += xAmount;
+				positionY[i] += yAmount;
+			}
+		}
+		this.x = x;
+		this.y = y;
+	}
+
+	/** Sets the sprite used by all particles, including live ones. Its size, origin and texture region are read when drawing. */
+	public void setSprite (Sprite sprite) {
+		this.sprite = sprite;
+	}
+
+	public void setFlip (boolean flipX, boolean flipY) {
+		this.flipX = flipX;
+		this.flipY = flipY;
+	}
+
+	/** Returns the bounding box for all active particles. z axis will always be zero. */
+	public BoundingBox getBoundingBox () {
+		if (bounds == null) bounds = new BoundingBox();
+		BoundingBox bounds = this.bounds;
+		bounds.inf();
+
+		if (vertices == null) vertices = new float[Sprite.SPRITE_SIZE * CHUNK_SIZE];
+		float[] vertices = this.vertices;
+		for (int start = 0, activeCount = this.activeCount; start < activeCount; start += CHUNK_SIZE) {
+			int count = Math.min(CHUNK_SIZE, activeCount - start);
+			computeVertices(start, count);
+			for (int i = 0, n = count * Sprite.SPRITE_SIZE; i < n; i += Sprite.VERTEX_SIZE)
+				bounds.ext(vertices[i], vertices[i + 1], 0);
+		}
+		return bounds;
+	}
+
+	private void activateParticle (int index) {
+		float percent = durationTimer / (float)duration;
+		int updateFlags = this.updateFlags;
+
+		currentLife[index] = particleLife[index] = life + (int)(lifeDiff * lifeValue.getScale(percent));
+
+		if (velocityValue.active) {
+			velocity[index] = velocityValue.newLowValue();
+			velocityDiff[index] = velocityValue.newHighValue();
+			if (!velocityValue.isRelative()) velocityDiff[index] -= velocity[index];
+		}
+
+		angle[index] = angleValue.newLowValue();
+		angleDiff[index] = angleValue.newHighValue();
+		if (!angleValue.isRelative()) angleDiff[index] -= angle[index];
+		float angle = 0;
+		if ((updateFlags & UPDATE_ANGLE) == 0) {
+			angle = this.angle[index] + angleDiff[index] * angleValue.getScale(0);
+			this.angle[index] = angle;
+			angleCos[index] = MathUtils.cosDeg(angle);
+			angleSin[index] = MathUtils.sinDeg(angle);
+		}
+
+		float spriteWidth = sprite.getWidth();
+		scale[index] = scaleValue.newLowValue() / spriteWidth;
+		scaleDiff[index] = scaleValue.newHighValue() / spriteWidth;
+		if (!scaleValue.isRelative()) scaleDiff[index] -= scale[index];
+		currentScale[index] = scale[index] + scaleDiff[index] * scaleValue.getScale(0);
+
+		currentRotation[index] = sprite.getRotation();
+		if (rotationValue.active) {
+			rotation[index] = rotationValue.newLowValue();
+			rotationDiff[index] = rotationValue.newHighValue();
+			if (!rotationValue.isRelative()) rotationDiff[index] -= rotation[index];
+			float rotation = this.rotation[index] + rotationDiff[index] * rotationValue.getScale(0);
+			if (aligned) rotation += angle;
+			currentRotation[index] = rotation;
+		}
+
+		if (windValue.active) {
+			wind[index] = windValue.newLowValue();
+			windDiff[index] = windValue.newHighValue();
+			if (!windValue.isRelative()) windDiff[index] -= wind[index];
+		}
+
+		if (gravityValue.active) {
+			gravity[index] = gravityValue.newLowValue();
+			gravityDiff[index] = gravityValue.newHighValue();
+			if (!gravityValue.isRelative()) gravityDiff[index] -= gravity[index];
+		}
+
+		float[] temp = tintValue.getColor(0);
+		int tintIndex = index * 3;
+		tint[tintIndex] = temp[0];
+		tint[tintIndex + 1] = temp[1];
+		tint[tintIndex + 2] = temp[2];
+		color[index] = sprite.getColor().toFloatBits();
+
+		transparency[index] = transparencyValue.newLowValue();
+		transparencyDiff[index] = transparencyValue.newHighValue() - transparency[index];
+
+		if (spawn(percent) && (updateFlags & UPDATE_ANGLE) == 0) {
+			this.angle[index] = spawnAngle;
+			angleCos[index] = MathUtils.cosDeg(spawnAngle);
+			angleSin[index] = MathUtils.sinDeg(spawnAngle);
+		}
+		positionX[index] = spawnX - spriteWidth / 2;
+		positionY[index] = spawnY - sprite.getHeight() / 2;
+
+		int offsetTime = (int)(lifeOffset + lifeOffsetDiff * lifeOffsetValue.getScale(percent));
+		if (offsetTime > 0) {
+			if (offsetTime >= currentLife[index]) offsetTime = currentLife[index] - 1;
+			updateParticle(index, offsetTime / 1000f, offsetTime);
+		}
+	}
+
+	/** Updates all live particles. A particle that dies is replaced by the last live particle, which is updated next. */
+	private void updateParticles (float delta, int deltaMillis) {
+		int n = activeCount;
+		for (int i = 0; i < n;) {
+			if (updateParticle(i, delta, deltaMillis))
+				i++;
+			else if (i != --n) //
+				move(n, i);
+		}
+		activeCount = n;
+	}
+
+	private boolean updateParticle (int index, float delta, int deltaMillis) {
+		int life = currentLife[index] - deltaMillis;
+		if (life <= 0) return false;
+		currentLife[index] = life;
+
+		float percent = 1 - life / (float)particleLife[index];
+		int updateFlags = this.updateFlags;
+
+		if ((updateFlags & UPDATE_SCALE) != 0) currentScale[index] = scale[index] + scaleDiff[index] * scaleValue.getScale(percent);
+
+		if ((updateFlags & UPDATE_VELOCITY) != 0) {
+			float velocity = (this.velocity[index] + velocityDiff[index] * velocityValue.getScale(percent)) * delta;
+
+			float velocityX, velocityY;
+			if ((updateFlags & UPDATE_ANGLE) != 0) {
+				float angle = this.angle[index] + angleDiff[index] * angleValue.getScale(percent);
+				velocityX = velocity * MathUtils.cosDeg(angle);
+				velocityY = velocity * MathUtils.sinDeg(angle);
+				if ((updateFlags & UPDATE_ROTATION) != 0) {
+					float rotation = this.rotation[index] + rotationDiff[index] * rotationValue.getScale(percent);
+					if (aligned) rotation += angle;
+					currentRotation[index] = rotation;
+				}
+			} else {
+				velocityX = velocity * angleCos[index];
+				velocityY = velocity * angleSin[index];
+				if (aligned || (updateFlags & UPDATE_ROTATION) != 0) {
+					float rotation = this.rotation[index] + rotationDiff[index] * rotationValue.getScale(percent);
+					if (aligned) rotation += angle[index];
+					currentRotation[index] = rotation;
+				}
+			}
+
+			if ((updateFlags & UPDATE_WIND) != 0)
+				velocityX += (wind[index] + windDiff[index] * windValue.getScale(percent)) * delta;
+
+			if ((updateFlags & UPDATE_GRAVITY) != 0)
+				velocityY += (gravity[index] + gravityDiff[index] * gravityValue.getScale(percent)) * delta;
+
+			positionX[index] += velocityX;
+			positionY[index] += velocityY;
+		} else {
+			if ((updateFlags & UPDATE_ROTATION) != 0)
+				currentRotation[index] = rotation[index] + rotationDiff[index] * rotationValue.getScale(percent);
+		}
+
+		float r, g, b;
+		if ((updateFlags & UPDATE_TINT) != 0) {
+			float[] color = tintValue.getColor(percent);
+			r = color[0];
+			g = color[1];
+			b = color[2];
+		} else {
+			int tintIndex = index * 3;
+			r = tint[tintIndex];
+			g = tint[tintIndex + 1];
+			b = tint[tintIndex + 2];
+		}
+
+		float a = transparency[index] + transparencyDiff[index] * transparencyValue.getScale(percent);
+		if (premultipliedAlpha) {
+			float alphaMultiplier = additive ? 0 : 1;
+			r *= a;
+			g *= a;
+			b *= a;
+			a *= alphaMultiplier;
+		}
+		int intBits = ((int)(255 * a) << 24) | ((int)(255 * b) << 16) | ((int)(255 * g) << 8) | ((int)(255 * r));
+		color[index] = NumberUtils.intToFloatColor(intBits);
+		return true;
+	}
+
+	private void move (int from, int to) {
+		particleLife[to] = particleLife[from];
+		currentLife[to] = currentLife[from];
+		scale[to] = scale[from];
+		scaleDiff[to] = scaleDiff[from];
+		rotation[to] = rotation[from];
+		rotationDiff[to] = rotationDiff[from];
+		velocity[to] = velocity[from];
+		velocityDiff[to] = velocityDiff[from];
+		angle[to] = angle[from];
+		angleDiff[to] = angleDiff[from];
+		angleCos[to] = angleCos[from];
+		angleSin[to] = angleSin[from];
+		transparency[to] = transparency[from];
+		transparencyDiff[to] = transparencyDiff[from];
+		wind[to] = wind[from];
+		windDiff[to] = windDiff[from];
+		gravity[to] = gravity[from];
+		gravityDiff[to] = gravityDiff[from];
+		System.arraycopy(tint, from * 3, tint, to * 3, 3);
+		positionX[to] = positionX[from];
+		positionY[to] = positionY[from];
+		currentScale[to] = currentScale[from];
+		currentRotation[to] = currentRotation[from];
+		color[to] = color[from];
+	}
+
+	/** Writes the vertices of count particles starting at start into {@link #vertices}, as {@link Sprite#getVertices()} would. */
+	private void computeVertices (int start, int count) {
+		Sprite sprite = this.sprite;
+		float originX = sprite.getOriginX(), originY = sprite.getOriginY();
+		float width = sprite.getWidth(), height = sprite.getHeight();
+		float u = sprite.getU(), v = sprite.getV(), u2 = sprite.getU2(), v2 = sprite.getV2();
+		if (flipX) {
+			float temp = u;
+			u = u2;
+			u2 = temp;
+		}
+		if (flipY) {
+			float temp = v;
+			v = v2;
+			v2 = temp;
+		}
+
+		float[] vertices = this.vertices;
+		float[] positionX = this.positionX, positionY = this.positionY;
+		float[] currentScale = this.currentScale, currentRotation = this.currentRotation, color = this.color;
+		for (int i = start, n = start + count, idx = 0; i < n; i++) {
+			float localX = -originX;
+			float localY = -originY;
+			float localX2 = localX + width;
+			float localY2 = localY + height;
+			float worldOriginX = positionX[i] - localX;
+			float worldOriginY = positionY[i] - localY;
+			float scale = currentScale[i];
+			if (scale != 1) {
+				localX *= scale;
+				localY *= scale;
+				localX2 *= scale;
+				localY2 *= scale;
+			}
+
+			float x1, y1, x2, y2, x3, y3, x4, y4;
+			float rotation = currentRotation[i];
+			if (rotation != 0) {
+				float cos = MathUtils.cosDeg(rotation);
+				float sin = MathUtils.sinDeg(rotation);
+				float localXCos = localX * cos;
+				float localXSin = localX * sin;
+				float localYCos = localY * cos;
+				float localYSin = localY * sin;
+				float localX2Cos = localX2 * cos;
+				float localX2Sin = localX2 * sin;
+				float localY2Cos = localY2 * cos;
+				float localY2Sin = localY2 * sin;
+
+				x1 = localXCos - localYSin + worldOriginX;
+				y1 = localYCos + localXSin + worldOriginY;
+				x2 = localXCos - localY2Sin + worldOriginX;
+				y2 = localY2Cos + localXSin + worldOriginY;
+				x3 = localX2Cos - localY2Sin + worldOriginX;
+				y3 = localY2Cos + localX2Sin + worldOriginY;
+				x4 = x1 + (x3 - x2);
+				y4 = y3 - (y2 - y1);
+			} else {
+				x1 = localX + worldOriginX;
+				y1 = localY + worldOriginY;
+				x2 = x1;
+				y2 = localY2 + worldOriginY;
+				x3 = localX2 + worldOriginX;
+				y3 = y2;
+				x4 = x3;
+				y4 = y1;
+			}
+
+			float c = color[i];
+			vertices[idx++] = x1;
+			vertices[idx++] = y1;
+			vertices[idx++] = c;
+			vertices[idx++] = u;
+			vertices[idx++] = v2;
+
+			vertices[idx++] = x2;
+			vertices[idx++] = y2;
+			vertices[idx++] = c;
+			vertices[idx++] = u;
+			vertices[idx++] = v;
+
+			vertices[idx++] = x3;
+			vertices[idx++] = y3;
+			vertices[idx++] = c;
+			vertices[idx++] = u2;
+			vertices[idx++] = v;
+
+			vertices[idx++] = x4;
+			vertices[idx++] = y4;
+			vertices[idx++] = c;
+			vertices[idx++] = u2;
+			vertices[idx++] = v2;
+		}
+	}
+}
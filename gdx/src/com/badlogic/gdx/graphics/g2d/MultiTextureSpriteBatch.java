@@ -0,0 +1,1182 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Mesh.VertexDataType;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/** Draws batched quads like {@link SpriteBatch}, but binds multiple textures at once instead of flushing whenever the texture
+ * changes. Each vertex stores the index of its texture in a table of up to {@link #getMaxTextures()} textures, which are bound to
+ * consecutive texture units when the batch is flushed. The batch is only flushed when the buffer or the table is full, or when
+ * the blending, shader or matrices change. This reduces the number of {@link #renderCalls} when sprites from a few different
+ * textures are interleaved, e.g. from multiple atlases.
+ * <p>
+ * Custom shaders set with {@link #setShader(ShaderProgram)} must declare the {@link #TEXTURE_INDEX_ATTRIBUTE} attribute and a
+ * <code>uniform sampler2D u_textures[]</code> array, see {@link #createDefaultShader(int)}.
+ * @see Batch */
+public class MultiTextureSpriteBatch implements Batch {
+	/** The name of the float vertex attribute holding the index of the texture. */
+	static public final String TEXTURE_INDEX_ATTRIBUTE = "a_textureIndex";
+	/** The number of floats per vertex: position, packed color, texture coordinates and texture index. */
+	static public final int VERTEX_SIZE = Sprite.VERTEX_SIZE + 1;
+	/** The number of floats per sprite. */
+	static public final int SPRITE_SIZE = 4 * VERTEX_SIZE;
+	/** The maximum number of textures bound at once, limited by the branches in the default shader. */
+	static public final int MAX_TEXTURES = 16;
+
+	private Mesh mesh;
+
+	final float[] vertices;
+	int idx = 0;
+	Texture lastTexture = null;
+	float invTexWidth = 0, invTexHeight = 0;
+	private final Texture[] textures;
+	private int textureCount;
+	private float textureIndex;
+	private final String[] textureUniforms;
+
+	boolean drawing = false;
+
+	private final Matrix4 transformMatrix = new Matrix4();
+	private final Matrix4 projectionMatrix = new Matrix4();
+	private final Matrix4 combinedMatrix = new Matrix4();
+
+	private boolean blendingDisabled = false;
+	private int blendSrcFunc = GL20.GL_SRC_ALPHA;
+	private int blendDstFunc = GL20.GL_ONE_MINUS_SRC_ALPHA;
+
+	private final ShaderProgram shader;
+	private ShaderProgram customShader = null;
+	private boolean ownsShader;
+
+	float color = Color.WHITE.toFloatBits();
+	private Color tempColor = new Color(1, 1, 1, 1);
+
+	/** Number of render calls since the last {@link #begin()}. **/
+	public int renderCalls = 0;
+
+	/** Number of rendering calls, ever. Will not be reset unless set manually. **/
+	public int totalRenderCalls = 0;
+
+	/** The maximum number of sprites rendered in one batch so far. **/
+	public int maxSpritesInBatch = 0;
+
+	/** The maximum number of textures used in one batch so far. **/
+	public int maxTexturesInBatch = 0;
+
+	/** Constructs a new MultiTextureSpriteBatch with a size of 1000, as many textures as the GPU supports and the default shader.
+	 * @see MultiTextureSpriteBatch#MultiTextureSpriteBatch(int, int, ShaderProgram) */
+	public MultiTextureSpriteBatch () {
+		this(1000, 0, null);
+	}
+
+	/** Constructs a MultiTextureSpriteBatch with as many textures as the GPU supports and the default shader.
+	 * @see MultiTextureSpriteBatch#MultiTextureSpriteBatch(int, int, ShaderProgram) */
+	public MultiTextureSpriteBatch (int size) {
+		this(size, 0, null);
+	}
+
+	/** Constructs a new MultiTextureSpriteBatch. Sets the projection matrix to an orthographic projection with y-axis point
+	 * upwards, x-axis point to the right and the origin being in the bottom left corner of the screen.
+	 * @param size The max number of sprites in a single batch. Max of 5460.
+	 * @param maxTextures The max number of textures in a single batch, or 0 to use as many as
+	 *           {@link GL20#GL_MAX_TEXTURE_IMAGE_UNITS} allows. Limited to {@link #MAX_TEXTURES}.
+	 * @param defaultShader The default shader to use, created by {@link #createDefaultShader(int)} if null. This is not owned by
+	 *           the MultiTextureSpriteBatch and must be disposed separately. */
+	public MultiTextureSpriteBatch (int size, int maxTextures, ShaderProgram defaultShader) {
+		// 32767 is max index, so 32767 / 6 - (32767 / 6 % 3) = 5460.
+		if (size > 5460) throw new IllegalArgumentException("Can't have more than 5460 sprites per batch: " + size);
+		if (maxTextures < 0) throw new IllegalArgumentException("maxTextures must be >= 0: " + maxTextures);
+
+		if (maxTextures == 0) {
+			IntBuffer buffer = BufferUtils.newIntBuffer(16);
+			Gdx.gl.glGetIntegerv(GL20.GL_MAX_TEXTURE_IMAGE_UNITS, buffer);
+			maxTextures = buffer.get(0);
+		}
+		maxTextures = MathUtils.clamp(maxTextures, 1, MAX_TEXTURES);
+		textures = new Texture[maxTextures];
+		textureUniforms = new String[maxTextures];
+		for (int i = 0; i < maxTextures; i++)
+			textureUniforms[i] = "u_textures[" + i + "]";
+
+		mesh = new Mesh(VertexDataType.VertexArray, false, size * 4, size * 6, new VertexAttribute(Usage.Position, 2,
+			ShaderProgram.POSITION_ATTRIBUTE), new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+			new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"), new VertexAttribute(
+				Usage.Generic, 1, TEXTURE_INDEX_ATTRIBUTE));
+
+		projectionMatrix.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+
+		vertices = new float[size * SPRITE_SIZE];
+
+		int len = size * 6;
+		short[] indices = new short[len];
+		short j = 0;
+		for (int i = 0; i < len; i += 6, j += 4) {
+			indices[i] = j;
+			indices[i + 1] = (short)(j + 1);
+			indices[i + 2] = (short)(j + 2);
+			indices[i + 3] = (short)(j + 2);
+			indices[i + 4] = (short)(j + 3);
+			indices[i + 5] = j;
+		}
+		mesh.setIndices(indices);
+
+		if (defaultShader == null) {
+			shader = createDefaultShader(maxTextures);
+			ownsShader = true;
+		} else
+			shader = defaultShader;
+	}
+
+	/** Returns a new instance of the default shader used by MultiTextureSpriteBatch when no shader is specified. The fragment
+	 * shader picks the texture by comparing the texture index, as GLSL ES 1.0 can't index sampler arrays dynamically.
+	 * @param maxTextures the number of textures the shader supports */
+	static public ShaderProgram createDefaultShader (int maxTextures) {
+		String vertexShader = "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" //
+			+ "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" //
+			+ "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" //
+			+ "attribute float " + TEXTURE_INDEX_ATTRIBUTE + ";\n" //
+			+ "uniform mat4 u_projTrans;\n" //
+			+ "varying vec4 v_color;\n" //
+			+ "varying vec2 v_texCoords;\n" //
+			+ "varying float v_textureIndex;\n" //
+			+ "\n" //
+			+ "void main()\n" //
+			+ "{\n" //
+			+ "   v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" //
+			+ "   v_color.a = v_color.a * (255.0/254.0);\n" //
+			+ "   v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" //
+			+ "   v_textureIndex = " + TEXTURE_INDEX_ATTRIBUTE + ";\n" //
+			+ "   gl_Position =  u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" //
+			+ "}\n";
+		StringBuilder fragmentShader = new StringBuilder();
+		fragmentShader.append("#ifdef GL_ES\n" //
+			+ "#define LOWP lowp\n" //
+			+ "precision mediump float;\n" //
+			+ "#else\n" //
+			+ "#define LOWP \n" //
+			+ "#endif\n" //
+			+ "varying LOWP vec4 v_color;\n" //
+			+ "varying vec2 v_texCoords;\n" //
+			+ "varying float v_textureIndex;\n" //
+			+ "uniform sampler2D u_textures[" + maxTextures + "];\n" //
+			+ "void main()\n"//
+			+ "{\n" //
+			+ "  vec4 color;\n");
+		for (int i = 0; i < maxTextures; i++) {
+			if (i < maxTextures - 1)
+				fragmentShader.append(i == 0 ? "  if" : "  else if").append(" (v_textureIndex < ").append(i).append(".5) ");
+			else if (i > 0) fragmentShader.append("  else ");
+			fragmentShader.append("color = texture2D(u_textures[").append(i).append("], v_texCoords);\n");
+		}
+		fragmentShader.append("  gl_FragColor = v_color * color;\n" //
+			+ "}");
+
+		ShaderProgram shader = new ShaderProgram(vertexShader, fragmentShader.toString());
+		if (shader.isCompiled() == false) throw new IllegalArgumentException("Error compiling shader: " + shader.getLog());
+		return shader;
+	}
+
+	/** @return the maximum number of textures bound at once */
+	public int getMaxTextures () {
+		return textures.length;
+	}
+
+	@Override
+	public void begin () {
+		if (drawing) throw new IllegalStateException("MultiTextureSpriteBatch.end must be called before begin.");
+		renderCalls = 0;
+
+		Gdx.gl.glDepthMask(false);
+		if (customShader != null)
+			customShader.begin();
+		else
+			shader.begin();
+		setupMatrices();
+
+		drawing = true;
+	}
+
+	@Override
+	public void end () {
+		if (!drawing) throw new IllegalStateException("MultiTextureSpriteBatch.begin must be called before end.");
+		if (idx > 0) flush();
+		lastTexture = null;
+		for (int i = 0; i < textureCount; i++)
+			textures[i] = null;
+		textureCount = 0;
+		drawing = false;
+
+		GL20 gl = Gdx.gl;
+		gl.glDepthMask(true);
+		if (isBlendingEnabled()) gl.glDisable(GL20.GL_BLEND);
+
+		if (customShader != null)
+			customShader.end();
+		else
+			shader.end();
+	}
+
+	@Override
+	public void setColor (Color tint) {
+		color = tint.toFloatBits();
+	}
+
+	@Override
+	public void setColor (float r, float g, float b, float a) {
+		int intBits = (int)(255 * a) << 24 | (int)(255 * b) << 16 | (int)(255 * g) << 8 | (int)(255 * r);
+		color = NumberUtils.intToFloatColor(intBits);
+	}
+
+	@Override
+	public void setColor (float color) {
+		this.color = color;
+	}
+
+	@Override
+	public Color getColor () {
+		int intBits = NumberUtils.floatToIntColor(color);
+		Color color = tempColor;
+		color.r = (intBits & 0xff) / 255f;
+		color.g = ((intBits >>> 8) & 0xff) / 255f;
+		color.b = ((intBits >>> 16) & 0xff) / 255f;
+		color.a = ((intBits >>> 24) & 0xff) / 255f;
+		return color;
+	}
+
+	@Override
+	public float getPackedColor() {
+		return color;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX,
+		float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+		if (!drawing) throw new IllegalStateException("MultiTextureSpriteBatch.begin must be called before draw.");
+
+		float[] vertices = this.vertices;
+
+		if (texture != lastTexture) switchTexture(texture);
+		if (idx == vertices.length) flush();
+
+		// bottom left and top right corner points relative to origin
+		final float worldOriginX = x + originX;
+		final float worldOriginY = y + originY;
+		float fx = -originX;
+		float fy = -originY;
+		float fx2 = width - originX;
+		float fy2 = height - originY;
+
+		// scale
+		if (scaleX != 1 || scaleY != 1) {
+			fx *= scaleX;
+			fy *= scaleY;
+			fx2 *= scaleX;
+			fy2 *= scaleY;
+		}
+
+		// construct corner points, start from top left and go counter clockwise
+		final float p1x = fx;
+		final float p1y = fy;
+		final float p2x = fx;
+		final float p2y = fy2;
+		final float p3x = fx2;
+		final float p3y = fy2;
+		final float p4x = fx2;
+		final float p4y = fy;
+
+		float x1;
+		float y1;
+		float x2;
+		float y2;
+		float x3;
+		float y3;
+		float x4;
+		float y4;
+
+		// rotate
+		if (rotation != 0) {
+			final float cos = MathUtils.cosDeg(rotation);
+			final float sin = MathUtils.sinDeg(rotation);
+
+			x1 = cos * p1x - sin * p1y;
+			y1 = sin * p1x + cos * p1y;
+
+			x2 = cos * p2x - sin * p2y;
+			y2 = sin * p2x + cos * p2y;
+
+			x3 = cos * p3x - sin * p3y;
+			y3 = sin * p3x + cos * p3y;
+
+			x4 = x1 + (x3 - x2);
+			y4 = y3 - (y2 - y1);
+		} else {
+			x1 = p1x;
+			y1 = p1y;
+
+			x2 = p2x;
+			y2 = p2y;
+
+			x3 = p3x;
+			y3 = p3y;
+
+			x4 = p4x;
+			y4 = p4y;
+		}
+
+		x1 += worldOriginX;
+		y1 += worldOriginY;
+		x2 += worldOriginX;
+		y2 += worldOriginY;
+		x3 += worldOriginX;
+		y3 += worldOriginY;
+		x4 += worldOriginX;
+		y4 += worldOriginY;
+
+		float u = srcX * invTexWidth;
+		float v = (srcY + srcHeight) * invTexHeight;
+		float u2 = (srcX + srcWidth) * invTexWidth;
+		float v2 = srcY * invTexHeight;
+
+		if (flipX) {
+			float tmp = u;
+			u = u2;
+			u2 = tmp;
+		}
+
+		if (flipY) {
+			float tmp = v;
+			v = v2;
+			v2 = tmp;
+		}
+
+		float color = this.color;
+		float textureIndex = this.textureIndex;
+		int idx = this.idx;
+		vertices[idx++] = x1;
+		vertices[idx++] = y1;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x2;
+		vertices[idx++] = y2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x3;
+		vertices[idx++] = y3;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x4;
+		vertices[idx++] = y4;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth,
+		int srcHeight, boolean flipX, boolean flipY) {
+		if (!drawing) throw new IllegalStateException("MultiTextureSpriteBatch.begin must be called before draw.");
+
+		float[] vertices = this.vertices;
+
+		if (texture != lastTexture) switchTexture(texture);
+		if (idx == vertices.length) flush();
+
+		float u = srcX * invTexWidth;
+		float v = (srcY + srcHeight) * invTexHeight;
+		float u2 = (srcX + srcWidth) * invTexWidth;
+		float v2 = srcY * invTexHeight;
+		final float fx2 = x + width;
+		final float fy2 = y + height;
+
+		if (flipX) {
+			float tmp = u;
+			u = u2;
+			u2 = tmp;
+		}
+
+		if (flipY) {
+			float tmp = v;
+			v = v2;
+			v2 = tmp;
+		}
+
+		float color = this.color;
+		float textureIndex = this.textureIndex;
+		int idx = this.idx;
+		vertices[idx++] = x;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+		if (!drawing) throw new IllegalStateException("MultiTextureSpriteBatch.begin must be called before draw.");
+
+		float[] vertices = this.vertices;
+
+		if (texture != lastTexture) switchTexture(texture);
+		if (idx == vertices.length) flush();
+
+		final float u = srcX * invTexWidth;
+		final float v = (srcY + srcHeight) * invTexHeight;
+		final float u2 = (srcX + srcWidth) * invTexWidth;
+		final float v2 = srcY * invTexHeight;
+		final float fx2 = x + srcWidth;
+		final float fy2 = y + srcHeight;
+
+		float color = this.color;
+		float textureIndex = this.textureIndex;
+		int idx = this.idx;
+		vertices[idx++] = x;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+		if (!drawing) throw new IllegalStateException("MultiTextureSpriteBatch.begin must be called before draw.");
+
+		float[] vertices = this.vertices;
+
+		if (texture != lastTexture) switchTexture(texture);
+		if (idx == vertices.length) flush();
+
+		final float fx2 = x + width;
+		final float fy2 = y + height;
+
+		float color = this.color;
+		float textureIndex = this.textureIndex;
+		int idx = this.idx;
+		vertices[idx++] = x;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y) {
+		draw(texture, x, y, texture.getWidth(), texture.getHeight());
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height) {
+		if (!drawing) throw new IllegalStateException("MultiTextureSpriteBatch.begin must be called before draw.");
+
+		float[] vertices = this.vertices;
+
+		if (texture != lastTexture) switchTexture(texture);
+		if (idx == vertices.length) flush();
+
+		final float fx2 = x + width;
+		final float fy2 = y + height;
+		final float u = 0;
+		final float v = 1;
+		final float u2 = 1;
+		final float v2 = 0;
+
+		float color = this.color;
+		float textureIndex = this.textureIndex;
+		int idx = this.idx;
+		vertices[idx++] = x;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (Texture texture, float[] spriteVertices, int offset, int count) {
+		if (!drawing) throw new IllegalStateException("MultiTextureSpriteBatch.begin must be called before draw.");
+
+		if (texture != lastTexture) switchTexture(texture);
+		// The vertices have no texture index, copy them one by one and append it.
+		float[] vertices = this.vertices;
+		float textureIndex = this.textureIndex;
+		int idx = this.idx;
+		for (int end = offset + count; offset < end; offset += Sprite.VERTEX_SIZE) {
+			if (idx == vertices.length) {
+				this.idx = idx;
+				flush();
+				idx = 0;
+			}
+			vertices[idx++] = spriteVertices[offset];
+			vertices[idx++] = spriteVertices[offset + 1];
+			vertices[idx++] = spriteVertices[offset + 2];
+			vertices[idx++] = spriteVertices[offset + 3];
+			vertices[idx++] = spriteVertices[offset + 4];
+			vertices[idx++] = textureIndex;
+		}
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y) {
+		draw(region, x, y, region.getRegionWidth(), region.getRegionHeight());
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float width, float height) {
+		if (!drawing) throw new IllegalStateException("MultiTextureSpriteBatch.begin must be called before draw.");
+
+		float[] vertices = this.vertices;
+
+		Texture texture = region.texture;
+		if (texture != lastTexture) switchTexture(texture);
+		if (idx == vertices.length) flush();
+
+		final float fx2 = x + width;
+		final float fy2 = y + height;
+		final float u = region.u;
+		final float v = region.v2;
+		final float u2 = region.u2;
+		final float v2 = region.v;
+
+		float color = this.color;
+		float textureIndex = this.textureIndex;
+		int idx = this.idx;
+		vertices[idx++] = x;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+		float scaleX, float scaleY, float rotation) {
+		if (!drawing) throw new IllegalStateException("MultiTextureSpriteBatch.begin must be called before draw.");
+
+		float[] vertices = this.vertices;
+
+		Texture texture = region.texture;
+		if (texture != lastTexture) switchTexture(texture);
+		if (idx == vertices.length) flush();
+
+		// bottom left and top right corner points relative to origin
+		final float worldOriginX = x + originX;
+		final float worldOriginY = y + originY;
+		float fx = -originX;
+		float fy = -originY;
+		float fx2 = width - originX;
+		float fy2 = height - originY;
+
+		// scale
+		if (scaleX != 1 || scaleY != 1) {
+			fx *= scaleX;
+			fy *= scaleY;
+			fx2 *= scaleX;
+			fy2 *= scaleY;
+		}
+
+		// construct corner points, start from top left and go counter clockwise
+		final float p1x = fx;
+		final float p1y = fy;
+		final float p2x = fx;
+		final float p2y = fy2;
+		final float p3x = fx2;
+		final float p3y = fy2;
+		final float p4x = fx2;
+		final float p4y = fy;
+
+		float x1;
+		float y1;
+		float x2;
+		float y2;
+		float x3;
+		float y3;
+		float x4;
+		float y4;
+
+		// rotate
+		if (rotation != 0) {
+			final float cos = MathUtils.cosDeg(rotation);
+			final float sin = MathUtils.sinDeg(rotation);
+
+			x1 = cos * p1x - sin * p1y;
+			y1 = sin * p1x + cos * p1y;
+
+			x2 = cos * p2x - sin * p2y;
+			y2 = sin * p2x + cos * p2y;
+
+			x3 = cos * p3x - sin * p3y;
+			y3 = sin * p3x + cos * p3y;
+
+			x4 = x1 + (x3 - x2);
+			y4 = y3 - (y2 - y1);
+		} else {
+			x1 = p1x;
+			y1 = p1y;
+
+			x2 = p2x;
+			y2 = p2y;
+
+			x3 = p3x;
+			y3 = p3y;
+
+			x4 = p4x;
+			y4 = p4y;
+		}
+
+		x1 += worldOriginX;
+		y1 += worldOriginY;
+		x2 += worldOriginX;
+		y2 += worldOriginY;
+		x3 += worldOriginX;
+		y3 += worldOriginY;
+		x4 += worldOriginX;
+		y4 += worldOriginY;
+
+		final float u = region.u;
+		final float v = region.v2;
+		final float u2 = region.u2;
+		final float v2 = region.v;
+
+		float color = this.color;
+		float textureIndex = this.textureIndex;
+		int idx = this.idx;
+		vertices[idx++] = x1;
+		vertices[idx++] = y1;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x2;
+		vertices[idx++] = y2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x3;
+		vertices[idx++] = y3;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x4;
+		vertices[idx++] = y4;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+		float scaleX, float scaleY, float rotation, boolean clockwise) {
+		if (!drawing) throw new IllegalStateException("MultiTextureSpriteBatch.begin must be called before draw.");
+
+		float[] vertices = this.vertices;
+
+		Texture texture = region.texture;
+		if (texture != lastTexture) switchTexture(texture);
+		if (idx == vertices.length) flush();
+
+		// bottom left and top right corner points relative to origin
+		final float worldOriginX = x + originX;
+		final float worldOriginY = y + originY;
+		float fx = -originX;
+		float fy = -originY;
+		float fx2 = width - originX;
+		float fy2 = height - originY;
+
+		// scale
+		if (scaleX != 1 || scaleY != 1) {
+			fx *= scaleX;
+			fy *= scaleY;
+			fx2 *= scaleX;
+			fy2 *= scaleY;
+		}
+
+		// construct corner points, start from top left and go counter clockwise
+		final float p1x = fx;
+		final float p1y = fy;
+		final float p2x = fx;
+		final float p2y = fy2;
+		final float p3x = fx2;
+		final float p3y = fy2;
+		final float p4x = fx2;
+		final float p4y = fy;
+
+		float x1;
+		float y1;
+		float x2;
+		float y2;
+		float x3;
+		float y3;
+		float x4;
+		float y4;
+
+		// rotate
+		if (rotation != 0) {
+			final float cos = MathUtils.cosDeg(rotation);
+			final float sin = MathUtils.sinDeg(rotation);
+
+			x1 = cos * p1x - sin * p1y;
+			y1 = sin * p1x + cos * p1y;
+
+			x2 = cos * p2x - sin * p2y;
+			y2 = sin * p2x + cos * p2y;
+
+			x3 = cos * p3x - sin * p3y;
+			y3 = sin * p3x + cos * p3y;
+
+			x4 = x1 + (x3 - x2);
+			y4 = y3 - (y2 - y1);
+		} else {
+			x1 = p1x;
+			y1 = p1y;
+
+			x2 = p2x;
+			y2 = p2y;
+
+			x3 = p3x;
+			y3 = p3y;
+
+			x4 = p4x;
+			y4 = p4y;
+		}
+
+		x1 += worldOriginX;
+		y1 += worldOriginY;
+		x2 += worldOriginX;
+		y2 += worldOriginY;
+		x3 += worldOriginX;
+		y3 += worldOriginY;
+		x4 += worldOriginX;
+		y4 += worldOriginY;
+
+		float u1, v1, u2, v2, u3, v3, u4, v4;
+		if (clockwise) {
+			u1 = region.u2;
+			v1 = region.v2;
+			u2 = region.u;
+			v2 = region.v2;
+			u3 = region.u;
+			v3 = region.v;
+			u4 = region.u2;
+			v4 = region.v;
+		} else {
+			u1 = region.u;
+			v1 = region.v;
+			u2 = region.u2;
+			v2 = region.v;
+			u3 = region.u2;
+			v3 = region.v2;
+			u4 = region.u;
+			v4 = region.v2;
+		}
+
+		float color = this.color;
+		float textureIndex = this.textureIndex;
+		int idx = this.idx;
+		vertices[idx++] = x1;
+		vertices[idx++] = y1;
+		vertices[idx++] = color;
+		vertices[idx++] = u1;
+		vertices[idx++] = v1;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x2;
+		vertices[idx++] = y2;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x3;
+		vertices[idx++] = y3;
+		vertices[idx++] = color;
+		vertices[idx++] = u3;
+		vertices[idx++] = v3;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x4;
+		vertices[idx++] = y4;
+		vertices[idx++] = color;
+		vertices[idx++] = u4;
+		vertices[idx++] = v4;
+		vertices[idx++] = textureIndex;
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float width, float height, Affine2 transform) {
+		if (!drawing) throw new IllegalStateException("MultiTextureSpriteBatch.begin must be called before draw.");
+
+		float[] vertices = this.vertices;
+
+		Texture texture = region.texture;
+		if (texture != lastTexture) switchTexture(texture);
+		if (idx == vertices.length) flush();
+
+		// construct corner points
+		float x1 = transform.m02;
+		float y1 = transform.m12;
+		float x2 = transform.m01 * height + transform.m02;
+		float y2 = transform.m11 * height + transform.m12;
+		float x3 = transform.m00 * width + transform.m01 * height + transform.m02;
+		float y3 = transform.m10 * width + transform.m11 * height + transform.m12;
+		float x4 = transform.m00 * width + transform.m02;
+		float y4 = transform.m10 * width + transform.m12;
+
+		float u = region.u;
+		float v = region.v2;
+		float u2 = region.u2;
+		float v2 = region.v;
+
+		float color = this.color;
+		float textureIndex = this.textureIndex;
+		int idx = this.idx;
+		vertices[idx++] = x1;
+		vertices[idx++] = y1;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x2;
+		vertices[idx++] = y2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x3;
+		vertices[idx++] = y3;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+		vertices[idx++] = textureIndex;
+
+		vertices[idx++] = x4;
+		vertices[idx++] = y4;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		vertices[idx++] = textureIndex;
+		this.idx = idx;
+	}
+
+	@Override
+	public void flush () {
+		if (idx == 0) return;
+
+		renderCalls++;
+		totalRenderCalls++;
+		int spritesInBatch = idx / SPRITE_SIZE;
+		if (spritesInBatch > maxSpritesInBatch) maxSpritesInBatch = spritesInBatch;
+		if (textureCount > maxTexturesInBatch) maxTexturesInBatch = textureCount;
+		int count = spritesInBatch * 6;
+
+		// Bind the last unit first, so unit 0 is active afterwards.
+		Texture[] textures = this.textures;
+		for (int i = textureCount - 1; i >= 0; i--)
+			textures[i].bind(i);
+		Mesh mesh = this.mesh;
+		mesh.setVertices(vertices, 0, idx);
+		mesh.getIndicesBuffer().position(0);
+		mesh.getIndicesBuffer().limit(count);
+
+		if (blendingDisabled) {
+			Gdx.gl.glDisable(GL20.GL_BLEND);
+		} else {
+			Gdx.gl.glEnable(GL20.GL_BLEND);
+			if (blendSrcFunc != -1) Gdx.gl.glBlendFunc(blendSrcFunc, blendDstFunc);
+		}
+
+		mesh.render(customShader != null ? customShader : shader, GL20.GL_TRIANGLES, 0, count);
+
+		idx = 0;
+	}
+
+	@Override
+	public void disableBlending () {
+		if (blendingDisabled) return;
+		flush();
+		blendingDisabled = true;
+	}
+
+	@Override
+	public void enableBlending () {
+		if (!blendingDisabled) return;
+		flush();
+		blendingDisabled = false;
+	}
+
+	@Override
+	public void setBlendFunction (int srcFunc, int dstFunc) {
+		if (blendSrcFunc == srcFunc && blendDstFunc == dstFunc) return;
+		flush();
+		blendSrcFunc = srcFunc;
+		blendDstFunc = dstFunc;
+	}
+
+	@Override
+	public int getBlendSrcFunc () {
+		return blendSrcFunc;
+	}
+
+	@Override
+	public int getBlendDstFunc () {
+		return blendDstFunc;
+	}
+
+	@Override
+	public void dispose () {
+		mesh.dispose();
+		if (ownsShader && shader != null) shader.dispose();
+	}
+
+	@Override
+	public Matrix4 getProjectionMatrix () {
+		return projectionMatrix;
+	}
+
+	@Override
+	public Matrix4 getTransformMatrix () {
+		return transformMatrix;
+	}
+
+	@Override
+	public void setProjectionMatrix (Matrix4 projection) {
+		if (drawing) flush();
+		projectionMatrix.set(projection);
+		if (drawing) setupMatrices();
+	}
+
+	@Override
+	public void setTransformMatrix (Matrix4 transform) {
+		if (drawing) flush();
+		transformMatrix.set(transform);
+		if (drawing) setupMatrices();
+	}
+
+	private void setupMatrices () {
+		combinedMatrix.set(projectionMatrix).mul(transformMatrix);
+		ShaderProgram shader = customShader != null ? customShader : this.shader;
+		shader.setUniformMatrix("u_projTrans", combinedMatrix);
+		for (int i = 0; i < textureUniforms.length; i++) {
+			int location = shader.fetchUniformLocation(textureUniforms[i], false);
+			if (location >= 0) shader.setUniformi(location, i);
+		}
+	}
+
+	/** Makes the texture current, adding it to the texture table. Flushes the batch and clears the table if the texture isn't in
+	 * the table and the table is full. */
+	protected void switchTexture (Texture texture) {
+		Texture[] textures = this.textures;
+		int index = -1;
+		for (int i = 0; i < textureCount; i++) {
+			if (textures[i] == texture) {
+				index = i;
+				break;
+			}
+		}
+		if (index == -1) {
+			if (textureCount == textures.length) {
+				flush();
+				for (int i = 0; i < textureCount; i++)
+					textures[i] = null;
+				textureCount = 0;
+			}
+			index = textureCount++;
+			textures[index] = texture;
+		}
+		lastTexture = texture;
+		textureIndex = index;
+		invTexWidth = 1.0f / texture.getWidth();
+		invTexHeight = 1.0f / texture.getHeight();
+	}
+
+	@Override
+	public void setShader (ShaderProgram shader) {
+		if (drawing) {
+			flush();
+			if (customShader != null)
+				customShader.end();
+			else
+				this.shader.end();
+		}
+		customShader = shader;
+		if (drawing) {
+			if (customShader != null)
+				customShader.begin();
+			else
+				this.shader.begin();
+			setupMatrices();
+		}
+	}
+
+	@Override
+	public boolean isBlendingEnabled () {
+		return !blendingDisabled;
+	}
+
+	public boolean isDrawing () {
+		return drawing;
+	}
+}
@@ -45,7 +45,7 @@ public class ParticleEffect implements Disposable {
 	public ParticleEffect (ParticleEffect effect) {
 		emitters = new Array(true, effect.emitters.size);
 		for (int i = 0, n = effect.emitters.size; i < n; i++)
-			emitters.add(new ParticleEmitter(effect.emitters.get(i)));
+			emitters.add(newEmitter(effect.emitters.get(i)));
 	}
 
 	public void start () {
@@ -153,7 +153,7 @@ public class ParticleEffect implements Disposable {
 		try {
 			reader = new BufferedReader(new InputStreamReader(input), 512);
 			while (true) {
-				ParticleEmitter emitter = new ParticleEmitter(reader);
+				ParticleEmitter emitter = newEmitter(reader);
 				emitters.add(emitter);
 				if (reader.readLine() == null) break;
 				if (reader.readLine() == null) break;
@@ -199,6 +199,17 @@ public class ParticleEffect implements Disposable {
 		return new Texture(file, false);
 	}
 
+	/** Creates an emitter for each emitter in an effect file. Override to use another emitter, such as
+	 * {@link ArrayParticleEmitter}. */
+	protected ParticleEmitter newEmitter (BufferedReader reader) throws IOException {
+		return new ParticleEmitter(reader);
+	}
+
+	/** Creates a copy of an emitter when copying an effect. */
+	protected ParticleEmitter newEmitter (ParticleEmitter emitter) {
+		return new ParticleEmitter(emitter);
+	}
+
 	/** Disposes the texture for each sprite for each ParticleEmitter. */
 	public void dispose () {
 		if (!ownsTexture) return;
@@ -28,62 +28,64 @@ import com.badlogic.gdx.math.collision.BoundingBox;
 
 
 public class ParticleEmitter {
-	static private final int UPDATE_SCALE = 1 << 0;
-	static private final int UPDATE_ANGLE = 1 << 1;
-	static private final int UPDATE_ROTATION = 1 << 2;
-	static private final int UPDATE_VELOCITY = 1 << 3;
-	static private final int UPDATE_WIND = 1 << 4;
-	static private final int UPDATE_GRAVITY = 1 << 5;
-	static private final int UPDATE_TINT = 1 << 6;
-
-	private RangedNumericValue delayValue = new RangedNumericValue();
-	private ScaledNumericValue lifeOffsetValue = new ScaledNumericValue();
-	private RangedNumericValue durationValue = new RangedNumericValue();
-	private ScaledNumericValue lifeValue = new ScaledNumericValue();
-	private ScaledNumericValue emissionValue = new ScaledNumericValue();
-	private ScaledNumericValue scaleValue = new ScaledNumericValue();
-	private ScaledNumericValue rotationValue = new ScaledNumericValue();
-	private ScaledNumericValue velocityValue = new ScaledNumericValue();
-	private ScaledNumericValue angleValue = new ScaledNumericValue();
-	private ScaledNumericValue windValue = new ScaledNumericValue();
-	private ScaledNumericValue gravityValue = new ScaledNumericValue();
-	private ScaledNumericValue transparencyValue = new ScaledNumericValue();
-	private GradientColorValue tintValue = new GradientColorValue();
-	private RangedNumericValue xOffsetValue = new ScaledNumericValue();
-	private RangedNumericValue yOffsetValue = new ScaledNumericValue();
-	private ScaledNumericValue spawnWidthValue = new ScaledNumericValue();
-	private ScaledNumericValue spawnHeightValue = new ScaledNumericValue();
-	private SpawnShapeValue spawnShapeValue = new SpawnShapeValue();
-
-	private float accumulator;
-	private Sprite sprite;
+	static final int UPDATE_SCALE = 1 << 0;
+	static final int UPDATE_ANGLE = 1 << 1;
+	static final int UPDATE_ROTATION = 1 << 2;
+	static final int UPDATE_VELOCITY = 1 << 3;
+	static final int UPDATE_WIND = 1 << 4;
+	static final int UPDATE_GRAVITY = 1 << 5;
+	static final int UPDATE_TINT = 1 << 6;
+
+	RangedNumericValue delayValue = new RangedNumericValue();
+	ScaledNumericValue lifeOffsetValue = new ScaledNumericValue();
+	RangedNumericValue durationValue = new RangedNumericValue();
+	ScaledNumericValue lifeValue = new ScaledNumericValue();
+	ScaledNumericValue emissionValue = new ScaledNumericValue();
+	ScaledNumericValue scaleValue = new ScaledNumericValue();
+	ScaledNumericValue rotationValue = new ScaledNumericValue();
+	ScaledNumericValue velocityValue = new ScaledNumericValue();
+	ScaledNumericValue angleValue = new ScaledNumericValue();
+	ScaledNumericValue windValue = new ScaledNumericValue();
+	ScaledNumericValue gravityValue = new ScaledNumericValue();
+	ScaledNumericValue transparencyValue = new ScaledNumericValue();
+	GradientColorValue tintValue = new GradientColorValue();
+	RangedNumericValue xOffsetValue = new ScaledNumericValue();
+	RangedNumericValue yOffsetValue = new ScaledNumericValue();
+	ScaledNumericValue spawnWidthValue = new ScaledNumericValue();
+	ScaledNumericValue spawnHeightValue = new ScaledNumericValue();
+	SpawnShapeValue spawnShapeValue = new SpawnShapeValue();
+
+	float accumulator;
+	Sprite sprite;
 	private Particle[] particles;
-	private int minParticleCount, maxParticleCount = 4;
-	private float x, y;
+	int minParticleCount, maxParticleCount = 4;
+	float x, y;
 	private String name;
 	private String imagePath;
-	private int activeCount;
+	int activeCount;
 	private boolean[] active;
 	private boolean firstUpdate;
-	private boolean flipX, flipY;
-	private int updateFlags;
+	boolean flipX, flipY;
+	int updateFlags;
 	private boolean allowCompletion;
-	private BoundingBox bounds;
-
-	private int emission, emissionDiff, emissionDelta;
-	private int lifeOffset, lifeOffsetDiff;
-	private int life, lifeDiff;
-	private float spawnWidth, spawnWidthDiff;
-	private float spawnHeight, spawnHeightDiff;
+	BoundingBox bounds;
+
+	private int emission, emissionDiff;
+	int emissionDelta;
+	int lifeOffset, lifeOffsetDiff;
+	int life, lifeDiff;
+	float spawnWidth, spawnWidthDiff;
+	float spawnHeight, spawnHeightDiff;
 	public float duration = 1, durationTimer;
 	private float delay, delayTimer;
+	float spawnX, spawnY, spawnAngle;
 
-	private boolean attached;
+	boolean attached;
 	private boolean continuous;
-	private boolean aligned;
+	boolean aligned;
 	private boolean behind;
-	private boolean additive = true;
-	private boolean premultipliedAlpha = false;
+	boolean additive = true;
+	boolean premultipliedAlpha = false;
 
 	public ParticleEmitter () {
 		initialize();
@@ -182,40 +184,7 @@ public class ParticleEmitter {
 		int deltaMillis = (int)accumulator;
 		accumulator -= deltaMillis;
 
-		if (delayTimer < delay) {
-			delayTimer += deltaMillis;
-		} else {
-			boolean done = false;
-			if (firstUpdate) {
-				firstUpdate = false;
-				addParticle();
-			}
-
-			if (durationTimer < duration)
-				durationTimer += deltaMillis;
-			else {
-				if (!continuous || allowCompletion)
-					done = true;
-				else
-					restart();
-			}
-
-			if (!done) {
-				emissionDelta += deltaMillis;
-				float emissionTime = emission + emissionDiff * emissionValue.getScale(durationTimer / (float)duration);
-				if (emissionTime > 0) {
-					emissionTime = 1000 / emissionTime;
-					if (emissionDelta >= emissionTime) {
-						int emitCount = (int)(emissionDelta / emissionTime);
-						emitCount = Math.min(emitCount, maxParticleCount - activeCount);
-						emissionDelta -= emitCount * emissionTime;
-						emissionDelta %= emissionTime;
-						addParticles(emitCount);
-					}
-				}
-				if (activeCount < minParticleCount) addParticles(minParticleCount - activeCount);
-			}
-		}
+		updateEmission(deltaMillis);
 
 		boolean[] active = this.active;
 		int activeCount = this.activeCount;
@@ -285,6 +254,11 @@ public class ParticleEmitter {
 
 		if (additive || premultipliedAlpha) batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 
+		updateEmission(deltaMillis);
+	}
+
+	/** Advances the delay and duration timers and adds the particles emitted during the elapsed time. */
+	void updateEmission (int deltaMillis) {
 		if (delayTimer < delay) {
 			delayTimer += deltaMillis;
 			return;
@@ -333,7 +307,7 @@ public class ParticleEmitter {
 		start();
 	}
 
-	private void restart () {
+	void restart () {
 		delay = delayValue.active ? delayValue.newLowValue() : 0;
 		delayTimer = 0;
 
@@ -440,7 +414,27 @@ public class ParticleEmitter {
 		particle.transparency = transparencyValue.newLowValue();
 		particle.transparencyDiff = transparencyValue.newHighValue() - particle.transparency;
 
-		// Spawn.
+		if (spawn(percent) && (updateFlags & UPDATE_ANGLE) == 0) {
+			particle.angle = spawnAngle;
+			particle.angleCos = MathUtils.cosDeg(spawnAngle);
+			particle.angleSin = MathUtils.sinDeg(spawnAngle);
+		}
+		float x = spawnX, y = spawnY;
+
+		float spriteHeight = sprite.getHeight();
+		particle.setBounds(x - spriteWidth / 2, y - spriteHeight / 2, spriteWidth, spriteHeight);
+
+		int offsetTime = (int)(lifeOffset + lifeOffsetDiff * lifeOffsetValue.getScale(percent));
+		if (offsetTime > 0) {
+			if (offsetTime >= particle.currentLife) offsetTime = particle.currentLife - 1;
+			updateParticle(particle, offsetTime / 1000f, offsetTime);
+		}
+	}
+
+	/** Computes the position of a new particle into spawnX and spawnY.
+	 * @return true if the particle spawned on the edge of an ellipse, in which case spawnAngle is the angle of that point. */
+	boolean spawn (float percent) {
+		boolean onEdge = false;
 		float x = this.x;
 		if (xOffsetValue.active) x += xOffsetValue.newLowValue();
 		float y = this.y;
@@ -477,11 +471,8 @@ public class ParticleEmitter {
 				float sinDeg = MathUtils.sinDeg(spawnAngle);
 				x += cosDeg * radiusX;
 				y += sinDeg * radiusX / scaleY;
-				if ((updateFlags & UPDATE_ANGLE) == 0) {
-					particle.angle = spawnAngle;
-					particle.angleCos = cosDeg;
-					particle.angleSin = sinDeg;
-				}
+				onEdge = true;
+				this.spawnAngle = spawnAngle;
 			} else {
 				float radius2 = radiusX * radiusX;
 				while (true) {
@@ -509,14 +500,9 @@ public class ParticleEmitter {
 		}
 		}
 
-		float spriteHeight = sprite.getHeight();
-		particle.setBounds(x - spriteWidth / 2, y - spriteHeight / 2, spriteWidth, spriteHeight);
-
-		int offsetTime = (int)(lifeOffset + lifeOffsetDiff * lifeOffsetValue.getScale(percent));
-		if (offsetTime > 0) {
-			if (offsetTime >= particle.currentLife) offsetTime = particle.currentLife - 1;
-			updateParticle(particle, offsetTime / 1000f, offsetTime);
-		}
+		spawnX = x;
+		spawnY = y;
+		return onEdge;
 	}
 
 	private boolean updateParticle (Particle particle, float delta, int deltaMillis) {
@@ -58,6 +58,8 @@ import com.badlogic.gdx.utils.NumberUtils;
  * @author Nathan Sweet */
 public class PolygonSpriteBatch implements Batch {
 	private Mesh mesh;
+	private final Mesh[] buffers;
+	private int currentBuffer;
 
 	private final float[] vertices;
 	private final short[] triangles;
@@ -91,15 +93,21 @@ public class PolygonSpriteBatch implements Batch {
 	public int maxTrianglesInBatch = 0;
 
 	/** Constructs a new PolygonSpriteBatch with a size of 2000, the default shader, and one buffer.
-	 * @see PolygonSpriteBatch#PolygonSpriteBatch(int, ShaderProgram) */
+	 * @see PolygonSpriteBatch#PolygonSpriteBatch(int, int, ShaderProgram) */
 	public PolygonSpriteBatch () {
-		this(2000, null);
+		this(2000, 1, null);
 	}
 
 	/** Constructs a PolygonSpriteBatch with the default shader and one buffer.
-	 * @see PolygonSpriteBatch#PolygonSpriteBatch(int, ShaderProgram) */
+	 * @see PolygonSpriteBatch#PolygonSpriteBatch(int, int, ShaderProgram) */
 	public PolygonSpriteBatch (int size) {
-		this(size, null);
+		this(size, 1, null);
+	}
+
+	/** Constructs a PolygonSpriteBatch with one buffer.
+	 * @see PolygonSpriteBatch#PolygonSpriteBatch(int, int, ShaderProgram) */
+	public PolygonSpriteBatch (int size, ShaderProgram defaultShader) {
+		this(size, 1, defaultShader);
 	}
 
 	/** Constructs a new PolygonSpriteBatch. Sets the projection matrix to an orthographic projection with y-axis point upwards,
@@ -108,15 +116,25 @@ public class PolygonSpriteBatch implements Batch {
 	 * <p>
 	 * The defaultShader specifies the shader to use. Note that the names for uniforms for this default shader are different than
 	 * the ones expect for shaders set with {@link #setShader(ShaderProgram)}. See {@link SpriteBatch#createDefaultShader()}.
+	 * <p>
+	 * With more than one buffer, each buffer is a vertex buffer object and consecutive flushes upload into consecutive buffers.
+	 * See {@link SpriteBatch#SpriteBatch(int, int, ShaderProgram)}.
 	 * @param size The max number of vertices and number of triangles in a single batch. Max of 10920.
+	 * @param buffers The number of vertex buffers to cycle through, usually 1, 2 or 3.
 	 * @param defaultShader The default shader to use. This is not owned by the PolygonSpriteBatch and must be disposed separately. */
-	public PolygonSpriteBatch (int size, ShaderProgram defaultShader) {
+	public PolygonSpriteBatch (int size, int buffers, ShaderProgram defaultShader) {
 		// 32767 is max index, so 32767 / 3 - (32767 / 3 % 3) = 10920.
 		if (size > 10920) throw new IllegalArgumentException("Can't have more than 10920 triangles per batch: " + size);
-
-		mesh = new Mesh(VertexDataType.VertexArray, false, size, size * 3, new VertexAttribute(Usage.Position, 2,
-			ShaderProgram.POSITION_ATTRIBUTE), new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
-			new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+		if (buffers < 1) throw new IllegalArgumentException("buffers must be >= 1: " + buffers);
+
+		VertexDataType type = buffers == 1 ? VertexDataType.VertexArray : VertexDataType.VertexBufferObject;
+		this.buffers = new Mesh[buffers];
+		for (int i = 0; i < buffers; i++) {
+			this.buffers[i] = new Mesh(type, false, size, size * 3, new VertexAttribute(Usage.Position, 2,
+				ShaderProgram.POSITION_ATTRIBUTE), new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+				new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+		}
+		mesh = this.buffers[0];
 
 		vertices = new float[size * VERTEX_SIZE];
 		triangles = new short[size * 3];
@@ -1198,6 +1216,10 @@ public class PolygonSpriteBatch implements Batch {
 
 		vertexIndex = 0;
 		triangleIndex = 0;
+		if (buffers.length > 1) {
+			if (++currentBuffer == buffers.length) currentBuffer = 0;
+			this.mesh = buffers[currentBuffer];
+		}
 	}
 
 	@Override
@@ -1232,7 +1254,8 @@ public class PolygonSpriteBatch implements Batch {
 
 	@Override
 	public void dispose () {
-		mesh.dispose();
+		for (int i = 0; i < buffers.length; i++)
+			buffers[i].dispose();
 		if (ownsShader && shader != null) shader.dispose();
 	}
 
@@ -23,6 +23,7 @@ import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.Mesh.VertexDataType;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
 import com.badlogic.gdx.graphics.VertexAttributes.Usage;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.Affine2;
@@ -36,6 +37,8 @@ import com.badlogic.gdx.utils.NumberUtils;
  * @author Nathan Sweet */
 public class SpriteBatch implements Batch {
 	private Mesh mesh;
+	private final Mesh[] buffers;
+	private int currentBuffer;
 
 	final float[] vertices;
 	int idx = 0;
@@ -69,15 +72,21 @@ public class SpriteBatch implements Batch {
 	public int maxSpritesInBatch = 0;
 
 	/** Constructs a new SpriteBatch with a size of 1000, one buffer, and the default shader.
-	 * @see SpriteBatch#SpriteBatch(int, ShaderProgram) */
+	 * @see SpriteBatch#SpriteBatch(int, int, ShaderProgram) */
 	public SpriteBatch () {
-		this(1000, null);
+		this(1000, 1, null);
 	}
 
 	/** Constructs a SpriteBatch with one buffer and the default shader.
-	 * @see SpriteBatch#SpriteBatch(int, ShaderProgram) */
+	 * @see SpriteBatch#SpriteBatch(int, int, ShaderProgram) */
 	public SpriteBatch (int size) {
-		this(size, null);
+		this(size, 1, null);
+	}
+
+	/** Constructs a SpriteBatch with one buffer.
+	 * @see SpriteBatch#SpriteBatch(int, int, ShaderProgram) */
+	public SpriteBatch (int size, ShaderProgram defaultShader) {
+		this(size, 1, defaultShader);
 	}
 
 	/** Constructs a new SpriteBatch. Sets the projection matrix to an orthographic projection with y-axis point upwards, x-axis
@@ -86,15 +95,22 @@ public class SpriteBatch implements Batch {
 	 * <p>
 	 * The defaultShader specifies the shader to use. Note that the names for uniforms for this default shader are different than
 	 * the ones expect for shaders set with {@link #setShader(ShaderProgram)}. See {@link #createDefaultShader()}.
+	 * <p>
+	 * With one buffer the vertices are passed to GL as a vertex array on every flush. With more buffers, each buffer is a vertex
+	 * buffer object and consecutive flushes upload into consecutive buffers, so the CPU doesn't write into a buffer the GPU may
+	 * still be reading from when the batch is flushed multiple times per frame. Each upload is a glBufferData call with only the
+	 * vertices of that flush, not the whole buffer.
 	 * @param size The max number of sprites in a single batch. Max of 5460.
+	 * @param buffers The number of vertex buffers to cycle through, usually 1, 2 or 3.
 	 * @param defaultShader The default shader to use. This is not owned by the SpriteBatch and must be disposed separately. */
-	public SpriteBatch (int size, ShaderProgram defaultShader) {
+	public SpriteBatch (int size, int buffers, ShaderProgram defaultShader) {
 		// 32767 is max index, so 32767 / 6 - (32767 / 6 % 3) = 5460.
 		if (size > 5460) throw new IllegalArgumentException("Can't have more than 5460 sprites per batch: " + size);
+		if (buffers < 1) throw new IllegalArgumentException("buffers must be >= 1: " + buffers);
 
-		mesh = new Mesh(VertexDataType.VertexArray, false, size * 4, size * 6, new VertexAttribute(Usage.Position, 2,
+		VertexAttribute[] attributes = {new VertexAttribute(Usage.Position, 2,
 			ShaderProgram.POSITION_ATTRIBUTE), new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
-			new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+			new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0")};
 
 		projectionMatrix.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
 
@@ -111,7 +127,16 @@ public class SpriteBatch implements Batch {
 			indices[i + 4] = (short)(j + 3);
 			indices[i + 5] = j;
 		}
-		mesh.setIndices(indices);
+
+		this.buffers = new Mesh[buffers];
+		for (int i = 0; i < buffers; i++) {
+			if (buffers == 1)
+				this.buffers[i] = new Mesh(VertexDataType.VertexArray, false, size * 4, size * 6, attributes);
+			else
+				this.buffers[i] = new Mesh(false, true, size * 4, size * 6, new VertexAttributes(attributes));
+			this.buffers[i].setIndices(indices);
+		}
+		mesh = this.buffers[0];
 
 		if (defaultShader == null) {
 			shader = createDefaultShader();
@@ -955,8 +980,6 @@ public class SpriteBatch implements Batch {
 		lastTexture.bind();
 		Mesh mesh = this.mesh;
 		mesh.setVertices(vertices, 0, idx);
-		mesh.getIndicesBuffer().position(0);
-		mesh.getIndicesBuffer().limit(count);
 
 		if (blendingDisabled) {
 			Gdx.gl.glDisable(GL20.GL_BLEND);
@@ -968,6 +991,10 @@ public class SpriteBatch implements Batch {
 		mesh.render(customShader != null ? customShader : shader, GL20.GL_TRIANGLES, 0, count);
 
 		idx = 0;
+		if (buffers.length > 1) {
+			if (++currentBuffer == buffers.length) currentBuffer = 0;
+			this.mesh = buffers[currentBuffer];
+		}
 	}
 
 	@Override
@@ -1004,7 +1031,8 @@ public class SpriteBatch implements Batch {
 
 	@Override
 	public void dispose () {
-		mesh.dispose();
+		for (int i = 0; i < buffers.length; i++)
+			buffers[i].dispose();
 		if (ownsShader && shader != null) shader.dispose();
 	}
 
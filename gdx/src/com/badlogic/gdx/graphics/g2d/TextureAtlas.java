@@ -99,6 +99,10 @@ public class TextureAtlas implements Disposable {
 		final Array<Page> pages = new Array();
 		final Array<Region> regions = new Array();
 
+		/** Creates empty data to which pages and regions can be added. */
+		public TextureAtlasData () {
+		}
+
 		public TextureAtlasData (FileHandle packFile, FileHandle imagesDir, boolean flip) {
 			BufferedReader reader = new BufferedReader(new InputStreamReader(packFile.read()), 64);
 			try {
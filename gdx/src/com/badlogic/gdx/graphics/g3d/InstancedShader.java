@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.utils.Array;
+
+/** A {@link Shader} which can render several {@link Renderable}s that only differ in their {@link Renderable#worldTransform} at
+ * once, e.g. in a single draw call. After sorting, {@link ModelBatch} detects runs of consecutive renderables which share the
+ * mesh part, environment, shader and user data and have equal materials, and passes them to {@link #render(Array, int, int)}
+ * instead of rendering them one by one.</p>
+ * 
+ * Implementations must treat the world transform as the model matrix only, the result must look the same as rendering each
+ * renderable with {@link #render(Renderable)}. */
+public interface InstancedShader extends Shader {
+	/** @return whether the renderable can be rendered by {@link #render(Array, int, int)} together with others that only differ in
+	 *         their world transform. */
+	boolean canRenderInstanced (Renderable renderable);
+
+	/** Renders count renderables starting at offset, which only differ in their world transform. Must be called between
+	 * {@link #begin(Camera, RenderContext)} and {@link #end()}.
+	 * @param renderables the renderables, which are not modified
+	 * @param offset the index of the first renderable to render
+	 * @param count the number of renderables to render */
+	void render (Array<Renderable> renderables, int offset, int count);
+}
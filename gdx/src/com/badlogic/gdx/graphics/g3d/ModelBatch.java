@@ -24,7 +24,9 @@ import com.badlogic.gdx.graphics.g3d.utils.DefaultRenderableSorter;
 import com.badlogic.gdx.graphics.g3d.utils.DefaultShaderProvider;
 import com.badlogic.gdx.graphics.g3d.utils.DefaultTextureBinder;
 import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.graphics.g3d.utils.RenderableCollector;
 import com.badlogic.gdx.graphics.g3d.utils.RenderableSorter;
+import com.badlogic.gdx.graphics.g3d.utils.SortKeyRenderableSorter;
 import com.badlogic.gdx.graphics.g3d.utils.ShaderProvider;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
@@ -39,6 +41,10 @@ import com.badlogic.gdx.utils.Pool;
  * 
  * To provide multiple {@link Renderable}s at once a {@link RenderableProvider} can be used, e.g. a {@link ModelInstance}.
  * 
+ * Consecutive renderables which only differ in their world transform are rendered at once if their shader is an
+ * {@link InstancedShader}, e.g. the {@link DefaultShader}, see {@link #setInstancing(boolean)}. Use a {@link RenderableSorter}
+ * which groups such renderables together, like {@link SortKeyRenderableSorter}, to benefit from this.
+ * 
  * @author xoppa, badlogic */
 public class ModelBatch implements Disposable {
 	protected static class RenderablePool extends Pool<Renderable> {
@@ -77,6 +83,8 @@ public class ModelBatch implements Disposable {
 	protected final ShaderProvider shaderProvider;
 	/** the {@link RenderableSorter} **/
 	protected final RenderableSorter sorter;
+	private boolean instancing;
+	private RenderableCollector collector;
 
 	/** Construct a ModelBatch, using this constructor makes you responsible for calling context.begin() and context.end() yourself.
 	 * @param context The {@link RenderContext} to use.
@@ -198,25 +206,77 @@ public class ModelBatch implements Disposable {
 		return sorter;
 	}
 
+	/** @return whether runs of renderables which only differ in their world transform are rendered at once. */
+	public boolean isInstancing () {
+		return instancing;
+	}
+
+	/** Sets whether consecutive renderables which share the mesh part, environment, shader and user data and have equal materials
+	 * are rendered at once by their {@link InstancedShader}, e.g. in a single instanced draw call. Defaults to false, shaders which
+	 * don't implement {@link InstancedShader} are not affected.
+	 * @param instancing whether to render runs of such renderables at once */
+	public void setInstancing (final boolean instancing) {
+		this.instancing = instancing;
+	}
+
+	/** @return the {@link RenderableCollector} used to collect the renderables of multiple providers, or null if they are collected
+	 *         one by one */
+	public RenderableCollector getRenderableCollector () {
+		return collector;
+	}
+
+	/** Sets the {@link RenderableCollector} used by the render methods taking an {@link Iterable} of providers, which collects the
+	 * renderables on multiple threads and skips model instances outside the camera frustum. The collector is not disposed by this
+	 * batch. Can't be changed between the calls to {@link #begin(Camera)} and {@link #end()}.
+	 * @param collector the collector, or null to call {@link RenderableProvider#getRenderables(Array, Pool)} one by one on the
+	 *           calling thread */
+	public void setRenderableCollector (final RenderableCollector collector) {
+		if (camera != null) throw new GdxRuntimeException("Call end() first.");
+		this.collector = collector;
+	}
+
 	/** Flushes the batch, causing all {@link Renderable}s in the batch to be rendered. Can only be called after the call to
 	 * {@link #begin(Camera)} and before the call to {@link #end()}. */
 	public void flush () {
 		sorter.sort(camera, renderables);
 		Shader currentShader = null;
-		for (int i = 0; i < renderables.size; i++) {
+		for (int i = 0; i < renderables.size;) {
 			final Renderable renderable = renderables.get(i);
 			if (currentShader != renderable.shader) {
 				if (currentShader != null) currentShader.end();
 				currentShader = renderable.shader;
 				currentShader.begin(camera, context);
 			}
-			currentShader.render(renderable);
+			final int count = instancing && currentShader instanceof InstancedShader ? countInstances(i) : 1;
+			if (count > 1 && ((InstancedShader)currentShader).canRenderInstanced(renderable))
+				((InstancedShader)currentShader).render(renderables, i, count);
+			else
+				for (int j = i, n = i + count; j < n; j++)
+					currentShader.render(renderables.get(j));
+			i += count;
 		}
 		if (currentShader != null) currentShader.end();
 		renderablesPool.flush();
+		if (collector != null) collector.free();
 		renderables.clear();
 	}
 
+	/** @return the number of consecutive renderables starting at the index which only differ in their world transform. */
+	private int countInstances (final int index) {
+		final Renderable first = renderables.get(index);
+		int end = index + 1;
+		for (; end < renderables.size; end++) {
+			final Renderable renderable = renderables.get(end);
+			if (renderable.mesh != first.mesh || renderable.meshPartOffset != first.meshPartOffset
+				|| renderable.meshPartSize != first.meshPartSize || renderable.primitiveType != first.primitiveType
+				|| renderable.environment != first.environment || renderable.shader != first.shader
+				|| renderable.bones != first.bones || renderable.userData != first.userData) break;
+			// Each model instance has its own copy of the materials.
+			if (renderable.material != first.material && !renderable.material.equals(first.material)) break;
+		}
+		return end - index;
+	}
+
 	/** End rendering one or more {@link Renderable}s. Must be called after a call to {@link #begin(Camera)}. This will flush the
 	 * batch, causing any renderables provided using one of the render() methods to be rendered. After a call to this method the
 	 * OpenGL context can be altered again. */
@@ -251,8 +311,17 @@ public class ModelBatch implements Disposable {
 	 * current batch to be rendered. Can only be called after a call to {@link #begin(Camera)} and before a call to {@link #end()}.
 	 * @param renderableProviders one or more renderable providers */
 	public <T extends RenderableProvider> void render (final Iterable<T> renderableProviders) {
-		for (final RenderableProvider renderableProvider : renderableProviders)
-			render(renderableProvider);
+		if (collector == null) {
+			for (final RenderableProvider renderableProvider : renderableProviders)
+				render(renderableProvider);
+			return;
+		}
+		final int offset = renderables.size;
+		collector.collect(renderableProviders, camera.frustum, renderables);
+		for (int i = offset; i < renderables.size; i++) {
+			Renderable renderable = renderables.get(i);
+			renderable.shader = shaderProvider.getShader(renderable);
+		}
 	}
 
 	/** Calls {@link RenderableProvider#getRenderables(Array, Pool)} and adds all returned {@link Renderable} instances to the
@@ -276,8 +345,18 @@ public class ModelBatch implements Disposable {
 	 * @param renderableProviders one or more renderable providers
 	 * @param environment the {@link Environment} to use for the renderables */
 	public <T extends RenderableProvider> void render (final Iterable<T> renderableProviders, final Environment environment) {
-		for (final RenderableProvider renderableProvider : renderableProviders)
-			render(renderableProvider, environment);
+		if (collector == null) {
+			for (final RenderableProvider renderableProvider : renderableProviders)
+				render(renderableProvider, environment);
+			return;
+		}
+		final int offset = renderables.size;
+		collector.collect(renderableProviders, camera.frustum, renderables);
+		for (int i = offset; i < renderables.size; i++) {
+			Renderable renderable = renderables.get(i);
+			renderable.environment = environment;
+			renderable.shader = shaderProvider.getShader(renderable);
+		}
 	}
 
 	/** Calls {@link RenderableProvider#getRenderables(Array, Pool)} and adds all returned {@link Renderable} instances to the
@@ -301,8 +380,18 @@ public class ModelBatch implements Disposable {
 	 * @param renderableProviders one or more renderable providers
 	 * @param shader the shader to use for the renderables */
 	public <T extends RenderableProvider> void render (final Iterable<T> renderableProviders, final Shader shader) {
-		for (final RenderableProvider renderableProvider : renderableProviders)
-			render(renderableProvider, shader);
+		if (collector == null) {
+			for (final RenderableProvider renderableProvider : renderableProviders)
+				render(renderableProvider, shader);
+			return;
+		}
+		final int offset = renderables.size;
+		collector.collect(renderableProviders, camera.frustum, renderables);
+		for (int i = offset; i < renderables.size; i++) {
+			Renderable renderable = renderables.get(i);
+			renderable.shader = shader;
+			renderable.shader = shaderProvider.getShader(renderable);
+		}
 	}
 
 	/** Calls {@link RenderableProvider#getRenderables(Array, Pool)} and adds all returned {@link Renderable} instances to the
@@ -332,8 +421,19 @@ public class ModelBatch implements Disposable {
 	 * @param shader the shader to use for the renderables */
 	public <T extends RenderableProvider> void render (final Iterable<T> renderableProviders, final Environment environment,
 		final Shader shader) {
-		for (final RenderableProvider renderableProvider : renderableProviders)
-			render(renderableProvider, environment, shader);
+		if (collector == null) {
+			for (final RenderableProvider renderableProvider : renderableProviders)
+				render(renderableProvider, environment, shader);
+			return;
+		}
+		final int offset = renderables.size;
+		collector.collect(renderableProviders, camera.frustum, renderables);
+		for (int i = offset; i < renderables.size; i++) {
+			Renderable renderable = renderables.get(i);
+			renderable.environment = environment;
+			renderable.shader = shader;
+			renderable.shader = shaderProvider.getShader(renderable);
+		}
 	}
 
 	@Override
@@ -5,6 +5,9 @@ import com.badlogic.gdx.graphics.g3d.RenderableProvider;
 import com.badlogic.gdx.graphics.g3d.particles.batches.ParticleBatch;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /**Singleton class which manages the particle effects.
  * It's a utility class to ease particle batches management and particle effects update. 
@@ -21,6 +24,19 @@ public final class ParticleSystem implements RenderableProvider{
 	private Array<ParticleBatch<?>> batches;
 	private Array<ParticleEffect> effects;
 	
+	/** Threads updating the controllers of the effects, the calling thread included **/
+	private int updateThreads = 1;
+	private AsyncExecutor updateExecutor;
+	private final Array<AsyncResult<Void>> updateResults = new Array<AsyncResult<Void>>();
+	private final Array<ParticleController> updateControllers = new Array<ParticleController>(false, 16, ParticleController.class);
+	private int nextController;
+	private final AsyncTask<Void> updateTask = new AsyncTask<Void>() {
+		public Void call () {
+			updateControllers();
+			return null;
+		}
+	};
+	
 	private ParticleSystem () {
 		batches = new Array<ParticleBatch<?>>();
 		effects = new Array<ParticleEffect>();
@@ -43,14 +59,81 @@ public final class ParticleSystem implements RenderableProvider{
 		effects.clear();
 	}
 	
+	/** Sets the number of threads {@link #update()} uses to update the controllers of the effects.
+	 * Threads other than the calling one are daemons started lazily and stopped when the count is set back to 1.
+	 * Each controller is updated by a single thread, so only scenes with many effects or controllers benefit, 
+	 * a single huge controller doesn't. Components must not share mutable state across controllers, 
+	 * the ones shipped with libgdx use {@link com.badlogic.gdx.math.MathUtils#random} which isn't thread safe, 
+	 * hence the random values they draw are no longer reproducible with more than one thread.
+	 * @param threads the number of threads, 1 by default to update on the calling thread only */
+	public void setUpdateThreads (int threads) {
+		if (threads < 1) throw new IllegalArgumentException("threads must be > 0: " + threads);
+		if (threads == updateThreads) return;
+		if (updateExecutor != null) {
+			updateExecutor.dispose();
+			updateExecutor = null;
+		}
+		updateThreads = threads;
+	}
+	
+	public int getUpdateThreads () {
+		return updateThreads;
+	}
+	
 	/** Updates the simulation of all effects */
 	public void update(){
-		for(ParticleEffect effect : effects){
-			effect.update();
+		if(updateThreads == 1){
+			for(ParticleEffect effect : effects){
+				effect.update();
+			}
+			return;
+		}
+		
+		Array<ParticleController> controllers = updateControllers;
+		for(ParticleEffect effect : effects)
+			controllers.addAll(effect.getControllers());
+		nextController = 0;
+		
+		int helpers = Math.min(updateThreads -1, controllers.size -1);
+		if(helpers > 0 && updateExecutor == null) updateExecutor = new AsyncExecutor(updateThreads -1);
+		Array<AsyncResult<Void>> results = updateResults;
+		for(int i=0; i < helpers; ++i)
+			results.add(updateExecutor.submit(updateTask));
+		try {
+			updateControllers();
+			for(int i=0; i < results.size; ++i)
+				results.get(i).get();
+		} finally {
+			for(int i=0; i < results.size; ++i){
+				AsyncResult<Void> result = results.get(i);
+				if(result.isDone()) updateExecutor.free(result);
+			}
+			results.clear();
+			controllers.clear();
+		}
+	}
+	
+	/** Updates controllers until none is left, the threads of {@link #update()} take them one at a time. */
+	private void updateControllers () {
+		ParticleController[] controllers = updateControllers.items;
+		int count = updateControllers.size;
+		while(true){
+			int index = nextController();
+			if(index >= count) return;
+			controllers[index].update();
 		}
 	}
 	
+	private synchronized int nextController () {
+		return nextController++;
+	}
+	
 	public void updateAndDraw(){
+		if(updateThreads > 1){
+			update();
+			draw();
+			return;
+		}
 		for(ParticleEffect effect : effects){
 			effect.update();
 			effect.draw();
@@ -32,6 +32,7 @@ import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
 import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
 import com.badlogic.gdx.graphics.g3d.utils.TextureDescriptor;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.graphics.glutils.VertexData;
 import com.badlogic.gdx.math.Matrix3;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
@@ -237,9 +238,36 @@ public abstract class BaseShader implements Shader {
 		render(renderable, combinedAttributes);
 	}
 
+	private VertexData instances;
+	private int[] instanceLocations;
+	private int instanceCount;
+
+	/** Renders the renderable once for each vertex of the instance data in a single draw call, using OpenGL ES 3.0 instanced
+	 * rendering. The instance attributes advance per instance instead of per vertex. The shader program must read the per instance
+	 * values, e.g. the world transform, from these attributes.
+	 * @param instances the per instance data
+	 * @param instanceLocations the attribute locations of the instance data, see {@link VertexData#bind(ShaderProgram, int[])}
+	 * @param instanceCount the number of instances to render */
+	public void render (final Renderable renderable, final VertexData instances, final int[] instanceLocations,
+		final int instanceCount) {
+		this.instances = instances;
+		this.instanceLocations = instanceLocations;
+		this.instanceCount = instanceCount;
+		try {
+			render(renderable);
+		} finally {
+			this.instances = null;
+			this.instanceLocations = null;
+		}
+	}
+
 	public void render (Renderable renderable, final Attributes combinedAttributes) {
 		for (int u, i = 0; i < localUniforms.size; ++i)
 			if (setters.get(u = localUniforms.get(i)) != null) setters.get(u).set(this, u, renderable, combinedAttributes);
+		if (instances != null) {
+			renderInstances(renderable);
+			return;
+		}
 		if (currentMesh != renderable.mesh) {
 			if (currentMesh != null) currentMesh.unbind(program, tempArray.items);
 			currentMesh = renderable.mesh;
@@ -248,6 +276,24 @@ public abstract class BaseShader implements Shader {
 		renderable.mesh.render(program, renderable.primitiveType, renderable.meshPartOffset, renderable.meshPartSize, false);
 	}
 
+	private void renderInstances (final Renderable renderable) {
+		if (currentMesh != null) {
+			currentMesh.unbind(program, tempArray.items);
+			currentMesh = null;
+		}
+		// Bind the instance data first, binding the mesh afterwards leaves its buffers bound for the draw call.
+		instances.bind(program, instanceLocations);
+		final Mesh mesh = renderable.mesh;
+		mesh.bind(program, getAttributeLocations(mesh.getVertexAttributes()));
+		for (int i = 0; i < instanceLocations.length; i++)
+			if (instanceLocations[i] >= 0) Gdx.gl30.glVertexAttribDivisor(instanceLocations[i], 1);
+		mesh.render(program, renderable.primitiveType, renderable.meshPartOffset, renderable.meshPartSize, instanceCount, false);
+		for (int i = 0; i < instanceLocations.length; i++)
+			if (instanceLocations[i] >= 0) Gdx.gl30.glVertexAttribDivisor(instanceLocations[i], 0);
+		mesh.unbind(program, tempArray.items);
+		instances.unbind(program, instanceLocations);
+	}
+
 	@Override
 	public void end () {
 		if (currentMesh != null) {
@@ -20,10 +20,12 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
 import com.badlogic.gdx.graphics.VertexAttributes.Usage;
 import com.badlogic.gdx.graphics.g3d.Attribute;
 import com.badlogic.gdx.graphics.g3d.Attributes;
 import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.InstancedShader;
 import com.badlogic.gdx.graphics.g3d.Material;
 import com.badlogic.gdx.graphics.g3d.Renderable;
 import com.badlogic.gdx.graphics.g3d.Shader;
@@ -38,7 +40,9 @@ import com.badlogic.gdx.graphics.g3d.environment.AmbientCubemap;
 import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
 import com.badlogic.gdx.graphics.g3d.environment.PointLight;
 import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.graphics.g3d.utils.RenderableMerger;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.graphics.glutils.VertexBufferObject;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix3;
 import com.badlogic.gdx.math.Matrix4;
@@ -46,7 +50,7 @@ import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
-public class DefaultShader extends BaseShader {
+public class DefaultShader extends BaseShader implements InstancedShader {
 	public static class Config {
 		/** The uber vertex shader to use, null to use the default vertex shader. */
 		public String vertexShader = null;
@@ -557,6 +561,7 @@ public class DefaultShader extends BaseShader {
 		final ShaderProgram program = this.program;
 		this.program = null;
 		init(program, renderable);
+		if (renderable.bones == null) instancedTemplate = new Renderable().set(renderable);
 		renderable = null;
 
 		dirLightsLoc = loc(u_dirLights0color);
@@ -708,6 +713,90 @@ public class DefaultShader extends BaseShader {
 		super.end();
 	}
 
+	@Override
+	public boolean canRenderInstanced (final Renderable renderable) {
+		return renderable.bones == null;
+	}
+
+	/** Renders the renderables in one draw call using OpenGL ES 3.0 instanced rendering if available and supported by the shader
+	 * program, see {@link #createInstancedShader(Renderable, ShaderProgram)}. Otherwise the renderables are merged on the CPU by a
+	 * {@link RenderableMerger}. */
+	@Override
+	public void render (final Array<Renderable> renderables, final int offset, final int count) {
+		final DefaultShader instancedShader = Gdx.gl30 != null ? getInstancedShader() : null;
+		if (instancedShader == null) {
+			if (merger == null) merger = new RenderableMerger();
+			merger.render(this, renderables, offset, count);
+			return;
+		}
+
+		if (instanceData.length < count * 16) instanceData = new float[MathUtils.nextPowerOfTwo(count) * 16];
+		for (int i = 0; i < count; i++)
+			System.arraycopy(renderables.get(offset + i).worldTransform.val, 0, instanceData, i * 16, 16);
+		if (instanceBuffer == null || instanceBuffer.getNumMaxVertices() < count) {
+			if (instanceBuffer != null) instanceBuffer.dispose();
+			instanceBuffer = new VertexBufferObject(false, MathUtils.nextPowerOfTwo(count), instanceAttributes);
+		}
+		instanceBuffer.setVertices(instanceData, 0, count * 16);
+		instanceRenderable.set(renderables.get(offset));
+		instanceRenderable.worldTransform.idt();
+
+		// Switch to the instanced program and back through end and begin, so that subclasses can restore their state.
+		final Camera camera = super.camera;
+		final RenderContext context = this.context;
+		end();
+		instancedShader.begin(camera, context);
+		instancedShader.render(instanceRenderable, instanceBuffer, instanceLocations, count);
+		instancedShader.end();
+		begin(camera, context);
+		instanceRenderable.mesh = null;
+		instanceRenderable.material = null;
+		instanceRenderable.environment = null;
+		instanceRenderable.userData = null;
+	}
+
+	/** The per instance world transform, a mat4 attribute takes four consecutive locations. */
+	private final static VertexAttributes instanceAttributes = new VertexAttributes(new VertexAttribute(Usage.Generic, 4,
+		"a_worldTrans"), new VertexAttribute(Usage.Generic, 4, "a_worldTrans"), new VertexAttribute(Usage.Generic, 4,
+		"a_worldTrans"), new VertexAttribute(Usage.Generic, 4, "a_worldTrans"));
+	/** Copy of the renderable this shader was created for, until {@link #instancedShader} is created. */
+	private Renderable instancedTemplate;
+	private DefaultShader instancedShader;
+	private int[] instanceLocations;
+	private VertexBufferObject instanceBuffer;
+	private float[] instanceData = new float[0];
+	private final Renderable instanceRenderable = new Renderable();
+	private RenderableMerger merger;
+
+	private DefaultShader getInstancedShader () {
+		if (instancedTemplate == null) return instancedShader;
+		final Renderable renderable = instancedTemplate;
+		instancedTemplate = null;
+		final String prefix = "#define instancedFlag\n";
+		final ShaderProgram program = new ShaderProgram(prefix + this.program.getVertexShaderSource(), prefix
+			+ this.program.getFragmentShaderSource());
+		final int location = program.isCompiled() ? program.getAttributeLocation("a_worldTrans") : -1;
+		if (location < 0) {
+			// Custom shader programs might not support instancing, fall back to merging.
+			program.dispose();
+			return null;
+		}
+		instancedShader = createInstancedShader(renderable, program);
+		instancedShader.init();
+		instancedShader.instancedTemplate = null;
+		instanceLocations = new int[] {location, location + 1, location + 2, location + 3};
+		return instancedShader;
+	}
+
+	/** Creates the shader used by {@link #render(Array, int, int)} for OpenGL ES 3.0 instanced rendering. Its program is compiled
+	 * from this shader's sources with <code>instancedFlag</code> defined, which makes the default shaders read the world transform
+	 * from the <code>a_worldTrans</code> attribute instead of a uniform. Subclasses should return an instance of their own type.
+	 * @param renderable the renderable this shader was created for
+	 * @param program the compiled program */
+	protected DefaultShader createInstancedShader (final Renderable renderable, final ShaderProgram program) {
+		return new DefaultShader(renderable, config, program);
+	}
+
 	Material currentMaterial;
 
 	protected void bindMaterial (final Renderable renderable) {
@@ -805,6 +894,13 @@ public class DefaultShader extends BaseShader {
 	@Override
 	public void dispose () {
 		program.dispose();
+		if (instancedShader != null) instancedShader.dispose();
+		if (instanceBuffer != null) instanceBuffer.dispose();
+		if (merger != null) merger.dispose();
+		instancedShader = null;
+		instanceBuffer = null;
+		merger = null;
+		instancedTemplate = null;
 		super.dispose();
 	}
 
@@ -100,6 +100,11 @@ public class DepthShader extends DefaultShader {
 		alphaTestAttribute = new FloatAttribute(FloatAttribute.AlphaTest, config.defaultAlphaTest);
 	}
 
+	@Override
+	protected DefaultShader createInstancedShader (final Renderable renderable, final ShaderProgram program) {
+		return new DepthShader(renderable, (Config)config, program);
+	}
+
 	@Override
 	public void begin (Camera camera, RenderContext context) {
 		super.begin(camera, context);
@@ -98,7 +98,12 @@ attribute vec2 a_boneWeight7;
 #endif
 #endif
 
+#ifdef instancedFlag
+attribute mat4 a_worldTrans;
+#define u_worldTrans a_worldTrans
+#else
 uniform mat4 u_worldTrans;
+#endif
 
 #if defined(numBones)
 #if numBones > 0
@@ -249,6 +254,8 @@ void main() {
 	#if defined(normalFlag)
 		#if defined(skinningFlag)
 			vec3 normal = normalize((u_worldTrans * skinning * vec4(a_normal, 0.0)).xyz);
+		#elif defined(instancedFlag)
+			vec3 normal = normalize((u_worldTrans * vec4(a_normal, 0.0)).xyz);
 		#else
 			vec3 normal = normalize(u_normalMatrix * a_normal);
 		#endif
@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** Collects the {@link Renderable}s of many {@link RenderableProvider}s on multiple threads, skipping {@link ModelInstance}s
+ * outside the camera frustum. Set it on a {@link ModelBatch} using {@link ModelBatch#setRenderableCollector(RenderableCollector)}
+ * to use it for the render methods taking an {@link Iterable} of providers.
+ * <p>
+ * The providers are split into consecutive slices, one per thread, each filling its own list from its own pool of renderables.
+ * The lists are appended in the order of the providers, so the result is the same as collecting them one by one. The calling
+ * thread collects one of the slices itself. Providers must therefore not modify shared state in
+ * {@link RenderableProvider#getRenderables(Array, Pool)}, which is the case for {@link ModelInstance}.
+ * <p>
+ * Culling uses the bounds of a model instance's nodes, calculated once when the instance is first seen and cached in world space
+ * until its transform changes. Instances with animations are never culled, because their nodes might move outside those bounds.
+ * Call {@link #clearCache()} after changing the nodes or meshes of an instance. */
+public class RenderableCollector implements Disposable {
+	private static class RenderablePool extends Pool<Renderable> {
+		final Array<Renderable> obtained = new Array<Renderable>();
+
+		@Override
+		protected Renderable newObject () {
+			return new Renderable();
+		}
+
+		@Override
+		public Renderable obtain () {
+			Renderable renderable = super.obtain();
+			renderable.environment = null;
+			renderable.material = null;
+			renderable.mesh = null;
+			renderable.shader = null;
+			obtained.add(renderable);
+			return renderable;
+		}
+
+		public void flush () {
+			super.freeAll(obtained);
+			obtained.clear();
+		}
+	}
+
+	/** The bounds of a model instance, in model space and in world space for the last seen transform. */
+	private static class Bounds {
+		final float[] transform = new float[16];
+		float centerX, centerY, centerZ, halfX, halfY, halfZ;
+		float worldX, worldY, worldZ, worldHalfX, worldHalfY, worldHalfZ;
+		boolean valid;
+		int frame;
+
+		void set (BoundingBox box) {
+			centerX = (box.min.x + box.max.x) * 0.5f;
+			centerY = (box.min.y + box.max.y) * 0.5f;
+			centerZ = (box.min.z + box.max.z) * 0.5f;
+			halfX = (box.max.x - box.min.x) * 0.5f;
+			halfY = (box.max.y - box.min.y) * 0.5f;
+			halfZ = (box.max.z - box.min.z) * 0.5f;
+			valid = false;
+		}
+
+		boolean inFrustum (Matrix4 matrix, Frustum frustum) {
+			final float[] val = matrix.val, transform = this.transform;
+			if (valid) {
+				for (int i = 0; i < 16; i++) {
+					if (val[i] != transform[i]) {
+						valid = false;
+						break;
+					}
+				}
+			}
+			if (!valid) {
+				System.arraycopy(val, 0, transform, 0, 16);
+				// Transforming the center and the extents gives the world axis aligned box without transforming all corners.
+				worldX = val[Matrix4.M00] * centerX + val[Matrix4.M01] * centerY + val[Matrix4.M02] * centerZ + val[Matrix4.M03];
+				worldY = val[Matrix4.M10] * centerX + val[Matrix4.M11] * centerY + val[Matrix4.M12] * centerZ + val[Matrix4.M13];
+				worldZ = val[Matrix4.M20] * centerX + val[Matrix4.M21] * centerY + val[Matrix4.M22] * centerZ + val[Matrix4.M23];
+				worldHalfX = Math.abs(val[Matrix4.M00]) * halfX + Math.abs(val[Matrix4.M01]) * halfY + Math.abs(val[Matrix4.M02]) * halfZ;
+				worldHalfY = Math.abs(val[Matrix4.M10]) * halfX + Math.abs(val[Matrix4.M11]) * halfY + Math.abs(val[Matrix4.M12]) * halfZ;
+				worldHalfZ = Math.abs(val[Matrix4.M20]) * halfX + Math.abs(val[Matrix4.M21]) * halfY + Math.abs(val[Matrix4.M22]) * halfZ;
+				valid = true;
+			}
+			return frustum.boundsInFrustum(worldX, worldY, worldZ, worldHalfX, worldHalfY, worldHalfZ);
+		}
+	}
+
+	private class CollectTask implements AsyncTask<Void> {
+		final RenderablePool pool = new RenderablePool();
+		final Array<Renderable> renderables = new Array<Renderable>();
+		int from, to;
+		Frustum frustum;
+
+		@Override
+		public Void call () throws Exception {
+			final Array<RenderableProvider> providers = RenderableCollector.this.providers;
+			final Array<Bounds> bounds = RenderableCollector.this.bounds;
+			for (int i = from; i < to; i++) {
+				final Bounds b = bounds.get(i);
+				final RenderableProvider provider = providers.get(i);
+				if (b != null && !b.inFrustum(((ModelInstance)provider).transform, frustum)) continue;
+				provider.getRenderables(renderables, pool);
+			}
+			return null;
+		}
+	}
+
+	/** The minimum number of providers per thread, fewer providers are collected by less threads. */
+	public int minProvidersPerThread = 64;
+	/** Whether to skip model instances outside the frustum. */
+	public boolean culling = true;
+
+	private final AsyncExecutor executor;
+	private final boolean ownsExecutor;
+	private final int threads;
+	private final Array<CollectTask> tasks = new Array<CollectTask>();
+	private final Array<AsyncResult<Void>> results = new Array<AsyncResult<Void>>();
+	private final Array<RenderableProvider> providers = new Array<RenderableProvider>();
+	private final Array<Bounds> bounds = new Array<Bounds>();
+	private final ObjectMap<ModelInstance, Bounds> instanceBounds = new ObjectMap<ModelInstance, Bounds>();
+	private final ObjectMap<Model, BoundingBox> modelBounds = new ObjectMap<Model, BoundingBox>();
+	private final BoundingBox tmpBox = new BoundingBox();
+	private int frame;
+
+	/** Creates a collector with its own {@link AsyncExecutor}, which is disposed along with the collector.
+	 * @param threads the number of threads besides the calling thread */
+	public RenderableCollector (int threads) {
+		this(new AsyncExecutor(threads), threads, true);
+	}
+
+	/** Creates a collector using the given {@link AsyncExecutor}, which must not be used for blocking tasks at the same time.
+	 * @param threads the number of threads of the executor to use */
+	public RenderableCollector (AsyncExecutor executor, int threads) {
+		this(executor, threads, false);
+	}
+
+	private RenderableCollector (AsyncExecutor executor, int threads, boolean ownsExecutor) {
+		if (threads < 1) throw new IllegalArgumentException("threads must be > 0: " + threads);
+		this.executor = executor;
+		this.threads = threads;
+		this.ownsExecutor = ownsExecutor;
+		for (int i = 0; i <= threads; i++)
+			tasks.add(new CollectTask());
+	}
+
+	/** Adds the renderables of the providers to the array, skipping model instances outside the frustum if {@link #culling} is
+	 * enabled. The renderables are obtained from pools of this collector and stay valid until the next call to {@link #free()}.
+	 * Must be called from a single thread and each provider must only be passed once.
+	 * @param frustum the frustum to cull against, may be null to not cull */
+	public <T extends RenderableProvider> void collect (Iterable<T> renderableProviders, Frustum frustum,
+		Array<Renderable> renderables) {
+		final boolean cull = culling && frustum != null;
+		frame++;
+		for (final RenderableProvider provider : renderableProviders) {
+			providers.add(provider);
+			bounds.add(cull ? getBounds(provider) : null);
+		}
+		if (cull && instanceBounds.size > 2 * providers.size + 64) prune();
+
+		final int count = providers.size;
+		final int taskCount = Math.max(1, Math.min(threads + 1, count / Math.max(1, minProvidersPerThread)));
+		for (int i = 0; i < taskCount; i++) {
+			final CollectTask task = tasks.get(i);
+			task.from = count * i / taskCount;
+			task.to = count * (i + 1) / taskCount;
+			task.frustum = cull ? frustum : null;
+			if (i < taskCount - 1) results.add(executor.submit(task));
+		}
+		RuntimeException error = null;
+		try {
+			tasks.get(taskCount - 1).call();
+		} catch (Exception ex) {
+			error = ex instanceof RuntimeException ? (RuntimeException)ex : new GdxRuntimeException(ex);
+		}
+		for (int i = 0; i < results.size; i++) {
+			final AsyncResult<Void> result = results.get(i);
+			try {
+				result.get();
+			} catch (RuntimeException ex) {
+				if (error == null) error = ex;
+			}
+			if (result.isDone()) executor.free(result);
+		}
+		results.clear();
+		providers.clear();
+		bounds.clear();
+		for (int i = 0; i < taskCount; i++) {
+			final CollectTask task = tasks.get(i);
+			if (error == null) renderables.addAll(task.renderables);
+			task.renderables.clear();
+			task.frustum = null;
+		}
+		if (error != null) throw error;
+	}
+
+	private Bounds getBounds (RenderableProvider provider) {
+		if (!(provider instanceof ModelInstance)) return null;
+		final ModelInstance instance = (ModelInstance)provider;
+		if (instance.animations.size > 0 || instance.transform == null) return null;
+		Bounds result = instanceBounds.get(instance);
+		if (result == null) {
+			result = new Bounds();
+			result.set(getLocalBounds(instance));
+			instanceBounds.put(instance, result);
+		}
+		result.frame = frame;
+		return result;
+	}
+
+	private BoundingBox getLocalBounds (ModelInstance instance) {
+		final Model model = instance.model;
+		// Instances of only some nodes of a model have their own bounds.
+		if (model == null || instance.nodes.size != model.nodes.size) return instance.calculateBoundingBox(tmpBox);
+		BoundingBox result = modelBounds.get(model);
+		if (result == null) modelBounds.put(model, result = model.calculateBoundingBox(new BoundingBox()));
+		return result;
+	}
+
+	/** Removes the bounds of model instances that were not collected this frame. */
+	private void prune () {
+		final ObjectMap.Values<Bounds> values = instanceBounds.values();
+		while (values.hasNext())
+			if (values.next().frame != frame) values.remove();
+		modelBounds.clear();
+	}
+
+	/** Frees the renderables collected since the last call. */
+	public void free () {
+		for (int i = 0; i < tasks.size; i++)
+			tasks.get(i).pool.flush();
+	}
+
+	/** Discards the cached bounds of all model instances. */
+	public void clearCache () {
+		instanceBounds.clear();
+		modelBounds.clear();
+	}
+
+	@Override
+	public void dispose () {
+		if (ownsExecutor) executor.dispose();
+	}
+}
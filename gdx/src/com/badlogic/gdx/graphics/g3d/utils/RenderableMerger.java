@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.InstancedShader;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix3;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+/** Renders runs of {@link Renderable}s which only differ in their world transform by transforming their vertices on the CPU into
+ * a shared mesh and rendering that mesh with an identity world transform. Positions are transformed by the world transform,
+ * normals by its normal matrix and tangents and binormals by its upper 3x3 matrix, all other vertex attributes are copied.
+ * <p>
+ * This is the fallback of {@link InstancedShader} implementations when OpenGL ES 3.0 instanced rendering is not available. It is
+ * only worth it for small mesh parts, larger parts are rendered one by one. */
+public class RenderableMerger implements Disposable {
+	/** The maximum number of vertices of the merged meshes, limited by the short indices. */
+	static private final int MAX_VERTICES = 1 << 16;
+
+	/** Mesh parts with more vertices are rendered one by one, transforming them would cost more than the saved draw calls. */
+	public int maxPartVertices = 512;
+
+	private final Array<Mesh> meshes = new Array<Mesh>();
+	private final Renderable merged = new Renderable();
+	private final Matrix3 normalMatrix = new Matrix3();
+	private float[] partVertices = new float[0];
+	private short[] partIndices = new short[0];
+	private float[] vertices = new float[0];
+	private short[] indices = new short[0];
+
+	/** Renders count renderables starting at offset with the given shader, which has to be between begin() and end(). The
+	 * renderables must only differ in their world transform. */
+	public void render (final Shader shader, final Array<Renderable> renderables, final int offset, final int count) {
+		final Renderable first = renderables.get(offset);
+		final Mesh mesh = first.mesh;
+		final VertexAttributes attributes = mesh.getVertexAttributes();
+		final int stride = attributes.vertexSize / 4;
+
+		// Gather the vertices used by the mesh part and the part's indices relative to its first vertex.
+		final int numVertices, numIndices = first.meshPartSize;
+		if (!canMerge(first)) {
+			renderEach(shader, renderables, offset, count);
+			return;
+		}
+		if (partIndices.length < numIndices) partIndices = new short[numIndices];
+		if (mesh.getNumIndices() > 0) {
+			mesh.getIndices(first.meshPartOffset, numIndices, partIndices, 0);
+			int min = Integer.MAX_VALUE, max = -1;
+			for (int i = 0; i < numIndices; i++) {
+				final int index = partIndices[i] & 0xFFFF;
+				if (index < min) min = index;
+				if (index > max) max = index;
+			}
+			numVertices = max - min + 1;
+			if (numVertices > Math.min(maxPartVertices, MAX_VERTICES)) {
+				renderEach(shader, renderables, offset, count);
+				return;
+			}
+			for (int i = 0; i < numIndices; i++)
+				partIndices[i] = (short)((partIndices[i] & 0xFFFF) - min);
+			if (partVertices.length < numVertices * stride) partVertices = new float[numVertices * stride];
+			mesh.getVertices(min * stride, numVertices * stride, partVertices);
+		} else {
+			numVertices = numIndices;
+			for (int i = 0; i < numIndices; i++)
+				partIndices[i] = (short)i;
+			if (partVertices.length < numVertices * stride) partVertices = new float[numVertices * stride];
+			mesh.getVertices(first.meshPartOffset * stride, numVertices * stride, partVertices);
+		}
+
+		final int perMesh = Math.min(count, MAX_VERTICES / numVertices);
+		final Mesh target = obtain(attributes, perMesh * numVertices, perMesh * numIndices);
+		if (vertices.length < perMesh * numVertices * stride) vertices = new float[perMesh * numVertices * stride];
+		if (indices.length < perMesh * numIndices) indices = new short[perMesh * numIndices];
+		merged.set(first);
+		merged.mesh = target;
+		merged.meshPartOffset = 0;
+		merged.worldTransform.idt();
+
+		final VertexAttribute position = attributes.findByUsage(Usage.Position);
+		final VertexAttribute normal = attributes.findByUsage(Usage.Normal);
+		final VertexAttribute tangent = attributes.findByUsage(Usage.Tangent);
+		final VertexAttribute binormal = attributes.findByUsage(Usage.BiNormal);
+		for (int start = offset, end = offset + count; start < end;) {
+			int instances = 0;
+			for (; start < end && instances < perMesh; start++) {
+				final Matrix4 transform = renderables.get(start).worldTransform;
+				if (transform.det3x3() == 0) continue;
+				final int vertexOffset = instances * numVertices;
+				final int floatOffset = vertexOffset * stride;
+				System.arraycopy(partVertices, 0, vertices, floatOffset, numVertices * stride);
+				transformPositions(transform.val, vertices, floatOffset + position.offset / 4, stride, numVertices);
+				if (normal != null) {
+					normalMatrix.set(transform).inv().transpose();
+					transformDirections(normalMatrix.val, vertices, floatOffset + normal.offset / 4, stride, numVertices);
+				}
+				if (tangent != null || binormal != null) {
+					normalMatrix.set(transform);
+					if (tangent != null)
+						transformDirections(normalMatrix.val, vertices, floatOffset + tangent.offset / 4, stride, numVertices);
+					if (binormal != null)
+						transformDirections(normalMatrix.val, vertices, floatOffset + binormal.offset / 4, stride, numVertices);
+				}
+				final int indexOffset = instances * numIndices;
+				for (int i = 0; i < numIndices; i++)
+					indices[indexOffset + i] = (short)((partIndices[i] & 0xFFFF) + vertexOffset);
+				instances++;
+			}
+			if (instances == 0) break;
+			target.setVertices(vertices, 0, instances * numVertices * stride);
+			target.setIndices(indices, 0, instances * numIndices);
+			merged.meshPartSize = instances * numIndices;
+			shader.render(merged);
+		}
+		merged.mesh = null;
+		merged.material = null;
+		merged.environment = null;
+		merged.shader = null;
+		merged.userData = null;
+	}
+
+	/** @return whether the renderable's primitive type and vertex attributes allow merging it. */
+	public boolean canMerge (final Renderable renderable) {
+		final int type = renderable.primitiveType;
+		if (type != GL20.GL_TRIANGLES && type != GL20.GL_LINES && type != GL20.GL_POINTS) return false;
+		if (renderable.bones != null || renderable.meshPartSize == 0) return false;
+		final VertexAttributes attributes = renderable.mesh.getVertexAttributes();
+		final VertexAttribute position = attributes.findByUsage(Usage.Position);
+		if (position == null || position.numComponents != 3) return false;
+		for (int i = 0; i < attributes.size(); i++) {
+			final VertexAttribute attribute = attributes.get(i);
+			if (attribute.usage == Usage.BoneWeight) return false;
+			if ((attribute.usage == Usage.Normal || attribute.usage == Usage.Tangent || attribute.usage == Usage.BiNormal)
+				&& attribute.numComponents != 3) return false;
+		}
+		// Indexed parts are checked again once their vertices are known.
+		final int maxVertices = Math.min(maxPartVertices, MAX_VERTICES);
+		return renderable.meshPartSize <= (renderable.mesh.getNumIndices() > 0 ? maxVertices * 6 : maxVertices);
+	}
+
+	private static void renderEach (final Shader shader, final Array<Renderable> renderables, final int offset, final int count) {
+		for (int i = offset, n = offset + count; i < n; i++)
+			shader.render(renderables.get(i));
+	}
+
+	/** @return a mesh with the given attributes and at least the given capacity. */
+	private Mesh obtain (final VertexAttributes attributes, final int numVertices, final int numIndices) {
+		for (int i = 0; i < meshes.size; i++) {
+			final Mesh mesh = meshes.get(i);
+			if (!mesh.getVertexAttributes().equals(attributes)) continue;
+			if (mesh.getMaxVertices() >= numVertices && mesh.getMaxIndices() >= numIndices) return mesh;
+			meshes.removeIndex(i);
+			mesh.dispose();
+			break;
+		}
+		final Mesh mesh = new Mesh(false, Math.min(MathUtils.nextPowerOfTwo(numVertices), MAX_VERTICES),
+			MathUtils.nextPowerOfTwo(numIndices), attributes);
+		meshes.add(mesh);
+		return mesh;
+	}
+
+	private static void transformPositions (final float[] m, final float[] vertices, int offset, final int stride, final int count) {
+		for (int i = 0; i < count; i++, offset += stride) {
+			final float x = vertices[offset], y = vertices[offset + 1], z = vertices[offset + 2];
+			vertices[offset] = m[Matrix4.M00] * x + m[Matrix4.M01] * y + m[Matrix4.M02] * z + m[Matrix4.M03];
+			vertices[offset + 1] = m[Matrix4.M10] * x + m[Matrix4.M11] * y + m[Matrix4.M12] * z + m[Matrix4.M13];
+			vertices[offset + 2] = m[Matrix4.M20] * x + m[Matrix4.M21] * y + m[Matrix4.M22] * z + m[Matrix4.M23];
+		}
+	}
+
+	private static void transformDirections (final float[] m, final float[] vertices, int offset, final int stride, final int count) {
+		for (int i = 0; i < count; i++, offset += stride) {
+			final float x = vertices[offset], y = vertices[offset + 1], z = vertices[offset + 2];
+			vertices[offset] = m[Matrix3.M00] * x + m[Matrix3.M01] * y + m[Matrix3.M02] * z;
+			vertices[offset + 1] = m[Matrix3.M10] * x + m[Matrix3.M11] * y + m[Matrix3.M12] * z;
+			vertices[offset + 2] = m[Matrix3.M20] * x + m[Matrix3.M21] * y + m[Matrix3.M22] * z;
+		}
+	}
+
+	@Override
+	public void dispose () {
+		for (Mesh mesh : meshes)
+			mesh.dispose();
+		meshes.clear();
+	}
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/** A {@link RenderableSorter} which computes one 64 bit key per {@link Renderable} and radix sorts the keys, instead of comparing
+ * the renderables' attributes and positions for every comparison like {@link DefaultRenderableSorter}.
+ * <p>
+ * Opaque renderables come first, grouped by shader, then by diffuse texture, then by material and finally ordered front to back.
+ * This minimizes shader and texture switches. Blended renderables come last and are ordered back to front, renderables at the same
+ * distance are grouped like opaque ones. The distance is measured from the camera to the translation of the world transform.
+ * <p>
+ * Shaders, textures and materials get ids in the order they are first seen during a sort. Materials are identified by
+ * {@link Material#equals(Object)}, so equal materials are grouped together. If there are more distinct shaders, textures or
+ * materials than their ids can hold, some of them share an id, which only makes the grouping less effective. */
+public class SortKeyRenderableSorter implements RenderableSorter {
+	static private final int SHADER_BITS = 10, TEXTURE_BITS = 10, MATERIAL_BITS = 11;
+	static private final int SHADER_SHIFT = TEXTURE_BITS + MATERIAL_BITS, TEXTURE_SHIFT = MATERIAL_BITS;
+	static private final int STATE_BITS = SHADER_BITS + TEXTURE_BITS + MATERIAL_BITS;
+	static private final long BLENDED = 1L << 63;
+
+	private final ObjectIntMap<Shader> shaderIds = new ObjectIntMap<Shader>();
+	private final ObjectIntMap<Texture> textureIds = new ObjectIntMap<Texture>();
+	private final ObjectIntMap<Material> materialIds = new ObjectIntMap<Material>();
+	private final Array<Renderable> sorted = new Array<Renderable>();
+	private long[] keys = new long[0], keysTemp = new long[0];
+	private int[] indices = new int[0], indicesTemp = new int[0];
+	private final int[] counts = new int[256];
+
+	@Override
+	public void sort (final Camera camera, final Array<Renderable> renderables) {
+		final int n = renderables.size;
+		if (n < 2) return;
+		if (keys.length < n) {
+			keys = new long[n];
+			keysTemp = new long[n];
+			indices = new int[n];
+			indicesTemp = new int[n];
+		}
+
+		final float cx = camera.position.x, cy = camera.position.y, cz = camera.position.z;
+		final Object[] items = renderables.items;
+		for (int i = 0; i < n; i++) {
+			final Renderable renderable = (Renderable)items[i];
+			final float[] transform = renderable.worldTransform.val;
+			final float dx = transform[12] - cx, dy = transform[13] - cy, dz = transform[14] - cz;
+			keys[i] = key(renderable, dx * dx + dy * dy + dz * dz);
+			indices[i] = i;
+		}
+		shaderIds.clear();
+		textureIds.clear();
+		materialIds.clear();
+
+		radixSort(n);
+
+		final Array<Renderable> sorted = this.sorted;
+		sorted.addAll(renderables);
+		final Object[] sortedItems = sorted.items;
+		for (int i = 0; i < n; i++)
+			items[i] = sortedItems[indices[i]];
+		sorted.clear();
+	}
+
+	/** @param dst2 the squared distance to the camera
+	 * @return the key the renderable is ordered by, ascending. */
+	protected long key (final Renderable renderable, final float dst2) {
+		final Material material = renderable.material;
+		final BlendingAttribute blending = (BlendingAttribute)material.get(BlendingAttribute.Type);
+		final TextureAttribute diffuse = (TextureAttribute)material.get(TextureAttribute.Diffuse);
+		final long state = ((long)id(shaderIds, renderable.shader, SHADER_BITS) << SHADER_SHIFT)
+			| ((long)id(textureIds, diffuse == null ? null : diffuse.textureDescription.texture, TEXTURE_BITS) << TEXTURE_SHIFT)
+			| id(materialIds, material, MATERIAL_BITS);
+		// The bits of a non-negative float are ordered like the float itself.
+		final long depth = NumberUtils.floatToRawIntBits(dst2) & 0x7fffffffL;
+		if (blending != null && blending.blended) return BLENDED | ((~depth & 0x7fffffffL) << STATE_BITS) | state;
+		return (state << 31) | depth;
+	}
+
+	private static <T> int id (final ObjectIntMap<T> ids, final T object, final int bits) {
+		if (object == null) return 0;
+		int id = ids.get(object, -1);
+		if (id == -1) ids.put(object, id = ids.size + 1);
+		return id & ((1 << bits) - 1);
+	}
+
+	/** Sorts the first n {@link #keys} in ascending order, moving the {@link #indices} along. The sort is stable and skips the
+	 * passes for bytes which are equal in all keys. */
+	private void radixSort (final int n) {
+		final int[] counts = this.counts;
+		long[] keys = this.keys, keysTemp = this.keysTemp;
+		int[] indices = this.indices, indicesTemp = this.indicesTemp;
+		for (int shift = 0; shift < 64; shift += 8) {
+			for (int i = 0; i < 256; i++)
+				counts[i] = 0;
+			for (int i = 0; i < n; i++)
+				counts[(int)(keys[i] >>> shift) & 0xff]++;
+			if (counts[(int)(keys[0] >>> shift) & 0xff] == n) continue;
+			for (int i = 0, offset = 0; i < 256; i++) {
+				final int count = counts[i];
+				counts[i] = offset;
+				offset += count;
+			}
+			for (int i = 0; i < n; i++) {
+				final long key = keys[i];
+				final int index = counts[(int)(key >>> shift) & 0xff]++;
+				keysTemp[index] = key;
+				indicesTemp[index] = indices[i];
+			}
+			long[] swapKeys = keys;
+			keys = keysTemp;
+			keysTemp = swapKeys;
+			int[] swapIndices = indices;
+			indices = indicesTemp;
+			indicesTemp = swapIndices;
+		}
+		this.keys = keys;
+		this.keysTemp = keysTemp;
+		this.indices = indices;
+		this.indicesTemp = indicesTemp;
+	}
+}
@@ -35,7 +35,9 @@ public class ImmediateModeRenderer20 implements ImmediateModeRenderer {
 	private final int maxVertices;
 	private int numVertices;
 
-	private final Mesh mesh;
+	private Mesh mesh;
+	private final Mesh[] buffers;
+	private int currentBuffer;
 	private ShaderProgram shader;
 	private boolean ownsShader;
 	private final int numTexCoords;
@@ -58,12 +60,24 @@ public class ImmediateModeRenderer20 implements ImmediateModeRenderer {
 	}
 
 	public ImmediateModeRenderer20 (int maxVertices, boolean hasNormals, boolean hasColors, int numTexCoords, ShaderProgram shader) {
+		this(maxVertices, 1, hasNormals, hasColors, numTexCoords, shader);
+	}
+
+	/** @param buffers The number of vertex buffers to cycle through, usually 1, 2 or 3. Consecutive flushes upload into consecutive
+	 *           buffers, so the CPU doesn't write into a buffer the GPU may still be reading from when flushing multiple times per
+	 *           frame. */
+	public ImmediateModeRenderer20 (int maxVertices, int buffers, boolean hasNormals, boolean hasColors, int numTexCoords,
+		ShaderProgram shader) {
+		if (buffers < 1) throw new IllegalArgumentException("buffers must be >= 1: " + buffers);
 		this.maxVertices = maxVertices;
 		this.numTexCoords = numTexCoords;
 		this.shader = shader;
 
 		VertexAttribute[] attribs = buildVertexAttributes(hasNormals, hasColors, numTexCoords);
-		mesh = new Mesh(false, maxVertices, 0, attribs);
+		this.buffers = new Mesh[buffers];
+		for (int i = 0; i < buffers; i++)
+			this.buffers[i] = new Mesh(false, maxVertices, 0, attribs);
+		mesh = this.buffers[0];
 
 		vertices = new float[maxVertices * (mesh.getVertexAttributes().vertexSize / 4)];
 		vertexSize = mesh.getVertexAttributes().vertexSize / 4;
@@ -150,6 +164,10 @@ public class ImmediateModeRenderer20 implements ImmediateModeRenderer {
 		numSetTexCoords = 0;
 		vertexIdx = 0;
 		numVertices = 0;
+		if (buffers.length > 1) {
+			if (++currentBuffer == buffers.length) currentBuffer = 0;
+			mesh = buffers[currentBuffer];
+		}
 	}
 
 	public void end () {
@@ -167,7 +185,8 @@ public class ImmediateModeRenderer20 implements ImmediateModeRenderer {
 
 	public void dispose () {
 		if (ownsShader && shader != null) shader.dispose();
-		mesh.dispose();
+		for (int i = 0; i < buffers.length; i++)
+			buffers[i].dispose();
 	}
 
 	static private String createVertexShader (boolean hasNormals, boolean hasColors, int numTexCoords) {
@@ -343,12 +343,16 @@ public class GL20Profiler extends GLProfiler implements GL20 {
 	@Override
 	public void glBufferData (int target, int size, Buffer data, int usage) {
 		calls++;
+		bufferUploads++;
+		bufferUploadBytes += size;
 		gl20.glBufferData(target, size, data, usage);
 	}
 
 	@Override
 	public void glBufferSubData (int target, int offset, int size, Buffer data) {
 		calls++;
+		bufferUploads++;
+		bufferUploadBytes += size;
 		gl20.glBufferSubData(target, offset, size, data);
 	}
 
@@ -344,12 +344,16 @@ public class GL30Profiler extends GLProfiler implements GL30 {
 	@Override
 	public void glBufferData (int target, int size, Buffer data, int usage) {
 		calls++;
+		bufferUploads++;
+		bufferUploadBytes += size;
 		gl30.glBufferData(target, size, data, usage);
 	}
 
 	@Override
 	public void glBufferSubData (int target, int offset, int size, Buffer data) {
 		calls++;
+		bufferUploads++;
+		bufferUploadBytes += size;
 		gl30.glBufferSubData(target, offset, size, data);
 	}
 
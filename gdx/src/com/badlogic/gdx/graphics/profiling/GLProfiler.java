@@ -40,6 +40,12 @@ public abstract class GLProfiler {
 	/** The amount of times a shader was switched since the last reset. */
 	public static int shaderSwitches;
 
+	/** The amount of times buffer data was uploaded with {@code glBufferData} or {@code glBufferSubData} since the last reset. */
+	public static int bufferUploads;
+
+	/** The amount of bytes uploaded with {@code glBufferData} or {@code glBufferSubData} since the last reset. */
+	public static int bufferUploadBytes;
+
 	/** The amount rendered vertices since the last reset. */
 	public static FloatCounter vertexCount = new FloatCounter(0);
 
@@ -63,6 +69,8 @@ public abstract class GLProfiler {
 		textureBindings = 0;
 		drawCalls = 0;
 		shaderSwitches = 0;
+		bufferUploads = 0;
+		bufferUploadBytes = 0;
 		vertexCount.reset();
 	}
 
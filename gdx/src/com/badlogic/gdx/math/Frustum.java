@@ -21,6 +21,7 @@ import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.PerspectiveCamera;
 import com.badlogic.gdx.math.Plane.PlaneSide;
 import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Bits;
 
 /** A truncated rectangular pyramid. Used to define the viewable region and its projection onto the screen.
  * @see Camera#frustum */
@@ -194,6 +195,109 @@ public class Frustum {
 		return true;
 	}
 
+	/** Tests multiple axis aligned bounding boxes against the frustum at once. The planes are tested one after the other against
+	 * all boxes in a loop without branches or object accesses, which suits large numbers of boxes better than testing them one
+	 * by one.
+	 * @param centers the centers of the boxes, three floats (x, y, z) per box
+	 * @param halfExtents the half width, height and depth of the boxes, three floats per box
+	 * @param offset the index of the first box to test
+	 * @param count the number of boxes to test
+	 * @param visible receives at the index of each tested box whether the box is in the frustum
+	 * @return the number of boxes in the frustum */
+	public int boundsInFrustum (float[] centers, float[] halfExtents, int offset, int count, boolean[] visible) {
+		final int end = offset + count;
+		for (int i = offset; i < end; i++)
+			visible[i] = true;
+		for (int p = 0; p < 6; p++) {
+			final Plane plane = planes[p];
+			final float nx = plane.normal.x, ny = plane.normal.y, nz = plane.normal.z, d = plane.d;
+			final float ax = Math.abs(nx), ay = Math.abs(ny), az = Math.abs(nz);
+			// The box is behind the plane if its corner furthest along the normal is.
+			for (int i = offset, j = offset * 3; i < end; i++, j += 3)
+				visible[i] &= nx * centers[j] + ny * centers[j + 1] + nz * centers[j + 2] + d + ax * halfExtents[j] + ay
+					* halfExtents[j + 1] + az * halfExtents[j + 2] >= 0;
+		}
+		int result = 0;
+		for (int i = offset; i < end; i++)
+			if (visible[i]) result++;
+		return result;
+	}
+
+	/** Tests multiple axis aligned bounding boxes against the frustum at once, see
+	 * {@link #boundsInFrustum(float[], float[], int, int, boolean[])}.
+	 * @param visible the bit at the index of each tested box is set if the box is in the frustum and cleared otherwise
+	 * @return the number of boxes in the frustum */
+	public int boundsInFrustum (float[] centers, float[] halfExtents, int offset, int count, Bits visible) {
+		int result = 0;
+		for (int i = offset, end = offset + count, j = offset * 3; i < end; i++, j += 3) {
+			final float x = centers[j], y = centers[j + 1], z = centers[j + 2];
+			final float hx = halfExtents[j], hy = halfExtents[j + 1], hz = halfExtents[j + 2];
+			boolean inside = true;
+			for (int p = 0; p < 6; p++) {
+				final Vector3 normal = planes[p].normal;
+				if (normal.x * x + normal.y * y + normal.z * z + planes[p].d + Math.abs(normal.x) * hx + Math.abs(normal.y) * hy
+					+ Math.abs(normal.z) * hz < 0) {
+					inside = false;
+					break;
+				}
+			}
+			if (inside) {
+				visible.set(i);
+				result++;
+			} else
+				visible.clear(i);
+		}
+		return result;
+	}
+
+	/** Tests multiple spheres against the frustum at once. The planes are tested one after the other against all spheres in a
+	 * loop without branches or object accesses, which suits large numbers of spheres better than testing them one by one.
+	 * @param centers the centers of the spheres, three floats (x, y, z) per sphere
+	 * @param radii the radius of each sphere
+	 * @param offset the index of the first sphere to test
+	 * @param count the number of spheres to test
+	 * @param visible receives at the index of each tested sphere whether the sphere is in the frustum
+	 * @return the number of spheres in the frustum */
+	public int spheresInFrustum (float[] centers, float[] radii, int offset, int count, boolean[] visible) {
+		final int end = offset + count;
+		for (int i = offset; i < end; i++)
+			visible[i] = true;
+		for (int p = 0; p < 6; p++) {
+			final Plane plane = planes[p];
+			final float nx = plane.normal.x, ny = plane.normal.y, nz = plane.normal.z, d = plane.d;
+			for (int i = offset, j = offset * 3; i < end; i++, j += 3)
+				visible[i] &= nx * centers[j] + ny * centers[j + 1] + nz * centers[j + 2] + d >= -radii[i];
+		}
+		int result = 0;
+		for (int i = offset; i < end; i++)
+			if (visible[i]) result++;
+		return result;
+	}
+
+	/** Tests multiple spheres against the frustum at once, see {@link #spheresInFrustum(float[], float[], int, int, boolean[])}.
+	 * @param visible the bit at the index of each tested sphere is set if the sphere is in the frustum and cleared otherwise
+	 * @return the number of spheres in the frustum */
+	public int spheresInFrustum (float[] centers, float[] radii, int offset, int count, Bits visible) {
+		int result = 0;
+		for (int i = offset, end = offset + count, j = offset * 3; i < end; i++, j += 3) {
+			final float x = centers[j], y = centers[j + 1], z = centers[j + 2], radius = -radii[i];
+			boolean inside = true;
+			for (int p = 0; p < 6; p++) {
+				final Vector3 normal = planes[p].normal;
+				if (normal.x * x + normal.y * y + normal.z * z + planes[p].d < radius) {
+					inside = false;
+					break;
+				}
+			}
+			if (inside) {
+				visible.set(i);
+				result++;
+			} else
+				visible.clear(i);
+		}
+		return result;
+	}
+
 // /**
 // * Calculates the pick ray for the given window coordinates. Assumes the window coordinate system has it's y downwards. The
 // * returned Ray is a member of this instance so don't reuse it outside this class.
@@ -0,0 +1,613 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math.collision;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Plane;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** A dynamic tree of axis aligned bounding boxes, used to quickly find the objects overlapping a box, a {@link Frustum} or a
+ * {@link Ray}. Every object is added as a leaf with a user data object, the returned proxy id is used to move and remove it.
+ * <p>
+ * The boxes of the leaves are enlarged by a margin, so objects moving a little don't need to be reinserted. Queries test these
+ * enlarged boxes, so they may report objects which are slightly outside the queried volume. Inner nodes are kept balanced by
+ * rotations, new leaves are inserted where they least increase the surface area of the tree.
+ * <p>
+ * For 3D objects like a ModelInstance, add the bounding box of the instance transformed by its world transform and move
+ * it when the transform changes. For 2D objects, use the {@link Rectangle} methods, which use a z range of 0.
+ * <p>
+ * The nodes are stored in arrays, so adding, moving and removing objects and all queries don't allocate once the tree has
+ * grown large enough. A tree must not be modified or queried by multiple threads at the same time.
+ * @param <T> the type of the user data */
+public class BoundingBoxTree<T> {
+	/** Receives the objects found by a query. */
+	public interface QueryCallback<T> {
+		/** @param proxy the proxy id of the object
+		 * @param userData the user data of the object
+		 * @return whether to continue the query */
+		public boolean report (int proxy, T userData);
+	}
+
+	/** Receives the objects whose box is hit by a ray. */
+	public interface RayCastCallback<T> {
+		/** @param proxy the proxy id of the object
+		 * @param userData the user data of the object
+		 * @param ray the ray, to test against the actual shape of the object
+		 * @param maxDistance the current maximum distance along the ray
+		 * @return the new maximum distance, e.g. the distance to the actual hit to only find closer objects afterwards,
+		 *         maxDistance to continue unchanged or 0 to stop the ray cast */
+		public float report (int proxy, T userData, Ray ray, float maxDistance);
+	}
+
+	private static final int NULL = -1;
+
+	/** The margin by which the boxes of the objects are enlarged on each side. */
+	public final float margin;
+	/** The boxes of the nodes, six floats per node: min x, y, z and max x, y, z. */
+	private float[] bounds;
+	private int[] parent, child1, child2, height;
+	private Object[] userData;
+	private int root = NULL, freeList = NULL, nodeCount, proxyCount;
+	private int[] stack = new int[64];
+
+	/** Creates a tree with a margin of 0.1. */
+	public BoundingBoxTree () {
+		this(0.1f, 16);
+	}
+
+	/** @param margin the margin by which the boxes of the objects are enlarged on each side
+	 * @param initialCapacity the number of objects the tree can hold before it needs to grow */
+	public BoundingBoxTree (float margin, int initialCapacity) {
+		if (margin < 0) throw new IllegalArgumentException("margin must be >= 0: " + margin);
+		this.margin = margin;
+		allocate(Math.max(1, initialCapacity * 2 - 1));
+	}
+
+	private void allocate (int capacity) {
+		final int oldCapacity = parent == null ? 0 : parent.length;
+		final float[] bounds = new float[capacity * 6];
+		final int[] parent = new int[capacity], child1 = new int[capacity], child2 = new int[capacity], height = new int[capacity];
+		final Object[] userData = new Object[capacity];
+		if (oldCapacity > 0) {
+			System.arraycopy(this.bounds, 0, bounds, 0, oldCapacity * 6);
+			System.arraycopy(this.parent, 0, parent, 0, oldCapacity);
+			System.arraycopy(this.child1, 0, child1, 0, oldCapacity);
+			System.arraycopy(this.child2, 0, child2, 0, oldCapacity);
+			System.arraycopy(this.height, 0, height, 0, oldCapacity);
+			System.arraycopy(this.userData, 0, userData, 0, oldCapacity);
+		}
+		// Link the new nodes into the free list, the parent index is used as the next pointer.
+		for (int i = oldCapacity; i < capacity; i++) {
+			parent[i] = i + 1 < capacity ? i + 1 : freeList;
+			height[i] = -1;
+		}
+		freeList = oldCapacity;
+		this.bounds = bounds;
+		this.parent = parent;
+		this.child1 = child1;
+		this.child2 = child2;
+		this.height = height;
+		this.userData = userData;
+	}
+
+	private int allocateNode () {
+		if (freeList == NULL) allocate(parent.length * 2);
+		final int node = freeList;
+		freeList = parent[node];
+		parent[node] = NULL;
+		child1[node] = NULL;
+		child2[node] = NULL;
+		height[node] = 0;
+		nodeCount++;
+		return node;
+	}
+
+	private void freeNode (int node) {
+		parent[node] = freeList;
+		height[node] = -1;
+		userData[node] = null;
+		freeList = node;
+		nodeCount--;
+	}
+
+	/** Adds an object to the tree.
+	 * @return the proxy id of the object */
+	public int add (float minX, float minY, float minZ, float maxX, float maxY, float maxZ, T userData) {
+		final int proxy = allocateNode();
+		setFat(proxy, minX, minY, minZ, maxX, maxY, maxZ);
+		this.userData[proxy] = userData;
+		insertLeaf(proxy);
+		proxyCount++;
+		return proxy;
+	}
+
+	/** Adds an object to the tree.
+	 * @return the proxy id of the object */
+	public int add (BoundingBox box, T userData) {
+		return add(box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z, userData);
+	}
+
+	/** Adds a 2D object to the tree.
+	 * @return the proxy id of the object */
+	public int add (Rectangle rectangle, T userData) {
+		return add(rectangle.x, rectangle.y, 0, rectangle.x + rectangle.width, rectangle.y + rectangle.height, 0, userData);
+	}
+
+	/** Removes an object from the tree, after which its proxy id may be reused.
+	 * @param proxy the proxy id returned when the object was added */
+	public void remove (int proxy) {
+		checkProxy(proxy);
+		removeLeaf(proxy);
+		freeNode(proxy);
+		proxyCount--;
+	}
+
+	/** Updates the box of an object. The object is only reinserted if the box moved outside the enlarged box in the tree.
+	 * @param proxy the proxy id returned when the object was added
+	 * @param displacementX the expected movement until the next update, used to enlarge the box further in that direction, may
+	 *           be 0
+	 * @return whether the object was reinserted */
+	public boolean move (int proxy, float minX, float minY, float minZ, float maxX, float maxY, float maxZ, float displacementX,
+		float displacementY, float displacementZ) {
+		checkProxy(proxy);
+		final float[] bounds = this.bounds;
+		final int i = proxy * 6;
+		if (bounds[i] <= minX && bounds[i + 1] <= minY && bounds[i + 2] <= minZ && bounds[i + 3] >= maxX && bounds[i + 4] >= maxY
+			&& bounds[i + 5] >= maxZ) return false;
+		removeLeaf(proxy);
+		setFat(proxy, minX, minY, minZ, maxX, maxY, maxZ);
+		if (displacementX < 0)
+			bounds[i] += displacementX * 2;
+		else
+			bounds[i + 3] += displacementX * 2;
+		if (displacementY < 0)
+			bounds[i + 1] += displacementY * 2;
+		else
+			bounds[i + 4] += displacementY * 2;
+		if (displacementZ < 0)
+			bounds[i + 2] += displacementZ * 2;
+		else
+			bounds[i + 5] += displacementZ * 2;
+		insertLeaf(proxy);
+		return true;
+	}
+
+	/** Updates the box of an object, see {@link #move(int, float, float, float, float, float, float, float, float, float)}.
+	 * @return whether the object was reinserted */
+	public boolean move (int proxy, BoundingBox box) {
+		return move(proxy, box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z, 0, 0, 0);
+	}
+
+	/** Updates the box of an object, see {@link #move(int, float, float, float, float, float, float, float, float, float)}.
+	 * @param displacement the expected movement until the next update
+	 * @return whether the object was reinserted */
+	public boolean move (int proxy, BoundingBox box, Vector3 displacement) {
+		return move(proxy, box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z, displacement.x, displacement.y,
+			displacement.z);
+	}
+
+	/** Updates the rectangle of a 2D object, see {@link #move(int, float, float, float, float, float, float, float, float, float)}.
+	 * @return whether the object was reinserted */
+	public boolean move (int proxy, Rectangle rectangle) {
+		return move(proxy, rectangle.x, rectangle.y, 0, rectangle.x + rectangle.width, rectangle.y + rectangle.height, 0, 0, 0, 0);
+	}
+
+	/** @return the user data of the object */
+	public T getUserData (int proxy) {
+		checkProxy(proxy);
+		return (T)userData[proxy];
+	}
+
+	/** @param out receives the enlarged box of the object as stored in the tree
+	 * @return the out parameter for chaining */
+	public BoundingBox getFatBounds (int proxy, BoundingBox out) {
+		checkProxy(proxy);
+		final int i = proxy * 6;
+		out.min.set(bounds[i], bounds[i + 1], bounds[i + 2]);
+		out.max.set(bounds[i + 3], bounds[i + 4], bounds[i + 5]);
+		return out.set(out.min, out.max);
+	}
+
+	/** @return the number of objects in the tree */
+	public int size () {
+		return proxyCount;
+	}
+
+	/** @return the height of the tree, 0 if it holds at most one object */
+	public int getHeight () {
+		return root == NULL ? 0 : height[root];
+	}
+
+	/** Removes all objects, their proxy ids may be reused afterwards. */
+	public void clear () {
+		root = NULL;
+		freeList = NULL;
+		nodeCount = 0;
+		proxyCount = 0;
+		final int capacity = parent.length;
+		for (int i = 0; i < capacity; i++) {
+			parent[i] = i + 1 < capacity ? i + 1 : NULL;
+			height[i] = -1;
+			userData[i] = null;
+		}
+		freeList = 0;
+	}
+
+	/** Reports all objects whose box overlaps the given box.
+	 * @param callback receives the objects, can stop the query */
+	public void query (float minX, float minY, float minZ, float maxX, float maxY, float maxZ, QueryCallback<T> callback) {
+		query(minX, minY, minZ, maxX, maxY, maxZ, callback, null);
+	}
+
+	/** Adds the user data of all objects whose box overlaps the given box to the array. */
+	public void query (float minX, float minY, float minZ, float maxX, float maxY, float maxZ, Array<T> out) {
+		query(minX, minY, minZ, maxX, maxY, maxZ, null, out);
+	}
+
+	/** Reports all objects whose box overlaps the given box.
+	 * @param callback receives the objects, can stop the query */
+	public void query (BoundingBox box, QueryCallback<T> callback) {
+		query(box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z, callback, null);
+	}
+
+	/** Adds the user data of all objects whose box overlaps the given box to the array. */
+	public void query (BoundingBox box, Array<T> out) {
+		query(box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z, null, out);
+	}
+
+	/** Reports all 2D objects whose rectangle overlaps the given rectangle.
+	 * @param callback receives the objects, can stop the query */
+	public void query (Rectangle rectangle, QueryCallback<T> callback) {
+		query(rectangle.x, rectangle.y, 0, rectangle.x + rectangle.width, rectangle.y + rectangle.height, 0, callback, null);
+	}
+
+	/** Adds the user data of all 2D objects whose rectangle overlaps the given rectangle to the array. */
+	public void query (Rectangle rectangle, Array<T> out) {
+		query(rectangle.x, rectangle.y, 0, rectangle.x + rectangle.width, rectangle.y + rectangle.height, 0, null, out);
+	}
+
+	private void query (float minX, float minY, float minZ, float maxX, float maxY, float maxZ, QueryCallback<T> callback,
+		Array<T> out) {
+		if (root == NULL) return;
+		final float[] bounds = this.bounds;
+		int[] stack = this.stack;
+		int top = 0;
+		stack[top++] = root;
+		while (top > 0) {
+			final int node = stack[--top];
+			final int i = node * 6;
+			if (bounds[i] > maxX || bounds[i + 1] > maxY || bounds[i + 2] > maxZ || bounds[i + 3] < minX || bounds[i + 4] < minY
+				|| bounds[i + 5] < minZ) continue;
+			if (child1[node] == NULL) {
+				if (!report(node, callback, out)) break;
+			} else {
+				if (top + 2 > stack.length) this.stack = stack = grow(stack);
+				stack[top++] = child1[node];
+				stack[top++] = child2[node];
+			}
+		}
+	}
+
+	/** Reports all objects whose box is at least partially inside the frustum.
+	 * @param callback receives the objects, can stop the query */
+	public void query (Frustum frustum, QueryCallback<T> callback) {
+		query(frustum, callback, null);
+	}
+
+	/** Adds the user data of all objects whose box is at least partially inside the frustum to the array. */
+	public void query (Frustum frustum, Array<T> out) {
+		query(frustum, null, out);
+	}
+
+	private void query (Frustum frustum, QueryCallback<T> callback, Array<T> out) {
+		if (root == NULL) return;
+		final float[] bounds = this.bounds;
+		final Plane[] planes = frustum.planes;
+		int[] stack = this.stack;
+		int top = 0;
+		stack[top++] = root;
+		// Nodes completely inside the frustum are pushed as -2 - node, their children don't need to be tested.
+		while (top > 0) {
+			int node = stack[--top];
+			boolean inside = node < NULL;
+			if (inside)
+				node = -2 - node;
+			else {
+				final int i = node * 6;
+				final float centerX = (bounds[i] + bounds[i + 3]) * 0.5f, halfX = (bounds[i + 3] - bounds[i]) * 0.5f;
+				final float centerY = (bounds[i + 1] + bounds[i + 4]) * 0.5f, halfY = (bounds[i + 4] - bounds[i + 1]) * 0.5f;
+				final float centerZ = (bounds[i + 2] + bounds[i + 5]) * 0.5f, halfZ = (bounds[i + 5] - bounds[i + 2]) * 0.5f;
+				inside = true;
+				boolean outside = false;
+				for (int p = 0; p < 6; p++) {
+					final Vector3 normal = planes[p].normal;
+					final float distance = normal.x * centerX + normal.y * centerY + normal.z * centerZ + planes[p].d;
+					final float radius = Math.abs(normal.x) * halfX + Math.abs(normal.y) * halfY + Math.abs(normal.z) * halfZ;
+					if (distance + radius < 0) {
+						outside = true;
+						break;
+					}
+					if (distance - radius < 0) inside = false;
+				}
+				if (outside) continue;
+			}
+			if (child1[node] == NULL) {
+				if (!report(node, callback, out)) break;
+			} else {
+				if (top + 2 > stack.length) this.stack = stack = grow(stack);
+				stack[top++] = inside ? -2 - child1[node] : child1[node];
+				stack[top++] = inside ? -2 - child2[node] : child2[node];
+			}
+		}
+	}
+
+	/** Reports all objects whose box is hit by the ray within the maximum distance. The objects are not reported in order of
+	 * distance, the callback can shorten the ray to skip objects behind the closest hit so far.
+	 * @param maxDistance the maximum distance along the ray, in multiples of the length of its direction
+	 * @param callback receives the objects, can shorten or stop the ray cast */
+	public void rayCast (Ray ray, float maxDistance, RayCastCallback<T> callback) {
+		if (root == NULL) return;
+		final float[] bounds = this.bounds;
+		final float originX = ray.origin.x, originY = ray.origin.y, originZ = ray.origin.z;
+		final float divX = 1f / ray.direction.x, divY = 1f / ray.direction.y, divZ = 1f / ray.direction.z;
+		int[] stack = this.stack;
+		int top = 0;
+		stack[top++] = root;
+		while (top > 0) {
+			final int node = stack[--top];
+			final int i = node * 6;
+			// Slab test, intersect the ray with the three pairs of planes of the box.
+			float near = 0, far = maxDistance;
+			float t1 = (bounds[i] - originX) * divX, t2 = (bounds[i + 3] - originX) * divX;
+			near = Math.max(near, Math.min(t1, t2));
+			far = Math.min(far, Math.max(t1, t2));
+			t1 = (bounds[i + 1] - originY) * divY;
+			t2 = (bounds[i + 4] - originY) * divY;
+			near = Math.max(near, Math.min(t1, t2));
+			far = Math.min(far, Math.max(t1, t2));
+			t1 = (bounds[i + 2] - originZ) * divZ;
+			t2 = (bounds[i + 5] - originZ) * divZ;
+			near = Math.max(near, Math.min(t1, t2));
+			far = Math.min(far, Math.max(t1, t2));
+			if (near > far) continue;
+			if (child1[node] == NULL) {
+				maxDistance = callback.report(node, (T)userData[node], ray, maxDistance);
+				if (maxDistance <= 0) return;
+			} else {
+				if (top + 2 > stack.length) this.stack = stack = grow(stack);
+				stack[top++] = child1[node];
+				stack[top++] = child2[node];
+			}
+		}
+	}
+
+	private boolean report (int proxy, QueryCallback<T> callback, Array<T> out) {
+		if (callback == null) {
+			out.add((T)userData[proxy]);
+			return true;
+		}
+		return callback.report(proxy, (T)userData[proxy]);
+	}
+
+	private static int[] grow (int[] stack) {
+		final int[] result = new int[stack.length * 2];
+		System.arraycopy(stack, 0, result, 0, stack.length);
+		return result;
+	}
+
+	private void checkProxy (int proxy) {
+		// Only leaves have a height of 0, free nodes have a height of -1.
+		if (proxy < 0 || proxy >= parent.length || height[proxy] != 0) throw new GdxRuntimeException("Invalid proxy: " + proxy);
+	}
+
+	private void setFat (int node, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+		final float[] bounds = this.bounds;
+		final int i = node * 6;
+		bounds[i] = minX - margin;
+		bounds[i + 1] = minY - margin;
+		bounds[i + 2] = minZ - margin;
+		bounds[i + 3] = maxX + margin;
+		bounds[i + 4] = maxY + margin;
+		bounds[i + 5] = maxZ + margin;
+	}
+
+	private void setUnion (int node, int a, int b) {
+		final float[] bounds = this.bounds;
+		final int i = node * 6, j = a * 6, k = b * 6;
+		bounds[i] = Math.min(bounds[j], bounds[k]);
+		bounds[i + 1] = Math.min(bounds[j + 1], bounds[k + 1]);
+		bounds[i + 2] = Math.min(bounds[j + 2], bounds[k + 2]);
+		bounds[i + 3] = Math.max(bounds[j + 3], bounds[k + 3]);
+		bounds[i + 4] = Math.max(bounds[j + 4], bounds[k + 4]);
+		bounds[i + 5] = Math.max(bounds[j + 5], bounds[k + 5]);
+	}
+
+	/** @return half the surface area of the box of the node */
+	private float area (int node) {
+		final float[] bounds = this.bounds;
+		final int i = node * 6;
+		final float x = bounds[i + 3] - bounds[i], y = bounds[i + 4] - bounds[i + 1], z = bounds[i + 5] - bounds[i + 2];
+		return x * y + y * z + z * x;
+	}
+
+	/** @return half the surface area of the box containing both nodes */
+	private float unionArea (int a, int b) {
+		final float[] bounds = this.bounds;
+		final int i = a * 6, j = b * 6;
+		final float x = Math.max(bounds[i + 3], bounds[j + 3]) - Math.min(bounds[i], bounds[j]);
+		final float y = Math.max(bounds[i + 4], bounds[j + 4]) - Math.min(bounds[i + 1], bounds[j + 1]);
+		final float z = Math.max(bounds[i + 5], bounds[j + 5]) - Math.min(bounds[i + 2], bounds[j + 2]);
+		return x * y + y * z + z * x;
+	}
+
+	private void insertLeaf (int leaf) {
+		if (root == NULL) {
+			root = leaf;
+			parent[leaf] = NULL;
+			return;
+		}
+
+		// Find the best sibling, descending into the child whose box grows the least.
+		int index = root;
+		while (child1[index] != NULL) {
+			final int c1 = child1[index], c2 = child2[index];
+			final float area = area(index);
+			final float combinedArea = unionArea(index, leaf);
+			// Cost of creating a new parent for this node and the new leaf.
+			final float cost = 2 * combinedArea;
+			// Minimum cost of pushing the leaf further down the tree.
+			final float inheritanceCost = 2 * (combinedArea - area);
+			final float cost1 = child1[c1] == NULL ? unionArea(c1, leaf) + inheritanceCost : unionArea(c1, leaf) - area(c1)
+				+ inheritanceCost;
+			final float cost2 = child1[c2] == NULL ? unionArea(c2, leaf) + inheritanceCost : unionArea(c2, leaf) - area(c2)
+				+ inheritanceCost;
+			if (cost < cost1 && cost < cost2) break;
+			index = cost1 < cost2 ? c1 : c2;
+		}
+		final int sibling = index;
+
+		// Create a new parent for the sibling and the leaf, allocating may grow the arrays.
+		final int oldParent = parent[sibling];
+		final int newParent = allocateNode();
+		parent[newParent] = oldParent;
+		userData[newParent] = null;
+		setUnion(newParent, leaf, sibling);
+		height[newParent] = height[sibling] + 1;
+		if (oldParent != NULL) {
+			if (child1[oldParent] == sibling)
+				child1[oldParent] = newParent;
+			else
+				child2[oldParent] = newParent;
+		} else
+			root = newParent;
+		child1[newParent] = sibling;
+		child2[newParent] = leaf;
+		parent[sibling] = newParent;
+		parent[leaf] = newParent;
+
+		refit(parent[leaf]);
+	}
+
+	private void removeLeaf (int leaf) {
+		if (leaf == root) {
+			root = NULL;
+			return;
+		}
+		final int oldParent = parent[leaf];
+		final int grandParent = parent[oldParent];
+		final int sibling = child1[oldParent] == leaf ? child2[oldParent] : child1[oldParent];
+		if (grandParent != NULL) {
+			// Replace the parent by the sibling.
+			if (child1[grandParent] == oldParent)
+				child1[grandParent] = sibling;
+			else
+				child2[grandParent] = sibling;
+			parent[sibling] = grandParent;
+			freeNode(oldParent);
+			refit(grandParent);
+		} else {
+			root = sibling;
+			parent[sibling] = NULL;
+			freeNode(oldParent);
+		}
+		parent[leaf] = NULL;
+	}
+
+	/** Rebalances the node and its ancestors and updates their boxes and heights. */
+	private void refit (int index) {
+		while (index != NULL) {
+			index = balance(index);
+			final int c1 = child1[index], c2 = child2[index];
+			height[index] = 1 + Math.max(height[c1], height[c2]);
+			setUnion(index, c1, c2);
+			index = parent[index];
+		}
+	}
+
+	/** Rotates the taller child up if the heights of the children of node A differ by more than one.
+	 * @return the node now at the position of A */
+	private int balance (int a) {
+		if (child1[a] == NULL || height[a] < 2) return a;
+		final int b = child1[a], c = child2[a];
+		final int difference = height[c] - height[b];
+		if (difference > 1) {
+			// Rotate C up.
+			final int f = child1[c], g = child2[c];
+			child1[c] = a;
+			parent[c] = parent[a];
+			parent[a] = c;
+			replaceChild(parent[c], a, c);
+			if (height[f] > height[g]) {
+				child2[c] = f;
+				child2[a] = g;
+				parent[g] = a;
+				setUnion(a, b, g);
+				setUnion(c, a, f);
+				height[a] = 1 + Math.max(height[b], height[g]);
+				height[c] = 1 + Math.max(height[a], height[f]);
+			} else {
+				child2[c] = g;
+				child2[a] = f;
+				parent[f] = a;
+				setUnion(a, b, f);
+				setUnion(c, a, g);
+				height[a] = 1 + Math.max(height[b], height[f]);
+				height[c] = 1 + Math.max(height[a], height[g]);
+			}
+			return c;
+		}
+		if (difference < -1) {
+			// Rotate B up.
+			final int d = child1[b], e = child2[b];
+			child1[b] = a;
+			parent[b] = parent[a];
+			parent[a] = b;
+			replaceChild(parent[b], a, b);
+			if (height[d] > height[e]) {
+				child2[b] = d;
+				child1[a] = e;
+				parent[e] = a;
+				setUnion(a, c, e);
+				setUnion(b, a, d);
+				height[a] = 1 + Math.max(height[c], height[e]);
+				height[b] = 1 + Math.max(height[a], height[d]);
+			} else {
+				child2[b] = e;
+				child1[a] = d;
+				parent[d] = a;
+				setUnion(a, c, d);
+				setUnion(b, a, e);
+				height[a] = 1 + Math.max(height[c], height[d]);
+				height[b] = 1 + Math.max(height[a], height[e]);
+			}
+			return b;
+		}
+		return a;
+	}
+
+	private void replaceChild (int node, int oldChild, int newChild) {
+		if (node == NULL)
+			root = newChild;
+		else if (child1[node] == oldChild)
+			child1[node] = newChild;
+		else
+			child2[node] = newChild;
+	}
+}
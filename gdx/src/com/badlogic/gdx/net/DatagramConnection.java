@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.net;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Exchanges messages with one remote address over a {@link DatagramSocket}, either sequenced or reliable:
+ * <ul>
+ * <li>Sequenced messages are sent once, and a message older than the last one received is dropped. This suits state updates
+ * where only the latest matters.
+ * <li>Reliable messages are sent again until acknowledged, and received in the order they were sent.
+ * </ul>
+ * Each packet starts with a 13 byte header: its type, its sequence number, the number of reliable messages received in order so
+ * far and a bit field of the 32 following ones received out of order, which acknowledges them. The packets received from the
+ * remote address must be passed to {@link #received(ByteBuffer, Listener)}, and {@link #update()} must be called regularly,
+ * typically once per frame before {@link DatagramSocket#flush()}, to send messages again and acknowledge the received ones.
+ * <p>
+ * A connection keeps the messages not acknowledged yet, and the ones received out of order, in buffers of the socket pool. It
+ * needs to be disposed if it is no longer used to return them. */
+public class DatagramConnection implements Disposable {
+	static final byte SEQUENCED = 0, RELIABLE = 1, ACK = 2;
+	/** The size of the header preceding each message. */
+	static public final int HEADER_SIZE = 13;
+
+	private final DatagramSocket socket;
+	private final SocketAddress address;
+	private int maxPending = 256;
+	private long resendTime = 100000000;
+
+	private int sendSequence, receiveSequence;
+	private boolean sequenceReceived;
+	private int sendReliable, receiveReliable;
+	private boolean ackNeeded;
+	private long lastReceiveTime = TimeUtils.nanoTime();
+
+	// The reliable messages sent and not acknowledged yet, by increasing sequence number.
+	private final IntArray pendingSequences = new IntArray();
+	private final Array<ByteBuffer> pendingMessages = new Array<ByteBuffer>();
+	private final LongArray pendingTimes = new LongArray();
+	/** The reliable messages received before the ones preceding them, by sequence number. */
+	private final IntMap<ByteBuffer> outOfOrder = new IntMap<ByteBuffer>();
+
+	private int resentCount, droppedCount;
+
+	/** @param address the remote address, for example the one of the first packet received from it */
+	public DatagramConnection (DatagramSocket socket, SocketAddress address) {
+		if (socket == null) throw new IllegalArgumentException("socket cannot be null.");
+		if (address == null) throw new IllegalArgumentException("address cannot be null.");
+		this.socket = socket;
+		this.address = address;
+	}
+
+	/** Sends a message with the next {@link DatagramSocket#flush()}.
+	 * @param message the message, between its position and limit, at most {@link #HEADER_SIZE} bytes smaller than the max packet
+	 *           size of the socket. Its position is set to its limit.
+	 * @param reliable true to send the message again until it is acknowledged, and to receive it in order
+	 * @return false if the message is reliable and too many reliable messages are not acknowledged yet, see
+	 *         {@link #setMaxPending(int)} */
+	public boolean send (ByteBuffer message, boolean reliable) {
+		if (message.remaining() > socket.getMaxPacketSize() - HEADER_SIZE)
+			throw new IllegalArgumentException("message is larger than the max packet size minus the header: " + message.remaining());
+		if (!reliable) {
+			send(SEQUENCED, sendSequence++, message);
+			return true;
+		}
+		if (pendingSequences.size >= maxPending) return false;
+		ByteBuffer copy = socket.obtain();
+		copy.put(message);
+		copy.flip();
+		pendingSequences.add(sendReliable);
+		pendingMessages.add(copy);
+		pendingTimes.add(TimeUtils.nanoTime());
+		send(RELIABLE, sendReliable++, copy.duplicate());
+		return true;
+	}
+
+	private void send (byte type, int sequence, ByteBuffer message) {
+		ByteBuffer packet = socket.obtain();
+		packet.put(type);
+		packet.putInt(sequence);
+		packet.putInt(receiveReliable);
+		packet.putInt(outOfOrderBits());
+		if (message != null) packet.put(message);
+		packet.flip();
+		socket.send(packet, address);
+		ackNeeded = false;
+	}
+
+	/** Processes a packet received by the socket from the remote address, reporting its message to the listener if it is not
+	 * dropped, followed by the reliable messages it was preceding. Packets too small for the header are ignored.
+	 * @param packet the packet, between its position and limit */
+	public void received (ByteBuffer packet, Listener listener) {
+		if (packet.remaining() < HEADER_SIZE) return;
+		lastReceiveTime = TimeUtils.nanoTime();
+		byte type = packet.get();
+		int sequence = packet.getInt();
+		int ack = packet.getInt();
+		acknowledge(ack, packet.getInt());
+
+		switch (type) {
+		case SEQUENCED:
+			if (sequenceReceived && sequence - receiveSequence <= 0) {
+				droppedCount++;
+				return;
+			}
+			receiveSequence = sequence;
+			sequenceReceived = true;
+			listener.received(this, packet, false);
+			break;
+		case RELIABLE:
+			ackNeeded = true;
+			int ahead = sequence - receiveReliable;
+			if (ahead < 0) return; // received again, the acknowledgement was lost
+			if (ahead > 0) {
+				if (ahead < maxPending && !outOfOrder.containsKey(sequence)) {
+					ByteBuffer copy = socket.obtain();
+					copy.put(packet);
+					copy.flip();
+					outOfOrder.put(sequence, copy);
+				}
+				return;
+			}
+			receiveReliable++;
+			listener.received(this, packet, true);
+			ByteBuffer next;
+			while ((next = outOfOrder.remove(receiveReliable)) != null) {
+				receiveReliable++;
+				listener.received(this, next, true);
+				socket.free(next);
+			}
+			break;
+		}
+	}
+
+	/** @return the bits of the 32 reliable messages following the next expected one that were received out of order */
+	private int outOfOrderBits () {
+		if (outOfOrder.size == 0) return 0;
+		int bits = 0;
+		for (int i = 0; i < 32; i++)
+			if (outOfOrder.containsKey(receiveReliable + 1 + i)) bits |= 1 << i;
+		return bits;
+	}
+
+	/** Forgets the reliable messages the remote address received: the ones preceding the given sequence number, and the ones
+	 * following it whose bit is set. */
+	private void acknowledge (int ack, int bits) {
+		IntArray pendingSequences = this.pendingSequences;
+		int count = 0;
+		while (count < pendingSequences.size && pendingSequences.get(count) - ack < 0)
+			socket.free(pendingMessages.get(count++));
+		if (count > 0) {
+			pendingSequences.removeRange(0, count - 1);
+			pendingMessages.removeRange(0, count - 1);
+			pendingTimes.removeRange(0, count - 1);
+		}
+		if (bits == 0) return;
+		for (int i = pendingSequences.size - 1; i >= 0; i--) {
+			int bit = pendingSequences.get(i) - ack - 1;
+			if (bit < 0) break;
+			if (bit >= 32 || (bits & 1 << bit) == 0) continue;
+			socket.free(pendingMessages.get(i));
+			pendingSequences.removeIndex(i);
+			pendingMessages.removeIndex(i);
+			pendingTimes.removeIndex(i);
+		}
+	}
+
+	/** Sends again the reliable messages not acknowledged within the resend time, and acknowledges the reliable messages received
+	 * since the last packet sent to the remote address. */
+	public void update () {
+		long time = TimeUtils.nanoTime();
+		long[] pendingTimes = this.pendingTimes.items;
+		for (int i = 0, n = pendingSequences.size; i < n; i++) {
+			if (time - pendingTimes[i] < resendTime) continue;
+			pendingTimes[i] = time;
+			resentCount++;
+			send(RELIABLE, pendingSequences.get(i), pendingMessages.get(i).duplicate());
+		}
+		if (ackNeeded) send(ACK, 0, null);
+	}
+
+	/** @return the remote address */
+	public SocketAddress getAddress () {
+		return address;
+	}
+
+	/** @return the time in seconds since a packet was received from the remote address, for example to time out the connection */
+	public float getIdleTime () {
+		return (TimeUtils.nanoTime() - lastReceiveTime) / 1000000000f;
+	}
+
+	/** @return the number of reliable messages sent and not acknowledged yet */
+	public int getPendingCount () {
+		return pendingSequences.size;
+	}
+
+	/** @return the number of times reliable messages were sent again */
+	public int getResentCount () {
+		return resentCount;
+	}
+
+	/** @return the number of sequenced messages dropped because a newer one was received before */
+	public int getDroppedCount () {
+		return droppedCount;
+	}
+
+	/** Sets the maximum number of reliable messages not acknowledged yet, and how far ahead of the next expected one a received
+	 * reliable message can be kept. Default: 256. */
+	public void setMaxPending (int maxPending) {
+		this.maxPending = maxPending;
+	}
+
+	public int getMaxPending () {
+		return maxPending;
+	}
+
+	/** Sets the time after which a reliable message not acknowledged is sent again, usually a bit more than the round trip time.
+	 * Default: 0.1 seconds. */
+	public void setResendTime (float seconds) {
+		resendTime = (long)(seconds * 1000000000f);
+	}
+
+	public float getResendTime () {
+		return resendTime / 1000000000f;
+	}
+
+	/** Returns the buffers of the messages not acknowledged or not received in order yet to the pool of the socket. */
+	@Override
+	public void dispose () {
+		for (ByteBuffer message : pendingMessages)
+			socket.free(message);
+		pendingSequences.clear();
+		pendingMessages.clear();
+		pendingTimes.clear();
+		for (ByteBuffer message : outOfOrder.values())
+			socket.free(message);
+		outOfOrder.clear();
+	}
+
+	/** Notified of the messages received by {@link DatagramConnection#received(ByteBuffer, Listener)}. */
+	static public interface Listener {
+		/** @param message the message, between its position and limit. Only valid during the call.
+		 * @param reliable whether the message was sent reliable */
+		public void received (DatagramConnection connection, ByteBuffer message, boolean reliable);
+	}
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Pool;
+
+/** A non-blocking UDP socket sending and receiving unreliable packets, for example to replicate game state with low latency. It
+ * is meant to be used by a single thread, typically once per frame from the rendering thread: {@link #receive(Listener)} the
+ * packets that arrived, send new ones with {@link #send(ByteBuffer, SocketAddress)}, then {@link #flush()} them all at once.
+ * <p>
+ * Packets are direct buffers obtained from a pool with {@link #obtain()}, and returned to it once sent. Packets may be lost,
+ * duplicated or arrive out of order, see {@link DatagramConnection} for sequenced and reliable ordered messages.
+ * <p>
+ * A socket needs to be disposed if it is no longer used. */
+public class DatagramSocket implements Disposable {
+	private final DatagramChannel channel;
+	private final int maxPacketSize;
+	private final ByteBuffer receiveBuffer;
+	private final Pool<ByteBuffer> pool;
+	private final Array<ByteBuffer> packets = new Array<ByteBuffer>();
+	private final Array<SocketAddress> addresses = new Array<SocketAddress>();
+	private float simulatedLoss;
+
+	/** Creates a socket bound to the given port.
+	 * @param port the port, 0 to use any free port, for example for clients
+	 * @param hints additional {@link DatagramSocketHints} used to create the socket. Input null to use the default settings. */
+	public DatagramSocket (int port, DatagramSocketHints hints) {
+		if (hints == null) hints = new DatagramSocketHints();
+		maxPacketSize = hints.maxPacketSize;
+		try {
+			channel = DatagramChannel.open();
+			try {
+				channel.configureBlocking(false);
+				java.net.DatagramSocket socket = channel.socket();
+				socket.setTrafficClass(hints.trafficClass);
+				socket.setSendBufferSize(hints.sendBufferSize);
+				socket.setReceiveBufferSize(hints.receiveBufferSize);
+				socket.setReuseAddress(hints.reuseAddress);
+				socket.setBroadcast(hints.broadcast);
+				socket.bind(new InetSocketAddress(port));
+			} catch (IOException e) {
+				channel.close();
+				throw e;
+			}
+		} catch (Exception e) {
+			throw new GdxRuntimeException("Cannot create a datagram socket at port " + port + ".", e);
+		}
+		receiveBuffer = ByteBuffer.allocateDirect(maxPacketSize);
+		pool = new Pool<ByteBuffer>() {
+			@Override
+			protected ByteBuffer newObject () {
+				return ByteBuffer.allocateDirect(maxPacketSize);
+			}
+		};
+	}
+
+	/** @return the port the socket is bound to */
+	public int getPort () {
+		return channel.socket().getLocalPort();
+	}
+
+	/** @return the largest packet size, see {@link DatagramSocketHints#maxPacketSize} */
+	public int getMaxPacketSize () {
+		return maxPacketSize;
+	}
+
+	/** @return an empty packet from the pool, with room for {@link #getMaxPacketSize()} bytes */
+	public ByteBuffer obtain () {
+		ByteBuffer packet = pool.obtain();
+		packet.clear();
+		return packet;
+	}
+
+	/** Returns a packet obtained with {@link #obtain()} to the pool, if it is not sent. */
+	public void free (ByteBuffer packet) {
+		pool.free(packet);
+	}
+
+	/** Queues a packet to be sent by the next {@link #flush()}. It is returned to the pool once sent, and must not be used anymore.
+	 * @param packet a packet obtained with {@link #obtain()}, between its position and limit
+	 * @param address the address to send the packet to, for example the one of a received packet */
+	public void send (ByteBuffer packet, SocketAddress address) {
+		packets.add(packet);
+		addresses.add(address);
+	}
+
+	/** Sends the queued packets. Packets that don't fit in the send buffer of the system stay queued for the next flush.
+	 * @return the number of packets sent */
+	public int flush () {
+		Array<ByteBuffer> packets = this.packets;
+		int sent = 0;
+		try {
+			for (int n = packets.size; sent < n; sent++) {
+				ByteBuffer packet = packets.get(sent);
+				if (simulatedLoss > 0 && MathUtils.random() < simulatedLoss) {
+					pool.free(packet);
+					continue;
+				}
+				if (channel.send(packet, addresses.get(sent)) == 0) break;
+				pool.free(packet);
+			}
+		} catch (IOException e) {
+			// the packet can't be sent, for example if the address is unreachable
+			pool.free(packets.get(sent++));
+		} finally {
+			if (sent > 0) {
+				packets.removeRange(0, sent - 1);
+				addresses.removeRange(0, sent - 1);
+			}
+		}
+		return sent;
+	}
+
+	/** Reports the packets received since the last call to the listener, without waiting for more.
+	 * @return the number of packets received */
+	public int receive (Listener listener) {
+		ByteBuffer buffer = receiveBuffer;
+		int received = 0;
+		try {
+			while (true) {
+				buffer.clear();
+				SocketAddress address = channel.receive(buffer);
+				if (address == null) break;
+				buffer.flip();
+				received++;
+				listener.received(address, buffer);
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error receiving packets.", e);
+		}
+		return received;
+	}
+
+	/** Drops packets randomly when they are flushed, to test how a game behaves on a bad network.
+	 * @param chance the chance a packet is dropped, between 0 and 1 */
+	public void setSimulatedLoss (float chance) {
+		simulatedLoss = chance;
+	}
+
+	public float getSimulatedLoss () {
+		return simulatedLoss;
+	}
+
+	/** Closes the socket. The queued packets are not sent. */
+	@Override
+	public void dispose () {
+		pool.freeAll(packets);
+		packets.clear();
+		addresses.clear();
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error closing datagram socket.", e);
+		}
+	}
+
+	/** Notified of the packets received by {@link DatagramSocket#receive(Listener)}. */
+	static public interface Listener {
+		/** @param address the address the packet was sent from
+		 * @param packet the packet, between its position and limit. Only valid during the call. */
+		public void received (SocketAddress address, ByteBuffer packet);
+	}
+}
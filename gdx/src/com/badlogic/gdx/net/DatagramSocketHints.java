@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.net;
+
+/** Options for {@link DatagramSocket} instances. */
+public class DatagramSocketHints {
+	/** The largest packet sent or received in bytes, larger received packets are truncated. The default fits in the MTU of most
+	 * networks, larger packets are fragmented and more likely to be lost. */
+	public int maxPacketSize = 1400;
+	/** The traffic class of the packets, see {@link SocketHints#trafficClass}. */
+	public int trafficClass = 0x10; // low delay
+	/** The SO_SNDBUF (send buffer) size in bytes. */
+	public int sendBufferSize = 65536;
+	/** The SO_RCVBUF (receive buffer) size in bytes. */
+	public int receiveBufferSize = 65536;
+	/** Enable/disable the SO_REUSEADDR socket option. */
+	public boolean reuseAddress = false;
+	/** Enable/disable the SO_BROADCAST socket option. */
+	public boolean broadcast = false;
+}
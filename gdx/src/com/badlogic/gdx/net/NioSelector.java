@@ -0,0 +1,492 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.RunnableQueue;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Runs many non-blocking {@link NioSocket} connections, and the {@link NioServerSocket}s accepting them, on a few threads using
+ * {@link Selector}s, instead of a thread per connection like {@link NetJavaSocketImpl}. Messages are framed with a 4 byte length
+ * prefix, sent with {@link NioSocket#send(ByteBuffer)} from any thread and received by a {@link Listener}.
+ * <p>
+ * The listener is either called on the selector threads, which has the lowest latency but requires it to be thread safe, or is
+ * polled: the events are queued and reported on the thread calling {@link #update()}, typically once per frame from the
+ * rendering thread. Polled messages are queued in a buffer of bounded size per selector thread, sockets stop reading once it is
+ * full until the next update. Needs to be disposed when no longer used, which closes all its sockets. */
+public class NioSelector implements Disposable {
+	static final int CONNECTED = -1, DISCONNECTED = -2;
+	/** Milliseconds a server socket waits before accepting again after accepting failed. */
+	static final long ACCEPT_RETRY_DELAY = 500;
+
+	final Listener listener;
+	final boolean polled;
+	final int bufferSize;
+	private final SelectorThread[] threads;
+	private int nextThread;
+
+	/** @param threads the number of selector threads, one or two usually handle thousands of connections
+	 * @param bufferSize the size of the send and receive buffers of each socket, messages can be up to 4 bytes smaller
+	 * @param polled true to report the events from {@link #update()}, false to call the listener on the selector threads */
+	public NioSelector (int threads, int bufferSize, boolean polled, Listener listener) {
+		if (threads < 1) throw new IllegalArgumentException("threads must be > 0: " + threads);
+		if (bufferSize < 5) throw new IllegalArgumentException("bufferSize must be > 4: " + bufferSize);
+		if (listener == null) throw new IllegalArgumentException("listener cannot be null.");
+		this.listener = listener;
+		this.polled = polled;
+		this.bufferSize = bufferSize;
+		this.threads = new SelectorThread[threads];
+		try {
+			for (int i = 0; i < threads; i++)
+				this.threads[i] = new SelectorThread(i);
+		} catch (IOException e) {
+			for (SelectorThread thread : this.threads)
+				if (thread != null) thread.closeAll();
+			throw new GdxRuntimeException("Cannot open a selector.", e);
+		}
+		for (SelectorThread thread : this.threads)
+			thread.start();
+	}
+
+	/** Creates a server socket accepting connections on the given port. Accepted sockets are reported to
+	 * {@link Listener#connected(NioSocket)}.
+	 * @param hints additional {@link ServerSocketHints} used to create the socket, the accept timeout is not used. Input null to
+	 *           use the default setting provided by the system.
+	 * @param socketHints additional {@link SocketHints} applied to the accepted sockets, the timeouts are not used. Input null to
+	 *           use the default setting provided by the system. */
+	public NioServerSocket listen (int port, ServerSocketHints hints, SocketHints socketHints) {
+		ServerSocketChannel channel = null;
+		try {
+			channel = ServerSocketChannel.open();
+			channel.configureBlocking(false);
+			java.net.ServerSocket server = channel.socket();
+			InetSocketAddress address = new InetSocketAddress(port);
+			if (hints != null) {
+				server.setPerformancePreferences(hints.performancePrefConnectionTime, hints.performancePrefLatency,
+					hints.performancePrefBandwidth);
+				server.setReuseAddress(hints.reuseAddress);
+				server.setReceiveBufferSize(hints.receiveBufferSize);
+				server.bind(address, hints.backlog);
+			} else {
+				server.bind(address);
+			}
+		} catch (Exception e) {
+			close(channel);
+			throw new GdxRuntimeException("Cannot create a server socket at port " + port + ".", e);
+		}
+		final NioServerSocket server = new NioServerSocket(this, nextThread(), channel, socketHints);
+		server.thread.post(new Runnable() {
+			@Override
+			public void run () {
+				server.thread.register(server);
+			}
+		});
+		return server;
+	}
+
+	/** Creates a socket connecting to the given host and port. The connection is established on a selector thread and reported to
+	 * {@link Listener#connected(NioSocket)}, or to {@link Listener#disconnected(NioSocket)} if it fails. Messages sent meanwhile
+	 * are sent once connected.
+	 * @param hints additional {@link SocketHints} used to create the socket, the timeouts are not used. Input null to use the
+	 *           default setting provided by the system. */
+	public NioSocket connect (String host, int port, SocketHints hints) {
+		SocketChannel channel = null;
+		final boolean connecting;
+		try {
+			channel = SocketChannel.open();
+			channel.configureBlocking(false);
+			applyHints(channel, hints);
+			connecting = !channel.connect(new InetSocketAddress(host, port));
+		} catch (Exception e) {
+			close(channel);
+			throw new GdxRuntimeException("Error making a socket connection to " + host + ":" + port, e);
+		}
+		final NioSocket socket = new NioSocket(this, nextThread(), channel);
+		socket.thread.post(new Runnable() {
+			@Override
+			public void run () {
+				socket.thread.register(socket, connecting);
+			}
+		});
+		return socket;
+	}
+
+	/** Reports the events queued since the last call to the listener, if polled. Must be called by a single thread at a time. */
+	public void update () {
+		if (!polled) return;
+		for (SelectorThread thread : threads)
+			thread.deliver();
+	}
+
+	/** Closes all the sockets without notifying the listener and waits for the selector threads to stop. When called by the
+	 * listener on a selector thread, that thread stops once the listener returns and is not waited for. */
+	@Override
+	public void dispose () {
+		for (SelectorThread thread : threads) {
+			thread.running = false;
+			thread.selector.wakeup();
+		}
+		try {
+			for (SelectorThread thread : threads)
+				if (thread != Thread.currentThread()) thread.join();
+		} catch (InterruptedException e) {
+			throw new GdxRuntimeException("Couldn't shutdown selector thread", e);
+		}
+	}
+
+	synchronized SelectorThread nextThread () {
+		SelectorThread thread = threads[nextThread];
+		nextThread = (nextThread + 1) % threads.length;
+		return thread;
+	}
+
+	static void applyHints (SocketChannel channel, SocketHints hints) throws IOException {
+		if (hints == null) return;
+		java.net.Socket socket = channel.socket();
+		socket.setPerformancePreferences(hints.performancePrefConnectionTime, hints.performancePrefLatency,
+			hints.performancePrefBandwidth);
+		socket.setTrafficClass(hints.trafficClass);
+		socket.setTcpNoDelay(hints.tcpNoDelay);
+		socket.setKeepAlive(hints.keepAlive);
+		socket.setSendBufferSize(hints.sendBufferSize);
+		socket.setReceiveBufferSize(hints.receiveBufferSize);
+		socket.setSoLinger(hints.linger, hints.lingerDuration);
+	}
+
+	static void close (java.nio.channels.Channel channel) {
+		if (channel == null) return;
+		try {
+			channel.close();
+		} catch (IOException ignored) {
+		}
+	}
+
+	static void error (String message, Throwable ex) {
+		if (Gdx.app != null)
+			Gdx.app.error("NioSelector", message, ex);
+		else {
+			System.err.println("NioSelector: " + message);
+			ex.printStackTrace();
+		}
+	}
+
+	/** Selects the ready sockets of a {@link Selector} and runs the tasks posted by the other threads. */
+	class SelectorThread extends Thread {
+		final Selector selector;
+		private final RunnableQueue tasks = new RunnableQueue();
+		private final AtomicBoolean wakeupPending = new AtomicBoolean();
+		volatile boolean running = true;
+
+		/** The server sockets that stopped accepting after an error, they accept again at {@link #acceptRetryTime}. */
+		private final Array<NioServerSocket> pausedServers = new Array<NioServerSocket>();
+		private long acceptRetryTime;
+
+		/** The sockets that stopped reading because the inbox was full. */
+		final Array<NioSocket> paused = new Array<NioSocket>();
+		private final Runnable resumeTask = new Runnable() {
+			@Override
+			public void run () {
+				resumeReading();
+			}
+		};
+
+		// The events queued for update(), and the ones being reported by it. The inbox is guarded by the lock.
+		private final Object inboxLock = new Object();
+		private ByteBuffer inbox, delivering;
+		private Array<NioSocket> inboxSockets = new Array<NioSocket>(), deliveringSockets = new Array<NioSocket>();
+		private IntArray inboxEvents = new IntArray(), deliveringEvents = new IntArray();
+		private boolean inboxFull;
+
+		SelectorThread (int index) throws IOException {
+			super("NioSelector-" + index);
+			setDaemon(true);
+			selector = Selector.open();
+			if (polled) {
+				int inboxSize = Math.max(1 << 20, bufferSize * 4);
+				inbox = ByteBuffer.allocateDirect(inboxSize);
+				delivering = ByteBuffer.allocateDirect(inboxSize);
+			}
+		}
+
+		/** Runs the task on this thread, it can be called from any thread. */
+		void post (Runnable task) {
+			tasks.post(task);
+			// this thread runs its own tasks before selecting again
+			if (Thread.currentThread() != this && wakeupPending.compareAndSet(false, true)) selector.wakeup();
+		}
+
+		@Override
+		public void run () {
+			try {
+				while (running) {
+					runTasks();
+					selector.select(selectTimeout());
+					wakeupPending.set(false);
+					for (Iterator<SelectionKey> iter = selector.selectedKeys().iterator(); iter.hasNext();) {
+						SelectionKey key = iter.next();
+						iter.remove();
+						select(key);
+					}
+				}
+			} catch (Throwable ex) {
+				error("Selector thread stopped after an error", ex);
+			} finally {
+				closeAll();
+			}
+		}
+
+		private void runTasks () {
+			while (true) {
+				try {
+					tasks.run();
+					return;
+				} catch (Throwable ex) {
+					error("Error running a selector task", ex);
+				}
+			}
+		}
+
+		/** Resumes accepting on the paused server sockets once their delay is over.
+		 * @return how long to select until then, 0 to wait for the next event if no server socket is paused */
+		private long selectTimeout () {
+			if (pausedServers.size == 0) return 0;
+			long wait = acceptRetryTime - TimeUtils.millis();
+			if (wait > 0) return wait;
+			for (NioServerSocket server : pausedServers)
+				if (server.key.isValid()) server.key.interestOps(SelectionKey.OP_ACCEPT);
+			pausedServers.clear();
+			return 0;
+		}
+
+		private void select (SelectionKey key) {
+			Object attachment = key.attachment();
+			if (attachment instanceof NioServerSocket) {
+				accept((NioServerSocket)attachment);
+				return;
+			}
+			NioSocket socket = (NioSocket)attachment;
+			try {
+				if (key.isConnectable()) socket.finishConnect();
+				if (key.isValid() && key.isReadable()) socket.read();
+				if (key.isValid() && key.isWritable()) socket.flush();
+			} catch (IOException ex) {
+				socket.close();
+			} catch (Throwable ex) {
+				error("Closing a socket after an error", ex);
+				socket.close();
+			}
+		}
+
+		private void accept (NioServerSocket server) {
+			while (true) {
+				SocketChannel channel;
+				try {
+					channel = server.channel.accept();
+				} catch (IOException ex) {
+					// for example out of file descriptors, the pending connection stays ready and accepting right away would spin
+					if (!server.channel.isOpen() || !server.key.isValid()) return;
+					error("Cannot accept a connection, retrying in " + ACCEPT_RETRY_DELAY + " ms", ex);
+					server.key.interestOps(0);
+					if (pausedServers.size == 0) acceptRetryTime = TimeUtils.millis() + ACCEPT_RETRY_DELAY;
+					pausedServers.add(server);
+					return;
+				}
+				if (channel == null) return;
+				try {
+					channel.configureBlocking(false);
+					applyHints(channel, server.socketHints);
+				} catch (IOException ex) {
+					// only this connection failed, accept the next one
+					close(channel);
+					continue;
+				}
+				final NioSocket socket = new NioSocket(NioSelector.this, nextThread(), channel);
+				if (socket.thread == this)
+					register(socket, false);
+				else {
+					socket.thread.post(new Runnable() {
+						@Override
+						public void run () {
+							socket.thread.register(socket, false);
+						}
+					});
+				}
+			}
+		}
+
+		void register (NioServerSocket server) {
+			if (server.closed) return;
+			try {
+				server.key = server.channel.register(selector, SelectionKey.OP_ACCEPT, server);
+			} catch (IOException ex) {
+				error("Cannot accept connections", ex);
+				server.close();
+			}
+		}
+
+		void register (NioSocket socket, boolean connecting) {
+			if (socket.closed) return;
+			try {
+				socket.key = socket.channel.register(selector, connecting ? SelectionKey.OP_CONNECT : SelectionKey.OP_READ, socket);
+				if (!connecting) socket.connected();
+			} catch (IOException ex) {
+				socket.close();
+			}
+		}
+
+		/** Reports a complete message of a socket, or queues it for {@link NioSelector#update()}.
+		 * @param message the message, between its position and limit
+		 * @return false if the inbox is full and the socket must stop reading until the next update */
+		boolean received (NioSocket socket, ByteBuffer message) {
+			if (!polled) {
+				listener.received(socket, message);
+				return true;
+			}
+			synchronized (inboxLock) {
+				if (inbox.remaining() < message.remaining()) {
+					inboxFull = true;
+					return false;
+				}
+				inboxEvents.add(message.remaining());
+				inboxSockets.add(socket);
+				inbox.put(message);
+			}
+			return true;
+		}
+
+		/** Reports that a socket was connected or closed, or queues it for {@link NioSelector#update()}. */
+		void event (NioSocket socket, int event) {
+			if (!polled) {
+				if (event == CONNECTED)
+					listener.connected(socket);
+				else
+					listener.disconnected(socket);
+				return;
+			}
+			synchronized (inboxLock) {
+				inboxEvents.add(event);
+				inboxSockets.add(socket);
+			}
+		}
+
+		/** Reads the messages left in the receive buffer of the paused sockets, and reads from them again if the inbox has room. */
+		private void resumeReading () {
+			Array<NioSocket> paused = this.paused;
+			for (int i = 0; i < paused.size;) {
+				NioSocket socket = paused.get(i);
+				try {
+					if (socket.resume())
+						paused.removeIndex(i);
+					else
+						i++;
+				} catch (IOException ex) {
+					paused.removeIndex(i);
+					socket.close();
+				}
+			}
+		}
+
+		/** Reports the events queued by this thread on the thread calling {@link NioSelector#update()}. */
+		void deliver () {
+			ByteBuffer buffer;
+			Array<NioSocket> sockets;
+			IntArray events;
+			boolean resume;
+			synchronized (inboxLock) {
+				if (inboxEvents.size == 0) return;
+				buffer = inbox;
+				inbox = delivering;
+				delivering = buffer;
+				sockets = inboxSockets;
+				inboxSockets = deliveringSockets;
+				deliveringSockets = sockets;
+				events = inboxEvents;
+				inboxEvents = deliveringEvents;
+				deliveringEvents = events;
+				resume = inboxFull;
+				inboxFull = false;
+			}
+			if (resume) post(resumeTask);
+
+			try {
+				int position = 0;
+				for (int i = 0, n = events.size; i < n; i++) {
+					NioSocket socket = sockets.get(i);
+					int event = events.get(i);
+					if (event == CONNECTED)
+						listener.connected(socket);
+					else if (event == DISCONNECTED)
+						listener.disconnected(socket);
+					else {
+						buffer.limit(position + event);
+						buffer.position(position);
+						position += event;
+						listener.received(socket, buffer);
+					}
+				}
+			} finally {
+				buffer.clear();
+				sockets.clear();
+				events.clear();
+			}
+		}
+
+		void closeAll () {
+			try {
+				for (SelectionKey key : selector.keys()) {
+					Object attachment = key.attachment();
+					if (attachment instanceof NioSocket)
+						((NioSocket)attachment).closed = true;
+					else if (attachment instanceof NioServerSocket) ((NioServerSocket)attachment).closed = true;
+					close(key.channel());
+				}
+				selector.close();
+			} catch (Exception ex) {
+				error("Error closing selector", ex);
+			}
+		}
+	}
+
+	/** Notified of the events of the sockets of a {@link NioSelector}, on its selector threads or on the thread calling
+	 * {@link NioSelector#update()} if polled. The events of each socket are reported in order. */
+	static public interface Listener {
+		/** Called when a socket accepted by a {@link NioServerSocket} or created by
+		 * {@link NioSelector#connect(String, int, SocketHints)} is connected. */
+		public void connected (NioSocket socket);
+
+		/** Called for each message received by a socket.
+		 * @param message the message, between its position and limit. Only valid during the call. */
+		public void received (NioSocket socket, ByteBuffer message);
+
+		/** Called when a socket is closed by either end of the connection or after an error, or when it fails to connect. */
+		public void disconnected (NioSocket socket);
+	}
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.net;
+
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+
+import com.badlogic.gdx.net.NioSelector.SelectorThread;
+import com.badlogic.gdx.utils.Disposable;
+
+/** A non-blocking server socket run by a {@link NioSelector}, see {@link NioSelector#listen(int, ServerSocketHints, SocketHints)}.
+ * Unlike {@link ServerSocket} it has no blocking accept, the accepted {@link NioSocket}s are spread over the selector threads and
+ * reported to {@link NioSelector.Listener#connected(NioSocket)}. */
+public class NioServerSocket implements Disposable {
+	final NioSelector selector;
+	final SelectorThread thread;
+	final ServerSocketChannel channel;
+	final SocketHints socketHints;
+	SelectionKey key;
+	volatile boolean closed;
+
+	private final Runnable closeTask = new Runnable() {
+		@Override
+		public void run () {
+			close();
+		}
+	};
+
+	NioServerSocket (NioSelector selector, SelectorThread thread, ServerSocketChannel channel, SocketHints socketHints) {
+		this.selector = selector;
+		this.thread = thread;
+		this.channel = channel;
+		this.socketHints = socketHints;
+	}
+
+	/** @return the port the socket is bound to, useful when listening on port 0 */
+	public int getPort () {
+		return channel.socket().getLocalPort();
+	}
+
+	/** Stops accepting connections. The accepted sockets stay open. */
+	@Override
+	public void dispose () {
+		thread.post(closeTask);
+	}
+
+	void close () {
+		if (closed) return;
+		closed = true;
+		if (key != null) key.cancel();
+		NioSelector.close(channel);
+	}
+}
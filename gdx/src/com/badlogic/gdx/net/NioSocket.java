@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.net;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.badlogic.gdx.net.NioSelector.SelectorThread;
+import com.badlogic.gdx.utils.Disposable;
+
+/** A non-blocking socket run by a {@link NioSelector}, exchanging messages prefixed with their length instead of streams. Messages
+ * can be sent from any thread, they are copied to a direct send buffer and written by the selector thread of the socket. Received
+ * messages are reported to the {@link NioSelector.Listener}. Unlike {@link Socket} it has no streams.
+ * <p>
+ * A socket needs to be disposed if it is no longer used. Disposing sends the queued messages, then closes the connection. */
+public class NioSocket implements Disposable {
+	final NioSelector selector;
+	final SelectorThread thread;
+	final SocketChannel channel;
+	final ByteBuffer readBuffer, writeBuffer, message;
+	SelectionKey key;
+	/** Whether reading stopped until the polled messages are reported. Only used by the selector thread. */
+	private boolean readPaused;
+	private volatile boolean connected;
+	/** Whether the socket is disposed and closes once the send buffer is written. Guarded by the send buffer. */
+	private boolean closing;
+	volatile boolean closed;
+	private Object userObject;
+
+	private final AtomicBoolean flushQueued = new AtomicBoolean();
+	private final Runnable flushTask = new Runnable() {
+		@Override
+		public void run () {
+			try {
+				flush();
+			} catch (IOException ex) {
+				close();
+			}
+		}
+	};
+
+	NioSocket (NioSelector selector, SelectorThread thread, SocketChannel channel) {
+		this.selector = selector;
+		this.thread = thread;
+		this.channel = channel;
+		readBuffer = ByteBuffer.allocateDirect(selector.bufferSize);
+		writeBuffer = ByteBuffer.allocateDirect(selector.bufferSize);
+		message = readBuffer.duplicate();
+	}
+
+	/** Queues a message to be sent, it can be called from any thread. The message is copied, so it can be reused once this method
+	 * returns.
+	 * @param message the message, between its position and limit. Its position is set to its limit.
+	 * @return false if the socket is closed or disposed, or if the send buffer has no room for the message because the other end of the
+	 *         connection doesn't receive fast enough
+	 * @throws IllegalArgumentException if the message is larger than the buffer size of the {@link NioSelector} minus 4 */
+	public boolean send (ByteBuffer message) {
+		int length = message.remaining();
+		ByteBuffer writeBuffer = this.writeBuffer;
+		if (length > writeBuffer.capacity() - 4)
+			throw new IllegalArgumentException("message is larger than the buffer size minus 4: " + length);
+		synchronized (writeBuffer) {
+			if (closed || closing || writeBuffer.remaining() < length + 4) return false;
+			writeBuffer.putInt(length);
+			writeBuffer.put(message);
+		}
+		if (flushQueued.compareAndSet(false, true)) thread.post(flushTask);
+		return true;
+	}
+
+	/** @return whether the socket is connected and not closed */
+	public boolean isConnected () {
+		return connected && !closed;
+	}
+
+	/** @return the address of the other end of the connection, or null if not connected */
+	public String getRemoteAddress () {
+		SocketAddress address = channel.socket().getRemoteSocketAddress();
+		return address != null ? address.toString() : null;
+	}
+
+	/** Sets an object to identify the socket in the listener, for example the player connected to it. */
+	public void setUserObject (Object userObject) {
+		this.userObject = userObject;
+	}
+
+	public Object getUserObject () {
+		return userObject;
+	}
+
+	/** Stops accepting messages to send, and closes the socket once the queued ones are sent, including the ones sent while still
+	 * connecting. The listener is notified once it is closed. If the other end of the connection stops receiving, the socket stays
+	 * open until it closes the connection or the {@link NioSelector} is disposed. */
+	@Override
+	public void dispose () {
+		synchronized (writeBuffer) {
+			if (closing) return;
+			closing = true;
+		}
+		if (flushQueued.compareAndSet(false, true)) thread.post(flushTask);
+	}
+
+	void finishConnect () throws IOException {
+		if (channel.finishConnect()) {
+			key.interestOps(SelectionKey.OP_READ);
+			connected();
+		}
+	}
+
+	void connected () throws IOException {
+		connected = true;
+		thread.event(this, NioSelector.CONNECTED);
+		flush();
+	}
+
+	void read () throws IOException {
+		if (channel.read(readBuffer) == -1) {
+			close();
+			return;
+		}
+		readMessages();
+		if (readPaused) thread.paused.add(this);
+	}
+
+	/** Reports the complete messages in the receive buffer, pausing reading if the selector thread inbox is full. */
+	private void readMessages () throws IOException {
+		ByteBuffer buffer = readBuffer, message = this.message;
+		buffer.flip();
+		try {
+			while (buffer.remaining() >= 4) {
+				int position = buffer.position(), length = buffer.getInt(position);
+				if (length < 0 || length > buffer.capacity() - 4) throw new IOException("Invalid message length: " + length);
+				if (buffer.remaining() < length + 4) break;
+				message.limit(position + 4 + length);
+				message.position(position + 4);
+				if (!thread.received(this, message)) {
+					readPaused = true;
+					key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+					break;
+				}
+				buffer.position(position + 4 + length);
+			}
+		} finally {
+			buffer.compact();
+		}
+	}
+
+	/** Reports the messages left in the receive buffer of a paused socket, and reads again if they all fit in the inbox.
+	 * @return whether the socket is not paused anymore */
+	boolean resume () throws IOException {
+		if (closed) return true;
+		readPaused = false;
+		readMessages();
+		if (readPaused) return false;
+		key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+		return true;
+	}
+
+	/** Writes the send buffer, keeping the write interest until it is empty, then closes the socket if it is disposed. */
+	void flush () throws IOException {
+		flushQueued.set(false);
+		if (closed || !connected) return;
+		ByteBuffer writeBuffer = this.writeBuffer;
+		boolean pending = false, drained;
+		synchronized (writeBuffer) {
+			if (writeBuffer.position() > 0) {
+				writeBuffer.flip();
+				try {
+					channel.write(writeBuffer);
+					pending = writeBuffer.hasRemaining();
+				} finally {
+					writeBuffer.compact();
+				}
+			}
+			drained = closing && !pending;
+		}
+		if (drained) {
+			close();
+			return;
+		}
+		int ops = key.interestOps();
+		if (pending != ((ops & SelectionKey.OP_WRITE) != 0))
+			key.interestOps(pending ? ops | SelectionKey.OP_WRITE : ops & ~SelectionKey.OP_WRITE);
+	}
+
+	void close () {
+		if (closed) return;
+		synchronized (writeBuffer) {
+			closed = true;
+		}
+		if (key != null) key.cancel();
+		NioSelector.close(channel);
+		if (readPaused) thread.paused.removeValue(this, true);
+		thread.event(this, NioSelector.DISCONNECTED);
+	}
+}
@@ -386,6 +386,7 @@ public class Actor {
 		if (this.x != x) {
 			this.x = x;
 			positionChanged();
+			hitBoundsChanged();
 		}
 	}
 
@@ -398,6 +399,7 @@ public class Actor {
 		if (this.y != y) {
 			this.y = y;
 			positionChanged();
+			hitBoundsChanged();
 		}
 	}
 
@@ -417,6 +419,7 @@ public class Actor {
 			this.x = x;
 			this.y = y;
 			positionChanged();
+			hitBoundsChanged();
 		}
 	}
 
@@ -436,6 +439,7 @@ public class Actor {
 			this.x = x;
 			this.y = y;
 			positionChanged();
+			hitBoundsChanged();
 		}
 	}
 
@@ -445,6 +449,7 @@ public class Actor {
 			this.x += x;
 			this.y += y;
 			positionChanged();
+			hitBoundsChanged();
 		}
 	}
 
@@ -455,7 +460,10 @@ public class Actor {
 	public void setWidth (float width) {
 		float oldWidth = this.width;
 		this.width = width;
-		if (width != oldWidth) sizeChanged();
+		if (width != oldWidth) {
+			sizeChanged();
+			hitBoundsChanged();
+		}
 	}
 
 	public float getHeight () {
@@ -465,7 +473,10 @@ public class Actor {
 	public void setHeight (float height) {
 		float oldHeight = this.height;
 		this.height = height;
-		if (height != oldHeight) sizeChanged();
+		if (height != oldHeight) {
+			sizeChanged();
+			hitBoundsChanged();
+		}
 	}
 
 	/** Returns y plus height. */
@@ -486,13 +497,23 @@ public class Actor {
 	protected void sizeChanged () {
 	}
 
+	/** Invalidates the hit grid of the parent, called when the area where this actor can be hit changed.
+	 * @see Group#setHitGrid(float) */
+	private void hitBoundsChanged () {
+		Group parent = this.parent;
+		if (parent != null) parent.invalidateHitGrid();
+	}
+
 	/** Sets the width and height. */
 	public void setSize (float width, float height) {
 		float oldWidth = this.width;
 		float oldHeight = this.height;
 		this.width = width;
 		this.height = height;
-		if (width != oldWidth || height != oldHeight) sizeChanged();
+		if (width != oldWidth || height != oldHeight) {
+			sizeChanged();
+			hitBoundsChanged();
+		}
 	}
 
 	/** Adds the specified size to the current size. */
@@ -500,6 +521,7 @@ public class Actor {
 		width += size;
 		height += size;
 		sizeChanged();
+		hitBoundsChanged();
 	}
 
 	/** Adds the specified size to the current size. */
@@ -507,6 +529,7 @@ public class Actor {
 		this.width += width;
 		this.height += height;
 		sizeChanged();
+		hitBoundsChanged();
 	}
 
 	/** Set bounds the x, y, width, and height. */
@@ -515,11 +538,13 @@ public class Actor {
 			this.x = x;
 			this.y = y;
 			positionChanged();
+			hitBoundsChanged();
 		}
 		if (this.width != width || this.height != height) {
 			this.width = width;
 			this.height = height;
 			sizeChanged();
+			hitBoundsChanged();
 		}
 	}
 
@@ -567,6 +592,7 @@ public class Actor {
 	}
 
 	public void setScaleX (float scaleX) {
+		if ((this.scaleX == 1) != (scaleX == 1)) hitBoundsChanged();
 		this.scaleX = scaleX;
 	}
 
@@ -575,29 +601,35 @@ public class Actor {
 	}
 
 	public void setScaleY (float scaleY) {
+		if ((this.scaleY == 1) != (scaleY == 1)) hitBoundsChanged();
 		this.scaleY = scaleY;
 	}
 
 	/** Sets the scale for both X and Y */
 	public void setScale (float scaleXY) {
+		if ((scaleX == 1) != (scaleXY == 1) || (scaleY == 1) != (scaleXY == 1)) hitBoundsChanged();
 		this.scaleX = scaleXY;
 		this.scaleY = scaleXY;
 	}
 
 	/** Sets the scale X and scale Y. */
 	public void setScale (float scaleX, float scaleY) {
+		if ((this.scaleX == 1) != (scaleX == 1) || (this.scaleY == 1) != (scaleY == 1)) hitBoundsChanged();
 		this.scaleX = scaleX;
 		this.scaleY = scaleY;
 	}
 
 	/** Adds the specified scale to the current scale. */
 	public void scaleBy (float scale) {
+		if ((scaleX == 1) != (scaleX + scale == 1) || (scaleY == 1) != (scaleY + scale == 1)) hitBoundsChanged();
 		scaleX += scale;
 		scaleY += scale;
 	}
 
 	/** Adds the specified scale to the current scale. */
 	public void scaleBy (float scaleX, float scaleY) {
+		if ((this.scaleX == 1) != (this.scaleX + scaleX == 1) || (this.scaleY == 1) != (this.scaleY + scaleY == 1))
+			hitBoundsChanged();
 		this.scaleX += scaleX;
 		this.scaleY += scaleY;
 	}
@@ -607,11 +639,13 @@ public class Actor {
 	}
 
 	public void setRotation (float degrees) {
+		if ((rotation == 0) != (degrees == 0)) hitBoundsChanged();
 		this.rotation = degrees;
 	}
 
 	/** Adds the specified rotation to the current rotation. */
 	public void rotateBy (float amountInDegrees) {
+		if ((rotation == 0) != (rotation + amountInDegrees == 0)) hitBoundsChanged();
 		rotation += amountInDegrees;
 	}
 
@@ -663,6 +697,7 @@ public class Actor {
 			children.add(this);
 		else
 			children.insert(index, this);
+		parent.invalidateHitGrid();
 	}
 
 	/** Returns the z-index of this actor.
@@ -42,6 +42,7 @@ public class Group extends Actor implements Cullable {
 	private final Matrix4 oldTransform = new Matrix4();
 	boolean transform = true;
 	private Rectangle cullingArea;
+	private HitGrid hitGrid;
 
 	public void act (float delta) {
 		super.act(delta);
@@ -242,6 +243,11 @@ public class Group extends Actor implements Cullable {
 
 	public Actor hit (float x, float y, boolean touchable) {
 		if (touchable && getTouchable() == Touchable.disabled) return null;
+		if (hitGrid != null) {
+			Actor hit = hitGrid.hit(children.items, children.size, x, y, touchable);
+			if (hit != null) return hit;
+			return super.hit(x, y, touchable);
+		}
 		Vector2 point = tmp;
 		Actor[] childrenArray = children.items;
 		for (int i = children.size - 1; i >= 0; i--) {
@@ -254,6 +260,31 @@ public class Group extends Actor implements Cullable {
 		return super.hit(x, y, touchable);
 	}
 
+	/** Enables a grid of the children's bounds, so {@link #hit(float, float, boolean)} only tests the children at the hit point.
+	 * This speeds up hit detection for groups with many children, like large inventories or maps. Like the
+	 * {@link #setCullingArea(Rectangle) culling area}, this assumes that children are only hit within their bounds, so children
+	 * which are groups should be large enough to contain their own children. Rotated or scaled children are always tested.
+	 * <p>
+	 * The grid is rebuilt on the next hit after children were added, removed, reordered, moved or resized. Call
+	 * {@link #invalidateHitGrid()} after modifying the {@link #getChildren() children} array directly.
+	 * @param cellSize the width and height of the grid cells, usually about the size of the children, or 0 to disable the grid */
+	public void setHitGrid (float cellSize) {
+		if (cellSize < 0) throw new IllegalArgumentException("cellSize must be >= 0: " + cellSize);
+		hitGrid = cellSize == 0 ? null : new HitGrid(cellSize);
+	}
+
+	/** @return the cell size of the hit grid, or 0 if it is disabled
+	 * @see #setHitGrid(float) */
+	public float getHitGrid () {
+		return hitGrid == null ? 0 : hitGrid.cellSize;
+	}
+
+	/** Causes the hit grid to be rebuilt on the next hit, if it is enabled.
+	 * @see #setHitGrid(float) */
+	public void invalidateHitGrid () {
+		if (hitGrid != null) hitGrid.dirty = true;
+	}
+
 	/** Called when actors are added to or removed from the group. */
 	protected void childrenChanged () {
 	}
@@ -265,6 +296,7 @@ public class Group extends Actor implements Cullable {
 		children.add(actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		invalidateHitGrid();
 		childrenChanged();
 	}
 
@@ -278,6 +310,7 @@ public class Group extends Actor implements Cullable {
 			children.insert(index, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		invalidateHitGrid();
 		childrenChanged();
 	}
 
@@ -289,6 +322,7 @@ public class Group extends Actor implements Cullable {
 		children.insert(index, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		invalidateHitGrid();
 		childrenChanged();
 	}
 
@@ -303,6 +337,7 @@ public class Group extends Actor implements Cullable {
 			children.insert(index + 1, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		invalidateHitGrid();
 		childrenChanged();
 	}
 
@@ -315,6 +350,7 @@ public class Group extends Actor implements Cullable {
 		if (stage != null) stage.unfocus(actor);
 		actor.setParent(null);
 		actor.setStage(null);
+		invalidateHitGrid();
 		childrenChanged();
 		return true;
 	}
@@ -329,6 +365,7 @@ public class Group extends Actor implements Cullable {
 		}
 		children.end();
 		children.clear();
+		invalidateHitGrid();
 		childrenChanged();
 	}
 
@@ -366,6 +403,7 @@ public class Group extends Actor implements Cullable {
 		if (first < 0 || first >= maxIndex) return false;
 		if (second < 0 || second >= maxIndex) return false;
 		children.swap(first, second);
+		invalidateHitGrid();
 		return true;
 	}
 
@@ -375,6 +413,7 @@ public class Group extends Actor implements Cullable {
 		int secondIndex = children.indexOf(second, true);
 		if (firstIndex == -1 || secondIndex == -1) return false;
 		children.swap(firstIndex, secondIndex);
+		invalidateHitGrid();
 		return true;
 	}
 
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.scenes.scene2d;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+
+/** A uniform grid of the bounds of a group's children, used by {@link Group#hit(float, float, boolean)} to only test the children
+ * covering the hit point. Children which are rotated or scaled are not put in the grid and are always tested. The grid is
+ * rebuilt on the next hit after it was invalidated.
+ * @see Group#setHitGrid(float) */
+class HitGrid {
+	final float cellSize;
+	boolean dirty = true;
+
+	private float left, bottom, size;
+	private int columns, rows;
+	/** Start of each cell in {@link #items}, the last entry is the end of the last cell. */
+	private int[] cellStart = new int[0];
+	/** Child indices per cell, in ascending order. */
+	private int[] items = new int[0];
+	/** Indices of the children which are not in the grid, in ascending order. */
+	private final IntArray unindexed = new IntArray();
+	private final Vector2 point = new Vector2();
+
+	HitGrid (float cellSize) {
+		this.cellSize = cellSize;
+	}
+
+	private void rebuild (Actor[] children, int count) {
+		dirty = false;
+		unindexed.clear();
+		float left = Float.MAX_VALUE, bottom = Float.MAX_VALUE, right = -Float.MAX_VALUE, top = -Float.MAX_VALUE;
+		int indexed = 0;
+		for (int i = 0; i < count; i++) {
+			Actor child = children[i];
+			if (!isIndexed(child)) {
+				unindexed.add(i);
+				continue;
+			}
+			left = Math.min(left, Math.min(child.x, child.x + child.width));
+			bottom = Math.min(bottom, Math.min(child.y, child.y + child.height));
+			right = Math.max(right, Math.max(child.x, child.x + child.width));
+			top = Math.max(top, Math.max(child.y, child.y + child.height));
+			indexed++;
+		}
+		if (indexed == 0) {
+			columns = rows = 0;
+			return;
+		}
+
+		// Double the cell size while there are many more cells than children, e.g. for few children spread far apart.
+		float size = cellSize;
+		int maxCells = Math.max(64, indexed * 4);
+		while (true) {
+			long columns = (long)((right - left) / size) + 1, rows = (long)((top - bottom) / size) + 1;
+			if (columns * rows <= maxCells) {
+				this.columns = (int)columns;
+				this.rows = (int)rows;
+				break;
+			}
+			size *= 2;
+		}
+		this.left = left;
+		this.bottom = bottom;
+		this.size = size;
+
+		// Counting sort of the children into the cells they cover.
+		int cells = columns * rows;
+		if (cellStart.length < cells + 1) cellStart = new int[cells + 1];
+		int[] cellStart = this.cellStart;
+		for (int i = 0; i <= cells; i++)
+			cellStart[i] = 0;
+		int total = 0;
+		for (int i = 0; i < count; i++) {
+			Actor child = children[i];
+			if (!isIndexed(child)) continue;
+			int x1 = column(Math.min(child.x, child.x + child.width)), x2 = column(Math.max(child.x, child.x + child.width));
+			int y1 = row(Math.min(child.y, child.y + child.height)), y2 = row(Math.max(child.y, child.y + child.height));
+			for (int y = y1; y <= y2; y++)
+				for (int x = x1; x <= x2; x++)
+					cellStart[y * columns + x + 1]++;
+			total += (x2 - x1 + 1) * (y2 - y1 + 1);
+		}
+		for (int i = 1; i <= cells; i++)
+			cellStart[i] += cellStart[i - 1];
+		if (items.length < total) items = new int[total];
+		int[] items = this.items;
+		// Use the start of the next cell as the write position, afterwards it has moved to the start of this cell.
+		for (int i = count - 1; i >= 0; i--) {
+			Actor child = children[i];
+			if (!isIndexed(child)) continue;
+			int x1 = column(Math.min(child.x, child.x + child.width)), x2 = column(Math.max(child.x, child.x + child.width));
+			int y1 = row(Math.min(child.y, child.y + child.height)), y2 = row(Math.max(child.y, child.y + child.height));
+			for (int y = y1; y <= y2; y++)
+				for (int x = x1; x <= x2; x++)
+					items[--cellStart[y * columns + x + 1]] = i;
+		}
+		// cellStart[i + 1] now holds the start of cell i, shift it back.
+		System.arraycopy(cellStart, 1, cellStart, 0, cells);
+		cellStart[cells] = total;
+	}
+
+	private int column (float x) {
+		return Math.min(columns - 1, Math.max(0, (int)((x - left) / size)));
+	}
+
+	private int row (float y) {
+		return Math.min(rows - 1, Math.max(0, (int)((y - bottom) / size)));
+	}
+
+	static boolean isIndexed (Actor child) {
+		return child.rotation == 0 && child.scaleX == 1 && child.scaleY == 1;
+	}
+
+	/** @return the deepest child hit, like {@link Group#hit(float, float, boolean)} would, or null */
+	Actor hit (Actor[] children, int count, float x, float y, boolean touchable) {
+		if (dirty) rebuild(children, count);
+		int start = 0, end = 0;
+		if (columns > 0 && x >= left && y >= bottom) {
+			int column = (int)((x - left) / size), row = (int)((y - bottom) / size);
+			if (column < columns && row < rows) {
+				start = cellStart[row * columns + column];
+				end = cellStart[row * columns + column + 1];
+			}
+		}
+		// Merge the children of the cell and the unindexed children from the front most to the back most.
+		int[] items = this.items, unindexed = this.unindexed.items;
+		int u = this.unindexed.size - 1, i = end - 1;
+		Vector2 point = this.point;
+		while (i >= start || u >= 0) {
+			int index;
+			if (u < 0 || i >= start && items[i] > unindexed[u])
+				index = items[i--];
+			else
+				index = unindexed[u--];
+			Actor child = children[index];
+			if (!child.isVisible()) continue;
+			child.parentToLocalCoordinates(point.set(x, y));
+			Actor hit = child.hit(point.x, point.y, touchable);
+			if (hit != null) return hit;
+		}
+		return null;
+	}
+}
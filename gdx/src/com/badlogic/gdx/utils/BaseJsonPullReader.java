@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+/** Pull parser which reads JSON one token at a time instead of building a {@link JsonValue} DOM. Call {@link #next()} to advance
+ * to the next token, then use the getters to access the current token's name and value. Numbers and booleans are not boxed.
+ * <p>
+ * {@link #skipValue()} skips over an object or array without reading its contents into memory and {@link #readValue()} reads a
+ * single value into a DOM, so a large document can be read in parts. {@link Json#readValue(Class, BaseJsonPullReader)}
+ * deserializes objects directly from the reader.
+ * @see JsonPullReader
+ * @see UBJsonPullReader */
+abstract public class BaseJsonPullReader {
+	static public enum Token {
+		objectStart, objectEnd, arrayStart, arrayEnd, stringValue, doubleValue, longValue, booleanValue, nullValue
+	}
+
+	protected Token token;
+	protected String name, stringValue;
+	protected double doubleValue;
+	protected long longValue;
+	protected int depth;
+
+	/** Advances to the next token.
+	 * @return The current token, or null if the end of the input was reached.
+	 * @throws SerializationException if the input is not valid. */
+	abstract public Token next ();
+
+	/** Closes the underlying input. */
+	abstract public void close ();
+
+	/** @return The current token, or null if {@link #next()} has not been called yet or the end of the input was reached. */
+	public Token getToken () {
+		return token;
+	}
+
+	/** @return The name of the current value if it is a member of an object, else null. For {@link Token#objectEnd} and
+	 *         {@link Token#arrayEnd} this is the name of the object or array that ended. */
+	public String getName () {
+		return name;
+	}
+
+	/** @return The number of objects and arrays that are open, including the one just started by the current token. */
+	public int getDepth () {
+		return depth;
+	}
+
+	/** @return True if the current token is a {@link Token#doubleValue} or {@link Token#longValue}. */
+	public boolean isNumber () {
+		return token == Token.doubleValue || token == Token.longValue;
+	}
+
+	/** Returns the current value as a string, or null for {@link Token#nullValue}.
+	 * @throws IllegalStateException if the current token does not have a value. */
+	public String getString () {
+		switch (token) {
+		case stringValue:
+			return stringValue;
+		case doubleValue:
+			return stringValue != null ? stringValue : Double.toString(doubleValue);
+		case longValue:
+			return stringValue != null ? stringValue : Long.toString(longValue);
+		case booleanValue:
+			return longValue != 0 ? "true" : "false";
+		case nullValue:
+			return null;
+		}
+		throw new IllegalStateException("Value cannot be converted to string: " + token);
+	}
+
+	/** @throws IllegalStateException if the current token does not have a value.
+	 * @throws NumberFormatException if the current value is a string which is not a number. */
+	public double getDouble () {
+		switch (token) {
+		case stringValue:
+			return Double.parseDouble(stringValue);
+		case doubleValue:
+			return doubleValue;
+		case longValue:
+			return (double)longValue;
+		case booleanValue:
+			return longValue != 0 ? 1 : 0;
+		}
+		throw new IllegalStateException("Value cannot be converted to double: " + token);
+	}
+
+	/** @throws IllegalStateException if the current token does not have a value.
+	 * @throws NumberFormatException if the current value is a string which is not a number. */
+	public float getFloat () {
+		switch (token) {
+		case stringValue:
+			return Float.parseFloat(stringValue);
+		case doubleValue:
+			return (float)doubleValue;
+		case longValue:
+			return (float)longValue;
+		case booleanValue:
+			return longValue != 0 ? 1 : 0;
+		}
+		throw new IllegalStateException("Value cannot be converted to float: " + token);
+	}
+
+	/** @throws IllegalStateException if the current token does not have a value.
+	 * @throws NumberFormatException if the current value is a string which is not a number. */
+	public long getLong () {
+		switch (token) {
+		case stringValue:
+			return Long.parseLong(stringValue);
+		case doubleValue:
+			return (long)doubleValue;
+		case longValue:
+			return longValue;
+		case booleanValue:
+			return longValue != 0 ? 1 : 0;
+		}
+		throw new IllegalStateException("Value cannot be converted to long: " + token);
+	}
+
+	/** @throws IllegalStateException if the current token does not have a value.
+	 * @throws NumberFormatException if the current value is a string which is not a number. */
+	public int getInt () {
+		switch (token) {
+		case stringValue:
+			return Integer.parseInt(stringValue);
+		case doubleValue:
+			return (int)doubleValue;
+		case longValue:
+			return (int)longValue;
+		case booleanValue:
+			return longValue != 0 ? 1 : 0;
+		}
+		throw new IllegalStateException("Value cannot be converted to int: " + token);
+	}
+
+	/** @throws IllegalStateException if the current token does not have a value. */
+	public boolean getBoolean () {
+		switch (token) {
+		case stringValue:
+			return stringValue.equalsIgnoreCase("true");
+		case doubleValue:
+			return doubleValue != 0;
+		case longValue:
+			return longValue != 0;
+		case booleanValue:
+			return longValue != 0;
+		}
+		throw new IllegalStateException("Value cannot be converted to boolean: " + token);
+	}
+
+	/** If the current token is {@link Token#objectStart} or {@link Token#arrayStart}, advances to the matching end token without
+	 * reading the contents into memory. Otherwise does nothing. */
+	public void skipValue () {
+		if (token != Token.objectStart && token != Token.arrayStart) return;
+		int depth = this.depth - 1;
+		while (true) {
+			Token token = next();
+			if (token == null) throw new SerializationException("Error parsing JSON, unexpected end of input.");
+			if ((token == Token.objectEnd || token == Token.arrayEnd) && this.depth == depth) return;
+		}
+	}
+
+	/** Reads the current value into a DOM. If the current token is {@link Token#objectStart} or {@link Token#arrayStart}, the
+	 * reader is advanced to the matching end token. If {@link #next()} has not been called yet, the first value is read.
+	 * @return The value, or null if the end of the input was reached.
+	 * @throws IllegalStateException if the current token is an end token. */
+	public JsonValue readValue () {
+		if (token == null && next() == null) return null;
+		JsonValue root = newValue();
+		if (root.type() != ValueType.object && root.type() != ValueType.array) return root;
+
+		Array<JsonValue> elements = new Array(8);
+		Array<JsonValue> lastChild = new Array(8);
+		elements.add(root);
+		lastChild.add(null);
+		while (true) {
+			Token token = next();
+			if (token == null) throw new SerializationException("Error parsing JSON, unexpected end of input.");
+			if (token == Token.objectEnd || token == Token.arrayEnd) {
+				elements.pop();
+				lastChild.pop();
+				if (elements.size == 0) return root;
+				continue;
+			}
+			JsonValue value = newValue();
+			JsonValue parent = elements.peek(), last = lastChild.peek();
+			if (last == null)
+				parent.child = value;
+			else {
+				last.next = value;
+				value.prev = last;
+			}
+			parent.size++;
+			lastChild.set(lastChild.size - 1, value);
+			if (token == Token.objectStart || token == Token.arrayStart) {
+				elements.add(value);
+				lastChild.add(null);
+			}
+		}
+	}
+
+	private JsonValue newValue () {
+		JsonValue value;
+		switch (token) {
+		case objectStart:
+			value = new JsonValue(ValueType.object);
+			break;
+		case arrayStart:
+			value = new JsonValue(ValueType.array);
+			break;
+		case stringValue:
+			value = new JsonValue(stringValue);
+			break;
+		case doubleValue:
+			value = new JsonValue(doubleValue);
+			break;
+		case longValue:
+			value = new JsonValue(longValue);
+			break;
+		case booleanValue:
+			value = new JsonValue(longValue != 0);
+			break;
+		case nullValue:
+			value = new JsonValue(ValueType.nullValue);
+			break;
+		default:
+			throw new IllegalStateException("Current token is not the start of a value: " + token);
+		}
+		value.setName(name);
+		return value;
+	}
+}
@@ -30,10 +30,11 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.BaseJsonPullReader.Token;
 import com.badlogic.gdx.utils.JsonValue.PrettyPrintSettings;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
 import com.badlogic.gdx.utils.JsonWriter.OutputType;
 import com.badlogic.gdx.utils.ObjectMap.Entry;
-import com.badlogic.gdx.utils.OrderedMap.OrderedMapValues;
 import com.badlogic.gdx.utils.reflect.ArrayReflection;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.badlogic.gdx.utils.reflect.Constructor;
@@ -55,6 +56,7 @@ public class Json {
 	private boolean enumNames = true;
 	private Serializer defaultSerializer;
 	private final ObjectMap<Class, OrderedMap<String, FieldMetadata>> typeToFields = new ObjectMap();
+	private final ObjectMap<Class, FieldMetadata[]> typeToFieldArray = new ObjectMap();
 	private final ObjectMap<String, Class> tagToClass = new ObjectMap();
 	private final ObjectMap<Class, String> classToTag = new ObjectMap();
 	private final ObjectMap<Class, Serializer> classToSerializer = new ObjectMap();
@@ -174,12 +176,33 @@ public class Json {
 				}
 			}
 
-			nameToField.put(field.getName(), new FieldMetadata(field));
+			FieldMetadata metadata = new FieldMetadata(field, newFieldAccessor(field));
+			metadata.index = nameToField.size;
+			nameToField.put(field.getName(), metadata);
 		}
 		typeToFields.put(type, nameToField);
 		return nameToField;
 	}
 
+	/** Returns the fields of the type in the same order as {@link #getFields(Class)}. */
+	private FieldMetadata[] getFieldArray (Class type) {
+		FieldMetadata[] fieldArray = typeToFieldArray.get(type);
+		if (fieldArray != null) return fieldArray;
+		OrderedMap<String, FieldMetadata> fields = getFields(type);
+		fieldArray = new FieldMetadata[fields.size];
+		int i = 0;
+		for (FieldMetadata metadata : fields.values())
+			fieldArray[i++] = metadata;
+		typeToFieldArray.put(type, fieldArray);
+		return fieldArray;
+	}
+
+	/** Returns the accessor used to read and write the field. Override to access fields faster than with reflection, e.g. with
+	 * generated code. Called once per field and class. */
+	protected FieldAccessor newFieldAccessor (Field field) {
+		return new FieldAccessor(field);
+	}
+
 	public String toJson (Object object) {
 		return toJson(object, object == null ? null : object.getClass(), (Class)null);
 	}
@@ -258,21 +281,59 @@ public class Json {
 
 		Object[] defaultValues = getDefaultValues(type);
 
-		OrderedMap<String, FieldMetadata> fields = getFields(type);
-		int i = 0;
-		for (FieldMetadata metadata : new OrderedMapValues<FieldMetadata>(fields)) {
+		FieldMetadata[] fields = getFieldArray(type);
+		for (int i = 0, n = fields.length; i < n; i++) {
+			FieldMetadata metadata = fields[i];
 			Field field = metadata.field;
+			FieldAccessor accessor = metadata.accessor;
 			try {
-				Object value = field.get(object);
-				if (defaultValues != null) {
-					Object defaultValue = defaultValues[i++];
-					if (value == null && defaultValue == null) continue;
-					if (value != null && defaultValue != null) {
-						if (value.equals(defaultValue)) continue;
-						if (value.getClass().isArray() && defaultValue.getClass().isArray()) {
-							equals1[0] = value;
-							equals2[0] = defaultValue;
-							if (Arrays.deepEquals(equals1, equals2)) continue;
+				// Primitives are compared to the default value unboxed, so unchanged fields are skipped without boxing.
+				Object value;
+				switch (metadata.primitive) {
+				case FieldMetadata.BOOLEAN: {
+					boolean primitive = accessor.getBoolean(object);
+					if (defaultValues != null && primitive == (Boolean)defaultValues[i]) continue;
+					value = primitive;
+					break;
+				}
+				case FieldMetadata.INT: {
+					int primitive = accessor.getInt(object);
+					if (defaultValues != null && primitive == (Integer)defaultValues[i]) continue;
+					value = primitive;
+					break;
+				}
+				case FieldMetadata.LONG: {
+					long primitive = accessor.getLong(object);
+					if (defaultValues != null && primitive == (Long)defaultValues[i]) continue;
+					value = primitive;
+					break;
+				}
+				case FieldMetadata.FLOAT: {
+					float primitive = accessor.getFloat(object);
+					if (defaultValues != null && Float.floatToIntBits(primitive) == Float.floatToIntBits((Float)defaultValues[i]))
+						continue;
+					value = primitive;
+					break;
+				}
+				case FieldMetadata.DOUBLE: {
+					double primitive = accessor.getDouble(object);
+					if (defaultValues != null
+						&& Double.doubleToLongBits(primitive) == Double.doubleToLongBits((Double)defaultValues[i])) continue;
+					value = primitive;
+					break;
+				}
+				default:
+					value = accessor.get(object);
+					if (defaultValues != null) {
+						Object defaultValue = defaultValues[i];
+						if (value == null && defaultValue == null) continue;
+						if (value != null && defaultValue != null) {
+							if (value.equals(defaultValue)) continue;
+							if (value.getClass().isArray() && defaultValue.getClass().isArray()) {
+								equals1[0] = value;
+								equals2[0] = defaultValue;
+								if (Arrays.deepEquals(equals1, equals2)) continue;
+							}
 						}
 					}
 				}
@@ -766,8 +827,12 @@ public class Json {
 	public void readFields (Object object, JsonValue jsonMap) {
 		Class type = object.getClass();
 		ObjectMap<String, FieldMetadata> fields = getFields(type);
+		FieldMetadata[] fieldArray = getFieldArray(type);
+		int nextIndex = 0;
 		for (JsonValue child = jsonMap.child; child != null; child = child.next) {
-			FieldMetadata metadata = fields.get(child.name());
+			// Fields are usually written in order, so try the field after the previous one before looking up the name.
+			FieldMetadata metadata = nextIndex < fieldArray.length ? fieldArray[nextIndex] : null;
+			if (metadata == null || !metadata.field.getName().equals(child.name())) metadata = fields.get(child.name());
 			if (metadata == null) {
 				if (ignoreUnknownFields) {
 					if (debug) System.out.println("Ignoring unknown field: " + child.name() + " (" + type.getName() + ")");
@@ -775,9 +840,11 @@ public class Json {
 				} else
 					throw new SerializationException("Field not found: " + child.name() + " (" + type.getName() + ")");
 			}
+			nextIndex = metadata.index + 1;
 			Field field = metadata.field;
 			try {
-				field.set(object, readValue(field.getType(), metadata.elementType, child));
+				if (!readPrimitive(object, metadata, child))
+					metadata.accessor.set(object, readValue(field.getType(), metadata.elementType, child));
 			} catch (ReflectionException ex) {
 				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
 			} catch (SerializationException ex) {
@@ -791,6 +858,63 @@ public class Json {
 		}
 	}
 
+	/** Sets a primitive field from a JSON number or boolean without boxing.
+	 * @return false if the value needs the conversions of {@link #readValue(Class, Class, JsonValue)}. */
+	private boolean readPrimitive (Object object, FieldMetadata metadata, JsonValue jsonValue) throws ReflectionException {
+		if (metadata.primitive == 0 || classToSerializer.containsKey(metadata.field.getType())) return false;
+		FieldAccessor accessor = metadata.accessor;
+		switch (metadata.primitive) {
+		case FieldMetadata.BOOLEAN:
+			if (!jsonValue.isBoolean()) return false;
+			accessor.setBoolean(object, jsonValue.asBoolean());
+			return true;
+		}
+		if (!jsonValue.isNumber()) return false;
+		switch (metadata.primitive) {
+		case FieldMetadata.INT:
+			accessor.setInt(object, jsonValue.asInt());
+			break;
+		case FieldMetadata.LONG:
+			accessor.setLong(object, jsonValue.asLong());
+			break;
+		case FieldMetadata.FLOAT:
+			accessor.setFloat(object, jsonValue.asFloat());
+			break;
+		case FieldMetadata.DOUBLE:
+			accessor.setDouble(object, jsonValue.asDouble());
+			break;
+		}
+		return true;
+	}
+
+	/** @see #readPrimitive(Object, FieldMetadata, JsonValue) */
+	private boolean readPrimitive (Object object, FieldMetadata metadata, BaseJsonPullReader reader) throws ReflectionException {
+		if (metadata.primitive == 0 || classToSerializer.containsKey(metadata.field.getType())) return false;
+		FieldAccessor accessor = metadata.accessor;
+		switch (metadata.primitive) {
+		case FieldMetadata.BOOLEAN:
+			if (reader.getToken() != Token.booleanValue) return false;
+			accessor.setBoolean(object, reader.getBoolean());
+			return true;
+		}
+		if (!reader.isNumber()) return false;
+		switch (metadata.primitive) {
+		case FieldMetadata.INT:
+			accessor.setInt(object, reader.getInt());
+			break;
+		case FieldMetadata.LONG:
+			accessor.setLong(object, reader.getLong());
+			break;
+		case FieldMetadata.FLOAT:
+			accessor.setFloat(object, reader.getFloat());
+			break;
+		case FieldMetadata.DOUBLE:
+			accessor.setDouble(object, reader.getDouble());
+			break;
+		}
+		return true;
+	}
+
 	/** @param type May be null if the type is unknown.
 	 * @return May be null. */
 	public <T> T readValue (String name, Class<T> type, JsonValue jsonMap) {
@@ -986,6 +1110,190 @@ public class Json {
 		return null;
 	}
 
+	/** @param type May be null if the type is unknown.
+	 * @return May be null.
+	 * @see #readValue(Class, Class, BaseJsonPullReader) */
+	public <T> T readValue (Class<T> type, BaseJsonPullReader reader) {
+		return (T)readValue(type, null, reader);
+	}
+
+	/** Reads the current value of the reader, advancing to the first token if none was read yet. When this returns, the current
+	 * token is the last token of the value. Objects, maps, arrays and collections are read directly from the reader without
+	 * building a {@link JsonValue} DOM. Values which are read by a {@link Serializer}, {@link Serializable} objects, values of
+	 * unknown type and values which need conversion are read into a DOM first and then deserialized as usual.
+	 * <p>
+	 * The class name written to the {@link #setTypeName(String) type name} field is only recognized when it is the first member of
+	 * the object, as it is when written by this class.
+	 * @param type May be null if the type is unknown.
+	 * @param elementType May be null if the type is unknown.
+	 * @return May be null. */
+	public <T> T readValue (Class<T> type, Class elementType, BaseJsonPullReader reader) {
+		Token token = reader.getToken();
+		if (token == null) {
+			token = reader.next();
+			if (token == null) return null;
+		}
+		switch (token) {
+		case objectStart:
+			return (T)readObject(type, elementType, reader);
+		case arrayStart:
+			return (T)readArray(type, elementType, reader);
+		case objectEnd:
+		case arrayEnd:
+			throw new IllegalStateException("Current token is not the start of a value: " + token);
+		}
+
+		if (type != null && classToSerializer.get(type) != null) return (T)readValue(type, elementType, reader.readValue());
+		switch (token) {
+		case doubleValue:
+		case longValue:
+			try {
+				if (type == null || type == float.class || type == Float.class) return (T)(Float)reader.getFloat();
+				if (type == int.class || type == Integer.class) return (T)(Integer)reader.getInt();
+				if (type == long.class || type == Long.class) return (T)(Long)reader.getLong();
+				if (type == double.class || type == Double.class) return (T)(Double)reader.getDouble();
+			} catch (NumberFormatException ignored) {
+			}
+			break;
+		case booleanValue:
+			if (type == null || type == boolean.class || type == Boolean.class) return (T)(Boolean)reader.getBoolean();
+			break;
+		case stringValue:
+			if (type == null || type == String.class) return (T)reader.getString();
+			break;
+		case nullValue:
+			return null;
+		}
+		return (T)readValue(type, elementType, reader.readValue());
+	}
+
+	private Object readObject (Class type, Class elementType, BaseJsonPullReader reader) {
+		Token token = reader.next();
+		if (typeName != null && token == Token.stringValue && typeName.equals(reader.getName())) {
+			String className = reader.getString();
+			type = getClass(className);
+			if (type == null) {
+				try {
+					type = ClassReflection.forName(className);
+				} catch (ReflectionException ex) {
+					throw new SerializationException(ex);
+				}
+			}
+			token = reader.next();
+		}
+
+		if (type == null || type == String.class || type == Integer.class || type == Boolean.class || type == Float.class
+			|| type == Long.class || type == Double.class || type == Short.class || type == Byte.class || type == Character.class
+			|| ClassReflection.isAssignableFrom(Enum.class, type)
+			|| (typeName != null && ClassReflection.isAssignableFrom(Collection.class, type)) || classToSerializer.get(type) != null)
+			return readValue(type, elementType, readMembers(reader, token));
+
+		Object object = newInstance(type);
+
+		if (object instanceof Serializable) {
+			((Serializable)object).read(this, readMembers(reader, token));
+			return object;
+		}
+
+		// JSON object special cases.
+		if (object instanceof ObjectMap) {
+			ObjectMap result = (ObjectMap)object;
+			for (; token != Token.objectEnd; token = reader.next())
+				result.put(reader.getName(), readValue(elementType, null, reader));
+			return result;
+		}
+		if (object instanceof ArrayMap) {
+			ArrayMap result = (ArrayMap)object;
+			for (; token != Token.objectEnd; token = reader.next())
+				result.put(reader.getName(), readValue(elementType, null, reader));
+			return result;
+		}
+		if (object instanceof Map) {
+			Map result = (Map)object;
+			for (; token != Token.objectEnd; token = reader.next())
+				result.put(reader.getName(), readValue(elementType, null, reader));
+			return result;
+		}
+
+		ObjectMap<String, FieldMetadata> fields = getFields(type);
+		for (; token != Token.objectEnd; token = reader.next()) {
+			FieldMetadata metadata = fields.get(reader.getName());
+			if (metadata == null) {
+				if (ignoreUnknownFields) {
+					if (debug) System.out.println("Ignoring unknown field: " + reader.getName() + " (" + type.getName() + ")");
+					reader.skipValue();
+					continue;
+				} else
+					throw new SerializationException("Field not found: " + reader.getName() + " (" + type.getName() + ")");
+			}
+			Field field = metadata.field;
+			try {
+				if (!readPrimitive(object, metadata, reader))
+					metadata.accessor.set(object, readValue(field.getType(), metadata.elementType, reader));
+			} catch (ReflectionException ex) {
+				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
+			} catch (SerializationException ex) {
+				ex.addTrace(field.getName() + " (" + type.getName() + ")");
+				throw ex;
+			} catch (RuntimeException runtimeEx) {
+				SerializationException ex = new SerializationException(runtimeEx);
+				ex.addTrace(field.getName() + " (" + type.getName() + ")");
+				throw ex;
+			}
+		}
+		return object;
+	}
+
+	private Object readArray (Class type, Class elementType, BaseJsonPullReader reader) {
+		if (type != null && classToSerializer.get(type) != null) return readValue(type, elementType, reader.readValue());
+
+		// JSON array special cases.
+		if (type == null || type == Object.class) type = Array.class;
+		if (ClassReflection.isAssignableFrom(Array.class, type)) {
+			Array result = type == Array.class ? new Array() : (Array)newInstance(type);
+			for (Token token = reader.next(); token != Token.arrayEnd; token = reader.next())
+				result.add(readValue(elementType, null, reader));
+			return result;
+		}
+		if (ClassReflection.isAssignableFrom(Collection.class, type)) {
+			Collection result = type.isInterface() ? new ArrayList() : (Collection)newInstance(type);
+			for (Token token = reader.next(); token != Token.arrayEnd; token = reader.next())
+				result.add(readValue(elementType, null, reader));
+			return result;
+		}
+		if (type.isArray()) {
+			Class componentType = type.getComponentType();
+			if (elementType == null) elementType = componentType;
+			Array values = new Array();
+			for (Token token = reader.next(); token != Token.arrayEnd; token = reader.next())
+				values.add(readValue(elementType, null, reader));
+			Object result = ArrayReflection.newInstance(componentType, values.size);
+			for (int i = 0, n = values.size; i < n; i++)
+				ArrayReflection.set(result, i, values.get(i));
+			return result;
+		}
+		throw new SerializationException("Unable to convert value to required type: array (" + type.getName() + ")");
+	}
+
+	/** Reads the remaining members of the current object into a DOM.
+	 * @param token The current token, the first remaining member or {@link Token#objectEnd}. */
+	private JsonValue readMembers (BaseJsonPullReader reader, Token token) {
+		JsonValue object = new JsonValue(ValueType.object);
+		JsonValue last = null;
+		for (; token != Token.objectEnd; token = reader.next()) {
+			JsonValue child = reader.readValue();
+			if (last == null)
+				object.child = child;
+			else {
+				last.next = child;
+				child.prev = last;
+			}
+			last = child;
+			object.size++;
+		}
+		return object;
+	}
+
 	private String convertToString (Enum e) {
 		return enumNames ? e.name() : e.toString();
 	}
@@ -1049,17 +1357,93 @@ public class Json {
 	}
 
 	static private class FieldMetadata {
+		static final int BOOLEAN = 1, INT = 2, LONG = 3, FLOAT = 4, DOUBLE = 5;
+
 		Field field;
+		FieldAccessor accessor;
 		Class elementType;
+		/** The index in {@link Json#getFields(Class)}. */
+		int index;
+		/** The type of a primitive field with an unboxed path, else 0. */
+		int primitive;
 
-		public FieldMetadata (Field field) {
+		public FieldMetadata (Field field, FieldAccessor accessor) {
 			this.field = field;
+			this.accessor = accessor;
+			Class type = field.getType();
+			if (type == boolean.class)
+				primitive = BOOLEAN;
+			else if (type == int.class)
+				primitive = INT;
+			else if (type == long.class)
+				primitive = LONG;
+			else if (type == float.class)
+				primitive = FLOAT;
+			else if (type == double.class) primitive = DOUBLE;
 			int index = (ClassReflection.isAssignableFrom(ObjectMap.class, field.getType()) || ClassReflection.isAssignableFrom(
 				Map.class, field.getType())) ? 1 : 0;
 			this.elementType = field.getElementType(index);
 		}
 	}
 
+	/** Reads and writes the value of a field for {@link Json}. The primitive methods are only used for fields of that type and
+	 * avoid boxing. The default implementation uses reflection, see {@link Json#newFieldAccessor(Field)} to provide another. */
+	static public class FieldAccessor {
+		public final Field field;
+
+		public FieldAccessor (Field field) {
+			this.field = field;
+		}
+
+		public Object get (Object object) throws ReflectionException {
+			return field.get(object);
+		}
+
+		public void set (Object object, Object value) throws ReflectionException {
+			field.set(object, value);
+		}
+
+		public boolean getBoolean (Object object) throws ReflectionException {
+			return field.getBoolean(object);
+		}
+
+		public void setBoolean (Object object, boolean value) throws ReflectionException {
+			field.setBoolean(object, value);
+		}
+
+		public int getInt (Object object) throws ReflectionException {
+			return field.getInt(object);
+		}
+
+		public void setInt (Object object, int value) throws ReflectionException {
+			field.setInt(object, value);
+		}
+
+		public long getLong (Object object) throws ReflectionException {
+			return field.getLong(object);
+		}
+
+		public void setLong (Object object, long value) throws ReflectionException {
+			field.setLong(object, value);
+		}
+
+		public float getFloat (Object object) throws ReflectionException {
+			return field.getFloat(object);
+		}
+
+		public void setFloat (Object object, float value) throws ReflectionException {
+			field.setFloat(object, value);
+		}
+
+		public double getDouble (Object object) throws ReflectionException {
+			return field.getDouble(object);
+		}
+
+		public void setDouble (Object object, double value) throws ReflectionException {
+			field.setDouble(object, value);
+		}
+	}
+
 	static public interface Serializer<T> {
 		public void write (Json json, T object, Class knownType);
 
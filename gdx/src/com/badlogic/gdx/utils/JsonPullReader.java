@@ -0,0 +1,428 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/** Pull parser for the JSON dialect read by {@link JsonReader}, including unquoted names and values, comments and newlines as
+ * separators. The input is read through a fixed size buffer, so documents of any size can be read with constant memory.
+ * @see BaseJsonPullReader */
+public class JsonPullReader extends BaseJsonPullReader {
+	static private final byte OBJECT = 1, ARRAY = 2;
+
+	private Reader reader;
+	private char[] buffer;
+	private int position, limit;
+
+	private char[] text = new char[64];
+	private int textLength;
+
+	private byte[] containers = new byte[16];
+	private String[] names = new String[16];
+	private boolean first, ended;
+	private int line = 1;
+
+	public JsonPullReader (String json) {
+		this(json.toCharArray());
+	}
+
+	public JsonPullReader (char[] data) {
+		this(data, 0, data.length);
+	}
+
+	/** Reads directly from the given array, which must not be modified while reading. */
+	public JsonPullReader (char[] data, int offset, int length) {
+		buffer = data;
+		position = offset;
+		limit = offset + length;
+	}
+
+	public JsonPullReader (InputStream input) {
+		this(newReader(input));
+	}
+
+	public JsonPullReader (FileHandle file) {
+		this(file.reader("UTF-8"));
+	}
+
+	public JsonPullReader (Reader reader) {
+		this(reader, 8192);
+	}
+
+	/** @param bufferSize The number of chars read from the reader at once. */
+	public JsonPullReader (Reader reader, int bufferSize) {
+		this.reader = reader;
+		buffer = new char[Math.max(bufferSize, 16)];
+	}
+
+	static private Reader newReader (InputStream input) {
+		try {
+			return new InputStreamReader(input, "UTF-8");
+		} catch (UnsupportedEncodingException ex) {
+			throw new SerializationException(ex);
+		}
+	}
+
+	@Override
+	public Token next () {
+		if (token == Token.objectEnd || token == Token.arrayEnd) names[depth] = null;
+		if (depth == 0) {
+			boolean ended = this.ended;
+			skipWhitespace();
+			if (!available(1)) {
+				token = null;
+				name = null;
+				return null;
+			}
+			if (ended) throw error("Unexpected content after the root value");
+			this.ended = true;
+			return value(null);
+		}
+
+		boolean separated = skipWhitespace();
+		if (!available(1)) throw error(containers[depth - 1] == OBJECT ? "Unmatched brace" : "Unmatched bracket");
+		char c = buffer[position];
+		byte container = containers[depth - 1];
+		if (c == (container == OBJECT ? '}' : ']')) {
+			position++;
+			depth--;
+			first = false;
+			name = names[depth];
+			token = container == OBJECT ? Token.objectEnd : Token.arrayEnd;
+			return token;
+		}
+		if (!first && !separated) throw error("Expected ',' or newline");
+		first = false;
+		if (container == ARRAY) return value(null);
+
+		// Object member name.
+		if (c == '"') {
+			position++;
+			quoted();
+		} else
+			unquoted(true);
+		String name = new String(text, 0, textLength);
+		skipWhitespace();
+		if (!available(1) || buffer[position] != ':') throw error("Expected ':'");
+		position++;
+		skipWhitespace();
+		if (!available(1)) throw error("Unmatched brace");
+		return value(name);
+	}
+
+	private Token value (String name) {
+		this.name = name;
+		stringValue = null;
+		char c = buffer[position];
+		switch (c) {
+		case '{':
+		case '[':
+			position++;
+			if (depth == containers.length) {
+				byte[] newContainers = new byte[depth * 2];
+				System.arraycopy(containers, 0, newContainers, 0, depth);
+				containers = newContainers;
+				String[] newNames = new String[depth * 2];
+				System.arraycopy(names, 0, newNames, 0, depth);
+				names = newNames;
+			}
+			containers[depth] = c == '{' ? OBJECT : ARRAY;
+			names[depth] = name;
+			depth++;
+			first = true;
+			token = c == '{' ? Token.objectStart : Token.arrayStart;
+			return token;
+		case '"':
+			position++;
+			quoted();
+			stringValue = new String(text, 0, textLength);
+			token = Token.stringValue;
+			return token;
+		case ':':
+		case ',':
+		case '}':
+		case ']':
+			throw error("Unexpected character: " + c);
+		}
+		unquoted(false);
+		token = classify();
+		return token;
+	}
+
+	/** Determines the type of an unquoted value in {@link #text} the same way as {@link JsonReader}. */
+	private Token classify () {
+		char[] text = this.text;
+		int length = textLength;
+		if (length == 4 && text[0] == 't' && text[1] == 'r' && text[2] == 'u' && text[3] == 'e') {
+			longValue = 1;
+			return Token.booleanValue;
+		}
+		if (length == 5 && text[0] == 'f' && text[1] == 'a' && text[2] == 'l' && text[3] == 's' && text[4] == 'e') {
+			longValue = 0;
+			return Token.booleanValue;
+		}
+		if (length == 4 && text[0] == 'n' && text[1] == 'u' && text[2] == 'l' && text[3] == 'l') return Token.nullValue;
+
+		boolean couldBeDouble = false, couldBeLong = true;
+		outer:
+		for (int i = 0; i < length; i++) {
+			switch (text[i]) {
+			case '0':
+			case '1':
+			case '2':
+			case '3':
+			case '4':
+			case '5':
+			case '6':
+			case '7':
+			case '8':
+			case '9':
+			case '-':
+			case '+':
+				break;
+			case '.':
+			case 'e':
+			case 'E':
+				couldBeDouble = true;
+				couldBeLong = false;
+				break;
+			default:
+				couldBeDouble = false;
+				couldBeLong = false;
+				break outer;
+			}
+		}
+		if (couldBeLong && parseLong(text, length)) return Token.longValue;
+		String value = new String(text, 0, length);
+		if (couldBeDouble) {
+			try {
+				doubleValue = Double.parseDouble(value);
+				return Token.doubleValue;
+			} catch (NumberFormatException ignored) {
+			}
+		} else if (couldBeLong) {
+			try {
+				longValue = Long.parseLong(value);
+				return Token.longValue;
+			} catch (NumberFormatException ignored) {
+			}
+		}
+		stringValue = value;
+		return Token.stringValue;
+	}
+
+	/** Parses a long without creating a string for the common case of an optional minus sign followed by up to 18 digits.
+	 * @return false if the text has another form, which is then parsed by {@link Long#parseLong(String)}. */
+	private boolean parseLong (char[] text, int length) {
+		int i = 0;
+		boolean negative = text[0] == '-';
+		if (negative) i++;
+		if (i == length || length - i > 18) return false;
+		long value = 0;
+		for (; i < length; i++) {
+			char c = text[i];
+			if (c < '0' || c > '9') return false;
+			value = value * 10 + (c - '0');
+		}
+		longValue = negative ? -value : value;
+		return true;
+	}
+
+	/** Reads a quoted string after the opening quote into {@link #text}, unescaping it. */
+	private void quoted () {
+		textLength = 0;
+		while (true) {
+			if (!available(1)) throw error("Unterminated string");
+			char c = buffer[position++];
+			if (c == '"') return;
+			if (c == '\\')
+				escape();
+			else {
+				if (c == '\n') line++;
+				append(c);
+			}
+		}
+	}
+
+	/** Reads an unquoted name or value into {@link #text}, unescaping it and trimming trailing spaces. */
+	private void unquoted (boolean isName) {
+		textLength = 0;
+		outer:
+		while (available(1)) {
+			char c = buffer[position];
+			switch (c) {
+			case '\\':
+				position++;
+				escape();
+				continue;
+			case '/':
+				if (available(2)) {
+					char next = buffer[position + 1];
+					if (next == '/' || next == '*') break outer;
+				}
+				break;
+			case ':':
+				if (isName) break outer;
+				break;
+			case '}':
+			case ']':
+			case ',':
+				if (!isName) break outer;
+				break;
+			case '\r':
+			case '\n':
+				break outer;
+			}
+			append(c);
+			position++;
+		}
+		while (textLength > 0 && text[textLength - 1] == ' ')
+			textLength--;
+		if (textLength == 0) throw error("Expected a " + (isName ? "name" : "value"));
+	}
+
+	private void escape () {
+		if (!available(1)) throw error("Unterminated escape sequence");
+		char c = buffer[position++];
+		switch (c) {
+		case 'u':
+			if (!available(4)) throw error("Unterminated escape sequence");
+			try {
+				c = (char)Integer.parseInt(new String(buffer, position, 4), 16);
+			} catch (NumberFormatException ex) {
+				throw error("Illegal unicode escape: \\u" + new String(buffer, position, 4));
+			}
+			position += 4;
+			break;
+		case '"':
+		case '\\':
+		case '/':
+			break;
+		case 'b':
+			c = '\b';
+			break;
+		case 'f':
+			c = '\f';
+			break;
+		case 'n':
+			c = '\n';
+			break;
+		case 'r':
+			c = '\r';
+			break;
+		case 't':
+			c = '\t';
+			break;
+		default:
+			throw error("Illegal escaped character: \\" + c);
+		}
+		append(c);
+	}
+
+	private void append (char c) {
+		if (textLength == text.length) {
+			char[] newText = new char[textLength * 2];
+			System.arraycopy(text, 0, newText, 0, textLength);
+			text = newText;
+		}
+		text[textLength++] = c;
+	}
+
+	/** Skips whitespace, comments and commas.
+	 * @return true if a comma or newline was skipped. */
+	private boolean skipWhitespace () {
+		boolean separated = false;
+		while (available(1)) {
+			char c = buffer[position];
+			switch (c) {
+			case '\n':
+				line++;
+				separated = true;
+				position++;
+				continue;
+			case ',':
+				separated = true;
+				position++;
+				continue;
+			case '\r':
+			case '\t':
+			case ' ':
+				position++;
+				continue;
+			case '/':
+				if (!available(2)) return separated;
+				char next = buffer[position + 1];
+				if (next == '/') {
+					position += 2;
+					while (available(1) && buffer[position] != '\n')
+						position++;
+					continue;
+				}
+				if (next == '*') {
+					position += 2;
+					while (true) {
+						if (!available(2)) throw error("Unterminated comment");
+						if (buffer[position] == '*' && buffer[position + 1] == '/') break;
+						if (buffer[position] == '\n') line++;
+						position++;
+					}
+					position += 2;
+					continue;
+				}
+			}
+			return separated;
+		}
+		return separated;
+	}
+
+	/** Ensures the buffer holds at least the given number of unread chars, reading more from the reader if necessary.
+	 * @return false if the end of the input is reached first. */
+	private boolean available (int count) {
+		if (limit - position >= count) return true;
+		if (reader == null) return false;
+		try {
+			if (position > 0) {
+				System.arraycopy(buffer, position, buffer, 0, limit - position);
+				limit -= position;
+				position = 0;
+			}
+			while (limit < count) {
+				int read = reader.read(buffer, limit, buffer.length - limit);
+				if (read == -1) return false;
+				limit += read;
+			}
+			return true;
+		} catch (IOException ex) {
+			throw new SerializationException("Error reading JSON", ex);
+		}
+	}
+
+	private SerializationException error (String message) {
+		return new SerializationException("Error parsing JSON on line " + line + ": " + message);
+	}
+
+	@Override
+	public void close () {
+		StreamUtils.closeQuietly(reader);
+	}
+}
@@ -32,11 +32,23 @@ import com.badlogic.gdx.utils.JsonWriter.OutputType;
  * for (JsonValue entry = map.child; entry != null; entry = entry.next)
  * 	System.out.println(entry.name + " = " + entry.asString());
  * </pre>
+ * <p>
+ * Objects and arrays with more than {@link #indexThreshold} children build an index the first time a child is looked up by name
+ * or index, so that {@link #get(String)} and {@link #get(int)} don't walk the list. The index is discarded when the children are
+ * changed through this class, or when {@link #child} or {@link #size} no longer match the list it was built from. Code that
+ * renames children, or relinks them directly without changing either, must call {@link #clearIndex()}. Because the index is
+ * built by the lookup, {@link #get(String)} and {@link #get(int)} modify the value and must not be called by several threads at
+ * once, even when nothing else changes it.
  * @author Nathan Sweet */
 public class JsonValue implements Iterable<JsonValue> {
+	/** Objects and arrays with more children than this are indexed on the first lookup by name or index. */
+	static public int indexThreshold = 32;
+
 	private ValueType type;
 
-	private String stringValue;
+	/** The string of a string value. Objects and arrays have none and keep their lazily created {@link ChildIndex} here instead,
+	 * so the index doesn't make every value larger. */
+	private Object stringValue;
 	private double doubleValue;
 	private long longValue;
 
@@ -66,10 +78,20 @@ public class JsonValue implements Iterable<JsonValue> {
 		set(value);
 	}
 
-	/** Returns the child at the specified index. This requires walking the linked list to the specified entry, see
-	 * {@link JsonValue} for how to iterate efficiently.
-	 * @return May be null. */
+	/** Returns the child at the specified index. For small objects and arrays this requires walking the linked list to the
+	 * specified entry, see {@link JsonValue} for how to iterate efficiently. Not thread-safe, large objects and arrays build their
+	 * index on the first lookup.
+	 * @return May be null, also if the index is negative. */
 	public JsonValue get (int index) {
+		if (index < 0) return null;
+		if (size > indexThreshold) {
+			if (index >= size) return null;
+			ChildIndex childIndex = childIndex();
+			if (childIndex != null) {
+				if (childIndex.values == null) childIndex.indexValues(child, size);
+				return childIndex.values[index];
+			}
+		}
 		JsonValue current = child;
 		while (current != null && index > 0) {
 			index--;
@@ -78,15 +100,49 @@ public class JsonValue implements Iterable<JsonValue> {
 		return current;
 	}
 
-	/** Returns the child with the specified name.
+	/** Returns the child with the specified name, ignoring case. If there are several, the first one is returned. Not thread-safe,
+	 * large objects and arrays build their index on the first lookup.
 	 * @return May be null. */
 	public JsonValue get (String name) {
+		if (size > indexThreshold) {
+			ChildIndex childIndex = childIndex();
+			if (childIndex != null) {
+				if (childIndex.names == null) childIndex.indexNames(child);
+				JsonValue value = childIndex.names.get(ChildIndex.fold(name));
+				if (value == null || name.equalsIgnoreCase(value.name)) return value;
+				// The child found was renamed since the index was built.
+				childIndex.indexNames(child);
+				return childIndex.names.get(ChildIndex.fold(name));
+			}
+		}
 		JsonValue current = child;
 		while (current != null && !current.name.equalsIgnoreCase(name))
 			current = current.next;
 		return current;
 	}
 
+	/** @return null if this value still has a string, from before its type was changed to object or array */
+	private ChildIndex childIndex () {
+		if (stringValue == null)
+			stringValue = new ChildIndex();
+		else if (!(stringValue instanceof ChildIndex)) //
+			return null;
+		ChildIndex childIndex = (ChildIndex)stringValue;
+		if (childIndex.child == child && childIndex.size == size) return childIndex;
+		childIndex.child = child;
+		childIndex.size = size;
+		childIndex.names = null;
+		childIndex.values = null;
+		return childIndex;
+	}
+
+	/** Discards the index used to look up children of large objects and arrays. Only needs to be called after renaming a child,
+	 * or after relinking {@link #child}, {@link #next} or {@link #prev} directly in a way that keeps the first child and the size
+	 * unchanged. */
+	public void clearIndex () {
+		if (stringValue instanceof ChildIndex) stringValue = null;
+	}
+
 	/** Returns true if a child with the specified name exists. */
 	public boolean has (String name) {
 		return get(name) != null;
@@ -96,11 +152,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	 * {@link JsonValue} for how to iterate efficiently.
 	 * @throws IllegalArgumentException if the child was not found. */
 	public JsonValue require (int index) {
-		JsonValue current = child;
-		while (current != null && index > 0) {
-			index--;
-			current = current.next;
-		}
+		JsonValue current = get(index);
 		if (current == null) throw new IllegalArgumentException("Child not found with index: " + index);
 		return current;
 	}
@@ -108,9 +160,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	/** Returns the child with the specified name.
 	 * @throws IllegalArgumentException if the child was not found. */
 	public JsonValue require (String name) {
-		JsonValue current = child;
-		while (current != null && !current.name.equalsIgnoreCase(name))
-			current = current.next;
+		JsonValue current = get(name);
 		if (current == null) throw new IllegalArgumentException("Child not found with name: " + name);
 		return current;
 	}
@@ -129,6 +179,7 @@ public class JsonValue implements Iterable<JsonValue> {
 			if (child.next != null) child.next.prev = child.prev;
 		}
 		size--;
+		clearIndex();
 		return child;
 	}
 
@@ -145,6 +196,7 @@ public class JsonValue implements Iterable<JsonValue> {
 			if (child.next != null) child.next.prev = child.prev;
 		}
 		size--;
+		clearIndex();
 		return child;
 	}
 
@@ -160,7 +212,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	public String asString () {
 		switch (type) {
 		case stringValue:
-			return stringValue;
+			return (String)stringValue;
 		case doubleValue:
 			return Double.toString(doubleValue);
 		case longValue:
@@ -178,7 +230,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	public float asFloat () {
 		switch (type) {
 		case stringValue:
-			return Float.parseFloat(stringValue);
+			return Float.parseFloat((String)stringValue);
 		case doubleValue:
 			return (float)doubleValue;
 		case longValue:
@@ -194,7 +246,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	public double asDouble () {
 		switch (type) {
 		case stringValue:
-			return Double.parseDouble(stringValue);
+			return Double.parseDouble((String)stringValue);
 		case doubleValue:
 			return doubleValue;
 		case longValue:
@@ -210,7 +262,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	public long asLong () {
 		switch (type) {
 		case stringValue:
-			return Long.parseLong(stringValue);
+			return Long.parseLong((String)stringValue);
 		case doubleValue:
 			return (long)doubleValue;
 		case longValue:
@@ -226,7 +278,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	public int asInt () {
 		switch (type) {
 		case stringValue:
-			return Integer.parseInt(stringValue);
+			return Integer.parseInt((String)stringValue);
 		case doubleValue:
 			return (int)doubleValue;
 		case longValue:
@@ -242,7 +294,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	public boolean asBoolean () {
 		switch (type) {
 		case stringValue:
-			return stringValue.equalsIgnoreCase("true");
+			return ((String)stringValue).equalsIgnoreCase("true");
 		case doubleValue:
 			return doubleValue != 0;
 		case longValue:
@@ -258,7 +310,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	public byte asByte () {
 		switch (type) {
 		case stringValue:
-			return Byte.parseByte(stringValue);
+			return Byte.parseByte((String)stringValue);
 		case doubleValue:
 			return (byte)doubleValue;
 		case longValue:
@@ -274,7 +326,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	public short asShort () {
 		switch (type) {
 		case stringValue:
-			return Short.parseShort(stringValue);
+			return Short.parseShort((String)stringValue);
 		case doubleValue:
 			return (short)doubleValue;
 		case longValue:
@@ -290,7 +342,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	public char asChar () {
 		switch (type) {
 		case stringValue:
-			return stringValue.length() == 0 ? 0 : stringValue.charAt(0);
+			return ((String)stringValue).length() == 0 ? 0 : ((String)stringValue).charAt(0);
 		case doubleValue:
 			return (char)doubleValue;
 		case longValue:
@@ -311,7 +363,7 @@ public class JsonValue implements Iterable<JsonValue> {
 			String v;
 			switch (value.type) {
 			case stringValue:
-				v = value.stringValue;
+				v = (String)value.stringValue;
 				break;
 			case doubleValue:
 				v = Double.toString(value.doubleValue);
@@ -343,7 +395,7 @@ public class JsonValue implements Iterable<JsonValue> {
 			float v;
 			switch (value.type) {
 			case stringValue:
-				v = Float.parseFloat(value.stringValue);
+				v = Float.parseFloat((String)value.stringValue);
 				break;
 			case doubleValue:
 				v = (float)value.doubleValue;
@@ -372,7 +424,7 @@ public class JsonValue implements Iterable<JsonValue> {
 			double v;
 			switch (value.type) {
 			case stringValue:
-				v = Double.parseDouble(value.stringValue);
+				v = Double.parseDouble((String)value.stringValue);
 				break;
 			case doubleValue:
 				v = value.doubleValue;
@@ -401,7 +453,7 @@ public class JsonValue implements Iterable<JsonValue> {
 			long v;
 			switch (value.type) {
 			case stringValue:
-				v = Long.parseLong(value.stringValue);
+				v = Long.parseLong((String)value.stringValue);
 				break;
 			case doubleValue:
 				v = (long)value.doubleValue;
@@ -430,7 +482,7 @@ public class JsonValue implements Iterable<JsonValue> {
 			int v;
 			switch (value.type) {
 			case stringValue:
-				v = Integer.parseInt(value.stringValue);
+				v = Integer.parseInt((String)value.stringValue);
 				break;
 			case doubleValue:
 				v = (int)value.doubleValue;
@@ -459,7 +511,7 @@ public class JsonValue implements Iterable<JsonValue> {
 			boolean v;
 			switch (value.type) {
 			case stringValue:
-				v = Boolean.parseBoolean(value.stringValue);
+				v = Boolean.parseBoolean((String)value.stringValue);
 				break;
 			case doubleValue:
 				v = value.doubleValue == 0;
@@ -488,7 +540,7 @@ public class JsonValue implements Iterable<JsonValue> {
 			byte v;
 			switch (value.type) {
 			case stringValue:
-				v = Byte.parseByte(value.stringValue);
+				v = Byte.parseByte((String)value.stringValue);
 				break;
 			case doubleValue:
 				v = (byte)value.doubleValue;
@@ -517,7 +569,7 @@ public class JsonValue implements Iterable<JsonValue> {
 			short v;
 			switch (value.type) {
 			case stringValue:
-				v = Short.parseShort(value.stringValue);
+				v = Short.parseShort((String)value.stringValue);
 				break;
 			case doubleValue:
 				v = (short)value.doubleValue;
@@ -546,7 +598,7 @@ public class JsonValue implements Iterable<JsonValue> {
 			char v;
 			switch (value.type) {
 			case stringValue:
-				v = value.stringValue.length() == 0 ? 0 : value.stringValue.charAt(0);
+				v = ((String)value.stringValue).length() == 0 ? 0 : ((String)value.stringValue).charAt(0);
 				break;
 			case doubleValue:
 				v = (char)value.doubleValue;
@@ -782,6 +834,7 @@ public class JsonValue implements Iterable<JsonValue> {
 
 	public void setType (ValueType type) {
 		if (type == null) throw new IllegalArgumentException("type cannot be null.");
+		clearIndex();
 		this.type = type;
 	}
 
@@ -1003,6 +1056,46 @@ public class JsonValue implements Iterable<JsonValue> {
 		object, array, stringValue, doubleValue, longValue, booleanValue, nullValue
 	}
 
+	/** Maps folded child names to the first child with that name and/or child indices to children. */
+	static private class ChildIndex {
+		JsonValue child;
+		int size;
+		ObjectMap<String, JsonValue> names;
+		JsonValue[] values;
+
+		void indexNames (JsonValue child) {
+			ObjectMap<String, JsonValue> names = new ObjectMap(size);
+			for (; child != null; child = child.next) {
+				if (child.name == null) continue;
+				String key = fold(child.name);
+				if (!names.containsKey(key)) names.put(key, child);
+			}
+			this.names = names;
+		}
+
+		void indexValues (JsonValue child, int size) {
+			JsonValue[] values = new JsonValue[size];
+			for (int i = 0; child != null && i < size; child = child.next)
+				values[i++] = child;
+			this.values = values;
+		}
+
+		/** Folds the case of each character the same way {@link String#equalsIgnoreCase(String)} compares them. Returns the
+		 * string itself if it is already folded. */
+		static String fold (String name) {
+			int i = 0, n = name.length();
+			for (; i < n; i++) {
+				char c = name.charAt(i);
+				if (Character.toLowerCase(Character.toUpperCase(c)) != c) break;
+			}
+			if (i == n) return name;
+			char[] chars = name.toCharArray();
+			for (; i < n; i++)
+				chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+			return new String(chars);
+		}
+	}
+
 	public JsonIterator iterator () {
 		return new JsonIterator();
 	}
@@ -1031,6 +1124,7 @@ public class JsonValue implements Iterable<JsonValue> {
 				if (current.next != null) current.next.prev = current.prev;
 			}
 			size--;
+			clearIndex();
 		}
 
 		public Iterator<JsonValue> iterator () {
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/** A queue of runnables that any number of threads can {@link #post(Runnable)} to without locking, and that a single thread, usually
+ * the rendering thread, {@link #run()}s in the order they were posted. The backends use it for
+ * {@link com.badlogic.gdx.Application#postRunnable(Runnable)}.
+ * <p>
+ * Posting swaps the tail of a linked list atomically, so posting threads never wait for each other or for the running thread, at
+ * the cost of a small node allocation per runnable. */
+public class RunnableQueue {
+	/** The last node posted, swapped by the posting threads. */
+	private final AtomicReference<Node> tail;
+	/** The last node run, its runnable is cleared. Only used by the running thread. */
+	private Node head;
+	private long timeLimit;
+
+	public RunnableQueue () {
+		head = new Node(null);
+		tail = new AtomicReference<Node>(head);
+	}
+
+	/** Adds a runnable to the queue, it can be called from any thread. */
+	public void post (Runnable runnable) {
+		if (runnable == null) throw new IllegalArgumentException("runnable cannot be null.");
+		Node node = new Node(runnable);
+		tail.getAndSet(node).next = node;
+	}
+
+	/** Runs the runnables posted before this call, stopping early once the time limit is exceeded. Runnables posted while running,
+	 * and the ones left by the time limit, are run by the next call. Must be called by a single thread at a time. If a runnable
+	 * throws an exception, it is propagated and the runnables after it are run by the next call.
+	 * @return whether any runnable was run */
+	public boolean run () {
+		Node last = tail.get(), head = this.head;
+		if (head == last) return false;
+		long end = timeLimit > 0 ? TimeUtils.nanoTime() + timeLimit : 0;
+		boolean ran = false;
+		while (head != last) {
+			Node next = head.next;
+			// the node after head is being posted, it will be linked by the next call
+			if (next == null) break;
+			this.head = head = next;
+			Runnable runnable = next.runnable;
+			next.runnable = null;
+			ran = true;
+			runnable.run();
+			if (end != 0 && TimeUtils.nanoTime() - end > 0) break;
+		}
+		return ran;
+	}
+
+	/** @return whether no runnable is waiting to be run, as seen by the calling thread */
+	public boolean isEmpty () {
+		return head.next == null;
+	}
+
+	/** Sets the maximum time spent by {@link #run()}. It is checked after each runnable, so the first one always runs and a slow
+	 * runnable can exceed it.
+	 * @param seconds the time limit, 0 for no limit */
+	public void setTimeLimit (float seconds) {
+		timeLimit = seconds > 0 ? (long)(seconds * 1000000000f) : 0;
+	}
+
+	public float getTimeLimit () {
+		return timeLimit / 1000000000f;
+	}
+
+	static private class Node {
+		volatile Node next;
+		Runnable runnable;
+
+		Node (Runnable runnable) {
+			this.runnable = runnable;
+		}
+	}
+}
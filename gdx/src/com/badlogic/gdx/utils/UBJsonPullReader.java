@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/** Pull parser for the UBJSON read by {@link UBJsonReader}. For best performance provide a buffered stream.
+ * @see BaseJsonPullReader */
+public class UBJsonPullReader extends BaseJsonPullReader {
+	static private final byte OBJECT = 1, ARRAY = 2;
+
+	/** @see UBJsonReader#oldFormat */
+	public boolean oldFormat = true;
+
+	private final DataInputStream input;
+	private byte[] bytes = new byte[64];
+
+	private byte[] containers = new byte[16];
+	/** The type of every value in the container, or 0 if each value has its own type. */
+	private byte[] valueTypes = new byte[16];
+	/** The number of values left in the container, or -1 if the container ends with a marker. */
+	private long[] remaining = new long[16];
+	private String[] names = new String[16];
+	private boolean ended;
+	/** A type byte read ahead when checking for a container's optimized format, or -1. */
+	private int nextType = -1;
+
+	public UBJsonPullReader (InputStream input) {
+		this.input = input instanceof DataInputStream ? (DataInputStream)input : new DataInputStream(input);
+	}
+
+	public UBJsonPullReader (FileHandle file) {
+		this(file.read(8192));
+	}
+
+	/** Reads from the given buffer's position up to its limit. The buffer's position is advanced while reading. */
+	public UBJsonPullReader (final ByteBuffer buffer) {
+		this(new InputStream() {
+			public int read () {
+				return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+			}
+
+			public int read (byte[] bytes, int offset, int length) {
+				if (!buffer.hasRemaining()) return -1;
+				length = Math.min(length, buffer.remaining());
+				buffer.get(bytes, offset, length);
+				return length;
+			}
+
+			public int available () {
+				return buffer.remaining();
+			}
+		});
+	}
+
+	@Override
+	public Token next () {
+		try {
+			if (token == Token.objectEnd || token == Token.arrayEnd) names[depth] = null;
+			stringValue = null;
+			if (depth == 0) {
+				if (ended) {
+					token = null;
+					name = null;
+					return null;
+				}
+				int type = input.read();
+				if (type == -1) {
+					token = null;
+					name = null;
+					return null;
+				}
+				ended = true;
+				return value(null, (byte)type);
+			}
+
+			int index = depth - 1;
+			byte container = containers[index];
+			if (remaining[index] == 0) return end(container);
+			byte type = 0;
+			if (remaining[index] == -1) {
+				type = readType();
+				if (type == (container == OBJECT ? '}' : ']')) return end(container);
+			} else
+				remaining[index]--;
+
+			if (container == ARRAY) return value(null, valueTypes[index] != 0 ? valueTypes[index] : type != 0 ? type : input.readByte());
+			String name = readString(true, type != 0 ? type : input.readByte());
+			return value(name, valueTypes[index] != 0 ? valueTypes[index] : input.readByte());
+		} catch (EOFException ex) {
+			throw new SerializationException("Error parsing UBJSON, unexpected end of input.", ex);
+		} catch (IOException ex) {
+			throw new SerializationException("Error reading UBJSON", ex);
+		}
+	}
+
+	private Token end (byte container) {
+		depth--;
+		name = names[depth];
+		token = container == OBJECT ? Token.objectEnd : Token.arrayEnd;
+		return token;
+	}
+
+	private Token value (String name, byte type) throws IOException {
+		this.name = name;
+		switch (type) {
+		case '{':
+			return start(OBJECT, name);
+		case '[':
+			return start(ARRAY, name);
+		case 'a':
+		case 'A': {
+			// FIXME: same as UBJsonReader, a/A is not following the specs.
+			byte dataType = input.readByte();
+			long size = type == 'A' ? readUInt() : (long)readUChar();
+			push(ARRAY, name, dataType, size);
+			token = Token.arrayStart;
+			return token;
+		}
+		case 'Z':
+			token = Token.nullValue;
+			return token;
+		case 'T':
+		case 'F':
+			longValue = type == 'T' ? 1 : 0;
+			token = Token.booleanValue;
+			return token;
+		case 'B':
+		case 'U':
+			return longValue(readUChar());
+		case 'i':
+			return longValue(oldFormat ? (long)input.readShort() : (long)input.readByte());
+		case 'I':
+			return longValue(oldFormat ? (long)input.readInt() : (long)input.readShort());
+		case 'l':
+			return longValue(input.readInt());
+		case 'L':
+			return longValue(input.readLong());
+		case 'd':
+			doubleValue = input.readFloat();
+			token = Token.doubleValue;
+			return token;
+		case 'D':
+			doubleValue = input.readDouble();
+			token = Token.doubleValue;
+			return token;
+		case 's':
+		case 'S':
+			stringValue = readString(false, type);
+			token = Token.stringValue;
+			return token;
+		}
+		throw new SerializationException("Error parsing UBJSON, unrecognized data type: " + (char)type);
+	}
+
+	private Token longValue (long value) {
+		longValue = value;
+		token = Token.longValue;
+		return token;
+	}
+
+	private Token start (byte container, String name) throws IOException {
+		byte valueType = 0;
+		long size = -1;
+		byte type = input.readByte();
+		if (type == '$') {
+			valueType = input.readByte();
+			type = input.readByte();
+		}
+		if (type == '#') {
+			size = readSize(false, input.readByte());
+			if (size < 0) throw new SerializationException("Error parsing UBJSON, unrecognized size type.");
+		} else if (valueType != 0)
+			throw new SerializationException("Error parsing UBJSON, typed container without a count.");
+		push(container, name, valueType, size);
+		if (size == -1) nextType = type & 0xFF;
+		token = container == OBJECT ? Token.objectStart : Token.arrayStart;
+		return token;
+	}
+
+	private void push (byte container, String name, byte valueType, long size) {
+		if (depth == containers.length) {
+			int newSize = depth * 2;
+			byte[] newContainers = new byte[newSize];
+			System.arraycopy(containers, 0, newContainers, 0, depth);
+			containers = newContainers;
+			byte[] newValueTypes = new byte[newSize];
+			System.arraycopy(valueTypes, 0, newValueTypes, 0, depth);
+			valueTypes = newValueTypes;
+			long[] newRemaining = new long[newSize];
+			System.arraycopy(remaining, 0, newRemaining, 0, depth);
+			remaining = newRemaining;
+			String[] newNames = new String[newSize];
+			System.arraycopy(names, 0, newNames, 0, depth);
+			names = newNames;
+		}
+		containers[depth] = container;
+		valueTypes[depth] = valueType;
+		remaining[depth] = size;
+		names[depth] = name;
+		depth++;
+	}
+
+	private byte readType () throws IOException {
+		if (nextType == -1) return input.readByte();
+		byte type = (byte)nextType;
+		nextType = -1;
+		return type;
+	}
+
+	private String readString (boolean sOptional, byte type) throws IOException {
+		long size = -1;
+		if (type == 'S')
+			size = readSize(true, input.readByte());
+		else if (type == 's')
+			size = (long)readUChar();
+		else if (sOptional) size = readSize(false, type);
+		if (size < 0) throw new SerializationException("Error parsing UBJSON, string expected.");
+		if (size == 0) return "";
+		if (size > bytes.length) bytes = new byte[(int)Math.max(size, bytes.length * 2)];
+		input.readFully(bytes, 0, (int)size);
+		return new String(bytes, 0, (int)size, "UTF-8");
+	}
+
+	private long readSize (boolean useIntOnError, byte type) throws IOException {
+		if (type == 'i') return (long)readUChar();
+		if (type == 'I') return (long)(input.readShort() & 0xFFFF);
+		if (type == 'l') return readUInt();
+		if (type == 'L') return input.readLong();
+		if (useIntOnError) {
+			long result = (long)(type & 0xFF) << 24;
+			result |= (long)(input.readByte() & 0xFF) << 16;
+			result |= (long)(input.readByte() & 0xFF) << 8;
+			result |= (long)(input.readByte() & 0xFF);
+			return result;
+		}
+		return -1;
+	}
+
+	private short readUChar () throws IOException {
+		return (short)(input.readByte() & 0xFF);
+	}
+
+	private long readUInt () throws IOException {
+		return input.readInt() & 0xFFFFFFFFL;
+	}
+
+	@Override
+	public void close () {
+		StreamUtils.closeQuietly(input);
+	}
+}
@@ -16,59 +16,331 @@
 
 package com.badlogic.gdx.utils.async;
 
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BinaryHeap;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Pool;
 
 /** Allows asnynchronous execution of {@link AsyncTask} instances on a separate thread. Needs to be disposed via a call to
  * {@link #dispose()} when no longer used, in which case the executor waits for running tasks to finish. Scheduled but not yet
  * running tasks will not be executed.
+ * <p>
+ * Tasks are executed in order of their priority, higher priorities first. In work-stealing mode every thread owns its own task
+ * queue: tasks submitted from within a running task are put into the queue of the current thread, other submissions are
+ * distributed across the queues, and threads that run out of work steal the highest priority task of another queue. This avoids
+ * contention on a single queue when submitting many small tasks.
+ * <p>
+ * {@link AsyncResult} instances are pooled. Tasks submitted with an {@link AsyncTaskListener} are reported back on the thread
+ * calling {@link #update()}, typically once per frame from the rendering thread, after which their result is freed.
  * @author badlogic */
 public class AsyncExecutor implements Disposable {
-	private final ExecutorService executor;
+	private final Worker[] workers;
+	private final TaskQueue[] queues;
+	private final Object lock = new Object();
+	private final AtomicInteger pending = new AtomicInteger();
+	private final AtomicInteger sleeping = new AtomicInteger();
+	/** The submissions in progress, which {@link #dispose()} waits for before cancelling the queued tasks. */
+	private final AtomicInteger submitting = new AtomicInteger();
+	private final AtomicInteger nextQueue = new AtomicInteger();
+	private final AtomicReference<AsyncResult> completed = new AtomicReference();
+	private final Pool<AsyncResult> pool = new Pool<AsyncResult>() {
+		@Override
+		protected AsyncResult newObject () {
+			return new AsyncResult();
+		}
+	};
+	private volatile boolean running = true;
 
 	/** Creates a new AsynchExecutor that allows maxConcurrent {@link Runnable} instances to run in parallel.
 	 * @param maxConcurrent */
 	public AsyncExecutor (int maxConcurrent) {
-		executor = Executors.newFixedThreadPool(maxConcurrent, new ThreadFactory() {
-			@Override
-			public Thread newThread (Runnable r) {
-				Thread thread = new Thread(r, "AsynchExecutor-Thread");
-				thread.setDaemon(true);
-				return thread;
-			}
-		});
+		this(maxConcurrent, false);
+	}
+
+	/** Creates a new AsynchExecutor that allows maxConcurrent {@link Runnable} instances to run in parallel.
+	 * @param maxConcurrent
+	 * @param workStealing whether each thread should use its own task queue and steal work from the others when it runs empty */
+	public AsyncExecutor (int maxConcurrent, boolean workStealing) {
+		if (maxConcurrent < 1) throw new IllegalArgumentException("maxConcurrent must be > 0: " + maxConcurrent);
+		queues = new TaskQueue[workStealing ? maxConcurrent : 1];
+		for (int i = 0; i < queues.length; i++)
+			queues[i] = new TaskQueue();
+		workers = new Worker[maxConcurrent];
+		for (int i = 0; i < maxConcurrent; i++) {
+			Worker worker = new Worker(i);
+			worker.setDaemon(true);
+			workers[i] = worker;
+			worker.start();
+		}
 	}
 
 	/** Submits a {@link Runnable} to be executed asynchronously. If maxConcurrent runnables are already running, the runnable will
 	 * be queued.
 	 * @param task the task to execute asynchronously */
-	public <T> AsyncResult<T> submit (final AsyncTask<T> task) {
-		if (executor.isShutdown()) {
-			throw new GdxRuntimeException("Cannot run tasks on an executor that has been shutdown (disposed)");
-		}
-		return new AsyncResult(executor.submit(new Callable<T>() {
-			@Override
-			public T call () throws Exception {
-				return task.call();
+	public <T> AsyncResult<T> submit (AsyncTask<T> task) {
+		return submit(task, 0, null);
+	}
+
+	/** Submits a task to be executed asynchronously with the given priority.
+	 * @param task the task to execute asynchronously
+	 * @param priority tasks with a higher priority are executed first */
+	public <T> AsyncResult<T> submit (AsyncTask<T> task, int priority) {
+		return submit(task, priority, null);
+	}
+
+	/** Submits a task to be executed asynchronously with the given priority.
+	 * @param task the task to execute asynchronously
+	 * @param priority tasks with a higher priority are executed first
+	 * @param listener notified from {@link #update()} once the task is done, may be null. If not null, the returned result is freed
+	 *           after the listener was notified. */
+	public <T> AsyncResult<T> submit (AsyncTask<T> task, int priority, AsyncTaskListener<T> listener) {
+		if (task == null) throw new IllegalArgumentException("task cannot be null.");
+		submitting.incrementAndGet();
+		try {
+			if (!running) throw new GdxRuntimeException("Cannot run tasks on an executor that has been shutdown (disposed)");
+			AsyncResult<T> result;
+			synchronized (pool) {
+				result = pool.obtain();
+			}
+			result.set(task, priority, listener);
+			queue().add(result);
+			pending.incrementAndGet();
+			wake(1);
+			return result;
+		} finally {
+			submitting.decrementAndGet();
+		}
+	}
+
+	/** Submits multiple tasks at once, taking each queue lock only once.
+	 * @param tasks the tasks to execute asynchronously
+	 * @param priority tasks with a higher priority are executed first
+	 * @param listener notified from {@link #update()} once each task is done, may be null
+	 * @param results if not null, receives the {@link AsyncResult} of each task in submission order
+	 * @return the results array */
+	public <T> Array<AsyncResult<T>> submitAll (Array<? extends AsyncTask<T>> tasks, int priority, AsyncTaskListener<T> listener,
+		Array<AsyncResult<T>> results) {
+		int count = tasks.size;
+		if (results == null) results = new Array(count);
+		// Check all tasks first, so that no result is obtained if one of them is invalid.
+		for (int i = 0; i < count; i++)
+			if (tasks.get(i) == null) throw new IllegalArgumentException("task cannot be null.");
+		submitting.incrementAndGet();
+		try {
+			if (!running) throw new GdxRuntimeException("Cannot run tasks on an executor that has been shutdown (disposed)");
+			if (count == 0) return results;
+			int start = results.size;
+			results.ensureCapacity(count);
+			synchronized (pool) {
+				for (int i = 0; i < count; i++) {
+					AsyncResult<T> result = pool.obtain();
+					result.set(tasks.get(i), priority, listener);
+					results.add(result);
+				}
+			}
+			// Hand contiguous slices to each queue so every queue is locked once.
+			TaskQueue[] queues = this.queues;
+			int queueCount = Math.min(queues.length, count);
+			int offset = nextQueue.getAndIncrement();
+			for (int q = 0; q < queueCount; q++) {
+				int from = start + count * q / queueCount, to = start + count * (q + 1) / queueCount;
+				queues[((offset + q) & 0x7fffffff) % queues.length].addAll(results, from, to);
 			}
-		}));
+			pending.addAndGet(count);
+			wake(count);
+			return results;
+		} finally {
+			submitting.decrementAndGet();
+		}
 	}
 
-	/** Waits for running {@link AsyncTask} instances to finish, then destroys any resources like threads. Can not be used after
-	 * this method is called. */
+	/** Notifies the {@link AsyncTaskListener} of every task that completed since the last call and frees their results. Should be
+	 * called regularly, usually once per frame from the rendering thread. If a listener throws an exception, the other listeners
+	 * are still notified and the first exception is rethrown afterwards. */
+	public void update () {
+		AsyncResult head = completed.getAndSet(null);
+		if (head == null) return;
+		// The list was built in LIFO order, reverse it to report in completion order.
+		AsyncResult reversed = null;
+		while (head != null) {
+			AsyncResult next = head.next;
+			head.next = reversed;
+			reversed = head;
+			head = next;
+		}
+		Throwable error = null;
+		while (reversed != null) {
+			AsyncResult result = reversed;
+			reversed = result.next;
+			result.next = null;
+			try {
+				result.dispatch();
+			} catch (Throwable t) {
+				if (error == null) error = t;
+			}
+			synchronized (pool) {
+				pool.free(result);
+			}
+		}
+		if (error instanceof RuntimeException) throw (RuntimeException)error;
+		if (error instanceof Error) throw (Error)error;
+		if (error != null) throw new GdxRuntimeException(error);
+	}
+
+	/** Returns a result to the pool. The result must be done and must not be used afterwards, as it is reused by a later
+	 * submission. Results of tasks submitted with an {@link AsyncTaskListener} are freed by {@link #update()} and must not be freed
+	 * manually. */
+	public void free (AsyncResult result) {
+		if (!result.isDone()) throw new GdxRuntimeException("Cannot free a result whose task is not done.");
+		synchronized (pool) {
+			pool.free(result);
+		}
+	}
+
+	/** Waits for running {@link AsyncTask} instances to finish, then destroys any resources like threads. Tasks that did not start
+	 * yet are cancelled. The listeners of all tasks that were not reported yet are notified by the calling thread, as by
+	 * {@link #update()}. Can not be used after this method is called. */
 	@Override
 	public void dispose () {
-		executor.shutdown();
+		running = false;
+		// A submission that saw the executor running queues its tasks before they are cancelled, so their listeners are notified.
+		while (submitting.get() > 0)
+			Thread.yield();
+		for (TaskQueue queue : queues)
+			queue.cancelAll();
+		synchronized (lock) {
+			lock.notifyAll();
+		}
 		try {
-			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+			for (Worker worker : workers)
+				worker.join();
 		} catch (InterruptedException e) {
 			throw new GdxRuntimeException("Couldn't shutdown loading thread", e);
 		}
+		update();
+	}
+
+	private TaskQueue queue () {
+		TaskQueue[] queues = this.queues;
+		if (queues.length == 1) return queues[0];
+		Thread thread = Thread.currentThread();
+		if (thread instanceof Worker && ((Worker)thread).executor() == this) return queues[((Worker)thread).index];
+		return queues[(nextQueue.getAndIncrement() & 0x7fffffff) % queues.length];
+	}
+
+	private void wake (int count) {
+		if (sleeping.get() == 0) return;
+		synchronized (lock) {
+			if (count == 1)
+				lock.notify();
+			else
+				lock.notifyAll();
+		}
+	}
+
+	void completed (AsyncResult result) {
+		AtomicReference<AsyncResult> completed = this.completed;
+		AsyncResult head;
+		do {
+			head = completed.get();
+			result.next = head;
+		} while (!completed.compareAndSet(head, result));
+	}
+
+	/** A priority queue of pending tasks, ordered by descending priority. */
+	class TaskQueue {
+		private final BinaryHeap<AsyncResult> heap = new BinaryHeap(16, false);
+
+		synchronized void add (AsyncResult result) {
+			result.queue = this;
+			heap.add(result, -result.priority);
+		}
+
+		synchronized void addAll (Array<? extends AsyncResult> results, int from, int to) {
+			for (int i = from; i < to; i++) {
+				AsyncResult result = results.get(i);
+				result.queue = this;
+				heap.add(result, -result.priority);
+			}
+		}
+
+		synchronized AsyncResult poll () {
+			if (heap.size == 0) return null;
+			AsyncResult result = heap.pop();
+			result.queue = null;
+			result.state = AsyncResult.RUNNING;
+			pending.decrementAndGet();
+			return result;
+		}
+
+		synchronized boolean cancel (AsyncResult result) {
+			if (result.queue != this || result.state != AsyncResult.PENDING) return false;
+			heap.remove(result);
+			result.queue = null;
+			pending.decrementAndGet();
+			result.cancelled();
+			if (result.listener != null) completed(result);
+			return true;
+		}
+
+		synchronized void cancelAll () {
+			while (heap.size > 0) {
+				AsyncResult result = heap.pop();
+				result.queue = null;
+				pending.decrementAndGet();
+				result.cancelled();
+				if (result.listener != null) completed(result);
+			}
+		}
+	}
+
+	private class Worker extends Thread {
+		final int index;
+
+		Worker (int index) {
+			super("AsynchExecutor-Thread");
+			this.index = index;
+		}
+
+		AsyncExecutor executor () {
+			return AsyncExecutor.this;
+		}
+
+		@Override
+		public void run () {
+			while (true) {
+				AsyncResult result = poll();
+				if (result != null) {
+					result.run();
+					if (result.listener != null) completed(result);
+					continue;
+				}
+				if (!running) return;
+				synchronized (lock) {
+					sleeping.incrementAndGet();
+					try {
+						while (running && pending.get() == 0)
+							lock.wait();
+					} catch (InterruptedException ignored) {
+					} finally {
+						sleeping.decrementAndGet();
+					}
+				}
+			}
+		}
+
+		private AsyncResult poll () {
+			TaskQueue[] queues = AsyncExecutor.this.queues;
+			int n = queues.length;
+			AsyncResult result = queues[index % n].poll();
+			// Steal from the other queues when our own is empty.
+			for (int i = 1; result == null && i < n; i++)
+				result = queues[(index + i) % n].poll();
+			return result;
+		}
 	}
 }
@@ -16,34 +16,139 @@
 
 package com.badlogic.gdx.utils.async;
 
+import com.badlogic.gdx.utils.BinaryHeap;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-
-/** Returned by {@link AsyncExecutor#submit(AsyncTask)}, allows to poll for the result of the asynch workload.
+/** Returned by {@link AsyncExecutor#submit(AsyncTask)}, allows to poll for the result of the asynch workload. Instances are pooled
+ * by the executor: once a result is no longer needed it can be handed back via {@link AsyncExecutor#free(AsyncResult)}. Results of
+ * tasks submitted with an {@link AsyncTaskListener} are freed automatically after the listener was notified. A freed instance is
+ * handed out again for another task, references to it must be dropped when it is freed.
  * @author badlogic */
-public class AsyncResult<T> {
-	private final Future<T> future;
+public class AsyncResult<T> extends BinaryHeap.Node implements Poolable {
+	static final int PENDING = 0, RUNNING = 1, DONE = 2, FAILED = 3, CANCELLED = 4;
+
+	AsyncTask<T> task;
+	AsyncTaskListener<T> listener;
+	int priority;
+	/** The queue this result is waiting in, only valid while {@link #PENDING}. */
+	AsyncExecutor.TaskQueue queue;
+	/** Link used by the executor's completion list. */
+	AsyncResult next;
+
+	volatile int state;
+	private volatile boolean waiting;
+	private T result;
+	private Throwable error;
+
+	AsyncResult () {
+		super(0);
+	}
+
+	void set (AsyncTask<T> task, int priority, AsyncTaskListener<T> listener) {
+		this.task = task;
+		this.priority = priority;
+		this.listener = listener;
+		state = PENDING;
+	}
 
-	AsyncResult (Future<T> future) {
-		this.future = future;
+	/** Runs the task on the calling thread, storing its result or error. */
+	void run () {
+		try {
+			result = task.call();
+			state = DONE;
+		} catch (Throwable t) {
+			error = t;
+			state = FAILED;
+		}
+		task = null;
+		if (waiting) {
+			synchronized (this) {
+				notifyAll();
+			}
+		}
+	}
+
+	/** Called by the executor once the result was cancelled while still queued. */
+	void cancelled () {
+		task = null;
+		state = CANCELLED;
+		if (waiting) {
+			synchronized (this) {
+				notifyAll();
+			}
+		}
 	}
 
-	/** @return whether the {@link AsyncTask} is done */
+	/** @return whether the {@link AsyncTask} is done, either because it finished, failed or was cancelled */
 	public boolean isDone () {
-		return future.isDone();
+		return state >= DONE;
+	}
+
+	/** @return whether the {@link AsyncTask} was cancelled before it could run */
+	public boolean isCancelled () {
+		return state == CANCELLED;
+	}
+
+	/** @return the priority the task was submitted with */
+	public int getPriority () {
+		return priority;
+	}
+
+	/** Cancels the task if it has not started running yet.
+	 * @return true if the task was cancelled, false if it is already running or done */
+	public boolean cancel () {
+		AsyncExecutor.TaskQueue queue = this.queue;
+		if (queue == null) return false;
+		return queue.cancel(this);
 	}
 
 	/** @return waits if necessary for the computation to complete and then returns the result
-	 * @throws GdxRuntimeException if there was an error */
+	 * @throws GdxRuntimeException if there was an error or the task was cancelled */
 	public T get () {
-		try {
-			return future.get();
-		} catch (InterruptedException ex) {
-			return null;
-		} catch (ExecutionException ex) {
-			throw new GdxRuntimeException(ex.getCause());
+		if (state < DONE) {
+			synchronized (this) {
+				waiting = true;
+				try {
+					while (state < DONE)
+						wait();
+				} catch (InterruptedException ex) {
+					return null;
+				}
+			}
+		}
+		if (state == FAILED) throw new GdxRuntimeException(error);
+		if (state == CANCELLED) throw new GdxRuntimeException("Task was cancelled.");
+		return result;
+	}
+
+	/** Notifies the listener, must be called after the task is done. */
+	void dispatch () {
+		AsyncTaskListener<T> listener = this.listener;
+		if (listener == null) return;
+		switch (state) {
+		case DONE:
+			listener.completed(result);
+			break;
+		case FAILED:
+			listener.failed(error);
+			break;
+		case CANCELLED:
+			listener.cancelled();
+			break;
 		}
 	}
+
+	@Override
+	public void reset () {
+		task = null;
+		listener = null;
+		queue = null;
+		next = null;
+		result = null;
+		error = null;
+		waiting = false;
+		priority = 0;
+		state = PENDING;
+	}
 }
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.async;
+
+/** Receives the outcome of an {@link AsyncTask} submitted via {@link AsyncExecutor#submit(AsyncTask, int, AsyncTaskListener)}.
+ * The methods are invoked on the thread calling {@link AsyncExecutor#update()}, usually the rendering thread, after which the
+ * {@link AsyncResult} is returned to the executor's pool and must not be used anymore.
+ * @author badlogic */
+public interface AsyncTaskListener<T> {
+	/** Called when the task finished successfully.
+	 * @param result the value returned by {@link AsyncTask#call()} */
+	public void completed (T result);
+
+	/** Called when the task threw an exception. */
+	public void failed (Throwable t);
+
+	/** Called when the task was cancelled before it started running. */
+	public void cancelled ();
+}
@@ -174,4 +174,113 @@ public final class Field {
 		}
 	}
 
+	/** Returns the value of a {@code boolean} field on the supplied object without boxing. */
+	public boolean getBoolean (Object obj) throws ReflectionException {
+		try {
+			return field.getBoolean(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a {@code boolean} field on the supplied object without boxing. */
+	public void setBoolean (Object obj, boolean value) throws ReflectionException {
+		try {
+			field.setBoolean(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of an {@code int} field on the supplied object without boxing. */
+	public int getInt (Object obj) throws ReflectionException {
+		try {
+			return field.getInt(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of an {@code int} field on the supplied object without boxing. */
+	public void setInt (Object obj, int value) throws ReflectionException {
+		try {
+			field.setInt(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a {@code long} field on the supplied object without boxing. */
+	public long getLong (Object obj) throws ReflectionException {
+		try {
+			return field.getLong(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a {@code long} field on the supplied object without boxing. */
+	public void setLong (Object obj, long value) throws ReflectionException {
+		try {
+			field.setLong(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a {@code float} field on the supplied object without boxing. */
+	public float getFloat (Object obj) throws ReflectionException {
+		try {
+			return field.getFloat(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a {@code float} field on the supplied object without boxing. */
+	public void setFloat (Object obj, float value) throws ReflectionException {
+		try {
+			field.setFloat(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a {@code double} field on the supplied object without boxing. */
+	public double getDouble (Object obj) throws ReflectionException {
+		try {
+			return field.getDouble(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a {@code double} field on the supplied object without boxing. */
+	public void setDouble (Object obj, double value) throws ReflectionException {
+		try {
+			field.setDouble(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
 }
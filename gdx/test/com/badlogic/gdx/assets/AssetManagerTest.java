@@ -0,0 +1,155 @@
+package com.badlogic.gdx.assets;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+public class AssetManagerTest {
+	static class Thing {
+	}
+
+	/** Loads {@link Thing}s concurrently, the asynchronous part of "blocking" waits until {@link #release} is counted down. */
+	static class ThingLoader extends AsynchronousAssetLoader<Thing, AssetLoaderParameters<Thing>> {
+		final CountDownLatch release = new CountDownLatch(1);
+		final ObjectIntMap<String> unloads = new ObjectIntMap();
+
+		ThingLoader (FileHandleResolver resolver) {
+			super(resolver);
+		}
+
+		@Override
+		public void loadAsync (AssetManager manager, String fileName, FileHandle file, AssetLoaderParameters<Thing> parameter) {
+			if (!fileName.equals("blocking")) return;
+			try {
+				release.await();
+			} catch (InterruptedException ignored) {
+			}
+		}
+
+		@Override
+		public Thing loadSync (AssetManager manager, String fileName, FileHandle file, AssetLoaderParameters<Thing> parameter) {
+			return new Thing();
+		}
+
+		@Override
+		public synchronized void unloadAsync (AssetManager manager, String fileName, FileHandle file,
+			AssetLoaderParameters<Thing> parameter) {
+			unloads.getAndIncrement(fileName, 0, 1);
+		}
+
+		synchronized int unloads (String fileName) {
+			return unloads.get(fileName, 0);
+		}
+
+		@Override
+		public boolean supportsConcurrentLoading () {
+			return true;
+		}
+
+		@Override
+		public Array<AssetDescriptor> getDependencies (String fileName, FileHandle file, AssetLoaderParameters<Thing> parameter) {
+			return null;
+		}
+	}
+
+	AssetManager manager;
+	ThingLoader loader;
+
+	@Before
+	public void setUp () {
+		FileHandleResolver resolver = new FileHandleResolver() {
+			@Override
+			public FileHandle resolve (String fileName) {
+				return new FileHandle(fileName);
+			}
+		};
+		manager = new AssetManager(resolver, 2);
+		loader = new ThingLoader(resolver);
+		manager.setLoader(Thing.class, loader);
+	}
+
+	@After
+	public void tearDown () {
+		loader.release.countDown();
+		manager.dispose();
+	}
+
+	/** Updates the manager until the discarded prefetched tasks are released. */
+	void updateDiscarded () throws InterruptedException {
+		for (int i = 0; manager.discarded.size > 0; i++) {
+			assertTrue("Discarded tasks not released", i < 1000);
+			manager.update();
+			Thread.sleep(1);
+		}
+	}
+
+	@Test
+	public void testUnloadPrefetchedFromQueue () throws InterruptedException {
+		// keeps the task stack busy, so that "a" stays in the queue
+		manager.load("blocking", Thing.class);
+		// more unloads than prefetch slots, stale prefetched entries would stop prefetching
+		for (int i = 0; i <= manager.maxPrefetched; i++) {
+			manager.load("a", Thing.class);
+			manager.update();
+			assertTrue(manager.prefetched.containsKey("a"));
+			manager.unload("a");
+			assertFalse(manager.prefetched.containsKey("a"));
+			updateDiscarded();
+			assertEquals(i + 1, loader.unloads("a"));
+		}
+
+		manager.load("a", Thing.class);
+		loader.release.countDown();
+		manager.finishLoading();
+		updateDiscarded();
+		assertTrue(manager.isLoaded("a", Thing.class));
+		assertTrue(manager.isLoaded("blocking", Thing.class));
+		// each discarded task was released once, the loaded asset not at all
+		assertEquals(manager.maxPrefetched + 1, loader.unloads("a"));
+		assertEquals(0, manager.prefetched.size);
+	}
+
+	@Test
+	public void testLookups () {
+		loader.release.countDown();
+		int count = 200;
+		for (int i = 0; i < count; i++)
+			manager.load("thing" + i, Thing.class);
+		while (!manager.update()) {
+		}
+		assertEquals(count, manager.getLoadedAssets());
+		for (int i = 0; i < count; i++) {
+			String fileName = "thing" + i;
+			Thing thing = manager.get(fileName, Thing.class);
+			assertSame(thing, manager.get(fileName));
+			assertTrue(manager.isLoaded(fileName));
+			assertTrue(manager.isLoaded(fileName, Thing.class));
+			assertFalse(manager.isLoaded(fileName, String.class));
+			assertSame(Thing.class, manager.getAssetType(fileName));
+			assertTrue(manager.containsAsset(thing));
+		}
+
+		Thing unloaded = manager.get("thing0");
+		for (int i = 0; i < count; i += 2)
+			manager.unload("thing" + i);
+		assertEquals(count / 2, manager.getLoadedAssets());
+		assertFalse(manager.isLoaded("thing0"));
+		assertNull(manager.getAssetType("thing0"));
+		assertFalse(manager.containsAsset(unloaded));
+		assertTrue(manager.isLoaded("thing1", Thing.class));
+
+		manager.clear();
+		assertEquals(0, manager.getLoadedAssets());
+		assertFalse(manager.isLoaded("thing1"));
+	}
+}
@@ -0,0 +1,180 @@
+package com.badlogic.gdx.graphics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+import org.junit.Assume;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.SharedLibraryLoader;
+
+/** A {@link GL20} or {@link GL30} stub for tests that records the GL calls instead of running them. Shaders always compile,
+ * programs have the {@link #attributes} as active attributes, handles are increasing integers and queries return 0, except
+ * {@link GL20#GL_MAX_TEXTURE_IMAGE_UNITS}. {@link #install()} also sets stubs for {@link Gdx#app} and {@link Gdx#graphics}, so
+ * meshes, shaders and textures can be created without a context. */
+public class RecordingGL20 implements InvocationHandler {
+	public final GL20 gl;
+	public final Array<String> calls = new Array<String>();
+	public final Array<Object[]> arguments = new Array<Object[]>();
+	/** The active attributes reported for every program. */
+	public final Array<String> attributes = new Array<String>();
+	public int maxTextureUnits = 16;
+	private int nextHandle = 1;
+
+	/** @param gl30 whether to implement {@link GL30} */
+	public RecordingGL20 (boolean gl30) {
+		Class type = gl30 ? GL30.class : GL20.class;
+		gl = (GL20)Proxy.newProxyInstance(type.getClassLoader(), new Class[] {type}, this);
+	}
+
+	/** Creates a recorder and sets it as {@link Gdx#gl} and {@link Gdx#gl20}, with {@link Gdx#gl30} null. */
+	static public RecordingGL20 install () {
+		return install(false);
+	}
+
+	/** Creates a recorder and sets it as {@link Gdx#gl} and {@link Gdx#gl20}, and as {@link Gdx#gl30} if requested. */
+	static public RecordingGL20 install (boolean gl30) {
+		RecordingGL20 recorder = new RecordingGL20(gl30);
+		Gdx.gl = Gdx.gl20 = recorder.gl;
+		Gdx.gl30 = gl30 ? (GL30)recorder.gl : null;
+		Gdx.app = stub(Application.class);
+		Gdx.graphics = stub(Graphics.class);
+		return recorder;
+	}
+
+	/** Loads the gdx native library, needed by meshes and matrices, or skips the test if it isn't on the classpath. */
+	static public void loadNatives () {
+		try {
+			new SharedLibraryLoader().load("gdx");
+		} catch (Throwable ex) {
+			Assume.assumeNoException(ex);
+		}
+	}
+
+	@Override
+	public Object invoke (Object proxy, Method method, Object[] args) throws Throwable {
+		String name = method.getName();
+		if (method.getDeclaringClass() == Object.class) return method.invoke(this, args);
+		calls.add(name);
+		arguments.add(args);
+
+		if (name.startsWith("glGen") || name.startsWith("glCreate") || name.equals("glGetUniformLocation")
+			|| name.equals("glGetAttribLocation")) return nextHandle++;
+		if (name.equals("glGetActiveAttrib")) return attributes.get((Integer)args[1]);
+		if (name.equals("glGetActiveUniform")) return "";
+		if (args != null && args.length > 0 && args[args.length - 1] instanceof IntBuffer) {
+			IntBuffer buffer = (IntBuffer)args[args.length - 1];
+			int pname = (Integer)args[args.length - 2];
+			int value = 0;
+			if (pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS) value = 1;
+			if (pname == GL20.GL_MAX_TEXTURE_IMAGE_UNITS) value = maxTextureUnits;
+			if (pname == GL20.GL_ACTIVE_ATTRIBUTES) value = attributes.size;
+			buffer.put(buffer.position(), value);
+		}
+		return defaultValue(method.getReturnType());
+	}
+
+	/** @return the number of calls to the GL method with the given name */
+	public int count (String name) {
+		int count = 0;
+		for (String call : calls)
+			if (call.equals(name)) count++;
+		return count;
+	}
+
+	public void clear () {
+		calls.clear();
+		arguments.clear();
+	}
+
+	/** @return a texture of the given size without any pixel data */
+	static public Texture texture (final int width, final int height) {
+		return new Texture(new TextureData() {
+			@Override
+			public TextureDataType getType () {
+				return TextureDataType.Custom;
+			}
+
+			@Override
+			public boolean isPrepared () {
+				return true;
+			}
+
+			@Override
+			public void prepare () {
+			}
+
+			@Override
+			public Pixmap consumePixmap () {
+				return null;
+			}
+
+			@Override
+			public boolean disposePixmap () {
+				return false;
+			}
+
+			@Override
+			public void consumeCustomData (int target) {
+			}
+
+			@Override
+			public int getWidth () {
+				return width;
+			}
+
+			@Override
+			public int getHeight () {
+				return height;
+			}
+
+			@Override
+			public Format getFormat () {
+				return Format.RGBA8888;
+			}
+
+			@Override
+			public boolean useMipMaps () {
+				return false;
+			}
+
+			@Override
+			public boolean isManaged () {
+				return false;
+			}
+		});
+	}
+
+	/** @return an implementation of the interface whose methods do nothing and return default values */
+	@SuppressWarnings("unchecked")
+	static public <T> T stub (Class<T> type) {
+		return (T)Proxy.newProxyInstance(type.getClassLoader(), new Class[] {type}, new InvocationHandler() {
+			@Override
+			public Object invoke (Object proxy, Method method, Object[] args) throws Throwable {
+				if (method.getName().equals("hashCode")) return System.identityHashCode(proxy);
+				if (method.getName().equals("equals")) return proxy == args[0];
+				if (method.getName().equals("toString")) return "stub";
+				return defaultValue(method.getReturnType());
+			}
+		});
+	}
+
+	static Object defaultValue (Class type) {
+		if (type == int.class) return 0;
+		if (type == long.class) return 0L;
+		if (type == float.class) return 0f;
+		if (type == double.class) return 0d;
+		if (type == boolean.class) return false;
+		if (type == byte.class) return (byte)0;
+		if (type == short.class) return (short)0;
+		if (type == char.class) return (char)0;
+		if (type == String.class) return "";
+		return null;
+	}
+}
@@ -0,0 +1,101 @@
+package com.badlogic.gdx.graphics.g2d;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.RecordingGL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.Affine2;
+
+public class MultiTextureSpriteBatchTest {
+	static final int SIZE = 10;
+
+	Texture[] textures = new Texture[4];
+	TextureRegion[] regions = new TextureRegion[4];
+	RecordingGL20 gl;
+
+	@BeforeClass
+	static public void loadNatives () {
+		RecordingGL20.loadNatives();
+	}
+
+	@Before
+	public void setUp () {
+		gl = RecordingGL20.install();
+		for (int i = 0; i < textures.length; i++) {
+			textures[i] = RecordingGL20.texture(16, 16);
+			regions[i] = new TextureRegion(textures[i]);
+		}
+	}
+
+	@Test
+	public void testTextureSwitchWithFullBuffer () {
+		// all the textures fit in the table, so switching them doesn't flush
+		drawAlternating(new MultiTextureSpriteBatch(SIZE, 4, null));
+		// the table is full every other texture, so switching them flushes some of the time
+		drawAlternating(new MultiTextureSpriteBatch(SIZE, 2, null));
+	}
+
+	void drawAlternating (MultiTextureSpriteBatch batch) {
+		gl.clear();
+		batch.begin();
+		float[] spriteVertices = new float[Sprite.SPRITE_SIZE];
+		Affine2 transform = new Affine2();
+		int sprites = SIZE * 5 + 3;
+		for (int i = 0; i < sprites; i++) {
+			Texture texture = textures[i % textures.length];
+			TextureRegion region = regions[i % regions.length];
+			switch (i % 11) {
+			case 0:
+				batch.draw(texture, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 1, 1, false, false);
+				break;
+			case 1:
+				batch.draw(texture, 0, 0, 1, 1, 0, 0, 1, 1, false, false);
+				break;
+			case 2:
+				batch.draw(texture, 0, 0, 0, 0, 1, 1);
+				break;
+			case 3:
+				batch.draw(texture, 0, 0, 1, 1, 0, 0, 1, 1);
+				break;
+			case 4:
+				batch.draw(texture, 0, 0);
+				break;
+			case 5:
+				batch.draw(texture, spriteVertices, 0, spriteVertices.length);
+				break;
+			case 6:
+				batch.draw(region, 0, 0);
+				break;
+			case 7:
+				batch.draw(region, 0, 0, 0, 0, 1, 1, 1, 1, 0);
+				break;
+			case 8:
+				batch.draw(region, 0, 0, 0, 0, 1, 1, 1, 1, 0, true);
+				break;
+			case 9:
+				batch.draw(region, 1, 1, transform);
+				break;
+			case 10:
+				batch.draw(texture, 0, 0, 1, 1);
+				break;
+			}
+		}
+		batch.end();
+		batch.dispose();
+
+		int draws = 0, indices = 0;
+		for (int i = 0; i < gl.calls.size; i++) {
+			if (!gl.calls.get(i).equals("glDrawElements")) continue;
+			int count = (Integer)gl.arguments.get(i)[1];
+			assertTrue(count <= SIZE * 6);
+			indices += count;
+			draws++;
+		}
+		assertEquals(sprites * 6, indices);
+		assertTrue(draws > sprites / SIZE);
+	}
+}
@@ -0,0 +1,115 @@
+package com.badlogic.gdx.graphics.g3d;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.RecordingGL20;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.shaders.DefaultShader;
+import com.badlogic.gdx.graphics.g3d.utils.DefaultShaderProvider;
+import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
+import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.utils.Array;
+
+public class ModelBatchTest {
+	static final int COUNT = 20;
+	static final String SHADER = "void main () {}";
+
+	RecordingGL20 gl;
+	Model model;
+	ModelBatch batch;
+	int begins, ends;
+
+	@BeforeClass
+	static public void loadNatives () {
+		RecordingGL20.loadNatives();
+	}
+
+	@After
+	public void tearDown () {
+		if (batch != null) batch.dispose();
+		if (model != null) model.dispose();
+	}
+
+	/** Renders boxes sharing a mesh and material, and returns the number of calls to glDrawElements. */
+	int render (boolean gl30, boolean instancing) {
+		gl = RecordingGL20.install(gl30);
+		gl.attributes.addAll("a_position", "a_normal", "a_worldTrans");
+		model = new ModelBuilder().createBox(1, 1, 1, new Material(ColorAttribute.createDiffuse(Color.GREEN)), Usage.Position
+			| Usage.Normal);
+		Array<ModelInstance> instances = new Array<ModelInstance>();
+		for (int i = 0; i < COUNT; i++) {
+			ModelInstance instance = new ModelInstance(model);
+			instance.transform.setToTranslation(i * 2, 0, 0);
+			instances.add(instance);
+		}
+
+		DefaultShader.Config config = new DefaultShader.Config(SHADER, SHADER);
+		batch = new ModelBatch(new DefaultShaderProvider(config) {
+			@Override
+			protected Shader createShader (Renderable renderable) {
+				return new DefaultShader(renderable, config) {
+					@Override
+					public void begin (Camera camera, RenderContext context) {
+						begins++;
+						super.begin(camera, context);
+					}
+
+					@Override
+					public void end () {
+						ends++;
+						super.end();
+					}
+				};
+			}
+		});
+		batch.setInstancing(instancing);
+
+		PerspectiveCamera camera = new PerspectiveCamera(67, 100, 100);
+		camera.position.set(COUNT, 10, 30);
+		camera.lookAt(COUNT, 0, 0);
+		camera.update();
+
+		gl.clear();
+		batch.begin(camera);
+		batch.render(instances);
+		batch.end();
+		return gl.count("glDrawElements");
+	}
+
+	@Test
+	public void testInstancingDisabledByDefault () {
+		RecordingGL20.install();
+		batch = new ModelBatch();
+		assertFalse(batch.isInstancing());
+	}
+
+	@Test
+	public void testWithoutInstancing () {
+		assertEquals(COUNT, render(true, false));
+		assertEquals(0, gl.count("glDrawElementsInstanced"));
+	}
+
+	@Test
+	public void testMergedOnGL20 () {
+		assertEquals(1, render(false, true));
+	}
+
+	@Test
+	public void testInstancedOnGL30 () {
+		assertEquals(0, render(true, true));
+		assertEquals(1, gl.count("glDrawElementsInstanced"));
+		Object[] arguments = gl.arguments.get(gl.calls.indexOf("glDrawElementsInstanced", false));
+		assertEquals(COUNT, arguments[4]);
+		// The shader is ended before switching to the instanced program and begun again afterwards.
+		assertEquals(2, begins);
+		assertEquals(2, ends);
+	}
+}
@@ -0,0 +1,130 @@
+package com.badlogic.gdx.net;
+
+import static org.junit.Assert.*;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+public class DatagramConnectionTest {
+	static final long TIMEOUT = 10000;
+
+	DatagramSocket socketA, socketB;
+	DatagramConnection connectionA, connectionB;
+
+	@Before
+	public void setUp () {
+		socketA = new DatagramSocket(0, null);
+		socketB = new DatagramSocket(0, null);
+		connectionA = new DatagramConnection(socketA, new InetSocketAddress("127.0.0.1", socketB.getPort()));
+		connectionB = new DatagramConnection(socketB, new InetSocketAddress("127.0.0.1", socketA.getPort()));
+	}
+
+	@After
+	public void tearDown () {
+		connectionA.dispose();
+		connectionB.dispose();
+		socketA.dispose();
+		socketB.dispose();
+	}
+
+	/** Records the first int of the messages received. */
+	static class RecordingListener implements DatagramConnection.Listener {
+		final IntArray reliable = new IntArray(), sequenced = new IntArray();
+
+		@Override
+		public void received (DatagramConnection connection, ByteBuffer message, boolean reliable) {
+			(reliable ? this.reliable : sequenced).add(message.getInt());
+		}
+	}
+
+	/** Passes the packets received by the socket to the connection. */
+	static void receive (DatagramSocket socket, final DatagramConnection connection, final DatagramConnection.Listener listener) {
+		socket.receive(new DatagramSocket.Listener() {
+			@Override
+			public void received (SocketAddress address, ByteBuffer packet) {
+				connection.received(packet, listener);
+			}
+		});
+	}
+
+	static ByteBuffer message (ByteBuffer buffer, int value) {
+		buffer.clear();
+		buffer.putInt(value);
+		buffer.flip();
+		return buffer;
+	}
+
+	@Test
+	public void testReliableInOrderWithLoss () throws InterruptedException {
+		int count = 1000;
+		socketA.setSimulatedLoss(0.3f);
+		socketB.setSimulatedLoss(0.3f);
+		connectionA.setResendTime(0.005f);
+		connectionB.setResendTime(0.005f);
+		RecordingListener listenerA = new RecordingListener(), listenerB = new RecordingListener();
+
+		ByteBuffer buffer = ByteBuffer.allocate(4);
+		int sent = 0;
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (listenerB.reliable.size < count || connectionA.getPendingCount() > 0) {
+			assertTrue("Timed out", System.currentTimeMillis() < end);
+			while (sent < count && connectionA.send(message(buffer, sent), true))
+				sent++;
+			connectionA.update();
+			socketA.flush();
+			Thread.sleep(1);
+			receive(socketB, connectionB, listenerB);
+			connectionB.update();
+			socketB.flush();
+			Thread.sleep(1);
+			receive(socketA, connectionA, listenerA);
+		}
+		assertEquals(count, listenerB.reliable.size);
+		for (int i = 0; i < count; i++)
+			assertEquals(i, listenerB.reliable.get(i));
+		assertTrue("No message was sent again", connectionA.getResentCount() > 0);
+		assertEquals(0, listenerA.reliable.size);
+	}
+
+	@Test
+	public void testOlderSequencedDropped () throws InterruptedException {
+		int count = 10;
+		ByteBuffer buffer = ByteBuffer.allocate(4);
+		for (int i = 0; i < count; i++)
+			connectionA.send(message(buffer, i), false);
+		assertEquals(count, socketA.flush());
+
+		// keeps the packets as they arrive, to pass them to the connection in reverse order
+		final Array<ByteBuffer> packets = new Array<ByteBuffer>();
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (packets.size < count) {
+			assertTrue("Timed out", System.currentTimeMillis() < end);
+			socketB.receive(new DatagramSocket.Listener() {
+				@Override
+				public void received (SocketAddress address, ByteBuffer packet) {
+					ByteBuffer copy = ByteBuffer.allocate(packet.remaining());
+					copy.put(packet);
+					copy.flip();
+					packets.add(copy);
+				}
+			});
+			Thread.sleep(1);
+		}
+
+		RecordingListener listener = new RecordingListener();
+		connectionB.received(packets.get(count / 2).duplicate(), listener);
+		for (int i = count - 1; i >= 0; i--)
+			connectionB.received(packets.get(i).duplicate(), listener);
+		assertEquals(IntArray.with(count / 2, count - 1), listener.sequenced);
+		assertEquals(count - 1, connectionB.getDroppedCount());
+		assertEquals(0, listener.reliable.size);
+	}
+}
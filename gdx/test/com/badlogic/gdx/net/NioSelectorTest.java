@@ -0,0 +1,151 @@
+package com.badlogic.gdx.net;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Array;
+
+public class NioSelectorTest {
+	static final long TIMEOUT = 10000;
+
+	final Array<NioSelector> selectors = new Array<NioSelector>();
+
+	@After
+	public void tearDown () {
+		for (NioSelector selector : selectors)
+			selector.dispose();
+	}
+
+	NioSelector selector (int bufferSize, boolean polled, NioSelector.Listener listener) {
+		NioSelector selector = new NioSelector(1, bufferSize, polled, listener);
+		selectors.add(selector);
+		return selector;
+	}
+
+	/** Writes a message with the given sequence number and a length and content derived from it. */
+	static void message (ByteBuffer buffer, int sequence) {
+		buffer.clear();
+		buffer.putInt(sequence);
+		for (int i = 0, n = sequence % 200; i < n; i++)
+			buffer.put((byte)(sequence + i));
+		buffer.flip();
+	}
+
+	/** Checks the messages written by {@link #message(ByteBuffer, int)} arrive complete and in order. */
+	static class OrderListener implements NioSelector.Listener {
+		final CountDownLatch disconnected = new CountDownLatch(1);
+		volatile int received;
+		volatile String error;
+
+		@Override
+		public void connected (NioSocket socket) {
+		}
+
+		@Override
+		public void received (NioSocket socket, ByteBuffer message) {
+			int sequence = message.getInt();
+			if (sequence != received) error = "Expected message " + received + " but got " + sequence;
+			if (message.remaining() != sequence % 200) error = "Wrong length of message " + sequence;
+			for (int i = 0; message.hasRemaining(); i++)
+				if (message.get() != (byte)(sequence + i)) error = "Wrong content of message " + sequence;
+			received++;
+		}
+
+		@Override
+		public void disconnected (NioSocket socket) {
+			disconnected.countDown();
+		}
+	}
+
+	static class NullListener implements NioSelector.Listener {
+		@Override
+		public void connected (NioSocket socket) {
+		}
+
+		@Override
+		public void received (NioSocket socket, ByteBuffer message) {
+		}
+
+		@Override
+		public void disconnected (NioSocket socket) {
+		}
+	}
+
+	@Test
+	public void testOrderAndBackpressureUnderFlood () throws InterruptedException {
+		int count = 40000;
+		OrderListener listener = new OrderListener();
+		NioSelector receiver = selector(256, true, listener);
+		NioServerSocket server = receiver.listen(0, null, new SocketHints());
+		NioSocket socket = selector(256, false, new NullListener()).connect("localhost", server.getPort(), new SocketHints());
+
+		// the receiver is only updated once sending fails, so its inbox and the socket buffers fill up first
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		int rejected = 0;
+		long end = System.currentTimeMillis() + TIMEOUT;
+		for (int i = 0; i < count; i++) {
+			message(buffer, i);
+			while (!socket.send(buffer)) {
+				assertTrue("Timed out sending", System.currentTimeMillis() < end);
+				rejected++;
+				receiver.update();
+				Thread.yield();
+			}
+		}
+		while (listener.received < count) {
+			assertTrue("Timed out receiving", System.currentTimeMillis() < end);
+			receiver.update();
+			Thread.yield();
+		}
+		assertNull(listener.error, listener.error);
+		assertEquals(count, listener.received);
+		assertTrue("Sending was never rejected", rejected > 0);
+	}
+
+	@Test
+	public void testDisposeSendsQueuedMessages () throws InterruptedException {
+		int count = 300;
+		OrderListener listener = new OrderListener();
+		NioServerSocket server = selector(1 << 16, false, listener).listen(0, null, new SocketHints());
+		NioSocket socket = selector(1 << 16, false, new NullListener()).connect("localhost", server.getPort(), new SocketHints());
+
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		for (int i = 0; i < count; i++) {
+			message(buffer, i);
+			assertTrue(socket.send(buffer));
+		}
+		// disposed while still connecting, the messages are sent before closing
+		socket.dispose();
+		message(buffer, count);
+		assertFalse(socket.send(buffer));
+
+		assertTrue("Not disconnected", listener.disconnected.await(TIMEOUT, TimeUnit.MILLISECONDS));
+		assertNull(listener.error, listener.error);
+		assertEquals(count, listener.received);
+	}
+
+	@Test
+	public void testDisposeFromListener () throws InterruptedException {
+		final CountDownLatch disposed = new CountDownLatch(1);
+		final AtomicInteger connected = new AtomicInteger();
+		final NioSelector[] holder = new NioSelector[1];
+		holder[0] = selector(256, false, new NullListener() {
+			@Override
+			public void connected (NioSocket socket) {
+				if (connected.getAndIncrement() > 0) return;
+				holder[0].dispose();
+				disposed.countDown();
+			}
+		});
+		NioServerSocket server = holder[0].listen(0, null, null);
+		selector(256, false, new NullListener()).connect("localhost", server.getPort(), null);
+		assertTrue("dispose() called by the listener did not return", disposed.await(TIMEOUT, TimeUnit.MILLISECONDS));
+	}
+}
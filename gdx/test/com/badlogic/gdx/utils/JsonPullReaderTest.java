@@ -0,0 +1,92 @@
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class JsonPullReaderTest {
+	static public class Item {
+		public String name;
+		public int count;
+		public float weight;
+		public boolean flag;
+		public int[] ints;
+		public Array<String> strings;
+		public Item child;
+	}
+
+	Json json = new Json();
+
+	static Item item () {
+		Item item = new Item();
+		item.name = "first item";
+		item.count = 42;
+		item.weight = -1.5f;
+		item.flag = true;
+		item.ints = new int[] {1, -2, 3};
+		item.strings = Array.with("meow", "moo", "", "with space", "\nnewline\n");
+		item.child = new Item();
+		item.child.name = "child";
+		item.child.strings = new Array();
+		return item;
+	}
+
+	/** Reads the text with the pull reader and checks that it serializes back to the expected text. */
+	void check (String expected, String text) {
+		Item item = json.readValue(Item.class, new JsonPullReader(text));
+		assertEquals(text, expected, json.toJson(item));
+	}
+
+	@Test
+	public void testRoundTrip () {
+		String text = json.toJson(item());
+		check(text, text);
+		check(text, json.prettyPrint(text, 130));
+		check(text, json.prettyPrint(text, 0));
+	}
+
+	@Test
+	public void testCommentsAndSeparators () {
+		String expected = json.toJson(item());
+		String text = json.prettyPrint(expected, 0);
+
+		text = text.replace("{", "/*moo*/{/*moo*/");
+		check(expected, text);
+
+		text = text.replace("}", "/*moo*/}/*moo*/");
+		text = text.replace("[", "/*moo*/[/*moo*/");
+		text = text.replace("]", "/*moo*/]/*moo*/");
+		text = text.replace(":", "/*moo*/:/*moo*/");
+		text = text.replace(",", "/*moo*/,/*moo*/");
+		check(expected, text);
+
+		text = text.replace("/*moo*/", " /*moo*/ ");
+		check(expected, text);
+
+		text = text.replace("/*moo*/", "// moo\n");
+		check(expected, text);
+
+		text = text.replace("\n", "\r\n");
+		check(expected, text);
+
+		// newlines separate values like commas
+		text = text.replace(",", "\n");
+		check(expected, text);
+
+		text = text.replace("\n", "\r\n");
+		check(expected, text);
+
+		text = text.replace("\r\n", "\r\n\r\n");
+		check(expected, text);
+	}
+
+	@Test
+	public void testErrorLine () {
+		try {
+			json.readValue(Item.class, new JsonPullReader("{\nname: a,\ncount: 1\n\n, \n: 2\n}"));
+			fail();
+		} catch (SerializationException ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().contains("line 6"));
+		}
+	}
+}
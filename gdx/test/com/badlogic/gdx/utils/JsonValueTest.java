@@ -0,0 +1,101 @@
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+public class JsonValueTest {
+	static JsonValue parse (int size) {
+		StringBuilder json = new StringBuilder("{");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) json.append(',');
+			json.append("key").append(i).append(':').append(i);
+		}
+		return new JsonReader().parse(json.append('}').toString());
+	}
+
+	/** Swaps two adjacent children without going through JsonValue, which keeps the first child and the size. */
+	static void swap (JsonValue a, JsonValue b) {
+		JsonValue prev = a.prev, next = b.next;
+		prev.next = b;
+		b.prev = prev;
+		b.next = a;
+		a.prev = b;
+		a.next = next;
+		next.prev = a;
+	}
+
+	@Test
+	public void testLookupsOfWideObjectsUseIndex () {
+		JsonValue map = parse(JsonValue.indexThreshold * 4);
+		assertEquals(50, map.get(50).asInt());
+		assertEquals(70, map.get("KEY70").asInt());
+		assertNull(map.get("key" + map.size));
+		assertNull(map.get(map.size));
+		assertNull(map.get(-1));
+
+		// The index still has the children where they were when it was built, the list is not walked.
+		JsonValue a = map.get(50), b = map.get(51);
+		swap(a, b);
+		assertSame(a, map.get(50));
+		map.clearIndex();
+		assertSame(b, map.get(50));
+	}
+
+	@Test
+	public void testLookupsOfSmallObjectsWalkList () {
+		JsonValue map = parse(JsonValue.indexThreshold);
+		assertNull(map.get(-1));
+		assertNull(map.get(map.size));
+		JsonValue a = map.get(10), b = map.get(11);
+		swap(a, b);
+		assertSame(b, map.get(10));
+	}
+
+	@Test
+	public void testIndexFollowsChanges () {
+		JsonValue map = parse(JsonValue.indexThreshold * 4);
+		assertEquals(40, map.get("key40").asInt());
+
+		map.remove("key40");
+		assertNull(map.get("key40"));
+		assertEquals(41, map.get(40).asInt());
+
+		map.get("key41").name = "renamed";
+		assertNull(map.get("key41"));
+		map.clearIndex();
+		assertEquals(41, map.get("Renamed").asInt());
+
+		for (JsonValue.JsonIterator iter = map.iterator(); iter.hasNext();)
+			if (iter.next().asInt() % 2 == 0) iter.remove();
+		assertEquals(41, map.get(20).asInt());
+		assertNull(map.get("key42"));
+	}
+
+	@Test
+	public void testStringRetypedAsObject () {
+		JsonValue value = new JsonValue("text");
+		value.setType(ValueType.object);
+		JsonValue map = parse(JsonValue.indexThreshold * 2);
+		value.child = map.child;
+		value.size = map.size;
+		assertEquals(5, value.get("key5").asInt());
+		assertEquals(6, value.get(6).asInt());
+		value.setType(ValueType.stringValue);
+		assertEquals("text", value.asString());
+	}
+
+	@Test
+	public void testIndexNotStoredPerValue () {
+		// The index shares the field of the string, which objects and arrays don't use.
+		int fields = 0;
+		for (Field field : JsonValue.class.getDeclaredFields())
+			if (!Modifier.isStatic(field.getModifiers())) fields++;
+		assertEquals(9, fields);
+	}
+}
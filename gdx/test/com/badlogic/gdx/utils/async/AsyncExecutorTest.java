@@ -0,0 +1,70 @@
+package com.badlogic.gdx.utils.async;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+public class AsyncExecutorTest {
+	static final AsyncTask<Void> task = new AsyncTask<Void>() {
+		@Override
+		public Void call () {
+			return null;
+		}
+	};
+
+	/** Counts the tasks it was notified of, whether they completed or were cancelled. */
+	static class CountingListener implements AsyncTaskListener<Void> {
+		final AtomicInteger notified = new AtomicInteger();
+
+		@Override
+		public void completed (Void result) {
+			notified.incrementAndGet();
+		}
+
+		@Override
+		public void failed (Throwable t) {
+			notified.incrementAndGet();
+		}
+
+		@Override
+		public void cancelled () {
+			notified.incrementAndGet();
+		}
+	}
+
+	@Test
+	public void testSubmitRacingDisposeIsNotified () throws InterruptedException {
+		for (int round = 0; round < 200; round++) {
+			final AsyncExecutor executor = new AsyncExecutor(2, true);
+			final CountingListener listener = new CountingListener();
+			final AtomicInteger accepted = new AtomicInteger();
+			Thread[] threads = new Thread[4];
+			for (int i = 0; i < threads.length; i++) {
+				threads[i] = new Thread() {
+					@Override
+					public void run () {
+						try {
+							while (true) {
+								executor.submit(task, 0, listener);
+								accepted.incrementAndGet();
+							}
+						} catch (GdxRuntimeException disposed) {
+						}
+					}
+				};
+				threads[i].start();
+			}
+			while (accepted.get() < 100)
+				Thread.yield();
+			executor.dispose();
+			for (Thread thread : threads)
+				thread.join();
+			// the listeners of the tasks accepted during dispose are notified by it
+			assertEquals(accepted.get(), listener.notified.get());
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.lwjgl;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.net.DatagramConnection;
+import com.badlogic.gdx.net.DatagramSocket;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Replicates state from a client to a server over loopback with {@link DatagramConnection}s, dropping a part of the packets in
+ * both directions with {@link DatagramSocket#setSimulatedLoss(float)}. Each frame the client sends a sequenced state update and a
+ * few reliable events. Checks that all the events arrive in order and reports the packets resent, the state updates lost or
+ * dropped and the latency of the events. */
+public class DatagramConnectionBench {
+	static final float LOSS = 0.2f;
+	static final int FRAMES = 300, FRAME_TIME = 16, EVENTS_PER_FRAME = 4, STATE_SIZE = 200;
+
+	static int nextEvent, statesReceived, lastState = -1;
+	static long eventLatency, maxEventLatency;
+	static boolean outOfOrder;
+
+	public static void main (String[] argv) throws InterruptedException {
+		final DatagramSocket server = new DatagramSocket(0, null);
+		final DatagramSocket client = new DatagramSocket(0, null);
+		server.setSimulatedLoss(LOSS);
+		client.setSimulatedLoss(LOSS);
+
+		final DatagramConnection toServer = new DatagramConnection(client, new InetSocketAddress("localhost", server.getPort()));
+		final DatagramConnection[] toClient = new DatagramConnection[1];
+		final DatagramConnection.Listener serverListener = new DatagramConnection.Listener() {
+			@Override
+			public void received (DatagramConnection connection, ByteBuffer message, boolean reliable) {
+				if (reliable) {
+					int event = message.getInt(message.position());
+					if (event != nextEvent) outOfOrder = true;
+					nextEvent = event + 1;
+					long latency = TimeUtils.nanoTime() - message.getLong(message.position() + 4);
+					eventLatency += latency;
+					maxEventLatency = Math.max(maxEventLatency, latency);
+				} else {
+					statesReceived++;
+					lastState = message.getInt(message.position());
+				}
+			}
+		};
+		final DatagramConnection.Listener clientListener = new DatagramConnection.Listener() {
+			@Override
+			public void received (DatagramConnection connection, ByteBuffer message, boolean reliable) {
+			}
+		};
+
+		ByteBuffer state = ByteBuffer.allocate(STATE_SIZE), event = ByteBuffer.allocate(12);
+		int events = 0;
+		for (int frame = 0; frame < FRAMES + 60; frame++) {
+			// the server frame
+			server.receive(new DatagramSocket.Listener() {
+				@Override
+				public void received (SocketAddress address, ByteBuffer packet) {
+					if (toClient[0] == null) toClient[0] = new DatagramConnection(server, address);
+					toClient[0].received(packet, serverListener);
+				}
+			});
+			if (toClient[0] != null) toClient[0].update();
+			server.flush();
+
+			// the client frame, the last second only acknowledges
+			client.receive(new DatagramSocket.Listener() {
+				@Override
+				public void received (SocketAddress address, ByteBuffer packet) {
+					toServer.received(packet, clientListener);
+				}
+			});
+			if (frame < FRAMES) {
+				state.clear();
+				state.putInt(0, frame);
+				toServer.send(state, false);
+				for (int i = 0; i < EVENTS_PER_FRAME; i++) {
+					event.clear();
+					event.putInt(0, events);
+					event.putLong(4, TimeUtils.nanoTime());
+					if (toServer.send(event, true)) events++;
+				}
+			}
+			toServer.update();
+			client.flush();
+			Thread.sleep(FRAME_TIME);
+		}
+
+		System.out.println((int)(LOSS * 100) + "% loss both ways, " + FRAMES + " frames");
+		System.out.println("events: " + nextEvent + " of " + events + " received" + (outOfOrder ? " OUT OF ORDER" : " in order") + ", "
+			+ toServer.getResentCount() + " resent, average latency " + eventLatency / Math.max(nextEvent, 1) / 1000000
+			+ " ms, max " + maxEventLatency / 1000000 + " ms");
+		System.out.println("states: " + statesReceived + " of " + FRAMES + " received, " + toClient[0].getDroppedCount()
+			+ " dropped as out of date, last " + lastState);
+
+		toServer.dispose();
+		toClient[0].dispose();
+		client.dispose();
+		server.dispose();
+	}
+}
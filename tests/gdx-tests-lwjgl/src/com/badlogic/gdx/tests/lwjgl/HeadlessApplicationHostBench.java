@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.lwjgl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationHost;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+
+/** Hosts more and more simulated matches on a {@link HeadlessApplicationHost} with one thread per processor, until their ticks
+ * are late by more than a quarter of the tick interval or get dropped, and reports the number of matches per core. The CPU time
+ * of all the threads of the JVM is measured too, so the scheduling overhead of the host is included in the matches per busy
+ * core. */
+public class HeadlessApplicationHostBench {
+	static final float TICK_RATE = 30;
+	static final int ENTITIES = 64;
+	static final long WARMUP = 1000, MEASURE = 4000;
+
+	/** Moves entities around and counts the pairs close to each other, every tick. */
+	static class Match extends ApplicationAdapter {
+		final float[] x = new float[ENTITIES], y = new float[ENTITIES], vx = new float[ENTITIES], vy = new float[ENTITIES];
+		int contacts;
+
+		@Override
+		public void create () {
+			for (int i = 0; i < ENTITIES; i++) {
+				x[i] = MathUtils.random(100f);
+				y[i] = MathUtils.random(100f);
+				vx[i] = MathUtils.random(-10f, 10f);
+				vy[i] = MathUtils.random(-10f, 10f);
+			}
+		}
+
+		@Override
+		public void render () {
+			float delta = Gdx.graphics.getDeltaTime();
+			for (int i = 0; i < ENTITIES; i++) {
+				x[i] += vx[i] * delta;
+				y[i] += vy[i] * delta;
+				if (x[i] < 0 || x[i] > 100) vx[i] = -vx[i];
+				if (y[i] < 0 || y[i] > 100) vy[i] = -vy[i];
+			}
+			int contacts = 0;
+			for (int i = 0; i < ENTITIES; i++)
+				for (int j = i + 1; j < ENTITIES; j++) {
+					float dx = x[i] - x[j], dy = y[i] - y[j];
+					if (dx * dx + dy * dy < 4) contacts++;
+				}
+			this.contacts = contacts;
+		}
+	}
+
+	public static void main (String[] argv) throws InterruptedException {
+		int cores = Runtime.getRuntime().availableProcessors();
+		HeadlessApplicationHost host = new HeadlessApplicationHost(cores);
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = 1 / TICK_RATE;
+		float budget = config.renderInterval / 4;
+
+		Array<HeadlessApplication> matches = new Array<HeadlessApplication>();
+		int sustained = 0;
+		for (int count = 100 * cores;; count += 100 * cores) {
+			// spread the new matches over a tick, like matches starting at different times
+			int added = count - matches.size, perMilli = added / (int)(1000 / TICK_RATE) + 1;
+			for (int i = 0; i < added; i++) {
+				matches.add(host.add(new Match(), config));
+				if (i % perMilli == 0) Thread.sleep(1);
+			}
+			Thread.sleep(WARMUP);
+			for (HeadlessApplication match : matches)
+				((MockGraphics)match.getGraphics()).resetTickStats();
+			long cpuStart = processCpuTime();
+			Thread.sleep(MEASURE);
+			float load = (processCpuTime() - cpuStart) / (MEASURE * 1000000f);
+
+			float delay = 0, tickCpuTime = 0;
+			int dropped = 0;
+			for (HeadlessApplication match : matches) {
+				MockGraphics graphics = (MockGraphics)match.getGraphics();
+				delay = Math.max(delay, graphics.getTickDelay(0.99f));
+				dropped += graphics.getDroppedTickCount();
+				tickCpuTime += graphics.getCpuTime();
+			}
+			System.out.println(count + " matches: p99 tick delay " + (int)(delay * 1000000) + " us, " + dropped + " dropped ticks, "
+				+ (int)(tickCpuTime * 1000000 / (count * TICK_RATE * MEASURE / 1000)) + " us CPU per tick, "
+				+ String.format("%.2f", load) + " cores busy, " + (int)(count / Math.max(load, 0.01f)) + " matches per busy core");
+			if (delay > budget || dropped > 0) break;
+			sustained = count;
+		}
+		System.out.println(sustained + " matches at " + (int)TICK_RATE + " Hz on " + cores + " cores: " + sustained / cores
+			+ " matches per core");
+		host.dispose();
+	}
+
+	/** @return the CPU time of all the threads of the JVM, in nanoseconds */
+	static long processCpuTime () {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		long time = 0;
+		for (long id : threads.getAllThreadIds())
+			time += Math.max(0, threads.getThreadCpuTime(id));
+		return time;
+	}
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.lwjgl;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.badlogic.gdx.net.NioSelector;
+import com.badlogic.gdx.net.NioServerSocket;
+import com.badlogic.gdx.net.NioSocket;
+import com.badlogic.gdx.net.ServerSocketHints;
+import com.badlogic.gdx.net.SocketHints;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Connects thousands of {@link NioSocket}s to an echo server over loopback, each client keeping a few messages in flight, and
+ * reports how long connecting took and the number of messages echoed per second. The server runs on two selector threads and
+ * answers either on them, or from {@link NioSelector#update()} called every millisecond like a game loop when run with the
+ * "polled" argument. */
+public class NioSocketBench {
+	static final int CLIENTS = 2000, IN_FLIGHT = 4, MESSAGE_SIZE = 64, BUFFER_SIZE = 4096;
+	static final long MEASURE = 5000;
+
+	public static void main (String[] argv) throws InterruptedException {
+		boolean polled = argv.length > 0 && argv[0].equals("polled");
+
+		final AtomicInteger serverConnections = new AtomicInteger();
+		final NioSelector server = new NioSelector(2, BUFFER_SIZE, polled, new NioSelector.Listener() {
+			@Override
+			public void connected (NioSocket socket) {
+				serverConnections.incrementAndGet();
+			}
+
+			@Override
+			public void received (NioSocket socket, ByteBuffer message) {
+				socket.send(message);
+			}
+
+			@Override
+			public void disconnected (NioSocket socket) {
+				serverConnections.decrementAndGet();
+			}
+		});
+		ServerSocketHints serverHints = new ServerSocketHints();
+		serverHints.backlog = CLIENTS;
+		NioServerSocket serverSocket = server.listen(0, serverHints, new SocketHints());
+
+		final AtomicInteger clientConnections = new AtomicInteger();
+		final AtomicLong echoed = new AtomicLong();
+		final ByteBuffer[] messages = new ByteBuffer[IN_FLIGHT];
+		for (int i = 0; i < IN_FLIGHT; i++)
+			messages[i] = ByteBuffer.allocateDirect(MESSAGE_SIZE);
+		NioSelector client = new NioSelector(2, BUFFER_SIZE, false, new NioSelector.Listener() {
+			@Override
+			public void connected (NioSocket socket) {
+				clientConnections.incrementAndGet();
+				for (int i = 0; i < IN_FLIGHT; i++)
+					socket.send(messages[i].duplicate());
+			}
+
+			@Override
+			public void received (NioSocket socket, ByteBuffer message) {
+				echoed.incrementAndGet();
+				socket.send(message);
+			}
+
+			@Override
+			public void disconnected (NioSocket socket) {
+				clientConnections.decrementAndGet();
+			}
+		});
+
+		long start = TimeUtils.nanoTime();
+		Array<NioSocket> sockets = new Array<NioSocket>();
+		for (int i = 0; i < CLIENTS; i++)
+			sockets.add(client.connect("localhost", serverSocket.getPort(), new SocketHints()));
+		while (serverConnections.get() < CLIENTS || clientConnections.get() < CLIENTS) {
+			if (polled) server.update();
+			Thread.sleep(1);
+			if (TimeUtils.nanoTime() - start > 30000000000L) {
+				System.out.println("Only " + serverConnections.get() + " of " + CLIENTS + " clients connected.");
+				break;
+			}
+		}
+		long connectTime = TimeUtils.nanoTime() - start;
+		System.out.println(serverConnections.get() + " connections in " + connectTime / 1000000 + " ms, "
+			+ (int)(serverConnections.get() / (connectTime / 1000000000d)) + " connections/s");
+
+		for (int round = 0; round < 3; round++) {
+			long echoStart = echoed.get();
+			start = TimeUtils.nanoTime();
+			while (TimeUtils.nanoTime() - start < MEASURE * 1000000) {
+				if (polled) server.update();
+				Thread.sleep(1);
+			}
+			long time = TimeUtils.nanoTime() - start;
+			System.out.println((polled ? "polled" : "callback") + " server: " + (int)((echoed.get() - echoStart) / (time / 1000000000d))
+				+ " messages/s echoed over " + CLIENTS + " connections, " + MESSAGE_SIZE + " bytes each");
+		}
+
+		for (NioSocket socket : sockets)
+			socket.dispose();
+		client.dispose();
+		serverSocket.dispose();
+		server.dispose();
+	}
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.lwjgl;
+
+import java.util.concurrent.CountDownLatch;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.RunnableQueue;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Posts runnables from several producer threads while a consumer thread drains them every millisecond, like network and loader
+ * threads posting results to the rendering thread, and compares the {@link RunnableQueue} used by the backends with the
+ * synchronized {@link Array} they used before. Reports the throughput and the worst time the consumer spent draining. */
+public class RunnableQueueBench {
+	static final int PRODUCERS = 4, POSTS = 500000;
+	static final int ROUNDS = 5;
+
+	interface Queue {
+		void post (Runnable runnable);
+
+		void run ();
+	}
+
+	/** The previous backend implementation: a locked array copied to a second array before running. */
+	static class LockedQueue implements Queue {
+		final Array<Runnable> runnables = new Array<Runnable>();
+		final Array<Runnable> executedRunnables = new Array<Runnable>();
+
+		public void post (Runnable runnable) {
+			synchronized (runnables) {
+				runnables.add(runnable);
+			}
+		}
+
+		public void run () {
+			synchronized (runnables) {
+				executedRunnables.clear();
+				executedRunnables.addAll(runnables);
+				runnables.clear();
+			}
+			for (int i = 0; i < executedRunnables.size; i++)
+				executedRunnables.get(i).run();
+		}
+	}
+
+	static class LockFreeQueue implements Queue {
+		final RunnableQueue runnables = new RunnableQueue();
+
+		public void post (Runnable runnable) {
+			runnables.post(runnable);
+		}
+
+		public void run () {
+			runnables.run();
+		}
+	}
+
+	static int ran;
+
+	static final Runnable increment = new Runnable() {
+		public void run () {
+			ran++;
+		}
+	};
+
+	public static void main (String[] argv) throws InterruptedException {
+		for (int round = 0; round < ROUNDS; round++) {
+			bench("synchronized Array", new LockedQueue());
+			bench("RunnableQueue", new LockFreeQueue());
+		}
+	}
+
+	static void bench (String name, final Queue queue) throws InterruptedException {
+		final int total = PRODUCERS * POSTS;
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread[] producers = new Thread[PRODUCERS];
+		for (int i = 0; i < PRODUCERS; i++) {
+			producers[i] = new Thread(new Runnable() {
+				public void run () {
+					try {
+						start.await();
+					} catch (InterruptedException ignored) {
+					}
+					for (int ii = 0; ii < POSTS; ii++)
+						queue.post(increment);
+				}
+			});
+			producers[i].start();
+		}
+
+		ran = 0;
+		long maxDrain = 0, frames = 0;
+		long begin = TimeUtils.nanoTime();
+		start.countDown();
+		while (ran < total) {
+			long drainStart = TimeUtils.nanoTime();
+			queue.run();
+			maxDrain = Math.max(maxDrain, TimeUtils.nanoTime() - drainStart);
+			frames++;
+			Thread.sleep(1);
+		}
+		long time = TimeUtils.nanoTime() - begin;
+		for (Thread producer : producers)
+			producer.join();
+
+		System.out.println(name + ": " + (int)(total / (time / 1000000000d)) + " runnables/s, " + PRODUCERS + " producers, "
+			+ frames + " frames, max drain " + maxDrain / 1000 + " us");
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Measures the throughput of {@link AssetManager#get(String, Class)} and {@link AssetManager#isLoaded(String)} from 1 to 16
+ * threads while the rendering thread keeps calling {@link AssetManager#update()}. Runs as a test like the other benchmarks, the
+ * build has no JMH setup. */
+public class AssetManagerLookupBench extends GdxTest {
+	static final String[] FILES = {"data/badlogic.jpg", "data/badlogicsmall.jpg", "data/egg.png", "data/particle.png",
+		"data/stones.jpg", "data/planet_earth.png", "data/shiptexture.png", "data/alpha.png"};
+	static final int[] THREADS = {1, 2, 4, 8, 16};
+	static final long DURATION = 500;
+
+	AssetManager manager;
+	SpriteBatch batch;
+	BitmapFont font;
+	String[] results = new String[THREADS.length];
+	int run = -1;
+	volatile boolean running;
+	Thread[] threads;
+	AtomicLong lookups = new AtomicLong();
+	long runStart;
+
+	@Override
+	public void create () {
+		manager = new AssetManager();
+		for (String file : FILES)
+			manager.load(file, Texture.class);
+		manager.finishLoading();
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+	}
+
+	@Override
+	public void render () {
+		// keep the manager busy like a game loading in the background would
+		manager.update();
+
+		if (run < THREADS.length && (run == -1 || TimeUtils.millis() - runStart > DURATION)) {
+			if (run >= 0) {
+				stopThreads();
+				long count = lookups.get();
+				results[run] = THREADS[run] + " threads: " + (count * 1000 / DURATION / 1000) + "k lookups/s";
+				Gdx.app.log("AssetManagerLookupBench", results[run]);
+			}
+			if (++run < THREADS.length) startThreads(THREADS[run]);
+		}
+
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		for (int i = 0; i < results.length; i++)
+			if (results[i] != null) font.draw(batch, results[i], 10, Gdx.graphics.getHeight() - 10 - i * 20);
+		batch.end();
+	}
+
+	private void startThreads (int count) {
+		lookups.set(0);
+		running = true;
+		threads = new Thread[count];
+		for (int i = 0; i < count; i++) {
+			final int offset = i;
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run () {
+					long count = 0;
+					int i = offset;
+					while (running) {
+						String file = FILES[i++ % FILES.length];
+						if (manager.isLoaded(file)) manager.get(file, Texture.class);
+						count++;
+					}
+					lookups.addAndGet(count);
+				}
+			});
+			threads[i].start();
+		}
+		runStart = TimeUtils.millis();
+	}
+
+	private void stopThreads () {
+		running = false;
+		try {
+			for (Thread thread : threads)
+				thread.join();
+		} catch (InterruptedException ignored) {
+		}
+	}
+
+	@Override
+	public void dispose () {
+		if (running) stopThreads();
+		manager.dispose();
+		batch.dispose();
+		font.dispose();
+	}
+}
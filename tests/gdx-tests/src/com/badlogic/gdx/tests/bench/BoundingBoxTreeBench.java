@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.BoundingBoxTree;
+import com.badlogic.gdx.math.collision.BoundingBoxTree.QueryCallback;
+import com.badlogic.gdx.math.collision.BoundingBoxTree.RayCastCallback;
+import com.badlogic.gdx.math.collision.Ray;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Compares box, frustum and ray queries on a {@link BoundingBoxTree} with brute force loops over all boxes using
+ * {@link BoundingBox#intersects(BoundingBox)}, {@link Frustum#boundsInFrustum(BoundingBox)} and
+ * {@link Intersector#intersectRayBoundsFast(Ray, BoundingBox)} for 1000, 10000 and 100000 boxes. */
+public class BoundingBoxTreeBench extends GdxTest {
+	static final int[] SIZES = {1000, 10000, 100000};
+	static final int QUERIES = 100;
+	static final float WORLD = 1000f;
+
+	SpriteBatch batch;
+	BitmapFont font;
+	Array<String> results = new Array<String>();
+	int hits;
+
+	final QueryCallback<BoundingBox> queryCallback = new QueryCallback<BoundingBox>() {
+		@Override
+		public boolean report (int proxy, BoundingBox userData) {
+			hits++;
+			return true;
+		}
+	};
+
+	final RayCastCallback<BoundingBox> rayCastCallback = new RayCastCallback<BoundingBox>() {
+		@Override
+		public float report (int proxy, BoundingBox userData, Ray ray, float maxDistance) {
+			hits++;
+			return maxDistance;
+		}
+	};
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+
+		PerspectiveCamera camera = new PerspectiveCamera(67, 1, 1);
+		camera.far = 200f;
+		camera.update();
+		BoundingBox query = new BoundingBox();
+		Ray ray = new Ray(new Vector3(), new Vector3(1, 0, 0));
+
+		// run everything twice, the first run warms up the JIT
+		for (int run = 0; run < 2; run++) {
+			results.clear();
+			for (int size : SIZES) {
+				BoundingBox[] boxes = new BoundingBox[size];
+				BoundingBoxTree<BoundingBox> tree = new BoundingBoxTree<BoundingBox>(0.1f, size);
+				long start = TimeUtils.nanoTime();
+				for (int i = 0; i < size; i++) {
+					boxes[i] = randomBox(new BoundingBox(), 1f, 5f);
+					tree.add(boxes[i], boxes[i]);
+				}
+				results.add(size + " boxes, tree built in " + (TimeUtils.nanoTime() - start) / 1000000 + " ms, height "
+					+ tree.getHeight());
+
+				long bruteTime = 0, treeTime = 0;
+				int bruteHits = 0;
+				hits = 0;
+				for (int q = 0; q < QUERIES; q++) {
+					randomBox(query, 20f, 50f);
+					start = TimeUtils.nanoTime();
+					for (int i = 0; i < size; i++)
+						if (query.intersects(boxes[i])) bruteHits++;
+					bruteTime += TimeUtils.nanoTime() - start;
+					start = TimeUtils.nanoTime();
+					tree.query(query, queryCallback);
+					treeTime += TimeUtils.nanoTime() - start;
+				}
+				result("box", bruteTime, bruteHits, treeTime);
+
+				bruteTime = treeTime = bruteHits = hits = 0;
+				for (int q = 0; q < QUERIES; q++) {
+					camera.position.set(MathUtils.random(-WORLD, WORLD), MathUtils.random(-WORLD, WORLD), MathUtils.random(-WORLD, WORLD));
+					camera.direction.set(MathUtils.random(-1f, 1f), MathUtils.random(-1f, 1f), MathUtils.random(-1f, 1f)).nor();
+					camera.update();
+					start = TimeUtils.nanoTime();
+					for (int i = 0; i < size; i++)
+						if (camera.frustum.boundsInFrustum(boxes[i])) bruteHits++;
+					bruteTime += TimeUtils.nanoTime() - start;
+					start = TimeUtils.nanoTime();
+					tree.query(camera.frustum, queryCallback);
+					treeTime += TimeUtils.nanoTime() - start;
+				}
+				result("frustum", bruteTime, bruteHits, treeTime);
+
+				bruteTime = treeTime = bruteHits = hits = 0;
+				for (int q = 0; q < QUERIES; q++) {
+					ray.origin.set(MathUtils.random(-WORLD, WORLD), MathUtils.random(-WORLD, WORLD), MathUtils.random(-WORLD, WORLD));
+					ray.direction.set(MathUtils.random(-1f, 1f), MathUtils.random(-1f, 1f), MathUtils.random(-1f, 1f)).nor();
+					start = TimeUtils.nanoTime();
+					for (int i = 0; i < size; i++)
+						if (Intersector.intersectRayBoundsFast(ray, boxes[i])) bruteHits++;
+					bruteTime += TimeUtils.nanoTime() - start;
+					start = TimeUtils.nanoTime();
+					tree.rayCast(ray, Float.MAX_VALUE, rayCastCallback);
+					treeTime += TimeUtils.nanoTime() - start;
+				}
+				result("ray", bruteTime, bruteHits, treeTime);
+			}
+		}
+		for (String result : results)
+			Gdx.app.log("BoundingBoxTreeBench", result);
+	}
+
+	private BoundingBox randomBox (BoundingBox out, float minSize, float maxSize) {
+		out.min.set(MathUtils.random(-WORLD, WORLD), MathUtils.random(-WORLD, WORLD), MathUtils.random(-WORLD, WORLD));
+		out.max.set(out.min).add(MathUtils.random(minSize, maxSize), MathUtils.random(minSize, maxSize),
+			MathUtils.random(minSize, maxSize));
+		return out.set(out.min, out.max);
+	}
+
+	private void result (String query, long bruteTime, int bruteHits, long treeTime) {
+		results.add("  " + query + ": brute force " + bruteTime / QUERIES / 1000 + " us (" + bruteHits / QUERIES + " hits), tree "
+			+ treeTime / QUERIES / 1000 + " us (" + hits / QUERIES + " hits)");
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		for (int i = 0; i < results.size; i++)
+			font.draw(batch, results.get(i), 10, Gdx.graphics.getHeight() - 10 - i * 20);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+	}
+}
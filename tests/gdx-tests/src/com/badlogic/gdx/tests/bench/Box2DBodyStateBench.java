@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import java.nio.FloatBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Compares reading the position, angle and velocities of 10000 bodies through the getters of {@link Body} with reading them
+ * all at once through {@link World#getBodyStates(Array, FloatBuffer)}. */
+public class Box2DBodyStateBench extends GdxTest {
+	static final int BODIES = 10000;
+
+	SpriteBatch batch;
+	BitmapFont font;
+	World world;
+	Array<Body> bodies = new Array<Body>();
+	FloatBuffer states = BufferUtils.newFloatBuffer(BODIES * World.BODY_STATE_SIZE);
+	float[] copy = new float[BODIES * World.BODY_STATE_SIZE];
+	long gettersTime, bulkTime;
+	int frames;
+	float sum;
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+		world = new World(new Vector2(0, 0), false);
+
+		BodyDef def = new BodyDef();
+		def.type = BodyType.DynamicBody;
+		CircleShape shape = new CircleShape();
+		shape.setRadius(0.5f);
+		for (int i = 0; i < BODIES; i++) {
+			def.position.set(MathUtils.random(-500f, 500f), MathUtils.random(-500f, 500f));
+			def.linearVelocity.set(MathUtils.random(-1f, 1f), MathUtils.random(-1f, 1f));
+			Body body = world.createBody(def);
+			body.createFixture(shape, 1);
+			bodies.add(body);
+		}
+		shape.dispose();
+	}
+
+	@Override
+	public void render () {
+		world.step(1 / 60f, 1, 1);
+
+		long start = TimeUtils.nanoTime();
+		for (int i = 0, offset = 0; i < BODIES; i++, offset += World.BODY_STATE_SIZE) {
+			Body body = bodies.get(i);
+			Vector2 position = body.getPosition();
+			copy[offset] = position.x;
+			copy[offset + 1] = position.y;
+			copy[offset + 2] = body.getAngle();
+			Vector2 velocity = body.getLinearVelocity();
+			copy[offset + 3] = velocity.x;
+			copy[offset + 4] = velocity.y;
+			copy[offset + 5] = body.getAngularVelocity();
+		}
+		gettersTime += TimeUtils.nanoTime() - start;
+
+		start = TimeUtils.nanoTime();
+		world.getBodyStates(bodies, states);
+		states.get(copy);
+		states.clear();
+		bulkTime += TimeUtils.nanoTime() - start;
+
+		// Keep the results alive.
+		sum += copy[copy.length - 1];
+		frames++;
+
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		font.draw(batch, BODIES + " bodies, " + frames + " frames", 10, Gdx.graphics.getHeight() - 10);
+		font.draw(batch, "getters: " + gettersTime / frames / 1000 + " us/frame", 10, Gdx.graphics.getHeight() - 30);
+		font.draw(batch, "getBodyStates: " + bulkTime / frames / 1000 + " us/frame", 10, Gdx.graphics.getHeight() - 50);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+		world.dispose();
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactEvent;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Steps two identical piles of boxes, one reporting contacts to a {@link ContactListener} and one buffering them, see
+ * {@link World#setBufferContactEvents(boolean)}, and compares the time spent stepping and handling the events. */
+public class Box2DContactEventsBench extends GdxTest {
+	static final int BOXES = 2000;
+
+	SpriteBatch batch;
+	BitmapFont font;
+	World listenerWorld, bufferedWorld;
+	long listenerTime, bufferedTime;
+	int listenerEvents, bufferedEvents;
+	int frames;
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+
+		listenerWorld = createWorld();
+		listenerWorld.setContactListener(new ContactListener() {
+			public void beginContact (Contact contact) {
+				if (contact.getFixtureA() != null) listenerEvents++;
+			}
+
+			public void endContact (Contact contact) {
+				if (contact.getFixtureA() != null) listenerEvents++;
+			}
+
+			public void preSolve (Contact contact, Manifold oldManifold) {
+			}
+
+			public void postSolve (Contact contact, ContactImpulse impulse) {
+			}
+		});
+
+		bufferedWorld = createWorld();
+		bufferedWorld.setBufferContactEvents(true);
+	}
+
+	private World createWorld () {
+		World world = new World(new Vector2(0, -10), true);
+		BodyDef def = new BodyDef();
+		PolygonShape shape = new PolygonShape();
+		shape.setAsBox(100, 1);
+		world.createBody(def).createFixture(shape, 0);
+
+		def.type = BodyType.DynamicBody;
+		shape.setAsBox(0.5f, 0.5f);
+		for (int i = 0; i < BOXES; i++) {
+			def.position.set((i % 50) * 1.1f - 27, 2 + (i / 50) * 1.2f);
+			world.createBody(def).createFixture(shape, 1);
+		}
+		shape.dispose();
+		return world;
+	}
+
+	@Override
+	public void render () {
+		long start = TimeUtils.nanoTime();
+		listenerWorld.step(1 / 60f, 8, 3);
+		listenerTime += TimeUtils.nanoTime() - start;
+
+		start = TimeUtils.nanoTime();
+		bufferedWorld.step(1 / 60f, 8, 3);
+		for (ContactEvent event : bufferedWorld.getContactEvents())
+			if (event.getFixtureA() != null) bufferedEvents++;
+		bufferedTime += TimeUtils.nanoTime() - start;
+		frames++;
+
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		font.draw(batch, BOXES + " boxes, " + frames + " frames", 10, Gdx.graphics.getHeight() - 10);
+		font.draw(batch, "listener: " + listenerTime / frames / 1000 + " us/frame, " + listenerEvents + " events", 10,
+			Gdx.graphics.getHeight() - 30);
+		font.draw(batch, "buffered: " + bufferedTime / frames / 1000 + " us/frame, " + bufferedEvents + " events", 10,
+			Gdx.graphics.getHeight() - 50);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+		listenerWorld.dispose();
+		bufferedWorld.dispose();
+	}
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.tests.bench;
+
+import java.nio.FloatBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Steps two identical worlds made of many separate pyramids, one solving its islands on the calling thread and one on all
+ * available processors, see {@link World#setSolverThreads(int)}. Compares the time spent stepping and checks that both worlds
+ * stay identical. */
+public class Box2DSolverThreadsBench extends GdxTest {
+	static final int PYRAMIDS = 100;
+	static final int ROWS = 8;
+
+	SpriteBatch batch;
+	BitmapFont font;
+	World singleWorld, threadedWorld;
+	Array<Body> singleBodies = new Array<Body>(), threadedBodies = new Array<Body>();
+	FloatBuffer singleStates, threadedStates;
+	int threads;
+	long singleTime, threadedTime;
+	int frames;
+	boolean identical = true;
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+
+		threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+		singleWorld = createWorld(singleBodies);
+		threadedWorld = createWorld(threadedBodies);
+		threadedWorld.setSolverThreads(threads);
+
+		singleStates = BufferUtils.newFloatBuffer(singleBodies.size * World.BODY_STATE_SIZE);
+		threadedStates = BufferUtils.newFloatBuffer(threadedBodies.size * World.BODY_STATE_SIZE);
+	}
+
+	private World createWorld (Array<Body> bodies) {
+		World world = new World(new Vector2(0, -10), true);
+		BodyDef def = new BodyDef();
+		PolygonShape shape = new PolygonShape();
+		shape.setAsBox(PYRAMIDS * 6, 1);
+		world.createBody(def).createFixture(shape, 0);
+
+		def.type = BodyType.DynamicBody;
+		shape.setAsBox(0.5f, 0.5f);
+		for (int p = 0; p < PYRAMIDS; p++) {
+			float x = (p - PYRAMIDS / 2) * 12;
+			for (int row = 0; row < ROWS; row++) {
+				for (int i = 0; i < ROWS - row; i++) {
+					def.position.set(x + i * 1.05f + row * 0.525f, 1.5f + row * 1.05f);
+					Body body = world.createBody(def);
+					body.createFixture(shape, 1);
+					bodies.add(body);
+				}
+			}
+		}
+		shape.dispose();
+		return world;
+	}
+
+	@Override
+	public void render () {
+		long start = TimeUtils.nanoTime();
+		singleWorld.step(1 / 60f, 8, 3);
+		singleTime += TimeUtils.nanoTime() - start;
+
+		start = TimeUtils.nanoTime();
+		threadedWorld.step(1 / 60f, 8, 3);
+		threadedTime += TimeUtils.nanoTime() - start;
+		frames++;
+
+		singleWorld.getBodyStates(singleBodies, singleStates);
+		threadedWorld.getBodyStates(threadedBodies, threadedStates);
+		if (!singleStates.equals(threadedStates)) identical = false;
+
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		font.draw(batch, singleBodies.size + " boxes in " + PYRAMIDS + " pyramids, " + frames + " frames", 10,
+			Gdx.graphics.getHeight() - 10);
+		font.draw(batch, "1 thread: " + singleTime / frames / 1000 + " us/frame", 10, Gdx.graphics.getHeight() - 30);
+		font.draw(batch, threads + " threads: " + threadedTime / frames / 1000 + " us/frame", 10, Gdx.graphics.getHeight() - 50);
+		font.draw(batch, identical ? "worlds are identical" : "worlds differ", 10, Gdx.graphics.getHeight() - 70);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+		singleWorld.dispose();
+		threadedWorld.dispose();
+	}
+}
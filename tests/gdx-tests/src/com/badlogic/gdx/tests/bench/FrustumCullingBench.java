@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Bits;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Compares the time it takes to test 50000 boxes against a {@link Frustum} one by one and with the bulk methods taking arrays
+ * of centers and extents. */
+public class FrustumCullingBench extends GdxTest {
+	static final int BOXES = 50000, ITERATIONS = 100;
+
+	SpriteBatch batch;
+	BitmapFont font;
+	Array<String> results = new Array<String>();
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+
+		BoundingBox[] boxes = new BoundingBox[BOXES];
+		float[] centers = new float[BOXES * 3], halfExtents = new float[BOXES * 3];
+		for (int i = 0, j = 0; i < BOXES; i++, j += 3) {
+			centers[j] = MathUtils.random(-500f, 500f);
+			centers[j + 1] = MathUtils.random(-10f, 10f);
+			centers[j + 2] = MathUtils.random(-500f, 500f);
+			halfExtents[j] = MathUtils.random(0.5f, 3f);
+			halfExtents[j + 1] = MathUtils.random(0.5f, 3f);
+			halfExtents[j + 2] = MathUtils.random(0.5f, 3f);
+			boxes[i] = new BoundingBox(new Vector3(centers[j], centers[j + 1], centers[j + 2]).sub(halfExtents[j],
+				halfExtents[j + 1], halfExtents[j + 2]), new Vector3(centers[j], centers[j + 1], centers[j + 2]).add(halfExtents[j],
+				halfExtents[j + 1], halfExtents[j + 2]));
+		}
+
+		PerspectiveCamera camera = new PerspectiveCamera(67, 1, 1);
+		camera.far = 300f;
+		camera.position.set(0, 5, 0);
+		camera.lookAt(100, 0, 100);
+		camera.update();
+		Frustum frustum = camera.frustum;
+
+		boolean[] visible = new boolean[BOXES];
+		Bits bits = new Bits(BOXES);
+		// run everything twice, the first run warms up the JIT
+		for (int run = 0; run < 2; run++) {
+			results.clear();
+			int count = 0;
+			long start = TimeUtils.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++)
+				for (int j = 0; j < BOXES; j++)
+					if (frustum.boundsInFrustum(boxes[j])) count++;
+			result("boundsInFrustum(BoundingBox)", start, count);
+
+			count = 0;
+			start = TimeUtils.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++)
+				for (int j = 0, k = 0; j < BOXES; j++, k += 3)
+					if (frustum.boundsInFrustum(centers[k], centers[k + 1], centers[k + 2], halfExtents[k], halfExtents[k + 1],
+						halfExtents[k + 2])) count++;
+			result("boundsInFrustum(float...)", start, count);
+
+			count = 0;
+			start = TimeUtils.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++)
+				count += frustum.boundsInFrustum(centers, halfExtents, 0, BOXES, visible);
+			result("boundsInFrustum(float[], boolean[])", start, count);
+
+			count = 0;
+			start = TimeUtils.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++)
+				count += frustum.boundsInFrustum(centers, halfExtents, 0, BOXES, bits);
+			result("boundsInFrustum(float[], Bits)", start, count);
+		}
+		for (String result : results)
+			Gdx.app.log("FrustumCullingBench", result);
+	}
+
+	private void result (String name, long start, int count) {
+		results.add(name + ": " + ((TimeUtils.nanoTime() - start) / ITERATIONS / 1000) + " us per " + BOXES + " boxes, "
+			+ (count / ITERATIONS) + " visible");
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		for (int i = 0; i < results.size; i++)
+			font.draw(batch, results.get(i), 10, Gdx.graphics.getHeight() - 10 - i * 20);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+	}
+}
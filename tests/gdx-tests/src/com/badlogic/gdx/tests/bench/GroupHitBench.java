@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Compares the time {@link Group#hit(float, float, boolean)} takes for a group of 10000 inventory slots and 1000 map markers with
+ * and without the {@link Group#setHitGrid(float) hit grid}, and checks that both find the same actors. */
+public class GroupHitBench extends GdxTest {
+	static final int SLOTS = 100, SLOT_SIZE = 32, MARKERS = 1000, HITS = 100000;
+
+	SpriteBatch batch;
+	BitmapFont font;
+	Array<String> results = new Array<String>();
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+
+		Group group = new Group();
+		for (int x = 0; x < SLOTS; x++) {
+			for (int y = 0; y < SLOTS; y++) {
+				Actor slot = new Actor();
+				slot.setBounds(x * SLOT_SIZE, y * SLOT_SIZE, SLOT_SIZE - 2, SLOT_SIZE - 2);
+				group.addActor(slot);
+			}
+		}
+		for (int i = 0; i < MARKERS; i++) {
+			Actor marker = new Actor();
+			marker.setBounds(MathUtils.random(SLOTS * SLOT_SIZE), MathUtils.random(SLOTS * SLOT_SIZE), 12, 12);
+			group.addActor(marker);
+		}
+
+		float[] points = new float[HITS * 2];
+		for (int i = 0; i < points.length; i++)
+			points[i] = MathUtils.random(SLOTS * SLOT_SIZE);
+		Actor[] expected = new Actor[HITS];
+
+		// run everything twice, the first run warms up the JIT
+		for (int run = 0; run < 2; run++) {
+			results.clear();
+			group.setHitGrid(0);
+			long start = TimeUtils.nanoTime();
+			for (int i = 0; i < HITS; i++)
+				expected[i] = group.hit(points[i * 2], points[i * 2 + 1], true);
+			results.add("without grid: " + (TimeUtils.nanoTime() - start) / HITS + " ns/hit");
+
+			group.setHitGrid(SLOT_SIZE);
+			int mismatches = 0;
+			start = TimeUtils.nanoTime();
+			for (int i = 0; i < HITS; i++)
+				if (group.hit(points[i * 2], points[i * 2 + 1], true) != expected[i]) mismatches++;
+			results.add("with grid: " + (TimeUtils.nanoTime() - start) / HITS + " ns/hit, " + mismatches + " mismatches");
+		}
+		for (String result : results)
+			Gdx.app.log("GroupHitBench", result);
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		for (int i = 0; i < results.size; i++)
+			font.draw(batch, results.get(i), 10, Gdx.graphics.getHeight() - 10 - i * 20);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+	}
+}
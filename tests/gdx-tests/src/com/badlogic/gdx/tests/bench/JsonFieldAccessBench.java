@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.reflect.Field;
+
+/** Compares writing and reading 20000 entities with the default reflection based {@link Json.FieldAccessor} and with hand
+ * written accessors, as a code generator would produce them, supplied by overriding {@link Json#newFieldAccessor(Field)}. */
+public class JsonFieldAccessBench extends GdxTest {
+	static final int ENTITIES = 20000, RUNS = 5;
+
+	SpriteBatch batch;
+	BitmapFont font;
+	Array<String> results = new Array<String>();
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+
+		Array<Entity> entities = new Array<Entity>();
+		for (int i = 0; i < ENTITIES; i++) {
+			Entity entity = new Entity();
+			entity.id = i;
+			entity.x = MathUtils.random(1000f);
+			entity.y = MathUtils.random(1000f);
+			entity.health = MathUtils.random(100);
+			entity.active = MathUtils.randomBoolean();
+			entity.seed = MathUtils.random(Long.MAX_VALUE);
+			entity.name = "entity" + i;
+			entities.add(entity);
+		}
+
+		Json reflective = new Json();
+		Json generated = new GeneratedJson();
+		// The first runs warm up the JIT.
+		for (int run = 0; run < 2; run++) {
+			results.clear();
+			bench("reflection", reflective, entities);
+			bench("accessors", generated, entities);
+		}
+		for (String result : results)
+			Gdx.app.log("JsonFieldAccessBench", result);
+	}
+
+	private void bench (String label, Json json, Array<Entity> entities) {
+		String text = null;
+		long start = TimeUtils.nanoTime();
+		for (int i = 0; i < RUNS; i++)
+			text = json.toJson(entities, Array.class, Entity.class);
+		long writeTime = (TimeUtils.nanoTime() - start) / RUNS;
+
+		Array<Entity> read = null;
+		start = TimeUtils.nanoTime();
+		for (int i = 0; i < RUNS; i++)
+			read = json.fromJson(Array.class, Entity.class, text);
+		long readTime = (TimeUtils.nanoTime() - start) / RUNS;
+
+		if (read.size != entities.size || read.peek().seed != entities.peek().seed) throw new RuntimeException("Mismatch: " + label);
+		results.add(label + ": write " + writeTime / 1000000 + " ms, read " + readTime / 1000000 + " ms");
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		for (int i = 0; i < results.size; i++)
+			font.draw(batch, results.get(i), 10, Gdx.graphics.getHeight() - 10 - i * 20);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+	}
+
+	static public class Entity {
+		public int id;
+		public float x, y;
+		public int health;
+		public boolean active;
+		public long seed;
+		public String name;
+	}
+
+	/** Uses accessors which access the fields of {@link Entity} directly. */
+	static class GeneratedJson extends Json {
+		@Override
+		protected FieldAccessor newFieldAccessor (Field field) {
+			if (field.getDeclaringClass() != Entity.class) return super.newFieldAccessor(field);
+			String name = field.getName();
+			if (name.equals("id")) return new FieldAccessor(field) {
+				public int getInt (Object object) {
+					return ((Entity)object).id;
+				}
+
+				public void setInt (Object object, int value) {
+					((Entity)object).id = value;
+				}
+			};
+			if (name.equals("x")) return new FieldAccessor(field) {
+				public float getFloat (Object object) {
+					return ((Entity)object).x;
+				}
+
+				public void setFloat (Object object, float value) {
+					((Entity)object).x = value;
+				}
+			};
+			if (name.equals("y")) return new FieldAccessor(field) {
+				public float getFloat (Object object) {
+					return ((Entity)object).y;
+				}
+
+				public void setFloat (Object object, float value) {
+					((Entity)object).y = value;
+				}
+			};
+			if (name.equals("health")) return new FieldAccessor(field) {
+				public int getInt (Object object) {
+					return ((Entity)object).health;
+				}
+
+				public void setInt (Object object, int value) {
+					((Entity)object).health = value;
+				}
+			};
+			if (name.equals("active")) return new FieldAccessor(field) {
+				public boolean getBoolean (Object object) {
+					return ((Entity)object).active;
+				}
+
+				public void setBoolean (Object object, boolean value) {
+					((Entity)object).active = value;
+				}
+			};
+			if (name.equals("seed")) return new FieldAccessor(field) {
+				public long getLong (Object object) {
+					return ((Entity)object).seed;
+				}
+
+				public void setLong (Object object, long value) {
+					((Entity)object).seed = value;
+				}
+			};
+			if (name.equals("name")) return new FieldAccessor(field) {
+				public Object get (Object object) {
+					return ((Entity)object).name;
+				}
+
+				public void set (Object object, Object value) {
+					((Entity)object).name = (String)value;
+				}
+			};
+			return super.newFieldAccessor(field);
+		}
+	}
+}
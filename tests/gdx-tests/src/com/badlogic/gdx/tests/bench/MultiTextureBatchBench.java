@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.MultiTextureSpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+
+/** Draws sprites interleaved from several textures with either a {@link SpriteBatch}, which flushes on every texture switch, or
+ * a {@link MultiTextureSpriteBatch}. Touch the screen to switch between the two. */
+public class MultiTextureBatchBench extends GdxTest {
+	static final int SPRITES = 5000;
+	static final String[] FILES = {"data/badlogicsmall.jpg", "data/egg.png", "data/particle-star.png", "data/planet_earth.png"};
+
+	SpriteBatch spriteBatch, uiBatch;
+	MultiTextureSpriteBatch multiBatch;
+	BitmapFont font;
+	Texture[] textures = new Texture[FILES.length];
+	float[] positions = new float[SPRITES * 2];
+	boolean multi = true;
+
+	@Override
+	public void create () {
+		spriteBatch = new SpriteBatch(1000);
+		multiBatch = new MultiTextureSpriteBatch(1000);
+		uiBatch = new SpriteBatch();
+		font = new BitmapFont();
+		for (int i = 0; i < FILES.length; i++)
+			textures[i] = new Texture(Gdx.files.internal(FILES[i]));
+		for (int i = 0; i < SPRITES; i++) {
+			positions[i * 2] = MathUtils.random(Gdx.graphics.getWidth() - 32);
+			positions[i * 2 + 1] = MathUtils.random(Gdx.graphics.getHeight() - 32);
+		}
+	}
+
+	@Override
+	public void render () {
+		if (Gdx.input.justTouched()) multi = !multi;
+
+		Gdx.gl.glClearColor(0.2f, 0.2f, 0.2f, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+		int renderCalls;
+		if (multi) {
+			multiBatch.begin();
+			for (int i = 0; i < SPRITES; i++)
+				multiBatch.draw(textures[i % textures.length], positions[i * 2], positions[i * 2 + 1], 32, 32);
+			multiBatch.end();
+			renderCalls = multiBatch.renderCalls;
+		} else {
+			spriteBatch.begin();
+			for (int i = 0; i < SPRITES; i++)
+				spriteBatch.draw(textures[i % textures.length], positions[i * 2], positions[i * 2 + 1], 32, 32);
+			spriteBatch.end();
+			renderCalls = spriteBatch.renderCalls;
+		}
+
+		uiBatch.begin();
+		font.draw(uiBatch, (multi ? "MultiTextureSpriteBatch (" + multiBatch.getMaxTextures() + " textures)" : "SpriteBatch")
+			+ ", fps: " + Gdx.graphics.getFramesPerSecond() + ", render calls: " + renderCalls, 10, 20);
+		uiBatch.end();
+	}
+
+	@Override
+	public void dispose () {
+		spriteBatch.dispose();
+		multiBatch.dispose();
+		uiBatch.dispose();
+		font.dispose();
+		for (Texture texture : textures)
+			texture.dispose();
+	}
+}
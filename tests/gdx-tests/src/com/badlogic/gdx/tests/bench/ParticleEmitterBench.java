@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.ArrayParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Updates and draws the same effect with {@link ParticleEmitter} and {@link ArrayParticleEmitter}, with tens of thousands of
+ * particles, and compares the time spent. */
+public class ParticleEmitterBench extends GdxTest {
+	static final int MAX_PARTICLES = 25000;
+
+	SpriteBatch batch;
+	BitmapFont font;
+	ParticleEffect spriteEffect, arrayEffect;
+	long spriteTime, arrayTime;
+	int frames;
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch(8191);
+		font = new BitmapFont();
+
+		spriteEffect = new ParticleEffect();
+		arrayEffect = new ParticleEffect() {
+			protected ParticleEmitter newEmitter (BufferedReader reader) throws IOException {
+				return new ArrayParticleEmitter(reader);
+			}
+
+			protected ParticleEmitter newEmitter (ParticleEmitter emitter) {
+				return new ArrayParticleEmitter(emitter);
+			}
+		};
+		setup(spriteEffect, Gdx.graphics.getWidth() / 4);
+		setup(arrayEffect, Gdx.graphics.getWidth() * 3 / 4);
+	}
+
+	private void setup (ParticleEffect effect, float x) {
+		effect.load(Gdx.files.internal("data/test.p"), Gdx.files.internal("data"));
+		Array<ParticleEmitter> emitters = effect.getEmitters();
+		for (int i = 0; i < emitters.size; i++) {
+			ParticleEmitter emitter = emitters.get(i);
+			emitter.setMaxParticleCount(MAX_PARTICLES / emitters.size);
+			emitter.getEmission().setHigh(MAX_PARTICLES);
+			emitter.setContinuous(true);
+		}
+		effect.setPosition(x, Gdx.graphics.getHeight() / 2);
+		effect.start();
+	}
+
+	@Override
+	public void render () {
+		float delta = Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+
+		long start = TimeUtils.nanoTime();
+		spriteEffect.draw(batch, delta);
+		batch.flush();
+		spriteTime += TimeUtils.nanoTime() - start;
+
+		start = TimeUtils.nanoTime();
+		arrayEffect.draw(batch, delta);
+		batch.flush();
+		arrayTime += TimeUtils.nanoTime() - start;
+		frames++;
+
+		font.draw(batch, "ParticleEmitter: " + spriteTime / frames / 1000 + " us/frame", 10, Gdx.graphics.getHeight() - 10);
+		font.draw(batch, "ArrayParticleEmitter: " + arrayTime / frames / 1000 + " us/frame", 10, Gdx.graphics.getHeight() - 30);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+		spriteEffect.dispose();
+		arrayEffect.dispose();
+	}
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.particles.ParticleController;
+import com.badlogic.gdx.graphics.g3d.particles.ParticleEffect;
+import com.badlogic.gdx.graphics.g3d.particles.ParticleSystem;
+import com.badlogic.gdx.graphics.g3d.particles.batches.BillboardParticleBatch;
+import com.badlogic.gdx.graphics.g3d.particles.emitters.RegularEmitter;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.ColorInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsModifier.BrownianAcceleration;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.RegionInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.ScaleInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.SpawnInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.renderers.BillboardRenderer;
+import com.badlogic.gdx.graphics.g3d.particles.values.PointSpawnShapeValue;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Updates a grid of 3D particle effects through {@link ParticleSystem} and compares the time spent updating them on one thread
+ * and on all processors, see {@link ParticleSystem#setUpdateThreads(int)}. Touch to switch. */
+public class ParticleSystemUpdateBench extends GdxTest {
+	static final int EFFECTS = 144, PARTICLES = 1000;
+
+	PerspectiveCamera cam;
+	ModelBatch modelBatch;
+	SpriteBatch batch;
+	BitmapFont font;
+	Texture texture;
+	BillboardParticleBatch particleBatch;
+	Array<ParticleEffect> effects = new Array<ParticleEffect>();
+	Vector3 tmpV = new Vector3();
+	int threads = 1;
+	long updateTime;
+	int frames;
+
+	@Override
+	public void create () {
+		cam = new PerspectiveCamera(67, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		cam.position.set(0, 30, 40);
+		cam.lookAt(0, 0, 0);
+		cam.far = 200;
+		cam.update();
+		modelBatch = new ModelBatch();
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+		texture = new Texture(Gdx.files.internal("data/pre_particle.png"));
+		particleBatch = new BillboardParticleBatch();
+		particleBatch.setCamera(cam);
+		particleBatch.setTexture(texture);
+
+		ParticleSystem system = ParticleSystem.get();
+		system.add(particleBatch);
+		int side = (int)Math.ceil(Math.sqrt(EFFECTS));
+		for (int i = 0; i < EFFECTS; i++) {
+			ParticleEffect effect = new ParticleEffect(createController());
+			effect.init();
+			effect.start();
+			effect.translate(tmpV.set((i % side - side / 2) * 4, 0, (i / side - side / 2) * 4));
+			effects.add(effect);
+			system.add(effect);
+		}
+	}
+
+	private ParticleController createController () {
+		RegularEmitter emitter = new RegularEmitter();
+		emitter.getDuration().setLow(3000);
+		emitter.getEmission().setHigh(PARTICLES);
+		emitter.getLife().setHigh(1000);
+		emitter.setMaxParticleCount(PARTICLES);
+
+		PointSpawnShapeValue spawnShape = new PointSpawnShapeValue();
+		spawnShape.xOffsetValue.setLow(0, 1f);
+		spawnShape.xOffsetValue.setActive(true);
+		spawnShape.zOffsetValue.setLow(0, 1f);
+		spawnShape.zOffsetValue.setActive(true);
+
+		ScaleInfluencer scaleInfluencer = new ScaleInfluencer();
+		scaleInfluencer.value.setTimeline(new float[] {0, 1});
+		scaleInfluencer.value.setScaling(new float[] {1, 0});
+		scaleInfluencer.value.setHigh(0.5f);
+
+		ColorInfluencer.Single colorInfluencer = new ColorInfluencer.Single();
+		colorInfluencer.colorValue.setColors(new float[] {1, 0.5f, 0.1f, 0.2f, 0.1f, 1});
+		colorInfluencer.colorValue.setTimeline(new float[] {0, 1});
+		colorInfluencer.alphaValue.setHigh(1);
+		colorInfluencer.alphaValue.setTimeline(new float[] {0, 0.5f, 1});
+		colorInfluencer.alphaValue.setScaling(new float[] {0, 0.5f, 0});
+
+		DynamicsInfluencer dynamicsInfluencer = new DynamicsInfluencer();
+		BrownianAcceleration modifier = new BrownianAcceleration();
+		modifier.strengthValue.setTimeline(new float[] {0, 1});
+		modifier.strengthValue.setScaling(new float[] {0, 1});
+		modifier.strengthValue.setHigh(40);
+		dynamicsInfluencer.velocities.add(modifier);
+
+		return new ParticleController("Bench Controller", emitter, new BillboardRenderer(particleBatch),
+			new RegionInfluencer.Single(texture), new SpawnInfluencer(spawnShape), scaleInfluencer, colorInfluencer,
+			dynamicsInfluencer);
+	}
+
+	@Override
+	public void render () {
+		if (Gdx.input.justTouched()) {
+			threads = threads == 1 ? Runtime.getRuntime().availableProcessors() : 1;
+			ParticleSystem.get().setUpdateThreads(threads);
+			updateTime = frames = 0;
+		}
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+
+		ParticleSystem system = ParticleSystem.get();
+		long start = TimeUtils.nanoTime();
+		system.update();
+		updateTime += TimeUtils.nanoTime() - start;
+		frames++;
+
+		system.begin();
+		system.draw();
+		system.end();
+		modelBatch.begin(cam);
+		modelBatch.render(system);
+		modelBatch.end();
+
+		batch.begin();
+		font.draw(batch, EFFECTS + " effects, " + threads + " thread(s): " + updateTime / frames / 1000 + " us/update", 10,
+			Gdx.graphics.getHeight() - 10);
+		font.draw(batch, "fps: " + Gdx.graphics.getFramesPerSecond() + ", touch to switch", 10, Gdx.graphics.getHeight() - 30);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		ParticleSystem system = ParticleSystem.get();
+		system.setUpdateThreads(1);
+		system.removeAll();
+		system.getBatches().removeValue(particleBatch, true);
+		for (ParticleEffect effect : effects)
+			effect.dispose();
+		modelBatch.dispose();
+		batch.dispose();
+		font.dispose();
+		texture.dispose();
+	}
+}
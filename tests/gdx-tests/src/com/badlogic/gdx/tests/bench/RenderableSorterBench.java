@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
+import com.badlogic.gdx.graphics.g3d.utils.DefaultRenderableSorter;
+import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.graphics.g3d.utils.RenderableSorter;
+import com.badlogic.gdx.graphics.g3d.utils.SortKeyRenderableSorter;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Compares the time {@link DefaultRenderableSorter} and {@link SortKeyRenderableSorter} take to sort 5000 renderables and the
+ * number of shader and texture switches the resulting order causes. */
+public class RenderableSorterBench extends GdxTest {
+	static final int RENDERABLES = 5000, SHADERS = 8, TEXTURES = 32, MATERIALS = 256, ITERATIONS = 200;
+
+	SpriteBatch batch;
+	BitmapFont font;
+	Array<Texture> textures = new Array<Texture>();
+	Array<String> results = new Array<String>();
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+
+		Pixmap pixmap = new Pixmap(1, 1, Format.RGBA8888);
+		for (int i = 0; i < TEXTURES; i++)
+			textures.add(new Texture(pixmap));
+		pixmap.dispose();
+
+		Shader[] shaders = new Shader[SHADERS];
+		for (int i = 0; i < SHADERS; i++)
+			shaders[i] = new BenchShader();
+		Material[] materials = new Material[MATERIALS];
+		for (int i = 0; i < MATERIALS; i++) {
+			materials[i] = new Material(TextureAttribute.createDiffuse(textures.get(MathUtils.random(TEXTURES - 1))),
+				ColorAttribute.createDiffuse(MathUtils.random(), MathUtils.random(), MathUtils.random(), 1));
+			if (i % 4 == 0) materials[i].set(new BlendingAttribute(0.5f));
+		}
+
+		Array<Renderable> renderables = new Array<Renderable>();
+		for (int i = 0; i < RENDERABLES; i++) {
+			Renderable renderable = new Renderable();
+			renderable.shader = shaders[MathUtils.random(SHADERS - 1)];
+			renderable.material = materials[MathUtils.random(MATERIALS - 1)];
+			renderable.worldTransform.setToTranslation(MathUtils.random(-100f, 100f), MathUtils.random(-100f, 100f),
+				MathUtils.random(-100f, 100f));
+			renderables.add(renderable);
+		}
+
+		PerspectiveCamera camera = new PerspectiveCamera(67, 1, 1);
+		camera.position.set(0, 0, 150);
+		camera.update();
+
+		// run each sorter twice, the first run warms up the JIT
+		for (int i = 0; i < 2; i++) {
+			results.clear();
+			bench("DefaultRenderableSorter", new DefaultRenderableSorter(), camera, renderables);
+			bench("SortKeyRenderableSorter", new SortKeyRenderableSorter(), camera, renderables);
+		}
+		for (String result : results)
+			Gdx.app.log("RenderableSorterBench", result);
+	}
+
+	private void bench (String name, RenderableSorter sorter, Camera camera, Array<Renderable> renderables) {
+		long time = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			renderables.shuffle();
+			long start = TimeUtils.nanoTime();
+			sorter.sort(camera, renderables);
+			time += TimeUtils.nanoTime() - start;
+		}
+
+		int shaderSwitches = 0, textureSwitches = 0;
+		Shader shader = null;
+		Texture texture = null;
+		for (Renderable renderable : renderables) {
+			if (renderable.shader != shader) shaderSwitches++;
+			shader = renderable.shader;
+			Texture current = ((TextureAttribute)renderable.material.get(TextureAttribute.Diffuse)).textureDescription.texture;
+			if (current != texture) textureSwitches++;
+			texture = current;
+		}
+		results.add(name + ": " + (time / ITERATIONS / 1000) + " us/sort, " + shaderSwitches + " shader switches, "
+			+ textureSwitches + " texture switches");
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		for (int i = 0; i < results.size; i++)
+			font.draw(batch, results.get(i), 10, Gdx.graphics.getHeight() - 10 - i * 20);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+		for (Texture texture : textures)
+			texture.dispose();
+	}
+
+	static class BenchShader implements Shader {
+		@Override
+		public void init () {
+		}
+
+		@Override
+		public int compareTo (Shader other) {
+			return 0;
+		}
+
+		@Override
+		public boolean canRender (Renderable instance) {
+			return true;
+		}
+
+		@Override
+		public void begin (Camera camera, RenderContext context) {
+		}
+
+		@Override
+		public void render (Renderable renderable) {
+		}
+
+		@Override
+		public void end () {
+		}
+
+		@Override
+		public void dispose () {
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+
+/** Draws many sprites with a small {@link SpriteBatch}, so it flushes many times per frame, using one, two or three vertex
+ * buffers. Touch the screen to switch the number of buffers. The {@link GLProfiler} counters show the uploads per frame. */
+public class SpriteBatchBuffersBench extends GdxTest {
+	static final int SPRITES = 20000, BATCH_SIZE = 200;
+
+	SpriteBatch[] batches = new SpriteBatch[3];
+	SpriteBatch uiBatch;
+	BitmapFont font;
+	Texture texture;
+	float[] positions = new float[SPRITES * 2];
+	int current;
+
+	@Override
+	public void create () {
+		for (int i = 0; i < batches.length; i++)
+			batches[i] = new SpriteBatch(BATCH_SIZE, i + 1, null);
+		uiBatch = new SpriteBatch();
+		font = new BitmapFont();
+		texture = new Texture(Gdx.files.internal("data/badlogicsmall.jpg"));
+		for (int i = 0; i < SPRITES; i++) {
+			positions[i * 2] = MathUtils.random(Gdx.graphics.getWidth() - 32);
+			positions[i * 2 + 1] = MathUtils.random(Gdx.graphics.getHeight() - 32);
+		}
+		GLProfiler.enable();
+	}
+
+	@Override
+	public void render () {
+		if (Gdx.input.justTouched()) current = (current + 1) % batches.length;
+
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		GLProfiler.reset();
+
+		SpriteBatch batch = batches[current];
+		batch.begin();
+		for (int i = 0; i < SPRITES; i++)
+			batch.draw(texture, positions[i * 2], positions[i * 2 + 1], 32, 32);
+		batch.end();
+
+		int drawCalls = GLProfiler.drawCalls, uploads = GLProfiler.bufferUploads, uploadBytes = GLProfiler.bufferUploadBytes;
+		uiBatch.begin();
+		font.draw(uiBatch, (current + 1) + " buffer(s), fps: " + Gdx.graphics.getFramesPerSecond() + ", draw calls: " + drawCalls
+			+ ", buffer uploads: " + uploads + " (" + uploadBytes / 1024 + " KB)", 10, 20);
+		uiBatch.end();
+	}
+
+	@Override
+	public void dispose () {
+		GLProfiler.disable();
+		for (SpriteBatch batch : batches)
+			batch.dispose();
+		uiBatch.dispose();
+		font.dispose();
+		texture.dispose();
+	}
+}
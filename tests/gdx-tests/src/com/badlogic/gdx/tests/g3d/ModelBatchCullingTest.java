@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.g3d;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputMultiplexer;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
+import com.badlogic.gdx.graphics.g3d.utils.CameraInputController;
+import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
+import com.badlogic.gdx.graphics.g3d.utils.RenderableCollector;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Renders a large grid of boxes, collecting the renderables one by one or with a {@link RenderableCollector} which culls the
+ * boxes outside the frustum on multiple threads, touch to toggle. Instancing is disabled so every visible box is one draw call. */
+public class ModelBatchCullingTest extends GdxTest {
+	static final int SIZE = 100;
+
+	PerspectiveCamera cam;
+	CameraInputController inputController;
+	ModelBatch modelBatch;
+	RenderableCollector collector;
+	Model model;
+	Array<ModelInstance> instances = new Array<ModelInstance>();
+	Environment environment;
+	SpriteBatch spriteBatch;
+	BitmapFont font;
+	long collectTime;
+
+	@Override
+	public void create () {
+		modelBatch = new ModelBatch();
+		modelBatch.setInstancing(false);
+		collector = new RenderableCollector(3);
+		modelBatch.setRenderableCollector(collector);
+		environment = new Environment();
+		environment.set(new ColorAttribute(ColorAttribute.AmbientLight, .4f, .4f, .4f, 1f));
+		environment.add(new DirectionalLight().set(0.8f, 0.8f, 0.8f, -1f, -0.8f, -0.2f));
+
+		cam = new PerspectiveCamera(67, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		cam.position.set(0, 10, 0);
+		cam.lookAt(10, 0, 10);
+		cam.near = 0.1f;
+		cam.far = 100f;
+		cam.update();
+
+		ModelBuilder modelBuilder = new ModelBuilder();
+		model = modelBuilder.createBox(1f, 1f, 1f, new Material(ColorAttribute.createDiffuse(Color.GREEN)), Usage.Position
+			| Usage.Normal);
+		for (int x = 0; x < SIZE; x++) {
+			for (int z = 0; z < SIZE; z++) {
+				ModelInstance instance = new ModelInstance(model);
+				instance.transform.setToTranslation(x * 2 - SIZE, 0, z * 2 - SIZE).rotate(0, 1, 0, MathUtils.random(360f));
+				instances.add(instance);
+			}
+		}
+
+		spriteBatch = new SpriteBatch();
+		font = new BitmapFont();
+		GLProfiler.enable();
+
+		Gdx.input.setInputProcessor(new InputMultiplexer(this, inputController = new CameraInputController(cam)));
+	}
+
+	@Override
+	public void render () {
+		inputController.update();
+
+		Gdx.gl.glViewport(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+
+		GLProfiler.reset();
+		modelBatch.begin(cam);
+		final long start = TimeUtils.nanoTime();
+		modelBatch.render(instances, environment);
+		collectTime = (collectTime * 15 + TimeUtils.nanoTime() - start) / 16;
+		modelBatch.end();
+		final int drawCalls = GLProfiler.drawCalls;
+
+		spriteBatch.begin();
+		font.draw(spriteBatch, "collector: " + (modelBatch.getRenderableCollector() != null) + ", " + instances.size + " instances, "
+			+ drawCalls + " draw calls, collect: " + collectTime / 1000 + " us, FPS: " + Gdx.graphics.getFramesPerSecond(), 10, 20);
+		spriteBatch.end();
+	}
+
+	@Override
+	public boolean touchUp (int screenX, int screenY, int pointer, int button) {
+		modelBatch.setRenderableCollector(modelBatch.getRenderableCollector() == null ? collector : null);
+		return false;
+	}
+
+	@Override
+	public void dispose () {
+		GLProfiler.disable();
+		modelBatch.dispose();
+		collector.dispose();
+		model.dispose();
+		spriteBatch.dispose();
+		font.dispose();
+	}
+}
@@ -30,6 +30,19 @@ package com.badlogic.gdx.tests.utils;
 
 import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
 import com.badlogic.gdx.tests.*;
+import com.badlogic.gdx.tests.bench.AssetManagerLookupBench;
+import com.badlogic.gdx.tests.bench.BoundingBoxTreeBench;
+import com.badlogic.gdx.tests.bench.Box2DBodyStateBench;
+import com.badlogic.gdx.tests.bench.Box2DContactEventsBench;
+import com.badlogic.gdx.tests.bench.Box2DSolverThreadsBench;
+import com.badlogic.gdx.tests.bench.FrustumCullingBench;
+import com.badlogic.gdx.tests.bench.GroupHitBench;
+import com.badlogic.gdx.tests.bench.JsonFieldAccessBench;
+import com.badlogic.gdx.tests.bench.MultiTextureBatchBench;
+import com.badlogic.gdx.tests.bench.ParticleEmitterBench;
+import com.badlogic.gdx.tests.bench.ParticleSystemUpdateBench;
+import com.badlogic.gdx.tests.bench.RenderableSorterBench;
+import com.badlogic.gdx.tests.bench.SpriteBatchBuffersBench;
 import com.badlogic.gdx.tests.bench.TiledMapBench;
 import com.badlogic.gdx.tests.examples.MoveSpriteExample;
 import com.badlogic.gdx.tests.extensions.ControllersTest;
@@ -41,6 +54,8 @@ import com.badlogic.gdx.tests.g3d.FogTest;
 import com.badlogic.gdx.tests.g3d.LightsTest;
 import com.badlogic.gdx.tests.g3d.MaterialTest;
 import com.badlogic.gdx.tests.g3d.MeshBuilderTest;
+import com.badlogic.gdx.tests.g3d.ModelBatchCullingTest;
+import com.badlogic.gdx.tests.g3d.ModelBatchInstancingTest;
 import com.badlogic.gdx.tests.g3d.ModelTest;
 import com.badlogic.gdx.tests.g3d.ParticleControllerTest;
 import com.badlogic.gdx.tests.g3d.ShaderCollectionTest;
@@ -78,6 +93,7 @@ public class GdxTests {
 		Animation3DTest.class,
 		AnimationTest.class,
 		AnnotationTest.class,
+		AssetManagerLookupBench.class,
 		AssetManagerTest.class,
 		AtlasIssueTest.class,
 		AudioDeviceTest.class,
@@ -92,6 +108,10 @@ public class GdxTests {
 		BitmapFontTest.class,
 		BitmapFontAtlasRegionTest.class,
 		BlitTest.class,
+		BoundingBoxTreeBench.class,
+		Box2DBodyStateBench.class,
+		Box2DContactEventsBench.class,
+		Box2DSolverThreadsBench.class,
 		Box2DTest.class,
 		Box2DTestCollection.class,
 		Bresenham2Test.class,
@@ -115,12 +135,14 @@ public class GdxTests {
 		FogTest.class,
 		FrameBufferTest.class,
 		FramebufferToTextureTest.class,
+		FrustumCullingBench.class,
 		FullscreenTest.class,
 		ControllersTest.class,
 		Gdx2DTest.class,
 		GestureDetectorTest.class,
 		GroupCullingTest.class,
 		GroupFadeTest.class,
+		GroupHitBench.class,
 		GroupTest.class,
 		HelloTriangle.class,
 		HexagonalTiledMapTest.class,
@@ -135,6 +157,7 @@ public class GdxTests {
 		InterpolationTest.class,
 		InverseKinematicsTest.class,
 		IsometricTileTest.class,
+		JsonFieldAccessBench.class,
 		KinematicBodyTest.class,
 		KTXTest.class,
 		LabelScaleTest.class,
@@ -146,8 +169,11 @@ public class GdxTests {
 		MeshBuilderTest.class,
 		MeshShaderTest.class,
 		MipMapTest.class,
+		ModelBatchCullingTest.class,
+		ModelBatchInstancingTest.class,
 		ModelTest.class,
 		MoveSpriteExample.class,
+		MultiTextureBatchBench.class,
 		MultitouchTest.class,
 		MusicTest.class,
 		NetAPITest.class,
@@ -156,7 +182,9 @@ public class GdxTests {
 		PathTest.class,
 		ParallaxTest.class,
 		ParticleControllerTest.class,
+		ParticleEmitterBench.class,
 		ParticleEmitterTest.class,
+		ParticleSystemUpdateBench.class,
 		PixelsPerInchTest.class,
 		PixmapBlendingTest.class,
 		PixmapPackerTest.class,
@@ -167,6 +195,7 @@ public class GdxTests {
 		ProjectTest.class,
 		ProjectiveTextureTest.class,
 		ReflectionTest.class,
+		RenderableSorterBench.class,
 		RotationTest.class,
 		RunnablePostTest.class,
 		StageDebugTest.class,
@@ -188,6 +217,7 @@ public class GdxTests {
 		SoftKeyboardTest.class,
 		SortedSpriteTest.class,
 		SoundTest.class,
+		SpriteBatchBuffersBench.class,
 		SpriteBatchRotationTest.class,
 		SpriteBatchShaderTest.class,
 		SpriteBatchTest.class,